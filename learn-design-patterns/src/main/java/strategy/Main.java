@@ -1,15 +1,23 @@
 package strategy;
 
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import strategy.pattern.BatchingDiscountWriter;
+import strategy.pattern.DiscountBatch;
+import strategy.pattern.FestivalSymbols;
+import strategy.pattern.PriceMath;
 import strategy.pattern.StrategyContext;
+import strategy.spring.StrategyConfiguration;
 import strategy.traditional.FestivalActivity;
 
+import java.io.IOException;
+
 /**
  * @author MaoPing Zou
  * @date 2022/8/21 11:11
  */
 public class Main {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         // 调用传统实现类
         System.out.println("-----------调用传统实现类-------------");
         FestivalActivity activity = new FestivalActivity();
@@ -29,5 +37,40 @@ public class Main {
         context.execute("中秋节");
         System.out.println("春节来啦！");
         context.execute("春节");
+
+        // 在入口处把节日名称换成编号，之后按编号分发
+        System.out.println("-----------按节日编号调用-------------");
+        FestivalSymbols symbols = context.getRegistry().symbols();
+        int springFestival = symbols.idOf("春节");
+        context.execute(springFestival);
+
+        // 一批订单一次性提交，同一节日的订单会被放在一起处理
+        System.out.println("-----------批量处理订单-------------");
+        DiscountBatch batch = new DiscountBatch();
+        batch.add(springFestival, 10000L);
+        batch.add(symbols.idOf("愚人节"), 2000L);
+        batch.add(springFestival, 39900L);
+        context.executeAll(batch);
+        for (int i = 0; i < batch.size(); i++) {
+            System.out.println("订单" + (i + 1) + "：" + PriceMath.formatYuan(batch.amount(i))
+                    + " -> " + PriceMath.formatYuan(batch.discountedAmount(i)));
+        }
+
+        // 批量写出文案，整批只对标准输出加一次锁
+        System.out.println("-----------批量输出活动文案-------------");
+        BatchingDiscountWriter writer = BatchingDiscountWriter.stdout();
+        context.execute("愚人节", writer);
+        context.execute("中秋节", writer);
+        context.execute("春节", writer);
+        writer.flush();
+
+        // 由Spring发现带@Festival注解的策略并登记到注册表
+        System.out.println("-----------调用Spring管理的策略上下文类-------------");
+        try (AnnotationConfigApplicationContext applicationContext =
+                     new AnnotationConfigApplicationContext(StrategyConfiguration.class)) {
+            StrategyContext springContext = applicationContext.getBean(StrategyContext.class);
+            System.out.println("中秋节来啦！");
+            springContext.execute("中秋节");
+        }
     }
 }
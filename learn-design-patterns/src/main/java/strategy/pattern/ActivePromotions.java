@@ -0,0 +1,46 @@
+package strategy.pattern;
+
+/**
+ * 某一时刻正在生效的全部促销，不可变
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 16:24
+ */
+public final class ActivePromotions {
+
+    static final ActivePromotions NONE = new ActivePromotions(new String[0], new DiscountStrategy[0]);
+
+    private final String[] festivals;
+
+    private final DiscountStrategy[] strategies;
+
+    ActivePromotions(String[] festivals, DiscountStrategy[] strategies) {
+        this.festivals = festivals;
+        this.strategies = strategies;
+    }
+
+    public int size() {
+        return festivals.length;
+    }
+
+    public boolean isEmpty() {
+        return festivals.length == 0;
+    }
+
+    public String festival(int index) {
+        return festivals[index];
+    }
+
+    public DiscountStrategy strategy(int index) {
+        return strategies[index];
+    }
+
+    /**
+     * 依次执行所有生效的节日策略
+     */
+    public void executeDiscount() {
+        for (int i = 0; i < festivals.length; i++) {
+            strategies[i].executeDiscount(festivals[i]);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package strategy.pattern;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 批量分发：先按节日编号对请求做计数排序，让同一策略的请求排在一起，
+ * 再对每一段连续的请求调用一次 {@link DiscountStrategy#executeBatch}。
+ * 批次远小于节日数量时，计数排序的计数数组反而是主要开销，改为对请求直接排序。
+ * 请求数超过阈值时，把排好序的下标区间切分后交给 ForkJoinPool 并行处理。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 13:30
+ */
+class BatchDispatcher {
+
+    /**
+     * 节日数量超过请求数的该倍数时，不再做计数排序，改为对请求直接排序
+     */
+    static final int SORT_RATIO = 8;
+
+    private final DiscountStrategy[] table;
+
+    private final FestivalSymbols symbols;
+
+    private final DiscountBatch batch;
+
+    /**
+     * 按节日编号排好序的请求下标
+     */
+    private final int[] order;
+
+    private BatchDispatcher(DiscountStrategy[] table, FestivalSymbols symbols, DiscountBatch batch, int[] order) {
+        this.table = table;
+        this.symbols = symbols;
+        this.batch = batch;
+        this.order = order;
+    }
+
+    /**
+     * @param table             策略数组快照，整批请求都使用同一份快照
+     * @param parallelThreshold 请求数超过该值时并行处理，同时也是每个并行任务的最小粒度
+     * @param misses            记录无打折活动的请求
+     */
+    static void dispatch(DiscountStrategy[] table, FestivalSymbols symbols, DiscountBatch batch,
+                         ForkJoinPool pool, int parallelThreshold, MissCounter misses) {
+        int size = batch.size();
+        if (size == 0) {
+            return;
+        }
+        // 先校验整批请求，避免执行到一半才发现无打折活动
+        for (int i = 0; i < size; i++) {
+            if (!isKnown(table, batch.festivalId(i))) {
+                throw notFound(table, symbols, batch, i, misses);
+            }
+        }
+        int[] order = (long) size * SORT_RATIO < table.length ? sortOrder(batch) : countingOrder(table, batch);
+
+        BatchDispatcher dispatcher = new BatchDispatcher(table, symbols, batch, order);
+        if (size <= parallelThreshold) {
+            dispatcher.run(0, size);
+        } else {
+            pool.invoke(dispatcher.new RangeTask(0, size, parallelThreshold));
+        }
+    }
+
+    /**
+     * 计数排序：统计每个节日的请求数，得到每个节日在 order 中的起始位置，耗时与节日数量成正比
+     */
+    private static int[] countingOrder(DiscountStrategy[] table, DiscountBatch batch) {
+        int size = batch.size();
+        int[] offsets = new int[table.length + 1];
+        for (int i = 0; i < size; i++) {
+            offsets[batch.festivalId(i) + 1]++;
+        }
+        for (int id = 0; id < table.length; id++) {
+            offsets[id + 1] += offsets[id];
+        }
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[offsets[batch.festivalId(i)]++] = i;
+        }
+        return order;
+    }
+
+    /**
+     * 把节日编号放在高 32 位、请求下标放在低 32 位后排序，耗时只与请求数有关；
+     * 同一节日的请求仍按下标升序排列，与计数排序的结果相同
+     */
+    private static int[] sortOrder(DiscountBatch batch) {
+        int size = batch.size();
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (long) batch.festivalId(i) << 32 | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    private static boolean isKnown(DiscountStrategy[] table, int id) {
+        return id >= 0 && id < table.length && table[id] != null;
+    }
+
+    /**
+     * 从第一个无打折活动的请求开始，把整批中无打折活动的请求都记为未命中
+     */
+    private static FestivalNotFoundException notFound(DiscountStrategy[] table, FestivalSymbols symbols,
+                                                      DiscountBatch batch, int first, MissCounter misses) {
+        for (int i = first; i < batch.size(); i++) {
+            int id = batch.festivalId(i);
+            if (!isKnown(table, id)) {
+                misses.record(symbols, id);
+            }
+        }
+        return new FestivalNotFoundException(String.valueOf(batch.festivalId(first)));
+    }
+
+    /**
+     * 顺序处理 order[from, to) 中的请求，每遇到一段相同节日的请求就调用一次对应策略
+     */
+    private void run(int from, int to) {
+        int start = from;
+        while (start < to) {
+            int id = batch.festivalId(order[start]);
+            int end = start + 1;
+            while (end < to && batch.festivalId(order[end]) == id) {
+                end++;
+            }
+            table[id].executeBatch(symbols.nameOf(id), batch, order, start, end);
+            start = end;
+        }
+    }
+
+    private class RangeTask extends RecursiveAction {
+
+        private final int from;
+
+        private final int to;
+
+        private final int threshold;
+
+        RangeTask(int from, int to, int threshold) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, threshold), new RangeTask(mid, to, threshold));
+        }
+    }
+}
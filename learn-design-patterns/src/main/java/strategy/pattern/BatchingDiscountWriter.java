@@ -0,0 +1,88 @@
+package strategy.pattern;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 批量输出打折文案
+ * <p>
+ * 文案先写入一块可复用的直接内存缓冲区，缓冲区写满或手动 flush 时才通过 NIO 通道一次性写出，
+ * 因此每一批只会对底层通道加一次锁。
+ * <p>
+ * 注意：该类不是线程安全的，多线程下每个线程应持有自己的实例，共享同一个通道即可。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 10:31
+ */
+public class BatchingDiscountWriter implements Flushable, Closeable {
+
+    /**
+     * 默认缓冲区大小
+     */
+    public static final int DEFAULT_CAPACITY = 8 * 1024;
+
+    private final WritableByteChannel channel;
+
+    private final ByteBuffer buffer;
+
+    public BatchingDiscountWriter(WritableByteChannel channel) {
+        this(channel, DEFAULT_CAPACITY);
+    }
+
+    public BatchingDiscountWriter(WritableByteChannel channel, int capacity) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * 直接写到标准输出的通道，绕开 System.out 的同步 PrintStream
+     * <p>
+     * 用完后调用 flush 即可，不要 close，否则会关闭进程的标准输出
+     */
+    public static BatchingDiscountWriter stdout() {
+        return new BatchingDiscountWriter(Channels.newChannel(new FileOutputStream(FileDescriptor.out)));
+    }
+
+    /**
+     * 写入一段已编码的文案，缓冲区放不下时先刷出当前批次
+     */
+    public void write(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) {
+            flush();
+            if (bytes.length > buffer.capacity()) {
+                // 超过缓冲区大小的文案直接写出，正常的节日文案不会走到这里
+                writeFully(ByteBuffer.wrap(bytes));
+                return;
+            }
+        }
+        buffer.put(bytes);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeFully(ByteBuffer src) throws IOException {
+        while (src.hasRemaining()) {
+            channel.write(src);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package strategy.pattern;
+
+/**
+ * 由两个策略组合而成的策略，通过 {@link DiscountStrategy#andThen(DiscountStrategy)} 创建
+ * <p>
+ * 例如节日打折后再满减：{@code new Discount7Strategy().andThen(new FullReductionStrategy(30000, 10000))}
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 14:30
+ */
+public class ComposedDiscountStrategy extends PlanCompilable implements DiscountStrategy {
+
+    private final DiscountStrategy first;
+
+    private final DiscountStrategy second;
+
+    public ComposedDiscountStrategy(DiscountStrategy first, DiscountStrategy second) {
+        if (first == null || second == null) {
+            throw new IllegalArgumentException("组合的打折策略不能为空");
+        }
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public void executeDiscount(String festival) {
+        first.executeDiscount(festival);
+        second.executeDiscount(festival);
+    }
+
+    @Override
+    public long computePrice(long amount) {
+        return second.computePrice(first.computePrice(amount));
+    }
+
+    @Override
+    public void computePrices(long[] amounts, long[] results) {
+        if (results.length != amounts.length) {
+            DiscountStrategy.super.computePrices(amounts, results);
+            return;
+        }
+        // 两个策略各自整体跑一遍数组，而不是每个元素来回调用两个策略
+        first.computePrices(amounts, results);
+        second.computePrices(results, results);
+    }
+
+    @Override
+    void compileTo(DiscountPlan.Builder builder) {
+        builder.strategy(first);
+        builder.strategy(second);
+    }
+}
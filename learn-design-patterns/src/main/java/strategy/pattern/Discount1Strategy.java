@@ -6,10 +6,11 @@ package strategy.pattern;
  * @author MaoPing Zou
  * @date 2022/8/21 10:59
  */
-public class Discount1Strategy implements DiscountStrategy {
-    @Override
-    public void executeDiscount(String festival) {
-        // 具体的业务逻辑
-        System.out.println("今天是" + festival + "，全场1折，跳楼价，亏本甩卖啦！");
+@Festival("愚人节")
+public class Discount1Strategy extends FoldDiscountStrategy {
+
+    public Discount1Strategy() {
+        // 打1折
+        super(1, new DiscountTemplate("今天是", "，全场1折，跳楼价，亏本甩卖啦！"));
     }
 }
@@ -6,10 +6,11 @@ package strategy.pattern;
  * @author MaoPing Zou
  * @date 2022/8/21 10:55
  */
-public class Discount7Strategy implements DiscountStrategy {
-    @Override
-    public void executeDiscount(String festival) {
-        // 具体的业务逻辑
-        System.out.println("今天是" + festival + "，商场内所有商品都打7折，速来抢购！");
+@Festival("中秋节")
+public class Discount7Strategy extends FoldDiscountStrategy {
+
+    public Discount7Strategy() {
+        // 打7折
+        super(7, new DiscountTemplate("今天是", "，商场内所有商品都打7折，速来抢购！"));
     }
 }
@@ -0,0 +1,101 @@
+package strategy.pattern;
+
+import java.util.Arrays;
+
+/**
+ * 按列存储的一批打折请求：节日编号一列，订单金额一列，折后金额一列
+ * <p>
+ * 可反复 {@link #clear()} 后复用，避免每批都重新分配数组。
+ * 注意：该类不是线程安全的，填充完成后再交给 {@link StrategyContext#executeAll(DiscountBatch)} 处理。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 13:10
+ */
+public class DiscountBatch {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 节日编号，由 {@link FestivalSymbols#idOf(String)} 获得
+     */
+    private int[] festivalIds;
+
+    /**
+     * 订单金额
+     */
+    private long[] amounts;
+
+    /**
+     * 折后金额，由 {@link StrategyContext#executeAll(DiscountBatch)} 计算填充
+     */
+    private long[] discountedAmounts;
+
+    private int size;
+
+    public DiscountBatch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DiscountBatch(int capacity) {
+        festivalIds = new int[Math.max(capacity, 1)];
+        amounts = new long[Math.max(capacity, 1)];
+        discountedAmounts = new long[Math.max(capacity, 1)];
+    }
+
+    /**
+     * 直接使用调用方已有的两列数据，不做复制
+     */
+    public static DiscountBatch of(int[] festivalIds, long[] amounts) {
+        if (festivalIds.length != amounts.length) {
+            throw new IllegalArgumentException("节日编号和订单金额的数量不一致");
+        }
+        DiscountBatch batch = new DiscountBatch(0);
+        batch.festivalIds = festivalIds;
+        batch.amounts = amounts;
+        batch.discountedAmounts = new long[amounts.length];
+        batch.size = festivalIds.length;
+        return batch;
+    }
+
+    /**
+     * 追加一个请求
+     */
+    public void add(int festivalId, long amount) {
+        if (size == festivalIds.length) {
+            int newCapacity = size + (size >> 1) + 1;
+            festivalIds = Arrays.copyOf(festivalIds, newCapacity);
+            amounts = Arrays.copyOf(amounts, newCapacity);
+            discountedAmounts = Arrays.copyOf(discountedAmounts, newCapacity);
+        }
+        festivalIds[size] = festivalId;
+        amounts[size] = amount;
+        size++;
+    }
+
+    public int festivalId(int index) {
+        return festivalIds[index];
+    }
+
+    public long amount(int index) {
+        return amounts[index];
+    }
+
+    public long discountedAmount(int index) {
+        return discountedAmounts[index];
+    }
+
+    public void setDiscountedAmount(int index, long discountedAmount) {
+        discountedAmounts[index] = discountedAmount;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 清空请求，保留已分配的数组以便复用
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,127 @@
+package strategy.pattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 策略链：把多个促销按顺序叠加，例如先节日折扣，再会员折扣，最后用优惠券
+ * <p>
+ * 构建时整条链被编译成一个扁平的 {@link DiscountPlan}，计算价格时不会对每一步都做一次接口调用，也不分配对象。
+ * 策略链本身也是一个 {@link DiscountStrategy}，可以直接注册到 {@link StrategyRegistry}，也可以嵌套在其他策略链中。
+ * <pre>{@code
+ * DiscountChain chain = DiscountChain.builder()
+ *         .then(new Discount7Strategy())
+ *         .thenIf(OrderCondition.hasFlags(MEMBER), new RateDiscountStrategy(95, 100))
+ *         .thenIf(OrderCondition.minAmount(30000), new FullReductionStrategy(30000, 5000))
+ *         .build();
+ * }</pre>
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 15:40
+ */
+public final class DiscountChain extends PlanCompilable implements DiscountStrategy {
+
+    /**
+     * 链中的策略，用于输出文案和嵌套编译
+     */
+    private final List<DiscountStrategy> steps;
+
+    private final List<OrderCondition> conditions;
+
+    private final DiscountPlan plan;
+
+    private DiscountChain(List<DiscountStrategy> steps, List<OrderCondition> conditions) {
+        this.steps = Collections.unmodifiableList(steps);
+        this.conditions = Collections.unmodifiableList(conditions);
+        DiscountPlan.Builder builder = new DiscountPlan.Builder();
+        compileTo(builder);
+        this.plan = builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 依次输出链中每个策略的文案
+     */
+    @Override
+    public void executeDiscount(String festival) {
+        for (DiscountStrategy step : steps) {
+            step.executeDiscount(festival);
+        }
+    }
+
+    @Override
+    public long computePrice(long amount) {
+        return plan.evaluate(amount, 0L);
+    }
+
+    /**
+     * 计算折后价，orderFlags 为订单标记，供带 {@link OrderCondition#hasFlags(long)} 条件的步骤判断
+     */
+    public long computePrice(long amount, long orderFlags) {
+        return plan.evaluate(amount, orderFlags);
+    }
+
+    @Override
+    public void computePrices(long[] amounts, long[] results) {
+        if (results.length < amounts.length) {
+            throw new IllegalArgumentException("结果数组长度不足");
+        }
+        DiscountPlan plan = this.plan;
+        for (int i = 0; i < amounts.length; i++) {
+            results[i] = plan.evaluate(amounts[i], 0L);
+        }
+    }
+
+    @Override
+    void compileTo(DiscountPlan.Builder builder) {
+        for (int i = 0; i < steps.size(); i++) {
+            OrderCondition condition = conditions.get(i);
+            if (condition == null) {
+                builder.strategy(steps.get(i));
+            } else {
+                builder.strategy(condition, steps.get(i));
+            }
+        }
+    }
+
+    public DiscountPlan getPlan() {
+        return plan;
+    }
+
+    public static final class Builder {
+
+        private final List<DiscountStrategy> steps = new ArrayList<>();
+
+        private final List<OrderCondition> conditions = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 无条件追加一步
+         */
+        public Builder then(DiscountStrategy strategy) {
+            return thenIf(null, strategy);
+        }
+
+        /**
+         * 追加一步，condition 不满足时跳过，condition 为 null 表示无条件
+         */
+        public Builder thenIf(OrderCondition condition, DiscountStrategy strategy) {
+            if (strategy == null) {
+                throw new IllegalArgumentException("打折策略不能为空");
+            }
+            steps.add(strategy);
+            conditions.add(condition);
+            return this;
+        }
+
+        public DiscountChain build() {
+            return new DiscountChain(new ArrayList<>(steps), new ArrayList<>(conditions));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package strategy.pattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 编译后的计价计划
+ * <p>
+ * 一条策略链在构建时被展开成若干条指令，指令和参数都存放在基本类型数组中。
+ * 计算价格时只是按顺序执行这些指令，内置策略不再经过接口调用，也不分配任何对象；
+ * 只有无法编译的自定义策略才会产生一次接口调用。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 15:20
+ */
+public final class DiscountPlan {
+
+    /**
+     * 按比例打折：first-分子，second-分母
+     */
+    private static final int RATE = 1;
+
+    /**
+     * 满减：first-门槛，second-减免金额
+     */
+    private static final int REDUCTION = 2;
+
+    /**
+     * 调用自定义策略：first-自定义策略下标
+     */
+    private static final int CUSTOM = 3;
+
+    /**
+     * 当前金额低于 first 时跳过后面 second 条指令
+     */
+    private static final int SKIP_UNLESS_MIN_AMOUNT = 4;
+
+    /**
+     * 订单标记不包含 first 的所有位时跳过后面 second 条指令
+     */
+    private static final int SKIP_UNLESS_FLAGS = 5;
+
+    private final int[] ops;
+
+    private final long[] firsts;
+
+    private final long[] seconds;
+
+    private final DiscountStrategy[] customs;
+
+    private DiscountPlan(Builder builder) {
+        this.ops = Arrays.copyOf(builder.ops, builder.size);
+        this.firsts = Arrays.copyOf(builder.firsts, builder.size);
+        this.seconds = Arrays.copyOf(builder.seconds, builder.size);
+        this.customs = builder.customs.toArray(new DiscountStrategy[0]);
+    }
+
+    /**
+     * 把单个策略编译成计划
+     */
+    public static DiscountPlan compile(DiscountStrategy strategy) {
+        Builder builder = new Builder();
+        builder.strategy(strategy);
+        return builder.build();
+    }
+
+    /**
+     * 按计划计算折后价
+     *
+     * @param amount     订单金额（分）
+     * @param orderFlags 订单标记，供 {@link OrderCondition#hasFlags(long)} 判断
+     */
+    public long evaluate(long amount, long orderFlags) {
+        PriceMath.checkAmount(amount);
+        int[] ops = this.ops;
+        long[] firsts = this.firsts;
+        long[] seconds = this.seconds;
+        for (int pc = 0; pc < ops.length; pc++) {
+            switch (ops[pc]) {
+                case RATE:
+                    amount = PriceMath.multiply(amount, firsts[pc], seconds[pc]);
+                    break;
+                case REDUCTION:
+                    if (amount >= firsts[pc]) {
+                        amount -= seconds[pc];
+                    }
+                    break;
+                case CUSTOM:
+                    amount = customs[(int) firsts[pc]].computePrice(amount);
+                    break;
+                case SKIP_UNLESS_MIN_AMOUNT:
+                    if (amount < firsts[pc]) {
+                        pc += (int) seconds[pc];
+                    }
+                    break;
+                case SKIP_UNLESS_FLAGS:
+                    if ((orderFlags & firsts[pc]) != firsts[pc]) {
+                        pc += (int) seconds[pc];
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("未知的计价指令：" + ops[pc]);
+            }
+        }
+        return amount;
+    }
+
+    /**
+     * 指令条数
+     */
+    public int length() {
+        return ops.length;
+    }
+
+    /**
+     * 计划构建器，由 {@link DiscountChain} 和 {@link PlanCompilable} 的子类使用
+     */
+    static final class Builder {
+
+        private int[] ops = new int[8];
+
+        private long[] firsts = new long[8];
+
+        private long[] seconds = new long[8];
+
+        private int size;
+
+        private final List<DiscountStrategy> customs = new ArrayList<>();
+
+        void rate(long numerator, long denominator) {
+            if (numerator < 0 || denominator <= 0) {
+                throw new IllegalArgumentException("打折比例不合法：" + numerator + "/" + denominator);
+            }
+            emit(RATE, numerator, denominator);
+        }
+
+        void reduction(long threshold, long reduction) {
+            emit(REDUCTION, threshold, reduction);
+        }
+
+        /**
+         * 追加一个策略：能编译的展开成指令，不能编译的作为自定义策略调用
+         */
+        void strategy(DiscountStrategy strategy) {
+            if (strategy instanceof PlanCompilable) {
+                ((PlanCompilable) strategy).compileTo(this);
+            } else {
+                customs.add(strategy);
+                emit(CUSTOM, customs.size() - 1, 0);
+            }
+        }
+
+        /**
+         * 追加一个带条件的策略，条件不满足时跳过该策略展开出的全部指令
+         */
+        void strategy(OrderCondition condition, DiscountStrategy strategy) {
+            int guard = size;
+            emit(condition.kind == OrderCondition.MIN_AMOUNT ? SKIP_UNLESS_MIN_AMOUNT : SKIP_UNLESS_FLAGS,
+                    condition.argument, 0);
+            strategy(strategy);
+            seconds[guard] = size - guard - 1;
+        }
+
+        DiscountPlan build() {
+            return new DiscountPlan(this);
+        }
+
+        private void emit(int op, long first, long second) {
+            if (size == ops.length) {
+                ops = Arrays.copyOf(ops, size * 2);
+                firsts = Arrays.copyOf(firsts, size * 2);
+                seconds = Arrays.copyOf(seconds, size * 2);
+            }
+            ops[size] = op;
+            firsts[size] = first;
+            seconds[size] = second;
+            size++;
+        }
+    }
+}
@@ -10,4 +10,54 @@ package strategy.pattern;
 public interface DiscountStrategy {
 
     void executeDiscount(String festival);
+
+    /**
+     * 计算折后价，金额单位为分，默认不打折
+     */
+    default long computePrice(long amount) {
+        PriceMath.checkAmount(amount);
+        return amount;
+    }
+
+    /**
+     * 批量计算折后价，results[i] 为 amounts[i] 的折后价，两个数组可以是同一个数组
+     * <p>
+     * 默认逐个调用 {@link #computePrice(long)}，具体策略可以覆盖成不含方法调用的循环
+     */
+    default void computePrices(long[] amounts, long[] results) {
+        if (results.length < amounts.length) {
+            throw new IllegalArgumentException("结果数组长度不足");
+        }
+        for (int i = 0; i < amounts.length; i++) {
+            results[i] = computePrice(amounts[i]);
+        }
+    }
+
+    /**
+     * 批量计算折后价，返回新数组
+     */
+    default long[] computePrices(long[] amounts) {
+        long[] results = new long[amounts.length];
+        computePrices(amounts, results);
+        return results;
+    }
+
+    /**
+     * 批量计算同一个节日的一段请求的折后价，这些请求在批次中的下标为 order[from] ~ order[to - 1]
+     * <p>
+     * 默认逐个调用 {@link #computePrice(long)}；具体策略覆盖该方法后，循环内的调用只有一种实现，便于 JIT 内联
+     */
+    default void executeBatch(String festival, DiscountBatch batch, int[] order, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int index = order[i];
+            batch.setDiscountedAmount(index, computePrice(batch.amount(index)));
+        }
+    }
+
+    /**
+     * 组合两个策略：文案依次执行，价格先按当前策略计算，再把结果交给 next 计算
+     */
+    default DiscountStrategy andThen(DiscountStrategy next) {
+        return new ComposedDiscountStrategy(this, next);
+    }
 }
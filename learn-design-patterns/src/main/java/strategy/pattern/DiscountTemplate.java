@@ -0,0 +1,66 @@
+package strategy.pattern;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 打折活动文案模板：前缀 + 节日名称 + 后缀
+ * <p>
+ * 每个节日对应的完整文案只会按 UTF-8 编码一次并缓存下来，之后写出时直接复用缓存的字节数组，
+ * 不再拼接字符串，也不再重复编码。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 10:20
+ */
+public final class DiscountTemplate {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final String prefix;
+
+    private final String suffix;
+
+    /**
+     * 已编码的文案缓存
+     * key-节日名称，value-包含换行符的完整文案的 UTF-8 字节
+     */
+    private final ConcurrentMap<String, byte[]> encoded = new ConcurrentHashMap<>();
+
+    public DiscountTemplate(String prefix, String suffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    /**
+     * 渲染成字符串（不含换行符），会产生新的字符串，仅用于兼容原有的打印方式
+     */
+    public String render(String festival) {
+        return prefix + festival + suffix;
+    }
+
+    /**
+     * 将文案（含换行符）依次追加到调用方提供的 Appendable 中，不产生中间字符串
+     */
+    public void appendTo(String festival, Appendable out) throws IOException {
+        out.append(prefix).append(festival).append(suffix).append(LINE_SEPARATOR);
+    }
+
+    /**
+     * 获取文案（含换行符）的 UTF-8 字节，首次访问某个节日时编码并缓存
+     * <p>
+     * 注意：返回的是缓存的数组，调用方不能修改
+     */
+    public byte[] encoded(String festival) {
+        byte[] bytes = encoded.get(festival);
+        if (bytes == null) {
+            bytes = (prefix + festival + suffix + LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8);
+            byte[] previous = encoded.putIfAbsent(festival, bytes);
+            if (previous != null) {
+                bytes = previous;
+            }
+        }
+        return bytes;
+    }
+}
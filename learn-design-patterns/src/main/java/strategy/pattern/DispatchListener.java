@@ -0,0 +1,21 @@
+package strategy.pattern;
+
+/**
+ * 策略分发的监听接口，用于接入指标统计或链路追踪
+ * <p>
+ * 每次 {@link StrategyContext} 按节日分发到策略后回调一次。回调在调用线程上同步执行，实现类必须足够轻量，且线程安全。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 19:00
+ */
+public interface DispatchListener {
+
+    /**
+     * 策略执行完成（包括抛出异常）后回调
+     *
+     * @param festival     节日名称
+     * @param strategy     实际执行的策略
+     * @param elapsedNanos 策略执行耗时（纳秒）
+     */
+    void onDispatch(String festival, DiscountStrategy strategy, long elapsedNanos);
+}
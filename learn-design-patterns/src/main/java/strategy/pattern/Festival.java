@@ -0,0 +1,31 @@
+package strategy.pattern;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注打折策略适用的节日
+ * <p>
+ * 带有该注解的 {@link DiscountStrategy} 会被 Spring 注册为 Bean，并在容器刷新时登记到 {@link StrategyRegistry}。
+ * 由于该注解是 {@link Component} 的派生注解，spring-context-indexer 会在编译期把这些类写入
+ * META-INF/spring.components，启动时直接读取索引，不再扫描类路径。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 17:05
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Component
+public @interface Festival {
+
+    /**
+     * 节日名称，一个策略可以同时用于多个节日
+     */
+    String[] value();
+}
@@ -0,0 +1,20 @@
+package strategy.pattern;
+
+/**
+ * 节日无打折活动时抛出的异常
+ * <p>
+ * 不收集异常栈：调用方按节日分发时，未知节日是正常的业务分支，收集栈的开销远大于一次查找本身；
+ * 排查问题时异常信息中的节日名称已经足够。
+ * 高频场景应优先使用 {@link StrategyContext#tryExecute(String)} 或 {@link StrategyContext#lookup(String)}，完全不抛异常。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 18:02
+ */
+public class FestivalNotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public FestivalNotFoundException(String festival) {
+        super(festival + "，商场内无打折活动", null, false, false);
+    }
+}
@@ -0,0 +1,232 @@
+package strategy.pattern;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 按时间调度节日策略：根据时刻找出正在生效的全部促销
+ * <p>
+ * 所有窗口的开始、结束时间排序去重后把时间轴切成若干段，每一段内生效的促销集合是固定的，在加载窗口时预先算好。
+ * 查询时二分查找所在的段，复杂度 O(log n)；同时缓存最近一次命中的段及其结束时间（即下一次切换时间），
+ * 时间单调前进时绝大多数查询只需比较两次时间戳。
+ * <p>
+ * 加载、下线窗口只记录变更并作废当前时间轴，下一次查询时才在锁内重建一次、通过 volatile 整体发布，
+ * 因此逐个加载大量窗口与一次批量加载的开销相同；之后的查询不加锁。
+ * 注意：大量窗口互相重叠时，每一段都要保存一份生效集合，内存占用约为 段数 × 平均重叠数。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 16:30
+ */
+public class FestivalScheduler {
+
+    private final List<PromotionWindow> windows = new ArrayList<>();
+
+    /**
+     * 为 null 表示窗口有变更，需要在下一次查询时重建
+     */
+    private volatile Timeline timeline = Timeline.EMPTY;
+
+    /**
+     * 最近一次命中的段
+     */
+    private volatile Segment cached = Segment.EMPTY;
+
+    /**
+     * 加载一个促销窗口，时间轴在下一次查询时重建
+     */
+    public synchronized void addWindow(String festival, DiscountStrategy strategy, long startMillis, long endMillis) {
+        windows.add(new PromotionWindow(festival, strategy, startMillis, endMillis));
+        timeline = null;
+    }
+
+    /**
+     * 批量加载促销窗口，时间轴在下一次查询时重建
+     */
+    public synchronized void addWindows(Collection<PromotionWindow> newWindows) {
+        if (!newWindows.isEmpty()) {
+            windows.addAll(newWindows);
+            timeline = null;
+        }
+    }
+
+    /**
+     * 下线某个节日的全部窗口
+     */
+    public synchronized void removeFestival(String festival) {
+        boolean removed = false;
+        for (Iterator<PromotionWindow> it = windows.iterator(); it.hasNext(); ) {
+            if (it.next().getFestival().equals(festival)) {
+                it.remove();
+                removed = true;
+            }
+        }
+        if (removed) {
+            timeline = null;
+        }
+    }
+
+    /**
+     * 获取某一时刻正在生效的全部促销
+     */
+    public ActivePromotions activeAt(long epochMillis) {
+        return segmentAt(epochMillis).promotions;
+    }
+
+    public ActivePromotions activeAt(Instant instant) {
+        return activeAt(instant.toEpochMilli());
+    }
+
+    /**
+     * 获取某一时刻之后生效促销集合的下一次变化时间，之后不再变化时返回 Long.MAX_VALUE
+     */
+    public long nextTransition(long epochMillis) {
+        return segmentAt(epochMillis).end;
+    }
+
+    private Segment segmentAt(long epochMillis) {
+        Timeline timeline = this.timeline;
+        if (timeline == null) {
+            timeline = rebuild();
+        }
+        Segment segment = cached;
+        if (segment.timeline == timeline && epochMillis >= segment.start && epochMillis < segment.end) {
+            return segment;
+        }
+        segment = timeline.segmentAt(epochMillis);
+        cached = segment;
+        return segment;
+    }
+
+    private synchronized Timeline rebuild() {
+        Timeline current = timeline;
+        if (current == null) {
+            current = Timeline.build(windows);
+            timeline = current;
+        }
+        return current;
+    }
+
+    /**
+     * 切分好的时间轴，不可变
+     */
+    private static final class Timeline {
+
+        static final Timeline EMPTY = new Timeline(new long[0], new ActivePromotions[0]);
+
+        /**
+         * 排序去重后的切分时间点
+         */
+        private final long[] boundaries;
+
+        /**
+         * segments[i] 为 [boundaries[i], boundaries[i + 1]) 内生效的促销
+         */
+        private final ActivePromotions[] segments;
+
+        private Timeline(long[] boundaries, ActivePromotions[] segments) {
+            this.boundaries = boundaries;
+            this.segments = segments;
+        }
+
+        static Timeline build(List<PromotionWindow> windows) {
+            if (windows.isEmpty()) {
+                return EMPTY;
+            }
+            long[] points = new long[windows.size() * 2];
+            int n = 0;
+            for (PromotionWindow window : windows) {
+                points[n++] = window.getStartMillis();
+                points[n++] = window.getEndMillis();
+            }
+            Arrays.sort(points);
+            int unique = 0;
+            for (int i = 0; i < n; i++) {
+                if (unique == 0 || points[unique - 1] != points[i]) {
+                    points[unique++] = points[i];
+                }
+            }
+            long[] boundaries = Arrays.copyOf(points, unique);
+
+            // 扫描线：按开始时间依次加入窗口，按结束时间依次移出，每个窗口只加入、移出各一次
+            List<PromotionWindow> byStart = new ArrayList<>(windows);
+            byStart.sort(Comparator.comparingLong(PromotionWindow::getStartMillis));
+            List<PromotionWindow> byEnd = new ArrayList<>(windows);
+            byEnd.sort(Comparator.comparingLong(PromotionWindow::getEndMillis));
+            // PromotionWindow 没有覆盖 equals，按实例区分；保持加入的顺序，即按开始时间排列
+            Set<PromotionWindow> active = new LinkedHashSet<>();
+            ActivePromotions[] segments = new ActivePromotions[unique];
+            int nextStart = 0;
+            int nextEnd = 0;
+            for (int i = 0; i < unique; i++) {
+                long point = boundaries[i];
+                while (nextEnd < byEnd.size() && byEnd.get(nextEnd).getEndMillis() == point) {
+                    active.remove(byEnd.get(nextEnd++));
+                }
+                while (nextStart < byStart.size() && byStart.get(nextStart).getStartMillis() == point) {
+                    active.add(byStart.get(nextStart++));
+                }
+                segments[i] = toPromotions(active);
+            }
+            return new Timeline(boundaries, segments);
+        }
+
+        private static ActivePromotions toPromotions(Set<PromotionWindow> active) {
+            if (active.isEmpty()) {
+                return ActivePromotions.NONE;
+            }
+            String[] festivals = new String[active.size()];
+            DiscountStrategy[] strategies = new DiscountStrategy[active.size()];
+            int i = 0;
+            for (PromotionWindow window : active) {
+                festivals[i] = window.getFestival();
+                strategies[i] = window.getStrategy();
+                i++;
+            }
+            return new ActivePromotions(festivals, strategies);
+        }
+
+        Segment segmentAt(long epochMillis) {
+            // 找到最后一个不大于 epochMillis 的切分点
+            int index = Arrays.binarySearch(boundaries, epochMillis);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            if (index < 0) {
+                long end = boundaries.length == 0 ? Long.MAX_VALUE : boundaries[0];
+                return new Segment(this, Long.MIN_VALUE, end, ActivePromotions.NONE);
+            }
+            long end = index + 1 < boundaries.length ? boundaries[index + 1] : Long.MAX_VALUE;
+            return new Segment(this, boundaries[index], end, segments[index]);
+        }
+    }
+
+    /**
+     * 一段时间及其生效的促销，不可变，用作查询缓存
+     */
+    private static final class Segment {
+
+        static final Segment EMPTY = new Segment(null, 0, 0, ActivePromotions.NONE);
+
+        private final Timeline timeline;
+
+        private final long start;
+
+        private final long end;
+
+        private final ActivePromotions promotions;
+
+        private Segment(Timeline timeline, long start, long end, ActivePromotions promotions) {
+            this.timeline = timeline;
+            this.start = start;
+            this.end = end;
+            this.promotions = promotions;
+        }
+    }
+}
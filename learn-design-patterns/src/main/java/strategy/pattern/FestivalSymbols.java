@@ -0,0 +1,114 @@
+package strategy.pattern;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 节日符号表：把节日名称驻留（intern）为从 0 开始连续分配的 int 编号
+ * <p>
+ * 调用方在入口处（例如解析请求时）通过 {@link #idOf(String)} 把节日名称换成编号，
+ * 之后的分发都只用编号，不再对整个字符串做哈希或 equals。
+ * 编号一旦分配就不会回收，即使对应的策略被下线，编号也保持不变。
+ * 与 {@link StrategyRegistry} 一样采用写时复制，读操作不加锁。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 11:05
+ */
+public class FestivalSymbols {
+
+    /**
+     * 未驻留的节日编号
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * key-节日名称，value-节日编号
+     */
+    private volatile Map<String, Integer> ids = Collections.emptyMap();
+
+    /**
+     * 下标为节日编号，值为节日名称
+     */
+    private volatile String[] names = new String[0];
+
+    /**
+     * 获取节日编号，未驻留时返回 {@link #UNKNOWN}
+     */
+    public int idOf(String festival) {
+        Integer id = ids.get(festival);
+        return id == null ? UNKNOWN : id;
+    }
+
+    /**
+     * 驻留节日名称，已驻留时直接返回原编号
+     */
+    public synchronized int intern(String festival) {
+        if (festival == null) {
+            throw new IllegalArgumentException("节日名称不能为空");
+        }
+        Integer existing = ids.get(festival);
+        if (existing != null) {
+            return existing;
+        }
+        int id = names.length;
+        String[] newNames = Arrays.copyOf(names, id + 1);
+        newNames[id] = festival;
+        Map<String, Integer> newIds = new HashMap<>(ids);
+        newIds.put(festival, id);
+        // 先发布名称再发布编号，保证拿到编号的读线程一定能查到名称
+        names = newNames;
+        ids = newIds;
+        return id;
+    }
+
+    /**
+     * 批量驻留节日名称，返回按 festivals 迭代顺序排列的编号；整批只复制、发布一次
+     */
+    public synchronized int[] internAll(Collection<String> festivals) {
+        int[] result = new int[festivals.size()];
+        Map<String, Integer> newIds = null;
+        String[] newNames = names;
+        int size = names.length;
+        int i = 0;
+        for (String festival : festivals) {
+            if (festival == null) {
+                throw new IllegalArgumentException("节日名称不能为空");
+            }
+            Integer id = (newIds == null ? ids : newIds).get(festival);
+            if (id == null) {
+                if (newIds == null) {
+                    newIds = new HashMap<>(ids);
+                    newNames = Arrays.copyOf(names, size + festivals.size());
+                }
+                id = size;
+                newNames[size++] = festival;
+                newIds.put(festival, id);
+            }
+            result[i++] = id;
+        }
+        if (newIds != null) {
+            // 先发布名称再发布编号，保证拿到编号的读线程一定能查到名称
+            names = Arrays.copyOf(newNames, size);
+            ids = newIds;
+        }
+        return result;
+    }
+
+    /**
+     * 根据编号获取节日名称，编号不存在时返回 null
+     */
+    public String nameOf(int festivalId) {
+        String[] current = names;
+        return festivalId >= 0 && festivalId < current.length ? current[festivalId] : null;
+    }
+
+    /**
+     * 已驻留的节日数量，也是下一个将要分配的编号
+     */
+    public int size() {
+        return names.length;
+    }
+}
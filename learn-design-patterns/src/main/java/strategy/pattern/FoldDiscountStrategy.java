@@ -0,0 +1,66 @@
+package strategy.pattern;
+
+/**
+ * 打几折的活动策略，子类只需提供折数和文案模板
+ * <p>
+ * 批量计算的循环中直接调用 {@link PriceMath#fold(long, int)}，不经过 {@link #computePrice(long)} 的虚调用，
+ * 各子类共用同一份循环代码。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 10:00
+ */
+abstract class FoldDiscountStrategy extends PlanCompilable implements SinkDiscountStrategy {
+
+    /**
+     * 折数，例如 7 表示打7折
+     */
+    private final int tenths;
+
+    private final DiscountTemplate template;
+
+    FoldDiscountStrategy(int tenths, DiscountTemplate template) {
+        this.tenths = tenths;
+        this.template = template;
+    }
+
+    @Override
+    public void executeDiscount(String festival) {
+        // 具体的业务逻辑
+        System.out.println(template.render(festival));
+    }
+
+    @Override
+    public long computePrice(long amount) {
+        return PriceMath.fold(amount, tenths);
+    }
+
+    @Override
+    public void computePrices(long[] amounts, long[] results) {
+        if (results.length < amounts.length) {
+            throw new IllegalArgumentException("结果数组长度不足");
+        }
+        int tenths = this.tenths;
+        for (int i = 0; i < amounts.length; i++) {
+            results[i] = PriceMath.fold(amounts[i], tenths);
+        }
+    }
+
+    @Override
+    public void executeBatch(String festival, DiscountBatch batch, int[] order, int from, int to) {
+        int tenths = this.tenths;
+        for (int i = from; i < to; i++) {
+            int index = order[i];
+            batch.setDiscountedAmount(index, PriceMath.fold(batch.amount(index), tenths));
+        }
+    }
+
+    @Override
+    void compileTo(DiscountPlan.Builder builder) {
+        builder.rate(tenths, 10);
+    }
+
+    @Override
+    public DiscountTemplate template() {
+        return template;
+    }
+}
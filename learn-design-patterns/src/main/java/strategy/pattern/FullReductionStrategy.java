@@ -0,0 +1,60 @@
+package strategy.pattern;
+
+/**
+ * 满减活动策略实现类，例如满300减100
+ * <p>
+ * 金额单位为分，订单金额达到门槛时减去固定金额，只减一次
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 14:36
+ */
+public class FullReductionStrategy extends PlanCompilable implements DiscountStrategy {
+
+    /**
+     * 满减门槛（分）
+     */
+    private final long threshold;
+
+    /**
+     * 减免金额（分）
+     */
+    private final long reduction;
+
+    public FullReductionStrategy(long threshold, long reduction) {
+        if (reduction < 0 || reduction > threshold) {
+            throw new IllegalArgumentException("减免金额必须在0到满减门槛之间");
+        }
+        this.threshold = threshold;
+        this.reduction = reduction;
+    }
+
+    @Override
+    public void executeDiscount(String festival) {
+        // 具体的业务逻辑
+        System.out.println("今天是" + festival + "，全场满" + PriceMath.formatYuan(threshold)
+                + "减" + PriceMath.formatYuan(reduction) + "！");
+    }
+
+    @Override
+    public long computePrice(long amount) {
+        PriceMath.checkAmount(amount);
+        return amount >= threshold ? amount - reduction : amount;
+    }
+
+    @Override
+    public void computePrices(long[] amounts, long[] results) {
+        if (results.length < amounts.length) {
+            throw new IllegalArgumentException("结果数组长度不足");
+        }
+        for (int i = 0; i < amounts.length; i++) {
+            long amount = amounts[i];
+            PriceMath.checkAmount(amount);
+            results[i] = amount >= threshold ? amount - reduction : amount;
+        }
+    }
+
+    @Override
+    void compileTo(DiscountPlan.Builder builder) {
+        builder.reduction(threshold, reduction);
+    }
+}
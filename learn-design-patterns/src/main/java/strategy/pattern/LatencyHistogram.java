@@ -0,0 +1,143 @@
+package strategy.pattern;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 参照 HdrHistogram 思路实现的无锁耗时直方图
+ * <p>
+ * 0 ~ 31 纳秒每个值一个桶；之后每翻一倍划分为 16 个等宽的桶，相对误差不超过 1/16。
+ * 桶的总数固定（960 个），每个桶是一个 LongAdder：多个线程同时记录同一个桶时自动分段累加，不会争抢同一条缓存行。
+ * 桶在第一次被记录时才创建，实际耗时通常只落在几十个桶中；此后记录一次只是计算下标并累加，不分配对象。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 19:05
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 精确记录的区间 [0, LINEAR_LIMIT)
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (62 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * 各桶的计数，未记录过的桶为 null
+     */
+    private final AtomicReferenceArray<LongAdder> counts = new AtomicReferenceArray<>(BUCKET_COUNT);
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    /**
+     * 记录一次耗时，负数按 0 处理
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0L);
+        int index = indexOf(value);
+        LongAdder bucket = counts.get(index);
+        if (bucket == null) {
+            bucket = createBucket(index);
+        }
+        bucket.increment();
+        totalNanos.add(value);
+    }
+
+    /**
+     * 记录的总次数
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += countOf(i);
+        }
+        return count;
+    }
+
+    /**
+     * 平均耗时（纳秒）
+     */
+    public double mean() {
+        long count = count();
+        return count == 0 ? 0.0 : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * 百分位耗时（纳秒），返回所在桶的上界，percentile 取值 0 ~ 100
+     */
+    public long percentile(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = countOf(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(count * Math.min(Math.max(percentile, 0.0), 100.0) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(BUCKET_COUNT - 1);
+    }
+
+    /**
+     * 最大耗时所在桶的上界（纳秒）
+     */
+    public long max() {
+        for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+            if (countOf(i) != 0) {
+                return upperBoundOf(i);
+            }
+        }
+        return 0L;
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            LongAdder bucket = counts.get(i);
+            if (bucket != null) {
+                bucket.reset();
+            }
+        }
+        totalNanos.reset();
+    }
+
+    private LongAdder createBucket(int index) {
+        LongAdder created = new LongAdder();
+        return counts.compareAndSet(index, null, created) ? created : counts.get(index);
+    }
+
+    private long countOf(int index) {
+        LongAdder bucket = counts.get(index);
+        return bucket == null ? 0L : bucket.sum();
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + subBucket) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,120 @@
+package strategy.pattern;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按节日名称统计未命中次数，用于观察调用方都在请求哪些没有打折活动的节日
+ * <p>
+ * 节日名称来自外部输入，为防止任意字符串把内存撑满，最多单独统计 maxKeys 个节日，
+ * 超出后新出现的节日只累加到 {@link #overflow()} 中。上限在并发记录时同样严格生效。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 18:10
+ */
+public class MissCounter {
+
+    /**
+     * 默认最多单独统计的节日数
+     */
+    public static final int DEFAULT_MAX_KEYS = 1024;
+
+    private final int maxKeys;
+
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 已占用的名额，先占名额再放入 counters，保证 counters 的大小不超过 maxKeys
+     */
+    private final AtomicInteger keys = new AtomicInteger();
+
+    private final LongAdder overflow = new LongAdder();
+
+    public MissCounter() {
+        this(DEFAULT_MAX_KEYS);
+    }
+
+    public MissCounter(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * 记录一次未命中
+     */
+    public void record(String festival) {
+        if (festival == null) {
+            overflow.increment();
+            return;
+        }
+        LongAdder counter = counters.get(festival);
+        if (counter == null) {
+            // 映射函数对同一个 key 只执行一次，只有真正放入新计数器时才占用名额
+            counter = counters.computeIfAbsent(festival, key -> reserveKey() ? new LongAdder() : null);
+            if (counter == null) {
+                overflow.increment();
+                return;
+            }
+        }
+        counter.increment();
+    }
+
+    /**
+     * 按节日编号记录一次未命中，编号从未驻留过时以编号本身作为节日名称
+     */
+    void record(FestivalSymbols symbols, int festivalId) {
+        String festival = symbols.nameOf(festivalId);
+        record(festival == null ? String.valueOf(festivalId) : festival);
+    }
+
+    /**
+     * 各节日的未命中次数
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> result = new HashMap<>();
+        for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().sum());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * 超出单独统计上限的未命中次数
+     */
+    public long overflow() {
+        return overflow.sum();
+    }
+
+    /**
+     * 未命中总次数
+     */
+    public long total() {
+        long total = overflow.sum();
+        for (LongAdder counter : counters.values()) {
+            total += counter.sum();
+        }
+        return total;
+    }
+
+    public void reset() {
+        counters.clear();
+        keys.set(0);
+        overflow.reset();
+    }
+
+    private boolean reserveKey() {
+        for (; ; ) {
+            int used = keys.get();
+            if (used >= maxKeys) {
+                return false;
+            }
+            if (keys.compareAndSet(used, used + 1)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package strategy.pattern;
+
+/**
+ * 无打折活动时使用的空策略：不输出文案，价格保持不变
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 18:06
+ */
+public final class NoDiscountStrategy extends PlanCompilable implements DiscountStrategy {
+
+    public static final NoDiscountStrategy INSTANCE = new NoDiscountStrategy();
+
+    private NoDiscountStrategy() {
+    }
+
+    @Override
+    public void executeDiscount(String festival) {
+        // 无打折活动，什么也不做
+    }
+
+    @Override
+    public void computePrices(long[] amounts, long[] results) {
+        if (results.length < amounts.length) {
+            throw new IllegalArgumentException("结果数组长度不足");
+        }
+        for (int i = 0; i < amounts.length; i++) {
+            PriceMath.checkAmount(amounts[i]);
+        }
+        System.arraycopy(amounts, 0, results, 0, amounts.length);
+    }
+
+    @Override
+    void compileTo(DiscountPlan.Builder builder) {
+        // 不产生任何指令
+    }
+}
@@ -0,0 +1,40 @@
+package strategy.pattern;
+
+/**
+ * 策略链中某一步的生效条件
+ * <p>
+ * 条件只有"种类 + 参数"两个字段，编译进 {@link DiscountPlan} 后是一条普通指令，判断时不需要调用任何接口方法。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 15:10
+ */
+public final class OrderCondition {
+
+    static final int MIN_AMOUNT = 1;
+
+    static final int ALL_FLAGS = 2;
+
+    final int kind;
+
+    final long argument;
+
+    private OrderCondition(int kind, long argument) {
+        this.kind = kind;
+        this.argument = argument;
+    }
+
+    /**
+     * 当前金额（经过前面各步计算后的金额）不低于 amount 分时生效，例如优惠券的使用门槛
+     */
+    public static OrderCondition minAmount(long amount) {
+        PriceMath.checkAmount(amount);
+        return new OrderCondition(MIN_AMOUNT, amount);
+    }
+
+    /**
+     * 订单标记包含 mask 中的所有位时生效，例如会员标记
+     */
+    public static OrderCondition hasFlags(long mask) {
+        return new OrderCondition(ALL_FLAGS, mask);
+    }
+}
@@ -0,0 +1,18 @@
+package strategy.pattern;
+
+/**
+ * 可以编译进 {@link DiscountPlan} 的策略，由内置策略继承
+ * <p>
+ * 未继承该类的策略在计划中作为一条"调用自定义策略"的指令，仍然可以正常参与计算。
+ * 定义为包内的抽象类而不是接口，是为了让 {@link #compileTo} 和它的参数类型一样只在包内可见。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 15:14
+ */
+abstract class PlanCompilable {
+
+    /**
+     * 把当前策略的计价逻辑追加到计划中
+     */
+    abstract void compileTo(DiscountPlan.Builder builder);
+}
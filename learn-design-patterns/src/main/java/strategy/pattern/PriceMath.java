@@ -0,0 +1,63 @@
+package strategy.pattern;
+
+/**
+ * 金额计算工具，金额一律使用 long 表示的最小货币单位（分）
+ * <p>
+ * 按比例打折时结果四舍五入到分（ROUND_HALF_UP），中间结果不会溢出；
+ * 比例大于 1（加价）导致结果超出 long 范围时抛出 ArithmeticException，而不是悄悄溢出。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 14:05
+ */
+public final class PriceMath {
+
+    private PriceMath() {
+    }
+
+    /**
+     * 计算 amount * numerator / denominator，四舍五入到分
+     * <p>
+     * 先把金额拆成 denominator 的整数倍和余数两部分分别计算，
+     * 只要结果本身不超出 long 范围，中间过程就不会溢出。
+     *
+     * @param amount      金额（分），不能为负数
+     * @param numerator   比例分子，不能为负数
+     * @param denominator 比例分母，必须大于 0，且 2 * denominator * numerator 不能超出 long 范围
+     */
+    public static long multiply(long amount, long numerator, long denominator) {
+        checkAmount(amount);
+        long quotient = amount / denominator;
+        long remainder = amount % denominator;
+        // remainder * numerator / denominator 按四舍五入取整
+        long rounded = (2 * remainder * numerator + denominator) / (2 * denominator);
+        return Math.addExact(Math.multiplyExact(quotient, numerator), rounded);
+    }
+
+    /**
+     * 打 tenths 折，例如 tenths = 3 表示打 3 折
+     */
+    public static long fold(long amount, int tenths) {
+        return multiply(amount, tenths, 10);
+    }
+
+    /**
+     * 校验金额
+     */
+    public static void checkAmount(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("订单金额不能为负数：" + amount);
+        }
+    }
+
+    /**
+     * 把以分为单位的金额格式化成元，整数元时不显示小数部分
+     */
+    public static String formatYuan(long amount) {
+        long yuan = amount / 100;
+        long cents = Math.abs(amount % 100);
+        if (cents == 0) {
+            return yuan + "元";
+        }
+        return yuan + (cents < 10 ? ".0" : ".") + cents + "元";
+    }
+}
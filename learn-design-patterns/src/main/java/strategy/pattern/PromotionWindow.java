@@ -0,0 +1,53 @@
+package strategy.pattern;
+
+/**
+ * 促销时间窗口：节日策略在 [startMillis, endMillis) 内生效
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 16:20
+ */
+public final class PromotionWindow {
+
+    private final String festival;
+
+    private final DiscountStrategy strategy;
+
+    /**
+     * 开始时间（含），毫秒时间戳
+     */
+    private final long startMillis;
+
+    /**
+     * 结束时间（不含），毫秒时间戳
+     */
+    private final long endMillis;
+
+    public PromotionWindow(String festival, DiscountStrategy strategy, long startMillis, long endMillis) {
+        if (festival == null || strategy == null) {
+            throw new IllegalArgumentException("节日名称和打折策略都不能为空");
+        }
+        if (startMillis >= endMillis) {
+            throw new IllegalArgumentException(festival + "，活动开始时间必须早于结束时间");
+        }
+        this.festival = festival;
+        this.strategy = strategy;
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+    }
+
+    public String getFestival() {
+        return festival;
+    }
+
+    public DiscountStrategy getStrategy() {
+        return strategy;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public long getEndMillis() {
+        return endMillis;
+    }
+}
@@ -0,0 +1,48 @@
+package strategy.pattern;
+
+/**
+ * 任意比例的打折策略实现类，例如会员95折：new RateDiscountStrategy(95, 100)
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 15:52
+ */
+public class RateDiscountStrategy extends PlanCompilable implements DiscountStrategy {
+
+    private final long numerator;
+
+    private final long denominator;
+
+    public RateDiscountStrategy(long numerator, long denominator) {
+        if (numerator < 0 || denominator <= 0 || numerator > denominator) {
+            throw new IllegalArgumentException("打折比例不合法：" + numerator + "/" + denominator);
+        }
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    @Override
+    public void executeDiscount(String festival) {
+        // 具体的业务逻辑
+        System.out.println("今天是" + festival + "，指定商品按原价的" + numerator + "/" + denominator + "出售！");
+    }
+
+    @Override
+    public long computePrice(long amount) {
+        return PriceMath.multiply(amount, numerator, denominator);
+    }
+
+    @Override
+    public void computePrices(long[] amounts, long[] results) {
+        if (results.length < amounts.length) {
+            throw new IllegalArgumentException("结果数组长度不足");
+        }
+        for (int i = 0; i < amounts.length; i++) {
+            results[i] = PriceMath.multiply(amounts[i], numerator, denominator);
+        }
+    }
+
+    @Override
+    void compileTo(DiscountPlan.Builder builder) {
+        builder.rate(numerator, denominator);
+    }
+}
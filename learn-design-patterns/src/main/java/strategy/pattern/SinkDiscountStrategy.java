@@ -0,0 +1,34 @@
+package strategy.pattern;
+
+import java.io.IOException;
+
+/**
+ * 写入调用方提供的缓冲区的打折策略
+ * <p>
+ * 与 {@link DiscountStrategy#executeDiscount(String)} 直接打印到 System.out 不同，
+ * 这里把文案写入可复用的 Appendable 或 {@link BatchingDiscountWriter}，热点路径上不拼接字符串，也不争抢 System.out 的锁。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 10:26
+ */
+public interface SinkDiscountStrategy extends DiscountStrategy {
+
+    /**
+     * 当前策略的文案模板
+     */
+    DiscountTemplate template();
+
+    /**
+     * 将文案追加到调用方提供的 Appendable（例如可复用的 StringBuilder）中
+     */
+    default void executeDiscount(String festival, Appendable out) throws IOException {
+        template().appendTo(festival, out);
+    }
+
+    /**
+     * 将预先编码好的文案写入批量输出器，由输出器按批次刷出
+     */
+    default void executeDiscount(String festival, BatchingDiscountWriter writer) throws IOException {
+        writer.write(template().encoded(festival));
+    }
+}
@@ -1,7 +1,7 @@
 package strategy.pattern;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 策略上下文类
@@ -12,25 +12,212 @@ import java.util.Map;
 public class StrategyContext {
 
     /**
-     * 用于存储各个节日及其对应策略的
-     * key-节日名称，value-策略接口
+     * 用于存储各个节日及其对应策略的注册表，支持运行时注册、替换、下线策略
      */
-    private static final Map<String, DiscountStrategy> STRATEGY_MAP = new HashMap<>();
+    private final StrategyRegistry registry;
 
-    static {
-        STRATEGY_MAP.put("愚人节", new Discount1Strategy());
-        STRATEGY_MAP.put("春节", new Discount3Strategy());
-        STRATEGY_MAP.put("中秋节", new Discount7Strategy());
-        // 省略其他各种各样的业务逻辑
+    /**
+     * 批量执行时，请求数超过该值就拆分到 ForkJoinPool 并行处理
+     */
+    private int parallelThreshold = 8192;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * 按节日统计的未命中次数
+     */
+    private final MissCounter missCounter = new MissCounter();
+
+    /**
+     * 分发监听器，为 null 时不计时；运行中可以随时接入或关闭，热点路径每次分发读取一次
+     */
+    private volatile DispatchListener dispatchListener;
+
+    public StrategyContext() {
+        this(StrategyRegistry.defaultRegistry());
+    }
+
+    public StrategyContext(StrategyRegistry registry) {
+        this.registry = registry;
+    }
+
+    public StrategyRegistry getRegistry() {
+        return registry;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("并行阈值必须大于0");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public MissCounter getMissCounter() {
+        return missCounter;
+    }
+
+    public DispatchListener getDispatchListener() {
+        return dispatchListener;
+    }
+
+    /**
+     * 设置分发监听器，例如 {@link StrategyMetrics}；传入 null 关闭监听
+     */
+    public void setDispatchListener(DispatchListener dispatchListener) {
+        this.dispatchListener = dispatchListener;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
     }
 
     /**
      * 根据不同节日获取不同活动策略实现
      */
     public void execute(String festival) {
-        if (STRATEGY_MAP.get(festival) == null) {
-            throw new RuntimeException(festival + "，商场内无打折活动");
+        dispatch(festival, require(festival));
+    }
+
+    /**
+     * 根据不同节日获取不同活动策略实现，节日无打折活动时不抛异常
+     *
+     * @return 是否有打折活动
+     */
+    public boolean tryExecute(String festival) {
+        DiscountStrategy strategy = registry.get(festival);
+        if (strategy == null) {
+            missCounter.record(festival);
+            return false;
+        }
+        dispatch(festival, strategy);
+        return true;
+    }
+
+    /**
+     * 获取节日对应的活动策略，节日无打折活动时返回 {@link NoDiscountStrategy#INSTANCE}，不抛异常
+     */
+    public DiscountStrategy lookup(String festival) {
+        DiscountStrategy strategy = registry.get(festival);
+        if (strategy == null) {
+            missCounter.record(festival);
+            return NoDiscountStrategy.INSTANCE;
+        }
+        return strategy;
+    }
+
+    /**
+     * 根据节日编号获取活动策略实现，节日编号由 {@link FestivalSymbols#idOf(String)} 在入口处获得
+     * <p>
+     * 分发只需一次数组访问，不再对节日名称做哈希
+     */
+    public void execute(int festivalId) {
+        DiscountStrategy strategy = registry.get(festivalId);
+        if (strategy == null) {
+            missCounter.record(registry.symbols(), festivalId);
+            throw new FestivalNotFoundException(String.valueOf(festivalId));
+        }
+        dispatch(registry.symbols().nameOf(festivalId), strategy);
+    }
+
+    /**
+     * 批量计算一批订单的折后价，结果写回 {@link DiscountBatch#discountedAmount(int)}
+     * <p>
+     * 请求先按节日分组，同一策略的请求连续交给该策略处理；请求数超过 {@link #getParallelThreshold()} 时并行处理。
+     * 整批请求使用同一份策略快照，只要有一个节日无打折活动，整批都不会执行，其中每个无打折活动的请求都记为一次未命中。
+     */
+    public void executeAll(DiscountBatch batch) {
+        BatchDispatcher.dispatch(registry.table(), registry.symbols(), batch, pool, parallelThreshold, missCounter);
+    }
+
+    /**
+     * 批量计算一批订单的折后价，两个数组按下标一一对应
+     *
+     * @return 计算完成的批次，可从中读取折后价
+     */
+    public DiscountBatch executeAll(int[] festivalIds, long[] amounts) {
+        DiscountBatch batch = DiscountBatch.of(festivalIds, amounts);
+        executeAll(batch);
+        return batch;
+    }
+
+    /**
+     * 根据不同节日获取活动策略，并把文案追加到调用方提供的 Appendable 中
+     * <p>
+     * 非 {@link SinkDiscountStrategy} 的策略无法写入缓冲区，仍然按原方式直接打印
+     */
+    public void execute(String festival, Appendable out) throws IOException {
+        dispatch(festival, require(festival), out);
+    }
+
+    /**
+     * 根据不同节日获取活动策略，并把预先编码好的文案写入批量输出器
+     */
+    public void execute(String festival, BatchingDiscountWriter writer) throws IOException {
+        dispatch(festival, require(festival), writer);
+    }
+
+    /**
+     * 执行策略，设置了监听器时统计耗时
+     */
+    private void dispatch(String festival, DiscountStrategy strategy) {
+        try {
+            dispatch(festival, strategy, null);
+        } catch (IOException e) {
+            // 不写入输出时不会抛出 IOException
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * 执行策略，设置了监听器时统计耗时；sink 为 {@link Appendable} 或 {@link BatchingDiscountWriter} 时写入其中，
+     * 为 null 时直接打印
+     */
+    private void dispatch(String festival, DiscountStrategy strategy, Object sink) throws IOException {
+        DispatchListener listener = dispatchListener;
+        if (listener == null) {
+            run(festival, strategy, sink);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            run(festival, strategy, sink);
+        } finally {
+            listener.onDispatch(festival, strategy, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 非 {@link SinkDiscountStrategy} 的策略无法写入输出，仍然按原方式直接打印
+     */
+    private static void run(String festival, DiscountStrategy strategy, Object sink) throws IOException {
+        if (sink == null || !(strategy instanceof SinkDiscountStrategy)) {
+            strategy.executeDiscount(festival);
+        } else if (sink instanceof BatchingDiscountWriter) {
+            ((SinkDiscountStrategy) strategy).executeDiscount(festival, (BatchingDiscountWriter) sink);
+        } else {
+            ((SinkDiscountStrategy) strategy).executeDiscount(festival, (Appendable) sink);
+        }
+    }
+
+    /**
+     * 获取节日对应的活动策略，节日无打折活动时记录未命中并抛出异常
+     * <p>
+     * 只查找一次，避免两次查找之间策略被下线
+     */
+    private DiscountStrategy require(String festival) {
+        DiscountStrategy strategy = registry.get(festival);
+        if (strategy == null) {
+            missCounter.record(festival);
+            throw new FestivalNotFoundException(festival);
         }
-        STRATEGY_MAP.get(festival).executeDiscount(festival);
+        return strategy;
     }
 }
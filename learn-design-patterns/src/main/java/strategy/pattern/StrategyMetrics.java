@@ -0,0 +1,144 @@
+package strategy.pattern;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * 策略分发指标：每个节日的调用次数、耗时直方图，以及未命中次数
+ * <p>
+ * 调用次数使用分段累加的 LongAdder，耗时使用 {@link LatencyHistogram}，记录时不加锁、不分配对象，可以在生产环境常开。
+ * 通过 {@link StrategyContext#setDispatchListener(DispatchListener)} 接入；
+ * 既可以调用 {@link #snapshot()} 主动拉取，也可以通过 {@link #registerMBean()} 注册到 JMX 后用 JConsole 等工具查看。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 19:25
+ */
+public class StrategyMetrics implements DispatchListener, StrategyMetricsMXBean {
+
+    /**
+     * 默认的 JMX 对象名
+     */
+    public static final String DEFAULT_OBJECT_NAME = "strategy.pattern:type=StrategyMetrics";
+
+    private final ConcurrentMap<String, Stats> stats = new ConcurrentHashMap<>();
+
+    private final MissCounter missCounter;
+
+    public StrategyMetrics(MissCounter missCounter) {
+        this.missCounter = missCounter;
+    }
+
+    /**
+     * 为策略上下文创建指标并接入，未命中次数直接使用上下文中的 {@link MissCounter}
+     */
+    public static StrategyMetrics attach(StrategyContext context) {
+        StrategyMetrics metrics = new StrategyMetrics(context.getMissCounter());
+        context.setDispatchListener(metrics);
+        return metrics;
+    }
+
+    @Override
+    public void onDispatch(String festival, DiscountStrategy strategy, long elapsedNanos) {
+        Stats current = stats.get(festival);
+        if (current == null) {
+            current = stats.computeIfAbsent(festival, key -> new Stats());
+        }
+        current.invocations.increment();
+        current.latency.record(elapsedNanos);
+    }
+
+    /**
+     * 拉取所有节日的指标快照
+     */
+    public Map<String, StrategyStats> snapshot() {
+        Map<String, StrategyStats> result = new HashMap<>();
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats value = entry.getValue();
+            LatencyHistogram latency = value.latency;
+            result.put(entry.getKey(), new StrategyStats(entry.getKey(), value.invocations.sum(),
+                    latency.mean(), latency.percentile(50), latency.percentile(99), latency.max()));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * 某个节日的耗时直方图，节日从未被调用过时返回 null
+     */
+    public LatencyHistogram latencyOf(String festival) {
+        Stats value = stats.get(festival);
+        return value == null ? null : value.latency;
+    }
+
+    /**
+     * 以 {@link #DEFAULT_OBJECT_NAME} 注册到平台 MBeanServer
+     */
+    public ObjectName registerMBean() throws JMException {
+        ObjectName name = new ObjectName(DEFAULT_OBJECT_NAME);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(this, name);
+        return name;
+    }
+
+    @Override
+    public Map<String, Long> getInvocationCounts() {
+        return collect(value -> value.invocations.sum());
+    }
+
+    @Override
+    public Map<String, Long> getP50LatencyNanos() {
+        return collect(value -> value.latency.percentile(50));
+    }
+
+    @Override
+    public Map<String, Long> getP99LatencyNanos() {
+        return collect(value -> value.latency.percentile(99));
+    }
+
+    @Override
+    public Map<String, Long> getMaxLatencyNanos() {
+        return collect(value -> value.latency.max());
+    }
+
+    @Override
+    public Map<String, Long> getMissCounts() {
+        return missCounter.snapshot();
+    }
+
+    @Override
+    public long getTotalMisses() {
+        return missCounter.total();
+    }
+
+    @Override
+    public void reset() {
+        stats.clear();
+        missCounter.reset();
+    }
+
+    private Map<String, Long> collect(ToLongFunction<Stats> reader) {
+        Map<String, Long> result = new HashMap<>();
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            result.put(entry.getKey(), reader.applyAsLong(entry.getValue()));
+        }
+        return result;
+    }
+
+    private static final class Stats {
+
+        private final LongAdder invocations = new LongAdder();
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+}
@@ -0,0 +1,26 @@
+package strategy.pattern;
+
+import java.util.Map;
+
+/**
+ * 策略分发指标的 JMX 视图，key 均为节日名称
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 19:20
+ */
+public interface StrategyMetricsMXBean {
+
+    Map<String, Long> getInvocationCounts();
+
+    Map<String, Long> getP50LatencyNanos();
+
+    Map<String, Long> getP99LatencyNanos();
+
+    Map<String, Long> getMaxLatencyNanos();
+
+    Map<String, Long> getMissCounts();
+
+    long getTotalMisses();
+
+    void reset();
+}
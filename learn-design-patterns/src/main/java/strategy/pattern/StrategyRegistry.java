@@ -0,0 +1,195 @@
+package strategy.pattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 可在运行时热更新的策略注册表
+ * <p>
+ * 采用写时复制（copy-on-write）：每次注册、替换、下线都会复制一份新的 Map 并整体替换 volatile 引用，
+ * 已发布的快照永远不会再被修改，因此读操作无需加锁，也不会被写操作阻塞。
+ * 写操作之间通过 synchronized 串行化，适合"读多写少"的节日策略场景。
+ * <p>
+ * 注册过的节日会同时驻留到 {@link FestivalSymbols} 中，并维护一份以节日编号为下标的策略数组，
+ * 按编号分发时只需要一次数组访问。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 09:12
+ */
+public class StrategyRegistry {
+
+    /**
+     * 当前生效的策略快照
+     * key-节日名称，value-策略接口
+     */
+    private volatile Map<String, DiscountStrategy> snapshot = Collections.emptyMap();
+
+    /**
+     * 当前生效的策略数组快照，下标为节日编号，已下线或从未注册的位置为 null
+     */
+    private volatile DiscountStrategy[] table = new DiscountStrategy[0];
+
+    private final FestivalSymbols symbols;
+
+    public StrategyRegistry() {
+        this(new FestivalSymbols());
+    }
+
+    public StrategyRegistry(FestivalSymbols symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * 默认的策略注册表，包含商场内原有的三种节日活动
+     */
+    public static StrategyRegistry defaultRegistry() {
+        StrategyRegistry registry = new StrategyRegistry();
+        registry.register("愚人节", new Discount1Strategy());
+        registry.register("春节", new Discount3Strategy());
+        registry.register("中秋节", new Discount7Strategy());
+        // 省略其他各种各样的业务逻辑
+        return registry;
+    }
+
+    /**
+     * 根据节日获取策略，不存在时返回 null
+     * <p>
+     * 只读取一次 volatile 引用，不加锁
+     */
+    public DiscountStrategy get(String festival) {
+        return snapshot.get(festival);
+    }
+
+    /**
+     * 根据节日编号获取策略，不存在时返回 null
+     */
+    public DiscountStrategy get(int festivalId) {
+        DiscountStrategy[] current = table;
+        return festivalId >= 0 && festivalId < current.length ? current[festivalId] : null;
+    }
+
+    /**
+     * 当前的策略数组快照，仅供包内批量分发使用，调用方不能修改
+     */
+    DiscountStrategy[] table() {
+        return table;
+    }
+
+    /**
+     * 节日符号表，用于在入口处把节日名称换成编号
+     */
+    public FestivalSymbols symbols() {
+        return symbols;
+    }
+
+    /**
+     * 注册一个新的节日策略，节日已存在时抛出异常
+     */
+    public synchronized void register(String festival, DiscountStrategy strategy) {
+        checkArguments(festival, strategy);
+        if (snapshot.containsKey(festival)) {
+            throw new IllegalStateException(festival + "，已存在打折活动");
+        }
+        Map<String, DiscountStrategy> copy = new HashMap<>(snapshot);
+        copy.put(festival, strategy);
+        publishSlot(festival, strategy);
+        snapshot = copy;
+    }
+
+    /**
+     * 注册或替换节日策略
+     *
+     * @return 被替换掉的旧策略，原先不存在时返回 null
+     */
+    public synchronized DiscountStrategy replace(String festival, DiscountStrategy strategy) {
+        checkArguments(festival, strategy);
+        Map<String, DiscountStrategy> copy = new HashMap<>(snapshot);
+        DiscountStrategy old = copy.put(festival, strategy);
+        publishSlot(festival, strategy);
+        snapshot = copy;
+        return old;
+    }
+
+    /**
+     * 批量注册或替换节日策略，整批只复制、发布一次快照
+     */
+    public synchronized void replaceAll(Map<String, ? extends DiscountStrategy> strategies) {
+        publishAll(new HashMap<>(snapshot), table, strategies);
+    }
+
+    /**
+     * 用 strategies 整体替换当前的全部策略，不在其中的节日一并下线，整批只复制、发布一次快照
+     * <p>
+     * 适用于策略全部来自同一个来源的注册表，例如每次容器刷新时重新登记全部策略 Bean
+     */
+    public synchronized void reload(Map<String, ? extends DiscountStrategy> strategies) {
+        publishAll(new HashMap<>(), new DiscountStrategy[0], strategies);
+    }
+
+    /**
+     * 下线节日策略
+     *
+     * @return 被下线的策略，原先不存在时返回 null
+     */
+    public synchronized DiscountStrategy retire(String festival) {
+        if (!snapshot.containsKey(festival)) {
+            return null;
+        }
+        Map<String, DiscountStrategy> copy = new HashMap<>(snapshot);
+        DiscountStrategy old = copy.remove(festival);
+        publishSlot(festival, null);
+        snapshot = copy;
+        return old;
+    }
+
+    /**
+     * 获取当前生效策略的只读快照
+     */
+    public Map<String, DiscountStrategy> snapshot() {
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    /**
+     * 复制一份策略数组并更新节日编号对应的位置，调用方需持有当前对象的锁
+     */
+    private void publishSlot(String festival, DiscountStrategy strategy) {
+        int id = symbols.intern(festival);
+        DiscountStrategy[] copy = Arrays.copyOf(table, Math.max(table.length, id + 1));
+        copy[id] = strategy;
+        table = copy;
+    }
+
+    /**
+     * 在 snapshot、table 的副本上登记整批策略后一次发布，调用方需持有当前对象的锁
+     */
+    private void publishAll(Map<String, DiscountStrategy> copy, DiscountStrategy[] base,
+                            Map<String, ? extends DiscountStrategy> strategies) {
+        List<String> festivals = new ArrayList<>(strategies.size());
+        for (Map.Entry<String, ? extends DiscountStrategy> entry : strategies.entrySet()) {
+            checkArguments(entry.getKey(), entry.getValue());
+            copy.put(entry.getKey(), entry.getValue());
+            festivals.add(entry.getKey());
+        }
+        int[] ids = symbols.internAll(festivals);
+        int maxId = base.length - 1;
+        for (int id : ids) {
+            maxId = Math.max(maxId, id);
+        }
+        DiscountStrategy[] newTable = Arrays.copyOf(base, maxId + 1);
+        for (int i = 0; i < ids.length; i++) {
+            newTable[ids[i]] = copy.get(festivals.get(i));
+        }
+        table = newTable;
+        snapshot = copy;
+    }
+
+    private static void checkArguments(String festival, DiscountStrategy strategy) {
+        if (festival == null || strategy == null) {
+            throw new IllegalArgumentException("节日名称和打折策略都不能为空");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package strategy.pattern;
+
+/**
+ * 某个节日策略的指标快照
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 19:40
+ */
+public final class StrategyStats {
+
+    private final String festival;
+
+    private final long invocations;
+
+    private final double meanLatencyNanos;
+
+    private final long p50LatencyNanos;
+
+    private final long p99LatencyNanos;
+
+    private final long maxLatencyNanos;
+
+    public StrategyStats(String festival, long invocations, double meanLatencyNanos,
+                         long p50LatencyNanos, long p99LatencyNanos, long maxLatencyNanos) {
+        this.festival = festival;
+        this.invocations = invocations;
+        this.meanLatencyNanos = meanLatencyNanos;
+        this.p50LatencyNanos = p50LatencyNanos;
+        this.p99LatencyNanos = p99LatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    public String getFestival() {
+        return festival;
+    }
+
+    public long getInvocations() {
+        return invocations;
+    }
+
+    public double getMeanLatencyNanos() {
+        return meanLatencyNanos;
+    }
+
+    public long getP50LatencyNanos() {
+        return p50LatencyNanos;
+    }
+
+    public long getP99LatencyNanos() {
+        return p99LatencyNanos;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return festival + "：调用" + invocations + "次，平均" + (long) meanLatencyNanos + "ns，P50 " + p50LatencyNanos
+                + "ns，P99 " + p99LatencyNanos + "ns，最大" + maxLatencyNanos + "ns";
+    }
+}
@@ -0,0 +1,50 @@
+package strategy.spring;
+
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.AnnotationUtils;
+import strategy.pattern.DiscountStrategy;
+import strategy.pattern.Festival;
+import strategy.pattern.StrategyRegistry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 容器刷新时把所有带 {@link Festival} 注解的策略 Bean 一次性登记到 {@link StrategyRegistry}
+ * <p>
+ * 注解只在这里读取一次，登记完成后按节日分发走的是注册表的 Map 或数组，运行时没有任何反射。
+ * 每次刷新都整体替换注册表中的策略，上次登记过、这次已不存在的策略 Bean 对应的节日随之下线。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 17:12
+ */
+public class FestivalStrategyRegistrar implements ApplicationListener<ContextRefreshedEvent> {
+
+    private final StrategyRegistry registry;
+
+    public FestivalStrategyRegistrar(StrategyRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        Map<String, DiscountStrategy> strategies = new HashMap<>();
+        for (DiscountStrategy strategy : event.getApplicationContext().getBeansOfType(DiscountStrategy.class).values()) {
+            Festival festival = AnnotationUtils.findAnnotation(AopUtils.getTargetClass(strategy), Festival.class);
+            if (festival == null) {
+                continue;
+            }
+            for (String name : festival.value()) {
+                DiscountStrategy previous = strategies.put(name, strategy);
+                if (previous != null && previous != strategy) {
+                    throw new IllegalStateException(name + "，存在多个打折策略：" + previous.getClass().getName()
+                            + "、" + strategy.getClass().getName());
+                }
+            }
+        }
+        // 一次性发布，数千个策略也只复制一次快照
+        registry.reload(strategies);
+    }
+}
@@ -0,0 +1,36 @@
+package strategy.spring;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import strategy.pattern.StrategyContext;
+import strategy.pattern.StrategyRegistry;
+
+/**
+ * 策略模式的 Spring 配置
+ * <p>
+ * 策略类通过 {@link strategy.pattern.Festival} 注解被发现；编译时引入了 spring-context-indexer，
+ * 组件扫描会直接读取编译期生成的 META-INF/spring.components 索引。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 17:18
+ */
+@Configuration
+@ComponentScan("strategy.pattern")
+public class StrategyConfiguration {
+
+    @Bean
+    public StrategyRegistry strategyRegistry() {
+        return new StrategyRegistry();
+    }
+
+    @Bean
+    public FestivalStrategyRegistrar festivalStrategyRegistrar(StrategyRegistry strategyRegistry) {
+        return new FestivalStrategyRegistrar(strategyRegistry);
+    }
+
+    @Bean
+    public StrategyContext strategyContext(StrategyRegistry strategyRegistry) {
+        return new StrategyContext(strategyRegistry);
+    }
+}
@@ -0,0 +1,133 @@
+package strategy.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import strategy.pattern.DiscountStrategy;
+import strategy.pattern.StrategyContext;
+import strategy.pattern.StrategyRegistry;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 节日数量从 3 增长到 10000 时，三种分发方式的对比：
+ * 1、按节日名称查 Map（请求中的名称与注册时不是同一个字符串实例，命中后 equals 要逐个字符比较）；
+ * 2、按节日编号查数组（一次数组访问）；
+ * 3、逐个 equals 比较，相当于节日越来越多的 if-else 链。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 11:30
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FestivalIdDispatchBenchmark {
+
+    /**
+     * 只做分发、不做任何输出的策略
+     */
+    private static final DiscountStrategy NO_OP = festival -> {
+    };
+
+    @Param({"3", "10", "100", "1000", "10000"})
+    public int festivalCount;
+
+    private String[] names;
+
+    /**
+     * 与 names 内容相同、但不是同一个实例的字符串，模拟从请求参数中解析出的节日名称
+     */
+    private String[] copies;
+
+    private int[] ids;
+
+    private StrategyContext context;
+
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StrategyRegistry registry = new StrategyRegistry();
+        names = new String[festivalCount];
+        ids = new int[festivalCount];
+        for (int i = 0; i < festivalCount; i++) {
+            // 用和真实节日名称一样的中文，并且每次新建字符串，避免命中常量池的同一个对象
+            names[i] = new String("第" + i + "个中华传统节日");
+            registry.register(names[i], NO_OP);
+            ids[i] = registry.symbols().idOf(names[i]);
+        }
+        context = new StrategyContext(registry);
+        // 打乱访问顺序，避免分支预测把线性查找的代价掩盖掉
+        Random random = new Random(42);
+        for (int i = festivalCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String name = names[i];
+            names[i] = names[j];
+            names[j] = name;
+            int id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+        }
+        // 副本在这里一次建好，基准方法中不再分配
+        copies = new String[festivalCount];
+        for (int i = 0; i < festivalCount; i++) {
+            copies[i] = new String(names[i]);
+        }
+    }
+
+    private int next() {
+        int i = cursor;
+        cursor = i + 1 == festivalCount ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public void byName() {
+        context.execute(copies[next()]);
+    }
+
+    @Benchmark
+    public void byInternedName() {
+        context.execute(names[next()]);
+    }
+
+    @Benchmark
+    public void byId() {
+        context.execute(ids[next()]);
+    }
+
+    @Benchmark
+    public void linearEquals() {
+        String festival = names[next()];
+        String[] candidates = names;
+        for (String candidate : candidates) {
+            if (candidate.equals(festival)) {
+                NO_OP.executeDiscount(festival);
+                return;
+            }
+        }
+        throw new RuntimeException(festival + "，商场内无打折活动");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FestivalIdDispatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
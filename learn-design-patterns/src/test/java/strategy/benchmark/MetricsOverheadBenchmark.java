@@ -0,0 +1,97 @@
+package strategy.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import strategy.pattern.DiscountStrategy;
+import strategy.pattern.StrategyContext;
+import strategy.pattern.StrategyMetrics;
+import strategy.pattern.StrategyRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 开启 {@link StrategyMetrics} 前后分发耗时的对比，4 个线程同时分发，
+ * 用来确认计数和耗时直方图的开销足够小，可以在生产环境常开
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 19:55
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private static final String[] FESTIVALS = {"愚人节", "春节", "中秋节", "端午节"};
+
+    /**
+     * 只做分发、不做任何输出的策略
+     */
+    private static final DiscountStrategy NO_OP = festival -> {
+    };
+
+    private StrategyContext plain;
+
+    private StrategyContext metered;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plain = newContext();
+        metered = newContext();
+        StrategyMetrics.attach(metered);
+    }
+
+    private static StrategyContext newContext() {
+        StrategyRegistry registry = new StrategyRegistry();
+        for (String festival : FESTIVALS) {
+            registry.register(festival, NO_OP);
+        }
+        return new StrategyContext(registry);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int i;
+
+        String next() {
+            return FESTIVALS[i++ & (FESTIVALS.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public void withoutMetrics(Cursor cursor) {
+        plain.execute(cursor.next());
+    }
+
+    @Benchmark
+    public void withMetrics(Cursor cursor) {
+        metered.execute(cursor.next());
+    }
+
+    @Benchmark
+    public boolean missWithoutException(Cursor cursor) {
+        return metered.tryExecute("清明节");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MetricsOverheadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,143 @@
+package strategy.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import strategy.pattern.Discount1Strategy;
+import strategy.pattern.Discount3Strategy;
+import strategy.pattern.Discount7Strategy;
+import strategy.pattern.DiscountStrategy;
+import strategy.pattern.StrategyContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程下三种分发方式的对比：
+ * 1、原先的静态 HashMap（两次 get）；
+ * 2、写时复制的 StrategyRegistry（一次 get）；
+ * 3、与 FestivalActivity 相同顺序的 if-else 链。
+ * 另外用 {@link Group} 模拟"三个线程读、一个线程不停热更新"的场景。
+ * <p>
+ * 与 {@link FestivalIdDispatchBenchmark} 一样只比较分发本身：分发后调用 {@link DiscountStrategy#computePrice(long)}
+ * 并把折后价返回给 JMH，不调用会打印文案的 executeDiscount，避免各个线程在 System.out 的锁上排队。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 09:45
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StrategyDispatchBenchmark {
+
+    private static final String[] FESTIVALS = {"愚人节", "春节", "中秋节"};
+
+    private final Map<String, DiscountStrategy> staticMap = new HashMap<>();
+
+    private static final long AMOUNT = 10_000L;
+
+    private final DiscountStrategy discount1 = new Discount1Strategy();
+
+    private final DiscountStrategy discount3 = new Discount3Strategy();
+
+    private final DiscountStrategy discount7 = new Discount7Strategy();
+
+    private final StrategyContext context = new StrategyContext();
+
+    private final DiscountStrategy replacement = new Discount3Strategy();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        staticMap.put("愚人节", discount1);
+        staticMap.put("春节", discount3);
+        staticMap.put("中秋节", discount7);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int i;
+
+        String next() {
+            return FESTIVALS[(i++ & Integer.MAX_VALUE) % FESTIVALS.length];
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long staticHashMap(Cursor cursor) {
+        String festival = cursor.next();
+        if (staticMap.get(festival) == null) {
+            throw new RuntimeException(festival + "，商场内无打折活动");
+        }
+        return staticMap.get(festival).computePrice(AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long registry(Cursor cursor) {
+        return registryPrice(cursor.next());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long ifElse(Cursor cursor) {
+        String festival = cursor.next();
+        if ("愚人节".equals(festival)) {
+            return discount1.computePrice(AMOUNT);
+        } else if ("中秋节".equals(festival)) {
+            return discount7.computePrice(AMOUNT);
+        } else if ("春节".equals(festival)) {
+            return discount3.computePrice(AMOUNT);
+        }
+        throw new RuntimeException(festival + "，商场内无打折活动");
+    }
+
+    @Benchmark
+    @Group("hotReload")
+    @GroupThreads(3)
+    public long hotReloadReader(Cursor cursor) {
+        return registryPrice(cursor.next());
+    }
+
+    @Benchmark
+    @Group("hotReload")
+    @GroupThreads(1)
+    public void hotReloadWriter() {
+        context.getRegistry().replace("春节", replacement);
+    }
+
+    /**
+     * 与 StrategyContext#execute(String) 相同：只查找一次，未命中时抛异常
+     */
+    private long registryPrice(String festival) {
+        DiscountStrategy strategy = context.getRegistry().get(festival);
+        if (strategy == null) {
+            throw new RuntimeException(festival + "，商场内无打折活动");
+        }
+        return strategy.computePrice(AMOUNT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StrategyDispatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,156 @@
+package strategy.pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 批量分发：同一节日的请求连续交给对应策略，超过阈值时按区间拆分并行处理
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 14:10
+ */
+public class TestBatchDispatcher {
+
+    @Test
+    public void testGroupsByFestival() {
+        // 节日数量少于请求数的 SORT_RATIO 倍，走计数排序
+        assertGrouped(3, new int[]{2, 0, 1, 0, 2, 2, 1, 0});
+    }
+
+    @Test
+    public void testGroupsSmallBatchBySorting() {
+        // 节日数量远大于请求数，走直接排序
+        int festivalCount = 100;
+        int[] ids = {97, 3, 50, 3, 97, 0};
+        Assertions.assertTrue((long) ids.length * BatchDispatcher.SORT_RATIO < festivalCount);
+        assertGrouped(festivalCount, ids);
+    }
+
+    @Test
+    public void testSplitsAboveThreshold() {
+        StrategyRegistry registry = new StrategyRegistry();
+        Recording[] strategies = register(registry, 3);
+        StrategyContext context = new StrategyContext(registry);
+        context.setParallelThreshold(64);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        context.setPool(pool);
+        int size = 1000;
+        int[] ids = new int[size];
+        long[] amounts = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i % 3;
+            amounts[i] = i;
+        }
+        try {
+            DiscountBatch batch = context.executeAll(ids, amounts);
+            for (int i = 0; i < size; i++) {
+                Assertions.assertEquals(amounts[i] * (ids[i] + 1), batch.discountedAmount(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        boolean[] seen = new boolean[size];
+        for (Recording strategy : strategies) {
+            // 每个节日的请求多于阈值，一定被拆成多段
+            Assertions.assertTrue(strategy.segments.size() > 1);
+            for (int[] segment : strategy.segments) {
+                Assertions.assertTrue(segment.length <= 64);
+                for (int index : segment) {
+                    Assertions.assertEquals(strategy.id, ids[index]);
+                    Assertions.assertFalse(seen[index]);
+                    seen[index] = true;
+                }
+            }
+        }
+        for (boolean s : seen) {
+            Assertions.assertTrue(s);
+        }
+    }
+
+    /**
+     * 请求数不超过阈值时顺序执行：每个节日的策略只调用一次，收到的下标升序排列，折后价全部写回
+     */
+    private static void assertGrouped(int festivalCount, int[] ids) {
+        StrategyRegistry registry = new StrategyRegistry();
+        Recording[] strategies = register(registry, festivalCount);
+        StrategyContext context = new StrategyContext(registry);
+        long[] amounts = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            amounts[i] = 100L * (i + 1);
+        }
+        DiscountBatch batch = context.executeAll(ids, amounts);
+
+        for (int i = 0; i < ids.length; i++) {
+            Assertions.assertEquals(amounts[i] * (ids[i] + 1), batch.discountedAmount(i));
+        }
+        for (Recording strategy : strategies) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == strategy.id) {
+                    expected.add(i);
+                }
+            }
+            if (expected.isEmpty()) {
+                Assertions.assertTrue(strategy.segments.isEmpty());
+                continue;
+            }
+            Assertions.assertEquals(1, strategy.segments.size());
+            int[] segment = strategy.segments.get(0);
+            Assertions.assertEquals(expected.size(), segment.length);
+            for (int i = 0; i < segment.length; i++) {
+                Assertions.assertEquals(expected.get(i).intValue(), segment[i]);
+            }
+        }
+    }
+
+    /**
+     * 注册 count 个节日，第 id 个节日的策略把金额乘以 id + 1
+     */
+    private static Recording[] register(StrategyRegistry registry, int count) {
+        Recording[] strategies = new Recording[count];
+        for (int i = 0; i < count; i++) {
+            String festival = "节日" + i;
+            strategies[i] = new Recording(i);
+            registry.register(festival, strategies[i]);
+            Assertions.assertEquals(i, registry.symbols().idOf(festival));
+        }
+        return strategies;
+    }
+
+    /**
+     * 记录每次 executeBatch 收到的请求下标
+     */
+    private static final class Recording implements DiscountStrategy {
+
+        final int id;
+
+        final List<int[]> segments = Collections.synchronizedList(new ArrayList<>());
+
+        Recording(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public void executeDiscount(String festival) {
+        }
+
+        @Override
+        public long computePrice(long amount) {
+            return amount * (id + 1);
+        }
+
+        @Override
+        public void executeBatch(String festival, DiscountBatch batch, int[] order, int from, int to) {
+            Assertions.assertEquals("节日" + id, festival);
+            segments.add(Arrays.copyOfRange(order, from, to));
+            DiscountStrategy.super.executeBatch(festival, batch, order, from, to);
+        }
+    }
+}
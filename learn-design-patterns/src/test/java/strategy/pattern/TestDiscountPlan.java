@@ -0,0 +1,99 @@
+package strategy.pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 策略链编译成扁平的计价计划：指令条数、条件跳过的偏移量，以及计算结果与逐步调用一致
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 15:40
+ */
+public class TestDiscountPlan {
+
+    private static final long MEMBER = 1L;
+
+    private static final long NEW_CUSTOMER = 2L;
+
+    /**
+     * 不继承 PlanCompilable 的自定义策略：减 1 元
+     */
+    private static final DiscountStrategy MINUS_ONE_YUAN = new DiscountStrategy() {
+        @Override
+        public void executeDiscount(String festival) {
+        }
+
+        @Override
+        public long computePrice(long amount) {
+            return amount - 100;
+        }
+    };
+
+    @Test
+    public void testCompileSingleStrategy() {
+        Assertions.assertEquals(1, DiscountPlan.compile(new Discount7Strategy()).length());
+        Assertions.assertEquals(699L, DiscountPlan.compile(new Discount7Strategy()).evaluate(999, 0L));
+        Assertions.assertEquals(1, DiscountPlan.compile(MINUS_ONE_YUAN).length());
+        Assertions.assertEquals(900L, DiscountPlan.compile(MINUS_ONE_YUAN).evaluate(1000, 0L));
+
+        // andThen 组合的两个内置策略展开成两条指令，结果与逐个调用相同
+        DiscountStrategy composed = new Discount7Strategy().andThen(new FullReductionStrategy(30000, 10000));
+        DiscountPlan plan = DiscountPlan.compile(composed);
+        Assertions.assertEquals(2, plan.length());
+        for (long amount : new long[]{0, 29999, 42857, 50000, 100000}) {
+            Assertions.assertEquals(composed.computePrice(amount), plan.evaluate(amount, 0L));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> plan.evaluate(-1, 0L));
+    }
+
+    @Test
+    public void testConditionalChain() {
+        DiscountChain chain = DiscountChain.builder()
+                .then(new Discount7Strategy())
+                .thenIf(OrderCondition.hasFlags(MEMBER), new RateDiscountStrategy(95, 100))
+                .thenIf(OrderCondition.minAmount(30000), new FullReductionStrategy(30000, 5000))
+                .build();
+        // 1 条打折 + 2 组（跳过指令 + 策略指令）
+        Assertions.assertEquals(5, chain.getPlan().length());
+
+        Assertions.assertEquals(28250L, chain.computePrice(50000, MEMBER));
+        Assertions.assertEquals(30000L, chain.computePrice(50000, 0L));
+        Assertions.assertEquals(26600L, chain.computePrice(40000, MEMBER));
+        Assertions.assertEquals(28000L, chain.computePrice(40000, NEW_CUSTOMER));
+        Assertions.assertEquals(chain.computePrice(50000, 0L), chain.computePrice(50000));
+
+        long[] results = chain.computePrices(new long[]{50000, 40000, 0});
+        Assertions.assertArrayEquals(new long[]{30000, 28000, 0}, results);
+    }
+
+    @Test
+    public void testSkipCoversNestedChain() {
+        DiscountChain inner = DiscountChain.builder()
+                .then(new RateDiscountStrategy(9, 10))
+                .thenIf(OrderCondition.minAmount(1000), MINUS_ONE_YUAN)
+                .build();
+        DiscountChain outer = DiscountChain.builder()
+                .thenIf(OrderCondition.hasFlags(MEMBER | NEW_CUSTOMER), inner)
+                .then(new RateDiscountStrategy(1, 2))
+                .build();
+        // 外层跳过指令 + 内层（打折、跳过指令、自定义策略）+ 打折
+        Assertions.assertEquals(5, outer.getPlan().length());
+
+        long both = MEMBER | NEW_CUSTOMER;
+        // 条件满足：内层全部执行，之后的一步也执行
+        Assertions.assertEquals(850L, outer.computePrice(2000, both));
+        // 内层条件不满足：只跳过自定义策略
+        Assertions.assertEquals(450L, outer.computePrice(1000, both));
+        // 外层条件需要全部标记，只有一个时跳过整个内层，但不跳过之后的一步
+        Assertions.assertEquals(1000L, outer.computePrice(2000, MEMBER));
+        Assertions.assertEquals(1000L, outer.computePrice(2000, 0L));
+    }
+
+    @Test
+    public void testInvalidSteps() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> DiscountChain.builder().then(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> OrderCondition.minAmount(-1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RateDiscountStrategy(11, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new FullReductionStrategy(100, 200));
+    }
+}
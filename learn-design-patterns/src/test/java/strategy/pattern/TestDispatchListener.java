@@ -0,0 +1,73 @@
+package strategy.pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 各种分发方式都回调一次监听器，写入输出的分发同样被计时
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 16:50
+ */
+public class TestDispatchListener {
+
+    @Test
+    public void testEveryDispatchPathNotifies() throws IOException {
+        Discount7Strategy midAutumn = new Discount7Strategy();
+        StrategyRegistry registry = new StrategyRegistry();
+        registry.register("中秋节", midAutumn);
+        StrategyContext context = new StrategyContext(registry);
+        List<String> dispatched = new ArrayList<>();
+        context.setDispatchListener((festival, strategy, elapsedNanos) -> {
+            Assertions.assertSame(midAutumn, strategy);
+            Assertions.assertTrue(elapsedNanos >= 0);
+            dispatched.add(festival);
+        });
+
+        StringBuilder out = new StringBuilder();
+        context.execute("中秋节", out);
+        Assertions.assertEquals(midAutumn.template().render("中秋节") + System.lineSeparator(), out.toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BatchingDiscountWriter writer = new BatchingDiscountWriter(Channels.newChannel(bytes))) {
+            context.execute("中秋节", writer);
+        }
+        Assertions.assertEquals(out.toString(), new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+
+        Assertions.assertTrue(context.tryExecute("中秋节"));
+        context.execute(registry.symbols().idOf("中秋节"));
+        Assertions.assertEquals(4, dispatched.size());
+
+        // 未命中时没有执行策略，不回调
+        Assertions.assertThrows(FestivalNotFoundException.class, () -> context.execute("春节", out));
+        Assertions.assertEquals(4, dispatched.size());
+
+        // 关闭监听后不再回调
+        context.setDispatchListener(null);
+        context.execute("中秋节", out);
+        Assertions.assertEquals(4, dispatched.size());
+    }
+
+    @Test
+    public void testNotifiesWhenStrategyFails() {
+        StrategyRegistry registry = new StrategyRegistry();
+        registry.register("春节", festival -> {
+            throw new IllegalStateException("库存不足");
+        });
+        StrategyContext context = new StrategyContext(registry);
+        List<String> dispatched = new ArrayList<>();
+        context.setDispatchListener((festival, strategy, elapsedNanos) -> dispatched.add(festival));
+
+        // 非 SinkDiscountStrategy 的策略在写入输出的分发中按原方式执行
+        Assertions.assertThrows(IllegalStateException.class, () -> context.execute("春节", new StringBuilder()));
+        Assertions.assertThrows(IllegalStateException.class, () -> context.execute("春节"));
+        Assertions.assertEquals(2, dispatched.size());
+    }
+}
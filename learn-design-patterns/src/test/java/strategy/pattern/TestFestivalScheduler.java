@@ -0,0 +1,143 @@
+package strategy.pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 按时间调度节日策略：窗口为左闭右开区间，重叠、相邻的窗口在边界处切换正确
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 10:30
+ */
+public class TestFestivalScheduler {
+
+    private static final DiscountStrategy NO_OP = festival -> {
+    };
+
+    @Test
+    public void testEmpty() {
+        FestivalScheduler scheduler = new FestivalScheduler();
+        Assertions.assertTrue(scheduler.activeAt(0L).isEmpty());
+        Assertions.assertTrue(scheduler.activeAt(Long.MIN_VALUE).isEmpty());
+        Assertions.assertEquals(Long.MAX_VALUE, scheduler.nextTransition(0L));
+    }
+
+    @Test
+    public void testOverlappingWindows() {
+        FestivalScheduler scheduler = new FestivalScheduler();
+        scheduler.addWindow("春节", NO_OP, 100L, 300L);
+        scheduler.addWindow("元宵节", NO_OP, 200L, 400L);
+
+        Assertions.assertEquals(Collections.emptyList(), festivals(scheduler.activeAt(99L)));
+        Assertions.assertEquals(Collections.singletonList("春节"), festivals(scheduler.activeAt(100L)));
+        Assertions.assertEquals(Collections.singletonList("春节"), festivals(scheduler.activeAt(199L)));
+        Assertions.assertEquals(Arrays.asList("春节", "元宵节"), festivals(scheduler.activeAt(200L)));
+        Assertions.assertEquals(Arrays.asList("春节", "元宵节"), festivals(scheduler.activeAt(299L)));
+        Assertions.assertEquals(Collections.singletonList("元宵节"), festivals(scheduler.activeAt(300L)));
+        Assertions.assertEquals(Collections.singletonList("元宵节"), festivals(scheduler.activeAt(399L)));
+        Assertions.assertEquals(Collections.emptyList(), festivals(scheduler.activeAt(400L)));
+
+        Assertions.assertEquals(100L, scheduler.nextTransition(Long.MIN_VALUE));
+        Assertions.assertEquals(200L, scheduler.nextTransition(100L));
+        Assertions.assertEquals(300L, scheduler.nextTransition(250L));
+        Assertions.assertEquals(400L, scheduler.nextTransition(300L));
+        Assertions.assertEquals(Long.MAX_VALUE, scheduler.nextTransition(400L));
+    }
+
+    @Test
+    public void testAdjacentWindows() {
+        FestivalScheduler scheduler = new FestivalScheduler();
+        scheduler.addWindows(Arrays.asList(
+                new PromotionWindow("春节", NO_OP, 100L, 200L),
+                new PromotionWindow("元宵节", NO_OP, 200L, 300L)));
+
+        // 结束时间不含，200 时春节已结束、元宵节刚开始
+        Assertions.assertEquals(Collections.singletonList("春节"), festivals(scheduler.activeAt(199L)));
+        Assertions.assertEquals(Collections.singletonList("元宵节"), festivals(scheduler.activeAt(200L)));
+        Assertions.assertEquals(200L, scheduler.nextTransition(199L));
+        Assertions.assertEquals(300L, scheduler.nextTransition(200L));
+        Assertions.assertTrue(scheduler.activeAt(300L).isEmpty());
+    }
+
+    @Test
+    public void testSameBoundaries() {
+        FestivalScheduler scheduler = new FestivalScheduler();
+        scheduler.addWindow("春节", NO_OP, 100L, 200L);
+        scheduler.addWindow("春节", NO_OP, 100L, 200L);
+        scheduler.addWindow("元宵节", NO_OP, 100L, 150L);
+        Assertions.assertEquals(Arrays.asList("春节", "春节", "元宵节"), festivals(scheduler.activeAt(100L)));
+        Assertions.assertEquals(Arrays.asList("春节", "春节"), festivals(scheduler.activeAt(150L)));
+        Assertions.assertTrue(scheduler.activeAt(200L).isEmpty());
+    }
+
+    @Test
+    public void testChangesAfterQuery() {
+        FestivalScheduler scheduler = new FestivalScheduler();
+        scheduler.addWindow("春节", NO_OP, 100L, 300L);
+        Assertions.assertEquals(Collections.singletonList("春节"), festivals(scheduler.activeAt(150L)));
+        Assertions.assertEquals(300L, scheduler.nextTransition(150L));
+
+        // 命中缓存的段之后再加载窗口，下一次查询要看到新的时间轴
+        scheduler.addWindow("元宵节", NO_OP, 120L, 180L);
+        Assertions.assertEquals(Arrays.asList("春节", "元宵节"), festivals(scheduler.activeAt(150L)));
+        Assertions.assertEquals(180L, scheduler.nextTransition(150L));
+
+        scheduler.removeFestival("春节");
+        Assertions.assertEquals(Collections.singletonList("元宵节"), festivals(scheduler.activeAt(150L)));
+        Assertions.assertTrue(scheduler.activeAt(200L).isEmpty());
+        scheduler.removeFestival("元宵节");
+        Assertions.assertTrue(scheduler.activeAt(150L).isEmpty());
+        Assertions.assertEquals(Long.MAX_VALUE, scheduler.nextTransition(150L));
+    }
+
+    /**
+     * 逐个加载随机窗口，每个时刻的结果与逐个窗口判断一致
+     */
+    @Test
+    public void testRandomWindows() {
+        Random random = new Random(7);
+        FestivalScheduler scheduler = new FestivalScheduler();
+        List<PromotionWindow> windows = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            long start = random.nextInt(1000);
+            long end = start + 1 + random.nextInt(100);
+            PromotionWindow window = new PromotionWindow("节日" + i, NO_OP, start, end);
+            windows.add(window);
+            scheduler.addWindow(window.getFestival(), NO_OP, start, end);
+        }
+        for (long time = -1; time <= 1101; time++) {
+            List<String> expected = new ArrayList<>();
+            long next = Long.MAX_VALUE;
+            for (PromotionWindow window : windows) {
+                if (window.getStartMillis() <= time && time < window.getEndMillis()) {
+                    expected.add(window.getFestival());
+                }
+                if (window.getStartMillis() > time) {
+                    next = Math.min(next, window.getStartMillis());
+                }
+                if (window.getEndMillis() > time) {
+                    next = Math.min(next, window.getEndMillis());
+                }
+            }
+            List<String> actual = festivals(scheduler.activeAt(time));
+            Collections.sort(expected);
+            Collections.sort(actual);
+            Assertions.assertEquals(expected, actual);
+            Assertions.assertEquals(next, scheduler.nextTransition(time));
+        }
+    }
+
+    private static List<String> festivals(ActivePromotions promotions) {
+        List<String> festivals = new ArrayList<>();
+        for (int i = 0; i < promotions.size(); i++) {
+            festivals.add(promotions.festival(i));
+        }
+        return festivals;
+    }
+}
@@ -0,0 +1,147 @@
+package strategy.pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import strategy.spring.FestivalStrategyRegistrar;
+
+/**
+ * 容器刷新时登记带 {@link Festival} 注解的策略 Bean，再次刷新时整体替换，不再存在的节日随之下线
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 16:10
+ */
+public class TestFestivalStrategyRegistrar {
+
+    @Test
+    public void testRegisterOnRefresh() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(FullConfig.class)) {
+            StrategyRegistry registry = context.getBean(StrategyRegistry.class);
+            Assertions.assertEquals(3, registry.snapshot().size());
+            DiscountStrategy spring = registry.get("春节");
+            Assertions.assertTrue(spring instanceof SpringStrategy);
+            // 一个策略用于多个节日时，各节日登记的是同一个 Bean
+            Assertions.assertSame(spring, registry.get("元宵节"));
+            Assertions.assertTrue(registry.get("中秋节") instanceof MidAutumnStrategy);
+            Assertions.assertSame(spring, registry.get(registry.symbols().idOf("元宵节")));
+        }
+    }
+
+    @Test
+    public void testReloadRetiresMissingBeans() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(FullConfig.class);
+             AnnotationConfigApplicationContext reduced = new AnnotationConfigApplicationContext(ReducedConfig.class)) {
+            StrategyRegistry registry = context.getBean(StrategyRegistry.class);
+            FestivalStrategyRegistrar registrar = context.getBean(FestivalStrategyRegistrar.class);
+            int midAutumn = registry.symbols().idOf("中秋节");
+
+            registrar.onApplicationEvent(new ContextRefreshedEvent(reduced));
+            Assertions.assertEquals(2, registry.snapshot().size());
+            Assertions.assertSame(reduced.getBean(SpringStrategy.class), registry.get("春节"));
+            Assertions.assertNull(registry.get("中秋节"));
+            // 下线后编号保留，编号表中对应位置同样清空
+            Assertions.assertEquals(midAutumn, registry.symbols().idOf("中秋节"));
+            Assertions.assertNull(registry.get(midAutumn));
+        }
+    }
+
+    @Test
+    public void testConflictKeepsPreviousStrategies() {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(FullConfig.class);
+             AnnotationConfigApplicationContext conflict = new AnnotationConfigApplicationContext(ConflictConfig.class)) {
+            StrategyRegistry registry = context.getBean(StrategyRegistry.class);
+            FestivalStrategyRegistrar registrar = context.getBean(FestivalStrategyRegistrar.class);
+            DiscountStrategy spring = registry.get("春节");
+
+            Assertions.assertThrows(IllegalStateException.class,
+                    () -> registrar.onApplicationEvent(new ContextRefreshedEvent(conflict)));
+            Assertions.assertSame(spring, registry.get("春节"));
+            Assertions.assertEquals(3, registry.snapshot().size());
+        }
+    }
+
+    @Festival({"春节", "元宵节"})
+    static class SpringStrategy implements DiscountStrategy {
+        @Override
+        public void executeDiscount(String festival) {
+        }
+    }
+
+    @Festival("中秋节")
+    static class MidAutumnStrategy implements DiscountStrategy {
+        @Override
+        public void executeDiscount(String festival) {
+        }
+    }
+
+    @Festival("春节")
+    static class DuplicateStrategy implements DiscountStrategy {
+        @Override
+        public void executeDiscount(String festival) {
+        }
+    }
+
+    /**
+     * 没有 {@link Festival} 注解的策略 Bean 不登记
+     */
+    static class PlainStrategy implements DiscountStrategy {
+        @Override
+        public void executeDiscount(String festival) {
+        }
+    }
+
+    @Configuration
+    static class FullConfig {
+
+        @Bean
+        public StrategyRegistry strategyRegistry() {
+            return new StrategyRegistry();
+        }
+
+        @Bean
+        public FestivalStrategyRegistrar festivalStrategyRegistrar(StrategyRegistry strategyRegistry) {
+            return new FestivalStrategyRegistrar(strategyRegistry);
+        }
+
+        @Bean
+        public SpringStrategy springStrategy() {
+            return new SpringStrategy();
+        }
+
+        @Bean
+        public MidAutumnStrategy midAutumnStrategy() {
+            return new MidAutumnStrategy();
+        }
+
+        @Bean
+        public PlainStrategy plainStrategy() {
+            return new PlainStrategy();
+        }
+    }
+
+    @Configuration
+    static class ReducedConfig {
+
+        @Bean
+        public SpringStrategy springStrategy() {
+            return new SpringStrategy();
+        }
+    }
+
+    @Configuration
+    static class ConflictConfig {
+
+        @Bean
+        public SpringStrategy springStrategy() {
+            return new SpringStrategy();
+        }
+
+        @Bean
+        public DuplicateStrategy duplicateStrategy() {
+            return new DuplicateStrategy();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package strategy.pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 节日名称驻留为编号，按编号分发到与按名称分发相同的策略
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 15:00
+ */
+public class TestFestivalSymbols {
+
+    @Test
+    public void testIntern() {
+        FestivalSymbols symbols = new FestivalSymbols();
+        Assertions.assertEquals(FestivalSymbols.UNKNOWN, symbols.idOf("春节"));
+        Assertions.assertEquals(0, symbols.intern("春节"));
+        Assertions.assertEquals(1, symbols.intern("中秋节"));
+        // 内容相同但不是同一个实例的名称，得到同一个编号
+        Assertions.assertEquals(0, symbols.intern(new String("春节")));
+        Assertions.assertEquals("中秋节", symbols.nameOf(1));
+        Assertions.assertNull(symbols.nameOf(2));
+        Assertions.assertNull(symbols.nameOf(-1));
+        Assertions.assertEquals(2, symbols.size());
+
+        int[] ids = symbols.internAll(Arrays.asList("端午节", "春节", "端午节", "愚人节"));
+        Assertions.assertArrayEquals(new int[]{2, 0, 2, 3}, ids);
+        Assertions.assertEquals(4, symbols.size());
+        Assertions.assertEquals("愚人节", symbols.nameOf(3));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> symbols.intern(null));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> symbols.internAll(Arrays.asList("元宵节", null)));
+        // 整批失败时不驻留其中任何一个名称
+        Assertions.assertEquals(FestivalSymbols.UNKNOWN, symbols.idOf("元宵节"));
+    }
+
+    @Test
+    public void testDispatchById() {
+        List<String> calls = new ArrayList<>();
+        StrategyRegistry registry = new StrategyRegistry();
+        registry.register("春节", festival -> calls.add("3折：" + festival));
+        registry.register("中秋节", festival -> calls.add("7折：" + festival));
+        StrategyContext context = new StrategyContext(registry);
+
+        int spring = registry.symbols().idOf("春节");
+        int midAutumn = registry.symbols().idOf("中秋节");
+        context.execute(midAutumn);
+        context.execute(spring);
+        context.execute("春节");
+        Assertions.assertEquals(Arrays.asList("7折：中秋节", "3折：春节", "3折：春节"), calls);
+
+        // 下线后编号仍然保留，但不再分发
+        registry.retire("中秋节");
+        Assertions.assertEquals(midAutumn, registry.symbols().idOf("中秋节"));
+        Assertions.assertThrows(FestivalNotFoundException.class, () -> context.execute(midAutumn));
+        Assertions.assertThrows(FestivalNotFoundException.class, () -> context.execute(FestivalSymbols.UNKNOWN));
+        Assertions.assertThrows(FestivalNotFoundException.class, () -> context.execute(99));
+        Assertions.assertEquals(3, calls.size());
+    }
+}
@@ -0,0 +1,79 @@
+package strategy.pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * 耗时直方图的桶首尾相接覆盖全部 long 取值，相对误差不超过 1/16，百分位返回所在桶的上界
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 16:30
+ */
+public class TestLatencyHistogram {
+
+    @Test
+    public void testBucketsAreContiguous() {
+        Assertions.assertEquals(0, LatencyHistogram.indexOf(0));
+        Assertions.assertEquals(0L, LatencyHistogram.upperBoundOf(0));
+        int last = LatencyHistogram.indexOf(Long.MAX_VALUE);
+        Assertions.assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(last));
+        for (int i = 1; i <= last; i++) {
+            long lower = LatencyHistogram.upperBoundOf(i - 1) + 1;
+            long upper = LatencyHistogram.upperBoundOf(i);
+            Assertions.assertTrue(upper >= lower);
+            Assertions.assertEquals(i, LatencyHistogram.indexOf(lower));
+            Assertions.assertEquals(i, LatencyHistogram.indexOf(upper));
+            if (i >= 32) {
+                // 桶宽不超过下界的 1/16
+                Assertions.assertTrue((upper - lower + 1) * 16 <= lower);
+            } else {
+                Assertions.assertEquals(lower, upper);
+            }
+        }
+    }
+
+    @Test
+    public void testIndexOfBoundaries() {
+        Assertions.assertEquals(31, LatencyHistogram.indexOf(31));
+        Assertions.assertEquals(32, LatencyHistogram.indexOf(32));
+        Assertions.assertEquals(32, LatencyHistogram.indexOf(33));
+        Assertions.assertEquals(33, LatencyHistogram.indexOf(34));
+        Assertions.assertEquals(33L, LatencyHistogram.upperBoundOf(32));
+        Assertions.assertEquals(LatencyHistogram.indexOf(1023) + 1, LatencyHistogram.indexOf(1024));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            int index = LatencyHistogram.indexOf(value);
+            Assertions.assertTrue(value <= LatencyHistogram.upperBoundOf(index));
+            Assertions.assertTrue(index == 0 || value > LatencyHistogram.upperBoundOf(index - 1));
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0L, histogram.percentile(99));
+        Assertions.assertEquals(0L, histogram.max());
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+        histogram.record(-5);
+
+        Assertions.assertEquals(101L, histogram.count());
+        Assertions.assertEquals(5050 * 1000.0 / 101, histogram.mean(), 1e-6);
+        // 负数按 0 记录，是最小的一个值
+        Assertions.assertEquals(0L, histogram.percentile(0));
+        Assertions.assertEquals(LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(50_000)), histogram.percentile(50));
+        Assertions.assertEquals(LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(100_000)), histogram.percentile(100));
+        Assertions.assertEquals(histogram.percentile(100), histogram.max());
+        Assertions.assertTrue(histogram.max() >= 100_000 && histogram.max() <= 100_000 * 17 / 16);
+
+        histogram.reset();
+        Assertions.assertEquals(0L, histogram.count());
+        Assertions.assertEquals(0.0, histogram.mean());
+        Assertions.assertEquals(0L, histogram.max());
+    }
+}
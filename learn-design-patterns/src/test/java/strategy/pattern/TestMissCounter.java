@@ -0,0 +1,85 @@
+package strategy.pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 各种分发方式的未命中都被记录，且单独统计的节日数不超过上限
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 11:20
+ */
+public class TestMissCounter {
+
+    @Test
+    public void testEveryDispatchPathRecordsMisses() {
+        StrategyRegistry registry = new StrategyRegistry();
+        registry.register("春节", festival -> {
+        });
+        registry.register("端午节", festival -> {
+        });
+        registry.retire("端午节");
+        int retired = registry.symbols().idOf("端午节");
+        StrategyContext context = new StrategyContext(registry);
+        MissCounter misses = context.getMissCounter();
+
+        Assertions.assertThrows(FestivalNotFoundException.class, () -> context.execute("愚人节"));
+        Assertions.assertFalse(context.tryExecute("愚人节"));
+        Assertions.assertSame(NoDiscountStrategy.INSTANCE, context.lookup("愚人节"));
+        Assertions.assertEquals(3L, misses.snapshot().get("愚人节").longValue());
+
+        // 按编号分发：下线的节日按名称记录，从未驻留的编号按编号记录
+        Assertions.assertThrows(FestivalNotFoundException.class, () -> context.execute(retired));
+        Assertions.assertThrows(FestivalNotFoundException.class, () -> context.execute(99));
+        Assertions.assertEquals(1L, misses.snapshot().get("端午节").longValue());
+        Assertions.assertEquals(1L, misses.snapshot().get("99").longValue());
+
+        // 批量分发：整批不执行，其中每个无打折活动的请求都记为一次未命中
+        int known = registry.symbols().idOf("春节");
+        Assertions.assertThrows(FestivalNotFoundException.class,
+                () -> context.executeAll(new int[]{known, retired, known, 99, retired}, new long[]{1, 2, 3, 4, 5}));
+        Assertions.assertEquals(3L, misses.snapshot().get("端午节").longValue());
+        Assertions.assertEquals(2L, misses.snapshot().get("99").longValue());
+        Assertions.assertEquals(8L, misses.total());
+    }
+
+    @Test
+    public void testCapUnderConcurrency() throws InterruptedException {
+        MissCounter misses = new MissCounter(16);
+        int threads = 8;
+        int perThread = 1000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t * perThread;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    misses.record("节日" + (offset + i));
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Assertions.assertEquals(16, misses.snapshot().size());
+        Assertions.assertEquals((long) threads * perThread, misses.total());
+        Assertions.assertEquals((long) threads * perThread - 16, misses.overflow());
+
+        misses.reset();
+        Assertions.assertEquals(0L, misses.total());
+        misses.record("春节");
+        Assertions.assertEquals(1, misses.snapshot().size());
+    }
+}
@@ -0,0 +1,75 @@
+package strategy.pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+/**
+ * 按比例打折四舍五入到分，中间结果不溢出，结果超出 long 范围时抛异常
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 15:20
+ */
+public class TestPriceMath {
+
+    @Test
+    public void testRoundHalfUp() {
+        Assertions.assertEquals(3L, PriceMath.multiply(5, 1, 2));
+        Assertions.assertEquals(2L, PriceMath.multiply(4, 1, 2));
+        Assertions.assertEquals(5L, PriceMath.multiply(15, 3, 10));
+        Assertions.assertEquals(4L, PriceMath.multiply(14, 3, 10));
+        Assertions.assertEquals(699L, PriceMath.fold(999, 7));
+        Assertions.assertEquals(697L, PriceMath.fold(995, 7));
+        Assertions.assertEquals(0L, PriceMath.fold(0, 3));
+        Assertions.assertEquals(0L, PriceMath.multiply(12345, 0, 100));
+        Assertions.assertEquals(12345L, PriceMath.multiply(12345, 100, 100));
+    }
+
+    @Test
+    public void testMatchesBigDecimal() {
+        Random random = new Random(42);
+        long[] denominators = {2, 3, 7, 10, 100, 1000, 997};
+        for (int i = 0; i < 10000; i++) {
+            long amount = random.nextLong() & Long.MAX_VALUE;
+            long denominator = denominators[random.nextInt(denominators.length)];
+            long numerator = (long) random.nextInt((int) denominator + 1);
+            Assertions.assertEquals(expected(amount, numerator, denominator),
+                    PriceMath.multiply(amount, numerator, denominator));
+        }
+    }
+
+    @Test
+    public void testNoIntermediateOverflow() {
+        // amount * numerator 已经超出 long 范围，但结果没有
+        Assertions.assertEquals(expected(Long.MAX_VALUE, 9, 10), PriceMath.multiply(Long.MAX_VALUE, 9, 10));
+        Assertions.assertEquals(expected(Long.MAX_VALUE, 999, 1000), PriceMath.multiply(Long.MAX_VALUE, 999, 1000));
+        Assertions.assertEquals(Long.MAX_VALUE, PriceMath.multiply(Long.MAX_VALUE, 10, 10));
+    }
+
+    @Test
+    public void testOverflowGuard() {
+        Assertions.assertThrows(ArithmeticException.class, () -> PriceMath.multiply(Long.MAX_VALUE, 11, 10));
+        Assertions.assertThrows(ArithmeticException.class, () -> PriceMath.multiply(Long.MAX_VALUE / 2 + 1, 2, 1));
+        Assertions.assertEquals(Long.MAX_VALUE - 1, PriceMath.multiply(Long.MAX_VALUE / 2, 2, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PriceMath.multiply(-1, 1, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PriceMath.fold(-100, 7));
+    }
+
+    @Test
+    public void testFormatYuan() {
+        Assertions.assertEquals("300元", PriceMath.formatYuan(30000));
+        Assertions.assertEquals("12.50元", PriceMath.formatYuan(1250));
+        Assertions.assertEquals("0.05元", PriceMath.formatYuan(5));
+        Assertions.assertEquals("0元", PriceMath.formatYuan(0));
+    }
+
+    private static long expected(long amount, long numerator, long denominator) {
+        return BigDecimal.valueOf(amount)
+                .multiply(BigDecimal.valueOf(numerator))
+                .divide(BigDecimal.valueOf(denominator), 0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+}
@@ -0,0 +1,135 @@
+package strategy.pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 注册、替换、下线、整体重载后，按名称和按编号查到的策略始终一致
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 14:40
+ */
+public class TestStrategyRegistry {
+
+    private static final DiscountStrategy FIRST = festival -> {
+    };
+
+    private static final DiscountStrategy SECOND = festival -> {
+    };
+
+    private static final DiscountStrategy THIRD = festival -> {
+    };
+
+    @Test
+    public void testRegister() {
+        StrategyRegistry registry = new StrategyRegistry();
+        registry.register("春节", FIRST);
+        registry.register("中秋节", SECOND);
+
+        Assertions.assertSame(FIRST, registry.get("春节"));
+        Assertions.assertSame(SECOND, registry.get("中秋节"));
+        Assertions.assertEquals(0, registry.symbols().idOf("春节"));
+        Assertions.assertEquals(1, registry.symbols().idOf("中秋节"));
+        assertConsistent(registry);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> registry.register("春节", SECOND));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.register(null, SECOND));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.register("端午节", null));
+        Assertions.assertSame(FIRST, registry.get("春节"));
+        Assertions.assertNull(registry.get("端午节"));
+    }
+
+    @Test
+    public void testReplaceAndRetire() {
+        StrategyRegistry registry = new StrategyRegistry();
+        Assertions.assertNull(registry.replace("春节", FIRST));
+        Assertions.assertSame(FIRST, registry.replace("春节", SECOND));
+        Assertions.assertSame(SECOND, registry.get("春节"));
+        int id = registry.symbols().idOf("春节");
+        assertConsistent(registry);
+
+        Assertions.assertSame(SECOND, registry.retire("春节"));
+        Assertions.assertNull(registry.retire("春节"));
+        Assertions.assertNull(registry.get("春节"));
+        Assertions.assertNull(registry.get(id));
+        Assertions.assertTrue(registry.snapshot().isEmpty());
+
+        // 重新上线沿用原来的编号
+        registry.register("春节", THIRD);
+        Assertions.assertEquals(id, registry.symbols().idOf("春节"));
+        Assertions.assertSame(THIRD, registry.get(id));
+        assertConsistent(registry);
+    }
+
+    @Test
+    public void testReplaceAllAndReload() {
+        StrategyRegistry registry = new StrategyRegistry();
+        registry.register("春节", FIRST);
+        registry.register("中秋节", FIRST);
+
+        Map<String, DiscountStrategy> batch = new HashMap<>();
+        batch.put("中秋节", SECOND);
+        batch.put("端午节", THIRD);
+        registry.replaceAll(batch);
+        Assertions.assertSame(FIRST, registry.get("春节"));
+        Assertions.assertSame(SECOND, registry.get("中秋节"));
+        Assertions.assertSame(THIRD, registry.get("端午节"));
+        Assertions.assertEquals(3, registry.snapshot().size());
+        assertConsistent(registry);
+
+        // 整体重载：不在其中的节日一并下线，编号保持不变
+        int springId = registry.symbols().idOf("春节");
+        Map<String, DiscountStrategy> reload = new HashMap<>();
+        reload.put("端午节", FIRST);
+        reload.put("愚人节", SECOND);
+        registry.reload(reload);
+        Assertions.assertNull(registry.get("春节"));
+        Assertions.assertNull(registry.get(springId));
+        Assertions.assertNull(registry.get("中秋节"));
+        Assertions.assertSame(FIRST, registry.get("端午节"));
+        Assertions.assertSame(SECOND, registry.get("愚人节"));
+        Assertions.assertEquals(2, registry.snapshot().size());
+        assertConsistent(registry);
+
+        // 整批中有一个非法参数时整批都不生效
+        Map<String, DiscountStrategy> invalid = new HashMap<>();
+        invalid.put("春节", FIRST);
+        invalid.put("中秋节", null);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.reload(invalid));
+        Assertions.assertSame(FIRST, registry.get("端午节"));
+        Assertions.assertNull(registry.get("春节"));
+        assertConsistent(registry);
+    }
+
+    @Test
+    public void testSnapshotIsImmutable() {
+        StrategyRegistry registry = new StrategyRegistry();
+        registry.register("春节", FIRST);
+        Map<String, DiscountStrategy> snapshot = registry.snapshot();
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.put("中秋节", SECOND));
+
+        // 之后的修改不影响已经拿到的快照
+        registry.retire("春节");
+        Assertions.assertSame(FIRST, snapshot.get("春节"));
+    }
+
+    /**
+     * 每个驻留过的节日，按名称和按编号查到的策略相同；编号表中没有快照之外的策略
+     */
+    private static void assertConsistent(StrategyRegistry registry) {
+        FestivalSymbols symbols = registry.symbols();
+        int live = 0;
+        for (int id = 0; id < symbols.size(); id++) {
+            DiscountStrategy strategy = registry.get(id);
+            Assertions.assertSame(registry.get(symbols.nameOf(id)), strategy);
+            if (strategy != null) {
+                live++;
+            }
+        }
+        Assertions.assertEquals(registry.snapshot().size(), live);
+        Assertions.assertTrue(registry.table().length <= symbols.size());
+    }
+}
@@ -0,0 +1,132 @@
+package com.andy.aggregate;
+
+import com.andy.stream.LongLongMap;
+
+import java.util.function.LongConsumer;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * 基于基本类型哈希表的分组聚合收集器，用来替代 {@code Collectors.groupingBy(..., counting())} 这类写法
+ * <p>
+ * 并行流中每个子任务先聚合到自己的 {@link LongLongMap} / {@link LongHistogramMap}，
+ * 局部结果的大小只和分组数有关，最后合并的开销很小；整个过程中计数不装箱，也没有线程间的共享写。
+ * 例如按角色统计用户数、各角色的年龄分布：
+ * <pre>{@code
+ * LongLongMap usersPerRole = userList.parallelStream().collect(Aggregations.countingBy(UserGroupKeys.ROLE_ID));
+ * LongHistogramMap agesPerRole = userList.parallelStream()
+ *         .collect(Aggregations.histogramBy(UserGroupKeys.ROLE_ID, User::getAge, 128));
+ * }</pre>
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 11:15
+ */
+public final class Aggregations {
+
+    private Aggregations() {
+    }
+
+    /**
+     * 统计每个分组键出现的次数
+     */
+    public static <T> Collector<T, ?, LongLongMap> countingBy(GroupKeys<? super T> keys) {
+        return Collector.of(
+                Accumulator::new,
+                (map, element) -> {
+                    map.delta = 1L;
+                    keys.keys(element, map);
+                },
+                Aggregations::combine,
+                map -> map,
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * 按分组键对 value 求和
+     */
+    public static <T> Collector<T, ?, LongLongMap> summingBy(GroupKeys<? super T> keys,
+                                                             ToLongFunction<? super T> value) {
+        return Collector.of(
+                Accumulator::new,
+                (map, element) -> {
+                    map.delta = value.applyAsLong(element);
+                    keys.keys(element, map);
+                },
+                Aggregations::combine,
+                map -> map,
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * 按分组键统计直方图
+     * <p>
+     * bin 函数返回元素所在的桶：小于 0 的跳过，大于等于 binCount 的计入最后一个桶
+     */
+    public static <T> Collector<T, ?, LongHistogramMap> histogramBy(GroupKeys<? super T> keys,
+                                                                    ToIntFunction<? super T> bin, int binCount) {
+        if (binCount < 1) {
+            throw new IllegalArgumentException("桶数量必须大于0");
+        }
+        int lastBin = binCount - 1;
+        return Collector.of(
+                () -> new HistogramAccumulator(binCount),
+                (histogram, element) -> {
+                    int b = bin.applyAsInt(element);
+                    if (b < 0) {
+                        return;
+                    }
+                    histogram.bin = Math.min(b, lastBin);
+                    keys.keys(element, histogram);
+                },
+                (HistogramAccumulator left, HistogramAccumulator right) -> {
+                    if (left.size() < right.size()) {
+                        right.addAll(left);
+                        return right;
+                    }
+                    left.addAll(right);
+                    return left;
+                },
+                histogram -> histogram,
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * 把较小的表合并到较大的表中
+     */
+    private static Accumulator combine(Accumulator left, Accumulator right) {
+        if (left.size() < right.size()) {
+            right.addAll(left);
+            return right;
+        }
+        left.addAll(right);
+        return left;
+    }
+
+    /**
+     * 累加器本身就是键的 sink，当前元素的增量放在字段里，每个元素不必创建新的 lambda
+     */
+    private static final class Accumulator extends LongLongMap implements LongConsumer {
+
+        long delta;
+
+        @Override
+        public void accept(long key) {
+            addTo(key, delta);
+        }
+    }
+
+    private static final class HistogramAccumulator extends LongHistogramMap implements LongConsumer {
+
+        int bin;
+
+        HistogramAccumulator(int binCount) {
+            super(binCount);
+        }
+
+        @Override
+        public void accept(long key) {
+            add(key, bin, 1L);
+        }
+    }
+}
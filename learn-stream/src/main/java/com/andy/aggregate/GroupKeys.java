@@ -0,0 +1,29 @@
+package com.andy.aggregate;
+
+import java.util.function.LongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * 分组键提取器：一个元素可以产生零个、一个或多个 long 类型的分组键
+ * <p>
+ * 例如按角色分组时，一个用户有几个角色就产生几个键；没有角色时不产生键，该用户不计入任何分组。
+ * 键直接写给 {@link LongConsumer}，不创建中间集合，也不装箱。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 10:55
+ */
+@FunctionalInterface
+public interface GroupKeys<T> {
+
+    /**
+     * 把元素的分组键逐个交给 sink
+     */
+    void keys(T element, LongConsumer sink);
+
+    /**
+     * 每个元素恰好一个分组键
+     */
+    static <T> GroupKeys<T> of(ToLongFunction<? super T> keyExtractor) {
+        return (element, sink) -> sink.accept(keyExtractor.applyAsLong(element));
+    }
+}
@@ -0,0 +1,114 @@
+package com.andy.aggregate;
+
+import com.andy.stream.LongLongMap;
+
+import java.util.Arrays;
+
+/**
+ * 按 long 键分组的直方图：每个键对应一行固定数量的桶，所有行连续存放在一个 long 数组中
+ * <p>
+ * 例如按角色统计年龄分布时，键为角色id，桶为年龄。注意：该类不是线程安全的。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 11:05
+ */
+public class LongHistogramMap {
+
+    /**
+     * 键到行号的映射
+     */
+    private final LongLongMap rows = new LongLongMap();
+
+    private final int binCount;
+
+    /**
+     * 第 row 行的第 bin 个桶位于 counts[row * binCount + bin]
+     */
+    private long[] counts;
+
+    private int rowCount;
+
+    public LongHistogramMap(int binCount) {
+        if (binCount < 1) {
+            throw new IllegalArgumentException("桶数量必须大于0");
+        }
+        this.binCount = binCount;
+        this.counts = new long[binCount * 4];
+    }
+
+    public int binCount() {
+        return binCount;
+    }
+
+    /**
+     * 键的数量
+     */
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * 给键的第 bin 个桶加上 delta，bin 需在 [0, binCount) 范围内
+     */
+    public void add(long key, int bin, long delta) {
+        // 先取行号：新增行时 counts 可能被替换
+        int index = row(key) * binCount + bin;
+        counts[index] += delta;
+    }
+
+    /**
+     * 键的第 bin 个桶的计数，键不存在时返回 0
+     */
+    public long get(long key, int bin) {
+        long row = rows.getOrDefault(key, -1L);
+        return row < 0 ? 0L : counts[(int) row * binCount + bin];
+    }
+
+    /**
+     * 键的所有桶的计数（副本），键不存在时返回全 0 的数组
+     */
+    public long[] histogram(long key) {
+        long row = rows.getOrDefault(key, -1L);
+        if (row < 0) {
+            return new long[binCount];
+        }
+        int from = (int) row * binCount;
+        return Arrays.copyOfRange(counts, from, from + binCount);
+    }
+
+    /**
+     * 所有键，升序
+     */
+    public long[] sortedKeys() {
+        return rows.sortedKeys();
+    }
+
+    /**
+     * 把另一个直方图逐键、逐桶累加到当前直方图，两者的桶数量必须相同
+     */
+    public void addAll(LongHistogramMap other) {
+        if (other.binCount != binCount) {
+            throw new IllegalArgumentException("桶数量不一致：" + binCount + "，" + other.binCount);
+        }
+        long[] otherCounts = other.counts;
+        other.rows.forEach((key, otherRow) -> {
+            int to = row(key) * binCount;
+            long[] counts = this.counts;
+            int from = (int) otherRow * binCount;
+            for (int i = 0; i < binCount; i++) {
+                counts[to + i] += otherCounts[from + i];
+            }
+        });
+    }
+
+    private int row(long key) {
+        int row = (int) rows.getOrPut(key, rowCount);
+        if (row == rowCount) {
+            rowCount++;
+            if (rowCount * binCount > counts.length) {
+                counts = Arrays.copyOf(counts, counts.length * 2);
+            }
+        }
+        return row;
+    }
+}
@@ -0,0 +1,33 @@
+package com.andy.aggregate;
+
+import com.andy.entity.Role;
+import com.andy.entity.User;
+
+import java.util.List;
+
+/**
+ * 用户常用的分组键
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 11:00
+ */
+public final class UserGroupKeys {
+
+    /**
+     * 按角色id分组，一个用户计入其每个角色；角色列表、角色或角色id为 null 的跳过
+     */
+    public static final GroupKeys<User> ROLE_ID = (user, sink) -> {
+        List<Role> roleList = user.getRoleList();
+        if (roleList == null) {
+            return;
+        }
+        for (Role role : roleList) {
+            if (role != null && role.getId() != null) {
+                sink.accept(role.getId());
+            }
+        }
+    };
+
+    private UserGroupKeys() {
+    }
+}
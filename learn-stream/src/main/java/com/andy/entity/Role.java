@@ -1,25 +1,55 @@
 package com.andy.entity;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 
 /**
- * 角色实体
+ * 角色实体，不可变
+ * <p>
+ * 通过 {@link #of(Long, String)} 获取的是 {@link RoleRegistry} 中驻留的唯一实例，相同的角色可以直接用 == 比较；
+ * 用户的角色列表中保存的都是驻留实例。直接 new 出来的角色只按值比较。
  *
  * @author MaoPing Zou
  * @date 2022/8/16 08:18
  */
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class Role {
+@Getter
+@ToString(exclude = "code")
+@EqualsAndHashCode(exclude = "code")
+public final class Role {
     /**
      * 角色id
      */
-    private Long id;
+    private final Long id;
     /**
      * 角色名称
      */
-    private String roleName;
+    private final String roleName;
+    /**
+     * 在 RoleRegistry 中的编号，未驻留的角色为 -1
+     */
+    @Getter(AccessLevel.NONE)
+    private final int code;
+
+    public Role(Long id, String roleName) {
+        this(id, roleName, -1);
+    }
+
+    Role(Long id, String roleName, int code) {
+        this.id = id;
+        this.roleName = roleName;
+        this.code = code;
+    }
+
+    /**
+     * 获取驻留的角色实例
+     */
+    public static Role of(Long id, String roleName) {
+        return RoleRegistry.intern(id, roleName);
+    }
+
+    int code() {
+        return code;
+    }
 }
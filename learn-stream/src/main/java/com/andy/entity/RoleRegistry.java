@@ -0,0 +1,90 @@
+package com.andy.entity;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 角色驻留表：每个不同的（角色id，角色名称）只保留一个 {@link Role} 实例，并按首次出现的顺序分配从 0 开始的编号
+ * <p>
+ * 编号用于 {@link RoleSet} 的紧凑编码。查找不加锁；新角色的登记通过 synchronized 串行化，
+ * 编号数组采用写时复制，读取方只读一次 volatile 引用。角色一经登记不会移除，角色的种类应当是有限的。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 18:20
+ */
+public final class RoleRegistry {
+
+    /**
+     * 值相等的角色 -> 驻留实例，Role 的 equals 不比较编号，可以用新建的角色来查找
+     */
+    private static final Map<Role, Role> CANONICAL = new ConcurrentHashMap<>();
+
+    /**
+     * 下标为编号
+     */
+    private static volatile Role[] byCode = new Role[0];
+
+    private RoleRegistry() {
+    }
+
+    /**
+     * 获取驻留的角色实例，不存在时登记
+     */
+    public static Role intern(Long id, String roleName) {
+        return intern(new Role(id, roleName));
+    }
+
+    /**
+     * 获取与 role 值相等的驻留实例，不存在时登记；role 本身已是驻留实例时直接返回
+     */
+    public static Role intern(Role role) {
+        if (isCanonical(role)) {
+            return role;
+        }
+        Role canonical = CANONICAL.get(role);
+        if (canonical != null) {
+            return canonical;
+        }
+        synchronized (RoleRegistry.class) {
+            canonical = CANONICAL.get(role);
+            if (canonical == null) {
+                Role[] current = byCode;
+                canonical = new Role(role.getId(), role.getRoleName(), current.length);
+                Role[] copy = Arrays.copyOf(current, current.length + 1);
+                copy[current.length] = canonical;
+                byCode = copy;
+                CANONICAL.put(canonical, canonical);
+            }
+            return canonical;
+        }
+    }
+
+    /**
+     * 查找与 role 值相等的驻留实例，不登记，不存在时返回 null
+     */
+    public static Role find(Role role) {
+        return isCanonical(role) ? role : CANONICAL.get(role);
+    }
+
+    /**
+     * 已登记的角色数量
+     */
+    public static int size() {
+        return byCode.length;
+    }
+
+    /**
+     * 编号对应的驻留实例
+     */
+    public static Role byCode(int code) {
+        return byCode[code];
+    }
+
+    /**
+     * 只有驻留表会创建带编号的角色
+     */
+    private static boolean isCanonical(Role role) {
+        return role.code() >= 0;
+    }
+}
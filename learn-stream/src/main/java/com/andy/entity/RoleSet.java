@@ -0,0 +1,204 @@
+package com.andy.entity;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 用户角色的紧凑编码，不可变，对外仍是一个 {@code List<Role>}
+ * <p>
+ * 角色按 {@link RoleRegistry} 中的编号存放：编号小于 64 的角色用一个 long 位掩码表示，其余编号存放在有序 int 数组中。
+ * 列表中的角色都是驻留实例，按编号（即角色首次登记的顺序）排列，不含 null 和重复的角色。
+ * 只用位掩码表示的角色组合会被复用，拥有相同角色的用户共享同一个实例。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 18:35
+ */
+public final class RoleSet extends AbstractList<Role> implements RandomAccess {
+
+    public static final RoleSet EMPTY = new RoleSet(0L, new int[0]);
+
+    private static final int MASK_BITS = 64;
+
+    /**
+     * 位掩码 -> 复用的实例，只缓存没有高位编号的组合
+     */
+    private static final Map<Long, RoleSet> MASK_ONLY = new ConcurrentHashMap<>();
+
+    private final long mask;
+
+    /**
+     * 大于等于 64 的编号，升序
+     */
+    private final int[] overflow;
+
+    private RoleSet(long mask, int[] overflow) {
+        this.mask = mask;
+        this.overflow = overflow;
+    }
+
+    /**
+     * 把角色列表转换为紧凑编码，角色会被驻留；null 元素和重复的角色被忽略，roles 为 null 时返回 null
+     */
+    public static RoleSet of(Collection<? extends Role> roles) {
+        if (roles == null) {
+            return null;
+        }
+        if (roles instanceof RoleSet) {
+            return (RoleSet) roles;
+        }
+        long mask = 0L;
+        int[] overflow = null;
+        int overflowSize = 0;
+        for (Role role : roles) {
+            if (role == null) {
+                continue;
+            }
+            int code = RoleRegistry.intern(role).code();
+            if (code < MASK_BITS) {
+                mask |= 1L << code;
+            } else {
+                if (overflow == null) {
+                    overflow = new int[4];
+                } else if (overflowSize == overflow.length) {
+                    overflow = Arrays.copyOf(overflow, overflowSize * 2);
+                }
+                overflow[overflowSize++] = code;
+            }
+        }
+        if (overflow == null) {
+            return ofMask(mask);
+        }
+        Arrays.sort(overflow, 0, overflowSize);
+        int distinct = 0;
+        for (int i = 0; i < overflowSize; i++) {
+            if (distinct == 0 || overflow[i] != overflow[distinct - 1]) {
+                overflow[distinct++] = overflow[i];
+            }
+        }
+        return new RoleSet(mask, Arrays.copyOf(overflow, distinct));
+    }
+
+    private static RoleSet ofMask(long mask) {
+        if (mask == 0L) {
+            return EMPTY;
+        }
+        return MASK_ONLY.computeIfAbsent(mask, m -> new RoleSet(m, EMPTY.overflow));
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(mask) + overflow.length;
+    }
+
+    @Override
+    public Role get(int index) {
+        int low = Long.bitCount(mask);
+        if (index < 0 || index >= low + overflow.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (index >= low) {
+            return RoleRegistry.byCode(overflow[index - low]);
+        }
+        long remaining = mask;
+        for (int i = 0; i < index; i++) {
+            remaining &= remaining - 1;
+        }
+        return RoleRegistry.byCode(Long.numberOfTrailingZeros(remaining));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Role)) {
+            return false;
+        }
+        Role canonical = RoleRegistry.find((Role) o);
+        return canonical != null && containsCode(canonical.code());
+    }
+
+    /**
+     * 是否包含 other 中的所有角色
+     */
+    public boolean containsAll(RoleSet other) {
+        if ((other.mask & ~mask) != 0L) {
+            return false;
+        }
+        for (int code : other.overflow) {
+            if (Arrays.binarySearch(overflow, code) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 是否与 other 有相同的角色
+     */
+    public boolean intersects(RoleSet other) {
+        if ((other.mask & mask) != 0L) {
+            return true;
+        }
+        for (int code : other.overflow) {
+            if (Arrays.binarySearch(overflow, code) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<Role> iterator() {
+        return new Iterator<Role>() {
+
+            private long remaining = mask;
+
+            private int overflowIndex;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0L || overflowIndex < overflow.length;
+            }
+
+            @Override
+            public Role next() {
+                if (remaining != 0L) {
+                    int code = Long.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                    return RoleRegistry.byCode(code);
+                }
+                if (overflowIndex < overflow.length) {
+                    return RoleRegistry.byCode(overflow[overflowIndex++]);
+                }
+                throw new NoSuchElementException();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof RoleSet) {
+            RoleSet other = (RoleSet) o;
+            return mask == other.mask && Arrays.equals(overflow, other.overflow);
+        }
+        return o instanceof List && super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // 与 List.hashCode 的约定保持一致
+        return super.hashCode();
+    }
+
+    private boolean containsCode(int code) {
+        return code < MASK_BITS ? (mask & (1L << code)) != 0L : Arrays.binarySearch(overflow, code) >= 0;
+    }
+}
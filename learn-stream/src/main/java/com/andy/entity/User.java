@@ -1,8 +1,6 @@
 package com.andy.entity;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
-import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
@@ -14,9 +12,7 @@ import java.util.List;
  * @date 2022/8/16 08:16
  */
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
-@EqualsAndHashCode // 用于重写equals方法
 public class User {
     /**
      * 用户id
@@ -31,7 +27,18 @@ public class User {
      */
     private Integer age;
     /**
-     * 用户角色
+     * 用户角色，保存为不可变的 {@link RoleSet}，其中都是驻留的角色实例
      */
     private List<Role> roleList;
+
+    public User(Long id, String name, Integer age, List<Role> roleList) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.roleList = RoleSet.of(roleList);
+    }
+
+    public void setRoleList(List<Role> roleList) {
+        this.roleList = RoleSet.of(roleList);
+    }
 }
@@ -0,0 +1,171 @@
+package com.andy.index;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * 有序 char 数组容器，数组长度恰好等于元素个数
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 16:45
+ */
+final class ArrayContainer extends Container {
+
+    final char[] values;
+
+    ArrayContainer(char[] values) {
+        this.values = values;
+    }
+
+    @Override
+    int cardinality() {
+        return values.length;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    @Override
+    Container add(char value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index >= 0) {
+            return this;
+        }
+        if (values.length == ARRAY_MAX) {
+            return BitmapContainer.of(this).add(value);
+        }
+        int insertion = -index - 1;
+        char[] copy = new char[values.length + 1];
+        System.arraycopy(values, 0, copy, 0, insertion);
+        copy[insertion] = value;
+        System.arraycopy(values, insertion, copy, insertion + 1, values.length - insertion);
+        return new ArrayContainer(copy);
+    }
+
+    @Override
+    Container remove(char value) {
+        int index = Arrays.binarySearch(values, value);
+        if (index < 0) {
+            return this;
+        }
+        if (values.length == 1) {
+            return null;
+        }
+        char[] copy = new char[values.length - 1];
+        System.arraycopy(values, 0, copy, 0, index);
+        System.arraycopy(values, index + 1, copy, index, values.length - index - 1);
+        return new ArrayContainer(copy);
+    }
+
+    @Override
+    Container and(Container other) {
+        char[] result = new char[values.length];
+        int n = 0;
+        if (other instanceof ArrayContainer) {
+            char[] others = ((ArrayContainer) other).values;
+            int i = 0;
+            int j = 0;
+            while (i < values.length && j < others.length) {
+                if (values[i] < others[j]) {
+                    i++;
+                } else if (values[i] > others[j]) {
+                    j++;
+                } else {
+                    result[n++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+        } else {
+            for (char value : values) {
+                if (other.contains(value)) {
+                    result[n++] = value;
+                }
+            }
+        }
+        return n == 0 ? null : new ArrayContainer(Arrays.copyOf(result, n));
+    }
+
+    @Override
+    boolean intersects(Container other) {
+        if (other instanceof BitmapContainer) {
+            return other.intersects(this);
+        }
+        char[] others = ((ArrayContainer) other).values;
+        int i = 0;
+        int j = 0;
+        while (i < values.length && j < others.length) {
+            if (values[i] < others[j]) {
+                i++;
+            } else if (values[i] > others[j]) {
+                j++;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    Container or(Container other) {
+        if (other instanceof BitmapContainer) {
+            return other.or(this);
+        }
+        char[] others = ((ArrayContainer) other).values;
+        char[] result = new char[values.length + others.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < values.length && j < others.length) {
+            if (values[i] < others[j]) {
+                result[n++] = values[i++];
+            } else if (values[i] > others[j]) {
+                result[n++] = others[j++];
+            } else {
+                result[n++] = values[i];
+                i++;
+                j++;
+            }
+        }
+        while (i < values.length) {
+            result[n++] = values[i++];
+        }
+        while (j < others.length) {
+            result[n++] = others[j++];
+        }
+        ArrayContainer merged = new ArrayContainer(n == result.length ? result : Arrays.copyOf(result, n));
+        return n > ARRAY_MAX ? BitmapContainer.of(merged) : merged;
+    }
+
+    @Override
+    Container andNot(Container other) {
+        char[] result = new char[values.length];
+        int n = 0;
+        for (char value : values) {
+            if (!other.contains(value)) {
+                result[n++] = value;
+            }
+        }
+        if (n == values.length) {
+            return this;
+        }
+        return n == 0 ? null : new ArrayContainer(Arrays.copyOf(result, n));
+    }
+
+    @Override
+    void forEach(long high, LongConsumer consumer) {
+        for (char value : values) {
+            consumer.accept(high | value);
+        }
+    }
+
+    @Override
+    int fill(long high, long[] out, int offset) {
+        for (char value : values) {
+            out[offset++] = high | value;
+        }
+        return offset;
+    }
+}
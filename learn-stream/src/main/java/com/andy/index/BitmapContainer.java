@@ -0,0 +1,190 @@
+package com.andy.index;
+
+import java.util.function.LongConsumer;
+
+/**
+ * 65536 位的位图容器，元素多于 {@link Container#ARRAY_MAX} 个时使用
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 16:50
+ */
+final class BitmapContainer extends Container {
+
+    private static final int WORDS = 1 << 10;
+
+    final long[] words;
+
+    private final int cardinality;
+
+    private BitmapContainer(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    static BitmapContainer of(ArrayContainer array) {
+        long[] words = new long[WORDS];
+        for (char value : array.values) {
+            words[value >>> 6] |= 1L << value;
+        }
+        return new BitmapContainer(words, array.values.length);
+    }
+
+    /**
+     * 元素个数不多于 {@link #ARRAY_MAX} 时转换为有序数组容器，为 0 时返回 null
+     */
+    private static Container shrink(long[] words, int cardinality) {
+        if (cardinality == 0) {
+            return null;
+        }
+        if (cardinality > ARRAY_MAX) {
+            return new BitmapContainer(words, cardinality);
+        }
+        char[] values = new char[cardinality];
+        int n = 0;
+        for (int i = 0; i < WORDS; i++) {
+            long word = words[i];
+            while (word != 0) {
+                values[n++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return new ArrayContainer(values);
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    Container add(char value) {
+        if (contains(value)) {
+            return this;
+        }
+        long[] copy = words.clone();
+        copy[value >>> 6] |= 1L << value;
+        return new BitmapContainer(copy, cardinality + 1);
+    }
+
+    @Override
+    Container remove(char value) {
+        if (!contains(value)) {
+            return this;
+        }
+        long[] copy = words.clone();
+        copy[value >>> 6] &= ~(1L << value);
+        return shrink(copy, cardinality - 1);
+    }
+
+    @Override
+    Container and(Container other) {
+        if (other instanceof ArrayContainer) {
+            return other.and(this);
+        }
+        long[] others = ((BitmapContainer) other).words;
+        long[] result = new long[WORDS];
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & others[i];
+            count += Long.bitCount(result[i]);
+        }
+        return shrink(result, count);
+    }
+
+    @Override
+    boolean intersects(Container other) {
+        if (other instanceof ArrayContainer) {
+            for (char value : ((ArrayContainer) other).values) {
+                if (contains(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long[] others = ((BitmapContainer) other).words;
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & others[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    Container or(Container other) {
+        long[] result = words.clone();
+        if (other instanceof ArrayContainer) {
+            int count = cardinality;
+            for (char value : ((ArrayContainer) other).values) {
+                long bit = 1L << value;
+                if ((result[value >>> 6] & bit) == 0) {
+                    result[value >>> 6] |= bit;
+                    count++;
+                }
+            }
+            return new BitmapContainer(result, count);
+        }
+        long[] others = ((BitmapContainer) other).words;
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            result[i] |= others[i];
+            count += Long.bitCount(result[i]);
+        }
+        return new BitmapContainer(result, count);
+    }
+
+    @Override
+    Container andNot(Container other) {
+        long[] result = words.clone();
+        int count;
+        if (other instanceof ArrayContainer) {
+            count = cardinality;
+            for (char value : ((ArrayContainer) other).values) {
+                long bit = 1L << value;
+                if ((result[value >>> 6] & bit) != 0) {
+                    result[value >>> 6] &= ~bit;
+                    count--;
+                }
+            }
+        } else {
+            long[] others = ((BitmapContainer) other).words;
+            count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                result[i] &= ~others[i];
+                count += Long.bitCount(result[i]);
+            }
+        }
+        if (count == cardinality) {
+            return this;
+        }
+        return shrink(result, count);
+    }
+
+    @Override
+    void forEach(long high, LongConsumer consumer) {
+        for (int i = 0; i < WORDS; i++) {
+            long word = words[i];
+            while (word != 0) {
+                consumer.accept(high | ((i << 6) + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    int fill(long high, long[] out, int offset) {
+        for (int i = 0; i < WORDS; i++) {
+            long word = words[i];
+            while (word != 0) {
+                out[offset++] = high | ((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return offset;
+    }
+}
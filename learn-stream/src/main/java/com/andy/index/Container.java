@@ -0,0 +1,61 @@
+package com.andy.index;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Roaring 位图中的一个容器，存放高 16 位相同的一组整数的低 16 位
+ * <p>
+ * 元素不多于 {@link #ARRAY_MAX} 个时用有序数组，否则用 65536 位的位图。容器一旦创建就不再修改，
+ * 各种操作都返回新的容器，因此多个位图之间可以共享同一个容器。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 16:40
+ */
+abstract class Container {
+
+    /**
+     * 有序数组容器的最大元素数，超过后改用位图：4096 个 char 与 1024 个 long 同为 8KB
+     */
+    static final int ARRAY_MAX = 4096;
+
+    abstract int cardinality();
+
+    abstract boolean contains(char value);
+
+    /**
+     * @return 加入 value 后的容器，value 已存在时返回当前容器
+     */
+    abstract Container add(char value);
+
+    /**
+     * @return 去掉 value 后的容器，value 不存在时返回当前容器，结果为空时返回 null
+     */
+    abstract Container remove(char value);
+
+    /**
+     * 交集，结果为空时返回 null
+     */
+    abstract Container and(Container other);
+
+    /**
+     * 是否有交集，找到第一个公共元素即返回，不分配内存
+     */
+    abstract boolean intersects(Container other);
+
+    abstract Container or(Container other);
+
+    /**
+     * 差集，结果为空时返回 null
+     */
+    abstract Container andNot(Container other);
+
+    /**
+     * 按升序遍历，high 为高 16 位
+     */
+    abstract void forEach(long high, LongConsumer consumer);
+
+    /**
+     * 按升序写入 out，返回写入后的下标
+     */
+    abstract int fill(long high, long[] out, int offset);
+}
@@ -0,0 +1,337 @@
+package com.andy.index;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Roaring 风格的压缩位图，存放 [0, 2^32) 范围内的 id
+ * <p>
+ * id 按高 16 位分到若干容器中，稀疏的容器用有序 char 数组，稠密的容器用位图，见 {@link Container}。
+ * 位图不可变：{@link #with}、{@link #and}、{@link #or}、{@link #andNot} 都返回新的位图，
+ * 未受影响的容器在新旧位图之间共享，因此单个 id 的增删只复制一个容器。可以在多个线程之间自由共享。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 17:00
+ */
+public final class RoaringBitmap {
+
+    public static final RoaringBitmap EMPTY = new RoaringBitmap(new char[0], new Container[0]);
+
+    private static final long MAX_ID = 0xFFFFFFFFL;
+
+    /**
+     * 各容器的高 16 位，升序
+     */
+    private final char[] keys;
+
+    private final Container[] containers;
+
+    private RoaringBitmap(char[] keys, Container[] containers) {
+        this.keys = keys;
+        this.containers = containers;
+    }
+
+    /**
+     * 由任意顺序、可以重复的 id 构造位图
+     */
+    public static RoaringBitmap of(long... ids) {
+        long[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        return ofSorted(sorted, sorted.length);
+    }
+
+    /**
+     * 由升序的 ids[0, length) 构造位图，可以重复
+     */
+    static RoaringBitmap ofSorted(long[] ids, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        checkId(ids[0]);
+        checkId(ids[length - 1]);
+        char[] keys = new char[16];
+        Container[] containers = new Container[16];
+        int size = 0;
+        char[] values = new char[Container.ARRAY_MAX];
+        int from = 0;
+        while (from < length) {
+            char key = (char) (ids[from] >>> 16);
+            int n = 0;
+            long previous = -1;
+            int to = from;
+            while (to < length && (ids[to] >>> 16) == key) {
+                if (ids[to] != previous) {
+                    if (n == values.length) {
+                        values = Arrays.copyOf(values, values.length * 2);
+                    }
+                    values[n++] = (char) ids[to];
+                    previous = ids[to];
+                }
+                to++;
+            }
+            ArrayContainer array = new ArrayContainer(Arrays.copyOf(values, n));
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                containers = Arrays.copyOf(containers, size * 2);
+            }
+            keys[size] = key;
+            containers[size++] = n > Container.ARRAY_MAX ? BitmapContainer.of(array) : array;
+            from = to;
+        }
+        return new RoaringBitmap(Arrays.copyOf(keys, size), Arrays.copyOf(containers, size));
+    }
+
+    public boolean contains(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, (char) (id >>> 16));
+        return index >= 0 && containers[index].contains((char) id);
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    public long cardinality() {
+        long count = 0;
+        for (Container container : containers) {
+            count += container.cardinality();
+        }
+        return count;
+    }
+
+    /**
+     * 加入 id 后的位图
+     */
+    public RoaringBitmap with(long id) {
+        checkId(id);
+        char key = (char) (id >>> 16);
+        int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            Container updated = containers[index].add((char) id);
+            if (updated == containers[index]) {
+                return this;
+            }
+            Container[] copy = containers.clone();
+            copy[index] = updated;
+            return new RoaringBitmap(keys, copy);
+        }
+        int insertion = -index - 1;
+        char[] newKeys = new char[keys.length + 1];
+        Container[] newContainers = new Container[keys.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insertion);
+        System.arraycopy(containers, 0, newContainers, 0, insertion);
+        newKeys[insertion] = key;
+        newContainers[insertion] = new ArrayContainer(new char[]{(char) id});
+        System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+        System.arraycopy(containers, insertion, newContainers, insertion + 1, keys.length - insertion);
+        return new RoaringBitmap(newKeys, newContainers);
+    }
+
+    /**
+     * 去掉 id 后的位图
+     */
+    public RoaringBitmap without(long id) {
+        if (id < 0 || id > MAX_ID) {
+            return this;
+        }
+        int index = Arrays.binarySearch(keys, (char) (id >>> 16));
+        if (index < 0) {
+            return this;
+        }
+        Container updated = containers[index].remove((char) id);
+        if (updated == containers[index]) {
+            return this;
+        }
+        if (updated != null) {
+            Container[] copy = containers.clone();
+            copy[index] = updated;
+            return new RoaringBitmap(keys, copy);
+        }
+        char[] newKeys = new char[keys.length - 1];
+        Container[] newContainers = new Container[keys.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(containers, 0, newContainers, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+        System.arraycopy(containers, index + 1, newContainers, index, keys.length - index - 1);
+        return new RoaringBitmap(newKeys, newContainers);
+    }
+
+    /**
+     * 交集
+     */
+    public RoaringBitmap and(RoaringBitmap other) {
+        int capacity = Math.min(keys.length, other.keys.length);
+        char[] newKeys = new char[capacity];
+        Container[] newContainers = new Container[capacity];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container != null) {
+                    newKeys[n] = keys[i];
+                    newContainers[n++] = container;
+                }
+                i++;
+                j++;
+            }
+        }
+        return create(newKeys, newContainers, n);
+    }
+
+    /**
+     * 并集
+     */
+    public RoaringBitmap or(RoaringBitmap other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        char[] newKeys = new char[keys.length + other.keys.length];
+        Container[] newContainers = new Container[newKeys.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                newKeys[n] = keys[i];
+                newContainers[n++] = containers[i++];
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                newKeys[n] = other.keys[j];
+                newContainers[n++] = other.containers[j++];
+            } else {
+                newKeys[n] = keys[i];
+                newContainers[n++] = containers[i++].or(other.containers[j++]);
+            }
+        }
+        return create(newKeys, newContainers, n);
+    }
+
+    /**
+     * 差集：在当前位图中、不在 other 中的 id
+     */
+    public RoaringBitmap andNot(RoaringBitmap other) {
+        if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+        char[] newKeys = new char[keys.length];
+        Container[] newContainers = new Container[keys.length];
+        int n = 0;
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            while (j < other.keys.length && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container container = containers[i];
+            if (j < other.keys.length && other.keys[j] == keys[i]) {
+                container = container.andNot(other.containers[j]);
+            }
+            if (container != null) {
+                newKeys[n] = keys[i];
+                newContainers[n++] = container;
+            }
+        }
+        return create(newKeys, newContainers, n);
+    }
+
+    /**
+     * 与 other 是否有交集，不构造结果位图，也不创建中间容器
+     */
+    public boolean intersects(RoaringBitmap other) {
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                if (containers[i].intersects(other.containers[j])) {
+                    return true;
+                }
+                i++;
+                j++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 按升序遍历
+     */
+    public void forEach(LongConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            containers[i].forEach((long) keys[i] << 16, consumer);
+        }
+    }
+
+    /**
+     * 所有 id，升序
+     */
+    public long[] toArray() {
+        long cardinality = cardinality();
+        if (cardinality > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("元素过多，无法转换为数组：" + cardinality);
+        }
+        long[] result = new long[(int) cardinality];
+        int offset = 0;
+        for (int i = 0; i < keys.length; i++) {
+            offset = containers[i].fill((long) keys[i] << 16, result, offset);
+        }
+        return result;
+    }
+
+    public LongStream stream() {
+        return LongStream.of(toArray());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RoaringBitmap)) {
+            return false;
+        }
+        RoaringBitmap other = (RoaringBitmap) o;
+        return Arrays.equals(keys, other.keys) && Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        long cardinality = cardinality();
+        if (cardinality > 32) {
+            return "RoaringBitmap[cardinality=" + cardinality + "]";
+        }
+        return Arrays.toString(toArray());
+    }
+
+    private static RoaringBitmap create(char[] keys, Container[] containers, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        return new RoaringBitmap(keys.length == size ? keys : Arrays.copyOf(keys, size),
+                containers.length == size ? containers : Arrays.copyOf(containers, size));
+    }
+
+    private static void checkId(long id) {
+        if (id < 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("id 超出范围 [0, 2^32)：" + id);
+        }
+    }
+}
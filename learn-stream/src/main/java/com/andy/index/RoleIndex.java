@@ -0,0 +1,328 @@
+package com.andy.index;
+
+import com.andy.entity.Role;
+import com.andy.entity.User;
+import com.andy.stream.LongLongMap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 角色倒排索引：角色id -> 拥有该角色的用户id，用 {@link RoaringBitmap} 存放
+ * <p>
+ * "拥有角色 X 的用户"不再需要遍历所有用户再 flatMap 角色列表，直接取位图即可；
+ * 多个角色的 AND / OR / NOT 组合就是位图之间的交、并、差。例如同时拥有角色 1、2 但没有角色 3 的用户：
+ * <pre>{@code
+ * RoaringBitmap users = index.allOf(1L, 2L).andNot(index.usersWith(3L));
+ * }</pre>
+ * 与 StrategyRegistry 一样采用写时复制：更新时生成新的快照并整体替换 volatile 引用，
+ * 查询只读取一次快照、不加锁；位图不可变，未受影响的容器在新旧快照之间共享，因此更新只复制被改动的容器。
+ * 角色id为 null 的角色跳过；用户id不能为 null 且需在 [0, 2^32) 范围内，否则整批抛出 {@link IllegalArgumentException}，索引不变。
+ * 快照中角色id经基本类型的 {@link LongLongMap} 映射到位图数组的下标，按角色查找时不装箱。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 17:20
+ */
+public class RoleIndex {
+
+    private static final long[] NO_ROLES = new long[0];
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), RoaringBitmap.EMPTY);
+
+    /**
+     * 用户id -> 当前的角色id（升序、去重），用于更新时计算差异，只在持有当前对象的锁时访问
+     */
+    private final Map<Long, long[]> rolesByUser = new HashMap<>();
+
+    /**
+     * 用全量用户构造索引
+     */
+    public static RoleIndex of(Collection<User> users) {
+        RoleIndex index = new RoleIndex();
+        index.putAll(users);
+        return index;
+    }
+
+    /**
+     * 新增用户或用新的角色列表替换旧的
+     */
+    public void put(User user) {
+        putAll(Collections.singletonList(user));
+    }
+
+    /**
+     * 批量新增或更新用户，整批只发布一次快照
+     * <p>
+     * 先算出每个角色净增、净减的用户，再分别构造成位图与原位图做并、差
+     */
+    public synchronized void putAll(Collection<User> users) {
+        // 先整批校验，避免校验失败时 rolesByUser 已被部分修改
+        for (User user : users) {
+            if (user.getId() == null || user.getId() < 0 || user.getId() > 0xFFFFFFFFL) {
+                throw new IllegalArgumentException("用户id需在 [0, 2^32) 范围内：" + user);
+            }
+        }
+        Map<Long, long[]> before = new HashMap<>();
+        for (User user : users) {
+            long userId = user.getId();
+            long[] roles = roleIds(user);
+            long[] old = rolesByUser.put(userId, roles);
+            if (!before.containsKey(userId)) {
+                before.put(userId, old);
+            }
+        }
+        publish(before);
+    }
+
+    /**
+     * 删除用户
+     *
+     * @return 用户原先是否在索引中
+     */
+    public synchronized boolean remove(long userId) {
+        long[] old = rolesByUser.remove(userId);
+        if (old == null) {
+            return false;
+        }
+        publish(Collections.singletonMap(userId, old));
+        return true;
+    }
+
+    /**
+     * 拥有该角色的用户
+     */
+    public RoaringBitmap usersWith(long roleId) {
+        return snapshot.usersWith(roleId);
+    }
+
+    /**
+     * 索引中的所有用户，包括没有任何角色的用户
+     */
+    public RoaringBitmap allUsers() {
+        return snapshot.allUsers;
+    }
+
+    /**
+     * 同时拥有所有这些角色的用户（AND），从用户最少的角色开始求交
+     */
+    public RoaringBitmap allOf(long... roleIds) {
+        Snapshot current = snapshot;
+        if (roleIds.length == 0) {
+            return current.allUsers;
+        }
+        RoaringBitmap[] bitmaps = new RoaringBitmap[roleIds.length];
+        for (int i = 0; i < roleIds.length; i++) {
+            bitmaps[i] = current.usersWith(roleIds[i]);
+            if (bitmaps[i].isEmpty()) {
+                return RoaringBitmap.EMPTY;
+            }
+        }
+        Arrays.sort(bitmaps, (b1, b2) -> Long.compare(b1.cardinality(), b2.cardinality()));
+        RoaringBitmap result = bitmaps[0];
+        for (int i = 1; i < bitmaps.length && !result.isEmpty(); i++) {
+            result = result.and(bitmaps[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 拥有其中任一角色的用户（OR）
+     */
+    public RoaringBitmap anyOf(long... roleIds) {
+        Snapshot current = snapshot;
+        RoaringBitmap result = RoaringBitmap.EMPTY;
+        for (long roleId : roleIds) {
+            result = result.or(current.usersWith(roleId));
+        }
+        return result;
+    }
+
+    /**
+     * 不拥有其中任何角色的用户（NOT）
+     */
+    public RoaringBitmap noneOf(long... roleIds) {
+        Snapshot current = snapshot;
+        RoaringBitmap result = current.allUsers;
+        for (long roleId : roleIds) {
+            result = result.andNot(current.usersWith(roleId));
+        }
+        return result;
+    }
+
+    /**
+     * 用户是否拥有该角色，用于鉴权，只做一次不装箱的哈希查找和一次容器内查找
+     */
+    public boolean hasRole(long userId, long roleId) {
+        return snapshot.usersWith(roleId).contains(userId);
+    }
+
+    /**
+     * 用户是否拥有所有这些角色
+     */
+    public boolean hasAllRoles(long userId, long... roleIds) {
+        Snapshot current = snapshot;
+        for (long roleId : roleIds) {
+            if (!current.usersWith(roleId).contains(userId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 用户是否拥有其中任一角色
+     */
+    public boolean hasAnyRole(long userId, long... roleIds) {
+        Snapshot current = snapshot;
+        for (long roleId : roleIds) {
+            if (current.usersWith(roleId).contains(userId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 根据变更前的角色和 rolesByUser 中的当前角色，计算各角色的净变化并发布新快照，调用方需持有当前对象的锁
+     *
+     * @param before 用户id -> 变更前的角色，变更前不在索引中时为 null
+     */
+    private void publish(Map<Long, long[]> before) {
+        Map<Long, IdBuffer> added = new HashMap<>();
+        Map<Long, IdBuffer> removed = new HashMap<>();
+        IdBuffer newUsers = new IdBuffer();
+        IdBuffer goneUsers = new IdBuffer();
+        for (Map.Entry<Long, long[]> entry : before.entrySet()) {
+            long userId = entry.getKey();
+            long[] oldRoles = entry.getValue();
+            long[] newRoles = rolesByUser.get(userId);
+            if (oldRoles == null && newRoles != null) {
+                newUsers.add(userId);
+            } else if (oldRoles != null && newRoles == null) {
+                goneUsers.add(userId);
+            }
+            diff(userId, oldRoles == null ? NO_ROLES : oldRoles, newRoles == null ? NO_ROLES : newRoles,
+                    added, removed);
+        }
+        Snapshot current = snapshot;
+        Map<Long, RoaringBitmap> byRole = new HashMap<>(current.byRole);
+        for (Map.Entry<Long, IdBuffer> entry : added.entrySet()) {
+            byRole.merge(entry.getKey(), entry.getValue().toBitmap(), RoaringBitmap::or);
+        }
+        for (Map.Entry<Long, IdBuffer> entry : removed.entrySet()) {
+            RoaringBitmap users = byRole.get(entry.getKey()).andNot(entry.getValue().toBitmap());
+            if (users.isEmpty()) {
+                byRole.remove(entry.getKey());
+            } else {
+                byRole.put(entry.getKey(), users);
+            }
+        }
+        RoaringBitmap allUsers = current.allUsers.or(newUsers.toBitmap()).andNot(goneUsers.toBitmap());
+        snapshot = new Snapshot(byRole, allUsers);
+    }
+
+    /**
+     * 比较两个升序的角色数组，把用户记入各角色的新增、删除列表
+     */
+    private static void diff(long userId, long[] oldRoles, long[] newRoles,
+                             Map<Long, IdBuffer> added, Map<Long, IdBuffer> removed) {
+        int i = 0;
+        int j = 0;
+        while (i < oldRoles.length || j < newRoles.length) {
+            if (j == newRoles.length || (i < oldRoles.length && oldRoles[i] < newRoles[j])) {
+                removed.computeIfAbsent(oldRoles[i++], k -> new IdBuffer()).add(userId);
+            } else if (i == oldRoles.length || oldRoles[i] > newRoles[j]) {
+                added.computeIfAbsent(newRoles[j++], k -> new IdBuffer()).add(userId);
+            } else {
+                i++;
+                j++;
+            }
+        }
+    }
+
+    /**
+     * 用户的角色id，升序、去重
+     */
+    private static long[] roleIds(User user) {
+        if (user.getRoleList() == null || user.getRoleList().isEmpty()) {
+            return NO_ROLES;
+        }
+        long[] ids = new long[user.getRoleList().size()];
+        int n = 0;
+        for (Role role : user.getRoleList()) {
+            if (role != null && role.getId() != null) {
+                ids[n++] = role.getId();
+            }
+        }
+        Arrays.sort(ids, 0, n);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || ids[i] != ids[distinct - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return distinct == ids.length ? ids : Arrays.copyOf(ids, distinct);
+    }
+
+    /**
+     * 一次性发布的索引快照
+     */
+    private static final class Snapshot {
+
+        /**
+         * 角色id -> 位图，只在发布新快照时用于计算下一个快照
+         */
+        final Map<Long, RoaringBitmap> byRole;
+
+        final RoaringBitmap allUsers;
+
+        /**
+         * 角色id -> bitmaps 的下标，发布后不再修改，可以并发读取
+         */
+        private final LongLongMap slots;
+
+        private final RoaringBitmap[] bitmaps;
+
+        Snapshot(Map<Long, RoaringBitmap> byRole, RoaringBitmap allUsers) {
+            this.byRole = byRole;
+            this.allUsers = allUsers;
+            this.slots = new LongLongMap(byRole.size());
+            this.bitmaps = new RoaringBitmap[byRole.size()];
+            int slot = 0;
+            for (Map.Entry<Long, RoaringBitmap> entry : byRole.entrySet()) {
+                slots.addTo(entry.getKey(), slot);
+                bitmaps[slot++] = entry.getValue();
+            }
+        }
+
+        RoaringBitmap usersWith(long roleId) {
+            long slot = slots.getOrDefault(roleId, -1L);
+            return slot < 0 ? RoaringBitmap.EMPTY : bitmaps[(int) slot];
+        }
+    }
+
+    /**
+     * 可增长的 long 数组，用于收集一批 id 后构造位图
+     */
+    private static final class IdBuffer {
+
+        long[] ids = new long[8];
+
+        int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        RoaringBitmap toBitmap() {
+            Arrays.sort(ids, 0, size);
+            return RoaringBitmap.ofSorted(ids, size);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.andy.io;
+
+import com.andy.util.NumberParsers;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 一行字节上的游标，直接在读缓冲区上解析，数字不经过 String
+ * <p>
+ * 游标由 {@link ByteLineReader} 复用，只在读取下一行之前有效。注意：该类不是线程安全的。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 13:10
+ */
+public final class ByteCursor {
+
+    private ByteBuffer buffer;
+
+    private int start;
+
+    private int position;
+
+    private int end;
+
+    /**
+     * 解码字符串时复用的字节数组
+     */
+    private byte[] scratch = new byte[64];
+
+    ByteCursor reset(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.start = start;
+        this.position = start;
+        this.end = end;
+        return this;
+    }
+
+    /**
+     * 行首在缓冲区中的位置
+     */
+    public int start() {
+        return start;
+    }
+
+    /**
+     * 游标在缓冲区中的位置
+     */
+    public int position() {
+        return position;
+    }
+
+    public void position(int position) {
+        this.position = position;
+    }
+
+    public int end() {
+        return end;
+    }
+
+    public boolean hasRemaining() {
+        return position < end;
+    }
+
+    /**
+     * 当前字节，不移动游标；已到行尾时返回 -1
+     */
+    public int peek() {
+        return position < end ? buffer.get(position) : -1;
+    }
+
+    public byte next() {
+        if (position >= end) {
+            throw malformed("意外的行尾");
+        }
+        return buffer.get(position++);
+    }
+
+    /**
+     * 指定位置的字节，不移动游标
+     */
+    public byte byteAt(int index) {
+        return buffer.get(index);
+    }
+
+    /**
+     * 当前字节等于 b 时跳过它
+     *
+     * @return 是否跳过
+     */
+    public boolean skipIf(byte b) {
+        if (position < end && buffer.get(position) == b) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 当前字节必须等于 b，否则抛出异常
+     */
+    public void expect(byte b) {
+        if (!skipIf(b)) {
+            throw malformed("期望 '" + (char) b + "'");
+        }
+    }
+
+    /**
+     * 当前位置以 ASCII 字面量 literal 开头时跳过它
+     */
+    public boolean skipIf(String literal) {
+        int length = literal.length();
+        if (end - position < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(position + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        position += length;
+        return true;
+    }
+
+    public void skipWhitespace() {
+        while (position < end) {
+            byte b = buffer.get(position);
+            if (b != ' ' && b != '\t') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    /**
+     * 解析十进制 long，遇到第一个非数字字节时停止；数字部分交给 {@link NumberParsers#parseLong(ByteBuffer, int, int)}，
+     * 符号与溢出规则与其一致
+     */
+    public long parseLong() {
+        int from = position;
+        int to = digitsEnd();
+        try {
+            long value = NumberParsers.parseLong(buffer, from, to);
+            position = to;
+            return value;
+        } catch (NumberFormatException e) {
+            throw malformed("数字超出 long 范围");
+        }
+    }
+
+    /**
+     * 解析十进制 int，遇到第一个非数字字节时停止
+     */
+    public int parseInt() {
+        int from = position;
+        int to = digitsEnd();
+        try {
+            int value = NumberParsers.parseInt(buffer, from, to);
+            position = to;
+            return value;
+        } catch (NumberFormatException e) {
+            throw malformed("数字超出 int 范围");
+        }
+    }
+
+    /**
+     * 从当前位置跳过可选的符号和连续的数字，返回数字之后的位置，不移动游标；没有数字时抛出异常
+     */
+    private int digitsEnd() {
+        int i = position;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            i++;
+        }
+        int digits = i;
+        while (i < end && buffer.get(i) >= '0' && buffer.get(i) <= '9') {
+            i++;
+        }
+        if (i == digits) {
+            throw malformed("期望数字");
+        }
+        return i;
+    }
+
+    /**
+     * 读取到 delimiter 或行尾为止的内容并按 UTF-8 解码，delimiter 不会被消费
+     */
+    public String readUntil(byte delimiter) {
+        int start = position;
+        while (position < end && buffer.get(position) != delimiter) {
+            position++;
+        }
+        return decode(start, position);
+    }
+
+    /**
+     * 把 [from, to) 区间的字节按 UTF-8 解码
+     */
+    public String decode(int from, int to) {
+        int length = to - from;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            scratch[i] = buffer.get(from + i);
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 构造带有当前行内容和位置的格式异常
+     */
+    public IllegalArgumentException malformed(String message) {
+        return new IllegalArgumentException(message + "，第 " + (position - start) + " 个字节：" + this);
+    }
+
+    /**
+     * 整行内容，仅用于错误信息
+     */
+    @Override
+    public String toString() {
+        return decode(start, end);
+    }
+}
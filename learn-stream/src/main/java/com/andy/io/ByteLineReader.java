@@ -0,0 +1,116 @@
+package com.andy.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * 按行读取 {@link ReadableByteChannel}，只使用一块可复用的直接缓冲区
+ * <p>
+ * 通道直接读入堆外缓冲区，各行在缓冲区上原地解析，不复制成 byte[] 或 String。
+ * 缓冲区只在单行比它还长时翻倍，最大不超过 maxLineLength，因此内存占用与文件大小无关。
+ * 行以 '\n' 或 "\r\n" 结尾，最后一行可以没有换行符。通道需为阻塞模式。注意：该类不是线程安全的。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 13:25
+ */
+public class ByteLineReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int DEFAULT_MAX_LINE_LENGTH = 1 << 20;
+
+    private final ReadableByteChannel channel;
+
+    private final int maxLineLength;
+
+    /**
+     * 始终处于读模式：[position, limit) 为尚未消费的字节
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * 当前行已经扫描过、确认不含换行符的字节数，补充数据后从这里继续扫描
+     */
+    private int scanned;
+
+    private boolean eof;
+
+    private final ByteCursor cursor = new ByteCursor();
+
+    public ByteLineReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE, DEFAULT_MAX_LINE_LENGTH);
+    }
+
+    public ByteLineReader(ReadableByteChannel channel, int bufferSize, int maxLineLength) {
+        if (bufferSize < 1 || maxLineLength < bufferSize) {
+            throw new IllegalArgumentException("缓冲区大小必须大于0且不超过最大行长度");
+        }
+        this.channel = channel;
+        this.maxLineLength = maxLineLength;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.buffer.flip();
+    }
+
+    /**
+     * 读取下一行
+     *
+     * @return 指向该行的游标，读取下一行后失效；没有更多行时返回 null
+     */
+    public ByteCursor nextLine() throws IOException {
+        while (true) {
+            int start = buffer.position();
+            int limit = buffer.limit();
+            for (int i = start + scanned; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    buffer.position(i + 1);
+                    scanned = 0;
+                    return line(start, i);
+                }
+            }
+            if (eof) {
+                if (start == limit) {
+                    return null;
+                }
+                buffer.position(limit);
+                scanned = 0;
+                return line(start, limit);
+            }
+            scanned = limit - start;
+            fill();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteCursor line(int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        return cursor.reset(buffer, start, end);
+    }
+
+    /**
+     * 把未消费的字节移到缓冲区开头并从通道补充数据，缓冲区已满时扩容
+     */
+    private void fill() throws IOException {
+        buffer.compact();
+        if (!buffer.hasRemaining()) {
+            if (buffer.capacity() >= maxLineLength) {
+                throw new IOException("单行超过 " + maxLineLength + " 字节");
+            }
+            ByteBuffer larger = ByteBuffer.allocateDirect(Math.min(buffer.capacity() * 2, maxLineLength));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+        }
+        if (channel.read(buffer) < 0) {
+            eof = true;
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,19 @@
+package com.andy.io;
+
+/**
+ * 把一行解析为一条记录
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 13:40
+ */
+@FunctionalInterface
+public interface LineParser<T> {
+
+    /**
+     * 解析游标所在的行
+     *
+     * @return 解析出的记录；该行应当跳过（如表头）时返回 null
+     * @throws IllegalArgumentException 格式错误
+     */
+    T parse(ByteCursor line);
+}
@@ -0,0 +1,204 @@
+package com.andy.io;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 在后台线程中预先读取上游，通过有界队列交给下游，实现背压
+ * <p>
+ * 上游按 batchSize 分批放入容量为 capacity 的队列，下游处理得慢时队列被填满，上游线程阻塞在 put 上，
+ * 不会继续读取、解析；同时驻留在内存中的元素最多约为 (capacity + 2) * batchSize 个。
+ * 例如一边解析文件、一边写数据库：
+ * <pre>{@code
+ * try (Stream<User> users = Prefetch.async(UserReader.csv(channel), 1024, 8)) {
+ *     users.forEach(userDao::insert);
+ * }
+ * }</pre>
+ * 上游抛出的异常在下游取到该位置时重新抛出。返回的流需要关闭：关闭时中断后台读取并关闭上游流。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 14:30
+ */
+public final class Prefetch {
+
+    /**
+     * 上游已结束的标记
+     */
+    private static final Object END = new Object();
+
+    private Prefetch() {
+    }
+
+    /**
+     * 使用新的守护线程预读
+     */
+    public static <T> Stream<T> async(Stream<T> source, int batchSize, int capacity) {
+        return async(source, batchSize, capacity, task -> {
+            Thread thread = new Thread(task, "prefetch");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * 使用指定的线程池预读，预读任务会一直占用一个线程，直到上游读完或返回的流被关闭
+     */
+    public static <T> Stream<T> async(Stream<T> source, int batchSize, int capacity, Executor executor) {
+        if (batchSize < 1 || capacity < 1) {
+            throw new IllegalArgumentException("批大小和队列容量都必须大于0");
+        }
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(capacity);
+        Producer<T> producer = new Producer<>(source, batchSize, queue);
+        executor.execute(producer);
+        Consumer<T> consumer = new Consumer<>(queue);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(consumer, Spliterator.ORDERED), false)
+                .onClose(producer::cancel);
+    }
+
+    private static final class Producer<T> implements Runnable {
+
+        private final Stream<T> source;
+
+        private final int batchSize;
+
+        private final BlockingQueue<Object> queue;
+
+        /**
+         * 正在执行预读的线程，读写都需持有当前对象的锁
+         */
+        private Thread runner;
+
+        private volatile boolean cancelled;
+
+        Producer(Stream<T> source, int batchSize, BlockingQueue<Object> queue) {
+            this.source = source;
+            this.batchSize = batchSize;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                runner = Thread.currentThread();
+            }
+            try (Stream<T> closing = source) {
+                // 任务开始前下游已经关闭时，只关闭上游
+                if (cancelled) {
+                    return;
+                }
+                Iterator<T> iterator = closing.iterator();
+                List<T> batch = new ArrayList<>(batchSize);
+                while (iterator.hasNext() && !cancelled) {
+                    batch.add(iterator.next());
+                    if (batch.size() == batchSize) {
+                        queue.put(batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    queue.put(batch);
+                }
+                queue.put(END);
+            } catch (InterruptedException e) {
+                // 下游已关闭
+            } catch (RuntimeException | Error e) {
+                putFailure(e);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    // 清除 cancel 留下的中断标记，避免影响线程池中的下一个任务
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        private void putFailure(Throwable cause) {
+            try {
+                queue.put(new Failure(cause));
+            } catch (InterruptedException e) {
+                // 下游已关闭，不再需要异常
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            queue.clear();
+            synchronized (this) {
+                if (runner != null) {
+                    runner.interrupt();
+                }
+            }
+        }
+    }
+
+    private static final class Failure {
+
+        final Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    private static final class Consumer<T> implements Iterator<T> {
+
+        private final BlockingQueue<Object> queue;
+
+        private List<T> batch;
+
+        private int index;
+
+        private boolean finished;
+
+        Consumer(BlockingQueue<Object> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            while (!finished && (batch == null || index == batch.size())) {
+                Object next;
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("等待上游数据时被中断", e);
+                }
+                if (next == END) {
+                    finished = true;
+                    batch = null;
+                } else if (next instanceof Failure) {
+                    finished = true;
+                    batch = null;
+                    Throwable cause = ((Failure) next).cause;
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw (RuntimeException) cause;
+                } else {
+                    batch = (List<T>) next;
+                    index = 0;
+                }
+            }
+            return !finished;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(index++);
+        }
+    }
+}
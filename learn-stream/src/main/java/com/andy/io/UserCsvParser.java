@@ -0,0 +1,106 @@
+package com.andy.io;
+
+import com.andy.entity.Role;
+import com.andy.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 解析 CSV 格式的用户，每行一个用户：
+ * <pre>
+ * id,name,age,roles
+ * 1,shelly,23,1:管理员|2:开发
+ * 2,lisa,,
+ * </pre>
+ * 字段为空时对应属性为 null；roles 中的角色以 '|' 分隔，每个角色为 "角色id:角色名称"。
+ * 名称中含有逗号时可以用双引号括起来，引号内的双引号写成两个。第一行不以数字开头时视为表头并跳过。
+ * <p>
+ * 解析器带有状态，每个输入流使用一个新的实例。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 13:50
+ */
+public class UserCsvParser implements LineParser<User> {
+
+    private static final byte COMMA = ',';
+
+    private static final byte QUOTE = '"';
+
+    private static final byte ROLE_SEPARATOR = '|';
+
+    private static final byte ROLE_NAME_SEPARATOR = ':';
+
+    private boolean firstLine = true;
+
+    private final StringBuilder quoted = new StringBuilder();
+
+    @Override
+    public User parse(ByteCursor line) {
+        if (firstLine) {
+            firstLine = false;
+            int b = line.peek();
+            if (b != -1 && b != '-' && (b < '0' || b > '9')) {
+                return null;
+            }
+        }
+        if (!line.hasRemaining()) {
+            return null;
+        }
+        Long id = isEmptyField(line) ? null : line.parseLong();
+        line.expect(COMMA);
+        String name = readName(line);
+        line.expect(COMMA);
+        Integer age = isEmptyField(line) ? null : line.parseInt();
+        List<Role> roleList = null;
+        if (line.skipIf(COMMA)) {
+            roleList = readRoles(line);
+        }
+        if (line.hasRemaining()) {
+            throw line.malformed("多余的字段");
+        }
+        return new User(id, name, age, roleList);
+    }
+
+    private static boolean isEmptyField(ByteCursor line) {
+        int b = line.peek();
+        return b == -1 || b == COMMA;
+    }
+
+    private String readName(ByteCursor line) {
+        if (isEmptyField(line)) {
+            return null;
+        }
+        if (!line.skipIf(QUOTE)) {
+            return line.readUntil(COMMA);
+        }
+        // 引号内的内容分段解码，"" 还原为一个双引号
+        quoted.setLength(0);
+        while (true) {
+            quoted.append(line.readUntil(QUOTE));
+            line.expect(QUOTE);
+            if (!line.skipIf(QUOTE)) {
+                return quoted.toString();
+            }
+            quoted.append('"');
+        }
+    }
+
+    private static List<Role> readRoles(ByteCursor line) {
+        if (!line.hasRemaining()) {
+            return null;
+        }
+        List<Role> roleList = new ArrayList<>(2);
+        do {
+            Long roleId = line.peek() == ROLE_NAME_SEPARATOR ? null : line.parseLong();
+            line.expect(ROLE_NAME_SEPARATOR);
+            int from = line.position();
+            while (line.hasRemaining() && line.peek() != ROLE_SEPARATOR) {
+                line.next();
+            }
+            String roleName = line.position() == from ? null : line.decode(from, line.position());
+            roleList.add(new Role(roleId, roleName));
+        } while (line.skipIf(ROLE_SEPARATOR));
+        return roleList;
+    }
+}
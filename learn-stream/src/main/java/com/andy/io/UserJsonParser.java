@@ -0,0 +1,234 @@
+package com.andy.io;
+
+import com.andy.entity.Role;
+import com.andy.entity.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 解析 JSON Lines 格式的用户，每行一个 JSON 对象：
+ * <pre>
+ * {"id":1,"name":"shelly","age":23,"roleList":[{"id":1,"roleName":"管理员"}]}
+ * </pre>
+ * 缺少的字段和 null 对应属性为 null，未知字段跳过；空行跳过。
+ * 只处理 User 和 Role 用到的 JSON 子集，数字按整数解析。
+ * <p>
+ * 解析器带有状态，每个输入流使用一个新的实例。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 14:05
+ */
+public class UserJsonParser implements LineParser<User> {
+
+    private final StringBuilder escaped = new StringBuilder();
+
+    @Override
+    public User parse(ByteCursor line) {
+        line.skipWhitespace();
+        if (!line.hasRemaining()) {
+            return null;
+        }
+        User user = new User();
+        line.expect((byte) '{');
+        if (!endOf(line, '}')) {
+            do {
+                String key = readString(line);
+                colon(line);
+                switch (key) {
+                    case "id":
+                        user.setId(isNull(line) ? null : line.parseLong());
+                        break;
+                    case "name":
+                        user.setName(isNull(line) ? null : readString(line));
+                        break;
+                    case "age":
+                        user.setAge(isNull(line) ? null : line.parseInt());
+                        break;
+                    case "roleList":
+                        user.setRoleList(isNull(line) ? null : readRoles(line));
+                        break;
+                    default:
+                        skipValue(line);
+                }
+            } while (nextMember(line, '}'));
+        }
+        line.skipWhitespace();
+        if (line.hasRemaining()) {
+            throw line.malformed("对象后有多余内容");
+        }
+        return user;
+    }
+
+    private List<Role> readRoles(ByteCursor line) {
+        line.expect((byte) '[');
+        List<Role> roleList = new ArrayList<>(2);
+        if (endOf(line, ']')) {
+            return roleList;
+        }
+        do {
+            line.skipWhitespace();
+            if (isNull(line)) {
+                roleList.add(null);
+                continue;
+            }
+            Long roleId = null;
+            String roleName = null;
+            line.expect((byte) '{');
+            if (!endOf(line, '}')) {
+                do {
+                    String key = readString(line);
+                    colon(line);
+                    if ("id".equals(key)) {
+                        roleId = isNull(line) ? null : line.parseLong();
+                    } else if ("roleName".equals(key)) {
+                        roleName = isNull(line) ? null : readString(line);
+                    } else {
+                        skipValue(line);
+                    }
+                } while (nextMember(line, '}'));
+            }
+            roleList.add(Role.of(roleId, roleName));
+        } while (nextMember(line, ']'));
+        return roleList;
+    }
+
+    /**
+     * 读取字符串：不含转义时直接从字节解码，含转义时逐段拼接
+     */
+    private String readString(ByteCursor line) {
+        line.skipWhitespace();
+        line.expect((byte) '"');
+        int from = line.position();
+        while (true) {
+            byte b = line.next();
+            if (b == '"') {
+                return line.decode(from, line.position() - 1);
+            }
+            if (b == '\\') {
+                break;
+            }
+        }
+        escaped.setLength(0);
+        escaped.append(line.decode(from, line.position() - 1));
+        while (true) {
+            appendEscape(line);
+            int segment = line.position();
+            byte b;
+            do {
+                b = line.next();
+            } while (b != '"' && b != '\\');
+            escaped.append(line.decode(segment, line.position() - 1));
+            if (b == '"') {
+                return escaped.toString();
+            }
+        }
+    }
+
+    private void appendEscape(ByteCursor line) {
+        byte b = line.next();
+        switch (b) {
+            case '"':
+            case '\\':
+            case '/':
+                escaped.append((char) b);
+                break;
+            case 'b':
+                escaped.append('\b');
+                break;
+            case 'f':
+                escaped.append('\f');
+                break;
+            case 'n':
+                escaped.append('\n');
+                break;
+            case 'r':
+                escaped.append('\r');
+                break;
+            case 't':
+                escaped.append('\t');
+                break;
+            case 'u':
+                int c = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(line.next(), 16);
+                    if (digit < 0) {
+                        throw line.malformed("非法的 unicode 转义");
+                    }
+                    c = (c << 4) | digit;
+                }
+                escaped.append((char) c);
+                break;
+            default:
+                throw line.malformed("非法的转义字符");
+        }
+    }
+
+    /**
+     * 跳过任意值：字符串、数字、true/false/null、对象或数组
+     */
+    private void skipValue(ByteCursor line) {
+        line.skipWhitespace();
+        int b = line.peek();
+        if (b == '"') {
+            readString(line);
+        } else if (b == '{' || b == '[') {
+            char close = b == '{' ? '}' : ']';
+            line.next();
+            if (endOf(line, close)) {
+                return;
+            }
+            do {
+                if (close == '}') {
+                    readString(line);
+                    colon(line);
+                }
+                skipValue(line);
+            } while (nextMember(line, close));
+        } else {
+            int from = line.position();
+            while (line.hasRemaining()) {
+                int c = line.peek();
+                if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\t') {
+                    break;
+                }
+                line.next();
+            }
+            if (line.position() == from) {
+                throw line.malformed("期望值");
+            }
+        }
+    }
+
+    private static boolean isNull(ByteCursor line) {
+        line.skipWhitespace();
+        return line.skipIf("null");
+    }
+
+    private static void colon(ByteCursor line) {
+        line.skipWhitespace();
+        line.expect((byte) ':');
+    }
+
+    /**
+     * 跳过空白后遇到 close 时消费它并返回 true，用于判断空对象、空数组
+     */
+    private static boolean endOf(ByteCursor line, char close) {
+        line.skipWhitespace();
+        return line.skipIf((byte) close);
+    }
+
+    /**
+     * 成员之间的逗号或结束符
+     *
+     * @return 还有下一个成员时返回 true
+     */
+    private static boolean nextMember(ByteCursor line, char close) {
+        line.skipWhitespace();
+        if (line.skipIf((byte) ',')) {
+            return true;
+        }
+        line.expect((byte) close);
+        return false;
+    }
+}
@@ -0,0 +1,124 @@
+package com.andy.io;
+
+import com.andy.entity.User;
+import com.andy.table.UserTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 从通道中流式读取用户，文件多大内存占用都不变
+ * <p>
+ * 返回的流是惰性的，下游取一个才解析一个；流需要关闭，关闭时关闭通道。例如：
+ * <pre>{@code
+ * try (Stream<User> users = UserReader.csv(FileChannel.open(path))) {
+ *     long adults = users.filter(user -> user.getAge() >= 18).count();
+ * }
+ * }</pre>
+ * 读取失败时抛出 {@link UncheckedIOException}，格式错误时抛出 {@link IllegalArgumentException}。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 14:50
+ */
+public final class UserReader {
+
+    private UserReader() {
+    }
+
+    /**
+     * 读取 CSV 格式的用户，格式见 {@link UserCsvParser}
+     */
+    public static Stream<User> csv(ReadableByteChannel channel) {
+        return read(channel, new UserCsvParser());
+    }
+
+    /**
+     * 读取 JSON Lines 格式的用户，格式见 {@link UserJsonParser}
+     */
+    public static Stream<User> json(ReadableByteChannel channel) {
+        return read(channel, new UserJsonParser());
+    }
+
+    /**
+     * 按行读取并解析，解析结果为 null 的行跳过
+     */
+    public static <T> Stream<T> read(ReadableByteChannel channel, LineParser<? extends T> parser) {
+        ByteLineReader reader = new ByteLineReader(channel);
+        Iterator<T> iterator = new Iterator<T>() {
+
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (next == null) {
+                        ByteCursor line = reader.nextLine();
+                        if (line == null) {
+                            return false;
+                        }
+                        next = parser.parse(line);
+                    }
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T result = next;
+                next = null;
+                return result;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * 把用户流按 batchSize 切分为列式存储的批次，每次只有一个批次在构建
+     */
+    public static Stream<UserTable> tables(Stream<User> users, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("批大小必须大于0");
+        }
+        Iterator<User> source = users.iterator();
+        Iterator<UserTable> iterator = new Iterator<UserTable>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public UserTable next() {
+                if (!source.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                UserTable.Builder builder = UserTable.builder();
+                for (int i = 0; i < batchSize && source.hasNext(); i++) {
+                    builder.add(source.next());
+                }
+                return builder.build();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(users::close);
+    }
+}
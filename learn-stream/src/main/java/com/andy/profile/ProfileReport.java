@@ -0,0 +1,223 @@
+package com.andy.profile;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@link StreamProfiler} 的分析结果快照，可以导出为便于阅读的文本表格或 CSV
+ * <p>
+ * 阶段的耗时只包含执行该阶段用户函数（predicate、mapper、comparator、action）的时间，
+ * 不包含下游阶段；distinct、limit 等没有用户函数的阶段只统计元素数，耗时与分配量记为 -1。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 00:10
+ */
+public final class ProfileReport {
+
+    private static final String CSV_HEADER = "pipeline,parallel,terminal,wall_ns,index,stage,in,out,selectivity,time_ns,allocated_bytes";
+
+    private final List<PipelineReport> pipelines;
+
+    ProfileReport(List<PipelineReport> pipelines) {
+        this.pipelines = Collections.unmodifiableList(pipelines);
+    }
+
+    public List<PipelineReport> getPipelines() {
+        return pipelines;
+    }
+
+    /**
+     * 按名称查找流水线，不存在时返回 null；同名的流水线返回第一条
+     */
+    public PipelineReport getPipeline(String name) {
+        for (PipelineReport pipeline : pipelines) {
+            if (pipeline.getName().equals(name)) {
+                return pipeline;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 文本表格，每条流水线一段
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        for (PipelineReport pipeline : pipelines) {
+            text.append(String.format(Locale.ROOT, "pipeline %s (%s, %s) wall %.3f ms%n", pipeline.getName(),
+                    pipeline.isParallel() ? "parallel" : "sequential",
+                    pipeline.getTerminal() == null ? "未执行" : pipeline.getTerminal(),
+                    pipeline.getWallNanos() / 1e6));
+            text.append(String.format(Locale.ROOT, "  %-3s %-14s %12s %12s %12s %12s %14s%n",
+                    "#", "stage", "in", "out", "selectivity", "time(ms)", "alloc(bytes)"));
+            int index = 1;
+            for (StageReport stage : pipeline.getStages()) {
+                text.append(String.format(Locale.ROOT, "  %-3d %-14s %12d %12d %12s %12s %14s%n",
+                        index++, stage.getName(), stage.getIn(), stage.getOut(), percent(stage.getSelectivity()),
+                        stage.getNanos() < 0 ? "-" : String.format(Locale.ROOT, "%.3f", stage.getNanos() / 1e6),
+                        stage.getAllocatedBytes() < 0 ? "-" : String.valueOf(stage.getAllocatedBytes())));
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * CSV，每个阶段一行，耗时单位为纳秒，无法统计的值为 -1
+     */
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (PipelineReport pipeline : pipelines) {
+            int index = 1;
+            for (StageReport stage : pipeline.getStages()) {
+                csv.append(quote(pipeline.getName())).append(',')
+                        .append(pipeline.isParallel()).append(',')
+                        .append(pipeline.getTerminal() == null ? "" : pipeline.getTerminal()).append(',')
+                        .append(pipeline.getWallNanos()).append(',')
+                        .append(index++).append(',')
+                        .append(stage.getName()).append(',')
+                        .append(stage.getIn()).append(',')
+                        .append(stage.getOut()).append(',')
+                        .append(Double.isNaN(stage.getSelectivity()) ? "" : String.format(Locale.ROOT, "%.4f", stage.getSelectivity())).append(',')
+                        .append(stage.getNanos()).append(',')
+                        .append(stage.getAllocatedBytes()).append('\n');
+            }
+        }
+        return csv.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+
+    private static String percent(double selectivity) {
+        return Double.isNaN(selectivity) ? "-" : String.format(Locale.ROOT, "%.1f%%", selectivity * 100);
+    }
+
+    private static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * 一条流水线的分析结果
+     */
+    public static final class PipelineReport {
+
+        private final String name;
+
+        private final boolean parallel;
+
+        private final String terminal;
+
+        private final long wallNanos;
+
+        private final List<StageReport> stages;
+
+        PipelineReport(String name, boolean parallel, String terminal, long wallNanos, List<StageReport> stages) {
+            this.name = name;
+            this.parallel = parallel;
+            this.terminal = terminal;
+            this.wallNanos = wallNanos;
+            this.stages = Collections.unmodifiableList(stages);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isParallel() {
+            return parallel;
+        }
+
+        /**
+         * 终端操作名称，流水线尚未执行时为 null
+         */
+        public String getTerminal() {
+            return terminal;
+        }
+
+        /**
+         * 终端操作从开始到返回的总耗时
+         */
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        public List<StageReport> getStages() {
+            return stages;
+        }
+
+        /**
+         * 按名称查找阶段，如 "filter"、"map"，同名时返回第一个
+         */
+        public StageReport getStage(String name) {
+            for (StageReport stage : stages) {
+                if (stage.getName().equals(name)) {
+                    return stage;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 一个阶段的分析结果
+     */
+    public static final class StageReport {
+
+        private final String name;
+
+        private final long in;
+
+        private final long out;
+
+        private final long nanos;
+
+        private final long allocatedBytes;
+
+        StageReport(String name, long in, long out, long nanos, long allocatedBytes) {
+            this.name = name;
+            this.in = in;
+            this.out = out;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getIn() {
+            return in;
+        }
+
+        public long getOut() {
+            return out;
+        }
+
+        /**
+         * 输出与进入的元素数之比，没有元素进入时为 NaN
+         */
+        public double getSelectivity() {
+            return in == 0 ? Double.NaN : (double) out / in;
+        }
+
+        /**
+         * 执行用户函数的总耗时，无法统计时为 -1
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * 执行用户函数期间分配的字节数，未开启或无法统计时为 -1
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,498 @@
+package com.andy.profile;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * 记录各阶段统计信息的 Stream 包装，由 {@link StreamProfiler#profile} 创建
+ * <p>
+ * 每个中间操作在原始流上追加同样的操作，前后各加一个 peek 计数，并把用户函数包一层计时；
+ * 终端操作记录整条流水线的耗时。
+ * mapToInt 等转为基本类型流之后，后续阶段和终端操作不再统计。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 00:10
+ */
+final class ProfiledStream<T> implements Stream<T> {
+
+    private final Stream<T> delegate;
+
+    private final StreamProfile profile;
+
+    ProfiledStream(Stream<T> delegate, StreamProfile profile) {
+        this.delegate = delegate;
+        this.profile = profile;
+    }
+
+    // =====================中间操作======================
+
+    @Override
+    public Stream<T> filter(Predicate<? super T> predicate) {
+        StageStats stats = profile.stage("filter", true);
+        return next(delegate.peek(item -> stats.in()).filter(timed(stats, predicate)).peek(item -> stats.out()));
+    }
+
+    @Override
+    public <R> Stream<R> map(Function<? super T, ? extends R> mapper) {
+        StageStats stats = profile.stage("map", true);
+        return next(delegate.peek(item -> stats.in()).<R>map(timedFunction(stats, mapper)).peek(item -> stats.out()));
+    }
+
+    @Override
+    public IntStream mapToInt(ToIntFunction<? super T> mapper) {
+        StageStats stats = profile.stage("mapToInt", true);
+        return delegate.peek(item -> stats.in()).mapToInt(timedFunction(stats, mapper)).peek(value -> stats.out());
+    }
+
+    @Override
+    public LongStream mapToLong(ToLongFunction<? super T> mapper) {
+        StageStats stats = profile.stage("mapToLong", true);
+        return delegate.peek(item -> stats.in()).mapToLong(timedFunction(stats, mapper)).peek(value -> stats.out());
+    }
+
+    @Override
+    public DoubleStream mapToDouble(ToDoubleFunction<? super T> mapper) {
+        StageStats stats = profile.stage("mapToDouble", true);
+        return delegate.peek(item -> stats.in()).mapToDouble(timedFunction(stats, mapper)).peek(value -> stats.out());
+    }
+
+    /**
+     * 耗时只包含 mapper 创建子流的时间，输出数为展开后的元素数
+     */
+    @Override
+    public <R> Stream<R> flatMap(Function<? super T, ? extends Stream<? extends R>> mapper) {
+        StageStats stats = profile.stage("flatMap", true);
+        Function<T, ? extends Stream<? extends R>> timed = timedFunction(stats, mapper);
+        return next(delegate.peek(item -> stats.in()).<R>flatMap(timed).peek(item -> stats.out()));
+    }
+
+    @Override
+    public IntStream flatMapToInt(Function<? super T, ? extends IntStream> mapper) {
+        StageStats stats = profile.stage("flatMapToInt", true);
+        Function<T, ? extends IntStream> timed = timedFunction(stats, mapper);
+        return delegate.peek(item -> stats.in()).flatMapToInt(timed).peek(value -> stats.out());
+    }
+
+    @Override
+    public LongStream flatMapToLong(Function<? super T, ? extends LongStream> mapper) {
+        StageStats stats = profile.stage("flatMapToLong", true);
+        Function<T, ? extends LongStream> timed = timedFunction(stats, mapper);
+        return delegate.peek(item -> stats.in()).flatMapToLong(timed).peek(value -> stats.out());
+    }
+
+    @Override
+    public DoubleStream flatMapToDouble(Function<? super T, ? extends DoubleStream> mapper) {
+        StageStats stats = profile.stage("flatMapToDouble", true);
+        Function<T, ? extends DoubleStream> timed = timedFunction(stats, mapper);
+        return delegate.peek(item -> stats.in()).flatMapToDouble(timed).peek(value -> stats.out());
+    }
+
+    @Override
+    public Stream<T> distinct() {
+        StageStats stats = profile.stage("distinct", false);
+        return next(delegate.peek(item -> stats.in()).distinct().peek(item -> stats.out()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<T> sorted() {
+        return sorted((Comparator<? super T>) Comparator.naturalOrder(), "sorted");
+    }
+
+    /**
+     * 耗时为比较器的总耗时
+     */
+    @Override
+    public Stream<T> sorted(Comparator<? super T> comparator) {
+        return sorted(comparator, "sorted");
+    }
+
+    @Override
+    public Stream<T> peek(Consumer<? super T> action) {
+        StageStats stats = profile.stage("peek", true);
+        return next(delegate.peek(item -> stats.in()).peek(timedAction(stats, action)).peek(item -> stats.out()));
+    }
+
+    @Override
+    public Stream<T> limit(long maxSize) {
+        StageStats stats = profile.stage("limit", false);
+        return next(delegate.peek(item -> stats.in()).limit(maxSize).peek(item -> stats.out()));
+    }
+
+    @Override
+    public Stream<T> skip(long n) {
+        StageStats stats = profile.stage("skip", false);
+        return next(delegate.peek(item -> stats.in()).skip(n).peek(item -> stats.out()));
+    }
+
+    @Override
+    public Stream<T> takeWhile(Predicate<? super T> predicate) {
+        StageStats stats = profile.stage("takeWhile", true);
+        return next(delegate.peek(item -> stats.in()).takeWhile(timed(stats, predicate)).peek(item -> stats.out()));
+    }
+
+    @Override
+    public Stream<T> dropWhile(Predicate<? super T> predicate) {
+        StageStats stats = profile.stage("dropWhile", true);
+        return next(delegate.peek(item -> stats.in()).dropWhile(timed(stats, predicate)).peek(item -> stats.out()));
+    }
+
+    // =====================终端操作======================
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        StageStats stats = profile.stage("forEach", true);
+        Consumer<? super T> timed = timedAction(stats, action);
+        Stream<T> counted = counted(stats);
+        run("forEach", () -> counted.forEach(timed));
+    }
+
+    @Override
+    public void forEachOrdered(Consumer<? super T> action) {
+        StageStats stats = profile.stage("forEachOrdered", true);
+        Consumer<? super T> timed = timedAction(stats, action);
+        Stream<T> counted = counted(stats);
+        run("forEachOrdered", () -> counted.forEachOrdered(timed));
+    }
+
+    @Override
+    public Object[] toArray() {
+        Stream<T> counted = counted(profile.stage("toArray", false));
+        return call("toArray", () -> counted.toArray());
+    }
+
+    @Override
+    public <A> A[] toArray(IntFunction<A[]> generator) {
+        Stream<T> counted = counted(profile.stage("toArray", false));
+        return call("toArray", () -> counted.toArray(generator));
+    }
+
+    @Override
+    public T reduce(T identity, BinaryOperator<T> accumulator) {
+        StageStats stats = profile.stage("reduce", true);
+        BiFunction<T, T, T> timed = timedReducer(stats, accumulator);
+        Stream<T> counted = counted(stats);
+        return call("reduce", () -> counted.reduce(identity, timed::apply));
+    }
+
+    @Override
+    public Optional<T> reduce(BinaryOperator<T> accumulator) {
+        StageStats stats = profile.stage("reduce", true);
+        BiFunction<T, T, T> timed = timedReducer(stats, accumulator);
+        Stream<T> counted = counted(stats);
+        return call("reduce", () -> counted.reduce(timed::apply));
+    }
+
+    @Override
+    public <U> U reduce(U identity, BiFunction<U, ? super T, U> accumulator, BinaryOperator<U> combiner) {
+        StageStats stats = profile.stage("reduce", true);
+        BiFunction<U, T, U> timed = timedReducer(stats, accumulator);
+        Stream<T> counted = counted(stats);
+        return call("reduce", () -> counted.reduce(identity, timed, combiner));
+    }
+
+    @Override
+    public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator, BiConsumer<R, R> combiner) {
+        StageStats stats = profile.stage("collect", true);
+        BiConsumer<R, ? super T> timed = timedAccumulator(stats, accumulator);
+        Stream<T> counted = counted(stats);
+        return call("collect", () -> counted.collect(supplier, timed, combiner));
+    }
+
+    /**
+     * 耗时为收集器 accumulator 的总耗时
+     */
+    @Override
+    public <R, A> R collect(Collector<? super T, A, R> collector) {
+        StageStats stats = profile.stage("collect", true);
+        Collector<T, A, R> timed = Collector.of(collector.supplier(), timedAccumulator(stats, collector.accumulator()),
+                collector.combiner(), collector.finisher(),
+                collector.characteristics().toArray(new Collector.Characteristics[0]));
+        Stream<T> counted = counted(stats);
+        return call("collect", () -> counted.collect(timed));
+    }
+
+    @Override
+    public List<T> toList() {
+        Stream<T> counted = counted(profile.stage("toList", false));
+        return call("toList", () -> counted.toList());
+    }
+
+    @Override
+    public Optional<T> min(Comparator<? super T> comparator) {
+        StageStats stats = profile.stage("min", true);
+        Comparator<? super T> timed = timedComparator(stats, comparator);
+        Stream<T> counted = counted(stats);
+        return call("min", () -> counted.min(timed));
+    }
+
+    @Override
+    public Optional<T> max(Comparator<? super T> comparator) {
+        StageStats stats = profile.stage("max", true);
+        Comparator<? super T> timed = timedComparator(stats, comparator);
+        Stream<T> counted = counted(stats);
+        return call("max", () -> counted.max(timed));
+    }
+
+    /**
+     * 上游元素数已知时（数据源是集合且中间没有过滤，或并行的 distinct、sorted 之后），
+     * JDK 不会逐个遍历元素，之后各阶段的计数为 0
+     */
+    @Override
+    public long count() {
+        Stream<T> counted = counted(profile.stage("count", false));
+        return call("count", () -> counted.count());
+    }
+
+    @Override
+    public boolean anyMatch(Predicate<? super T> predicate) {
+        StageStats stats = profile.stage("anyMatch", true);
+        Predicate<? super T> timed = timed(stats, predicate);
+        Stream<T> counted = counted(stats);
+        return call("anyMatch", () -> counted.anyMatch(timed));
+    }
+
+    @Override
+    public boolean allMatch(Predicate<? super T> predicate) {
+        StageStats stats = profile.stage("allMatch", true);
+        Predicate<? super T> timed = timed(stats, predicate);
+        Stream<T> counted = counted(stats);
+        return call("allMatch", () -> counted.allMatch(timed));
+    }
+
+    @Override
+    public boolean noneMatch(Predicate<? super T> predicate) {
+        StageStats stats = profile.stage("noneMatch", true);
+        Predicate<? super T> timed = timed(stats, predicate);
+        Stream<T> counted = counted(stats);
+        return call("noneMatch", () -> counted.noneMatch(timed));
+    }
+
+    @Override
+    public Optional<T> findFirst() {
+        Stream<T> counted = counted(profile.stage("findFirst", false));
+        return call("findFirst", () -> counted.findFirst());
+    }
+
+    @Override
+    public Optional<T> findAny() {
+        Stream<T> counted = counted(profile.stage("findAny", false));
+        return call("findAny", () -> counted.findAny());
+    }
+
+    /**
+     * 元素由调用方逐个拉取，只记录终端操作，不计总耗时
+     */
+    @Override
+    public Iterator<T> iterator() {
+        profile.finish("iterator", delegate.isParallel(), 0L);
+        return delegate.iterator();
+    }
+
+    /**
+     * 元素由调用方逐个拉取，只记录终端操作，不计总耗时
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        profile.finish("spliterator", delegate.isParallel(), 0L);
+        return delegate.spliterator();
+    }
+
+    // =====================BaseStream======================
+
+    @Override
+    public boolean isParallel() {
+        return delegate.isParallel();
+    }
+
+    @Override
+    public Stream<T> sequential() {
+        return next(delegate.sequential());
+    }
+
+    @Override
+    public Stream<T> parallel() {
+        return next(delegate.parallel());
+    }
+
+    @Override
+    public Stream<T> unordered() {
+        return next(delegate.unordered());
+    }
+
+    @Override
+    public Stream<T> onClose(Runnable closeHandler) {
+        return next(delegate.onClose(closeHandler));
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    // =====================包装======================
+
+    private <R> Stream<R> next(Stream<R> stream) {
+        return new ProfiledStream<>(stream, profile);
+    }
+
+    private Stream<T> sorted(Comparator<? super T> comparator, String name) {
+        StageStats stats = profile.stage(name, true);
+        Comparator<? super T> timed = timedComparator(stats, comparator);
+        return next(delegate.peek(item -> stats.in()).sorted(timed).peek(item -> stats.out()));
+    }
+
+    /**
+     * 终端操作：每个进入的元素同时计为进入和输出
+     */
+    private Stream<T> counted(StageStats stats) {
+        return delegate.peek(item -> stats.pass());
+    }
+
+    private void run(String terminal, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            profile.finish(terminal, delegate.isParallel(), System.nanoTime() - start);
+        }
+    }
+
+    private <R> R call(String terminal, Supplier<R> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            profile.finish(terminal, delegate.isParallel(), System.nanoTime() - start);
+        }
+    }
+
+    // 以下按用户函数的形状各包一层，只记录用户函数的耗时与分配量；元素计数由前后的 peek 完成
+
+    private static <T> Predicate<T> timed(StageStats stats, Predicate<? super T> predicate) {
+        return item -> {
+            long allocated = stats.allocated();
+            long start = System.nanoTime();
+            try {
+                return predicate.test(item);
+            } finally {
+                stats.record(start, allocated);
+            }
+        };
+    }
+
+    private static <T, R> Function<T, R> timedFunction(StageStats stats, Function<? super T, ? extends R> mapper) {
+        return item -> {
+            long allocated = stats.allocated();
+            long start = System.nanoTime();
+            try {
+                return mapper.apply(item);
+            } finally {
+                stats.record(start, allocated);
+            }
+        };
+    }
+
+    private static <T> ToIntFunction<T> timedFunction(StageStats stats, ToIntFunction<? super T> mapper) {
+        return item -> {
+            long allocated = stats.allocated();
+            long start = System.nanoTime();
+            try {
+                return mapper.applyAsInt(item);
+            } finally {
+                stats.record(start, allocated);
+            }
+        };
+    }
+
+    private static <T> ToLongFunction<T> timedFunction(StageStats stats, ToLongFunction<? super T> mapper) {
+        return item -> {
+            long allocated = stats.allocated();
+            long start = System.nanoTime();
+            try {
+                return mapper.applyAsLong(item);
+            } finally {
+                stats.record(start, allocated);
+            }
+        };
+    }
+
+    private static <T> ToDoubleFunction<T> timedFunction(StageStats stats, ToDoubleFunction<? super T> mapper) {
+        return item -> {
+            long allocated = stats.allocated();
+            long start = System.nanoTime();
+            try {
+                return mapper.applyAsDouble(item);
+            } finally {
+                stats.record(start, allocated);
+            }
+        };
+    }
+
+    private static <T> Consumer<T> timedAction(StageStats stats, Consumer<? super T> action) {
+        return item -> {
+            long allocated = stats.allocated();
+            long start = System.nanoTime();
+            try {
+                action.accept(item);
+            } finally {
+                stats.record(start, allocated);
+            }
+        };
+    }
+
+    private static <T> Comparator<T> timedComparator(StageStats stats, Comparator<? super T> comparator) {
+        return (left, right) -> {
+            long allocated = stats.allocated();
+            long start = System.nanoTime();
+            try {
+                return comparator.compare(left, right);
+            } finally {
+                stats.record(start, allocated);
+            }
+        };
+    }
+
+    private static <R, T> BiConsumer<R, T> timedAccumulator(StageStats stats, BiConsumer<R, ? super T> accumulator) {
+        return (container, item) -> {
+            long allocated = stats.allocated();
+            long start = System.nanoTime();
+            try {
+                accumulator.accept(container, item);
+            } finally {
+                stats.record(start, allocated);
+            }
+        };
+    }
+
+    private static <U, T> BiFunction<U, T, U> timedReducer(StageStats stats, BiFunction<U, ? super T, U> accumulator) {
+        return (result, item) -> {
+            long allocated = stats.allocated();
+            long start = System.nanoTime();
+            try {
+                return accumulator.apply(result, item);
+            } finally {
+                stats.record(start, allocated);
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+package com.andy.profile;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一个阶段的计数器：进入、输出的元素数，以及执行用户函数的耗时与分配量
+ * <p>
+ * 使用 LongAdder，并行流中各线程同时记录也不会争用同一个计数器
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 00:10
+ */
+final class StageStats {
+
+    /**
+     * 支持按线程统计分配量时不为 null
+     */
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
+    private final String name;
+
+    /**
+     * 该阶段是否调用用户函数，例如 distinct、limit 没有可计时的函数
+     */
+    private final boolean timed;
+
+    private final boolean trackAllocation;
+
+    private final LongAdder in = new LongAdder();
+
+    private final LongAdder out = new LongAdder();
+
+    private final LongAdder nanos = new LongAdder();
+
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    StageStats(String name, boolean timed, boolean trackAllocation) {
+        this.name = name;
+        this.timed = timed;
+        this.trackAllocation = trackAllocation && THREADS != null;
+    }
+
+    static boolean isAllocationSupported() {
+        return THREADS != null;
+    }
+
+    void in() {
+        in.increment();
+    }
+
+    void out() {
+        out.increment();
+    }
+
+    /**
+     * 终端操作消费了一个元素，进入与输出同时加一
+     */
+    void pass() {
+        in.increment();
+        out.increment();
+    }
+
+    /**
+     * 调用用户函数前的分配量，不统计分配时返回 0
+     */
+    long allocated() {
+        return trackAllocation ? THREADS.getCurrentThreadAllocatedBytes() : 0L;
+    }
+
+    void record(long startNanos, long startAllocated) {
+        nanos.add(System.nanoTime() - startNanos);
+        if (trackAllocation) {
+            allocatedBytes.add(THREADS.getCurrentThreadAllocatedBytes() - startAllocated);
+        }
+    }
+
+    ProfileReport.StageReport snapshot() {
+        return new ProfileReport.StageReport(name, in.sum(), out.sum(),
+                timed ? nanos.sum() : -1L, timed && trackAllocation ? allocatedBytes.sum() : -1L);
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+                if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                    return threads;
+                }
+            }
+        } catch (LinkageError e) {
+            // 没有 jdk.management 模块时不统计分配量
+        }
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.andy.profile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一条被分析的流水线：按顺序排列的各阶段计数器，以及终端操作的总耗时
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 00:10
+ */
+final class StreamProfile {
+
+    private final String name;
+
+    private final boolean trackAllocation;
+
+    /**
+     * 只在构建流水线的线程上追加
+     */
+    private final List<StageStats> stages = new ArrayList<>();
+
+    private final LongAdder wallNanos = new LongAdder();
+
+    private volatile boolean parallel;
+
+    private volatile String terminal;
+
+    StreamProfile(String name, boolean trackAllocation) {
+        this.name = name;
+        this.trackAllocation = trackAllocation;
+    }
+
+    StageStats stage(String operation, boolean timed) {
+        StageStats stats = new StageStats(operation, timed, trackAllocation);
+        synchronized (stages) {
+            stages.add(stats);
+        }
+        return stats;
+    }
+
+    void finish(String operation, boolean parallel, long nanos) {
+        this.terminal = operation;
+        this.parallel = parallel;
+        wallNanos.add(nanos);
+    }
+
+    ProfileReport.PipelineReport snapshot() {
+        List<ProfileReport.StageReport> reports = new ArrayList<>();
+        synchronized (stages) {
+            for (StageStats stage : stages) {
+                reports.add(stage.snapshot());
+            }
+        }
+        return new ProfileReport.PipelineReport(name, parallel, terminal, wallNanos.sum(), reports);
+    }
+}
@@ -0,0 +1,120 @@
+package com.andy.profile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * 按需开启的 Stream 流水线分析器：统计每个阶段进入、输出的元素数、选择率、用户函数耗时与分配量
+ * <pre>{@code
+ * StreamProfiler profiler = StreamProfiler.fromSystemProperty();
+ * List<String> names = profiler.profile("adultNames", users.stream())
+ *         .filter(user -> user.getAge() > 18)
+ *         .map(User::getName)
+ *         .sorted()
+ *         .collect(Collectors.toList());
+ * System.out.println(profiler.report());
+ * }</pre>
+ * 关闭时 {@link #profile} 原样返回传入的流，不做任何包装，流水线没有额外开销；
+ * 开启后每个元素在每个阶段多两次计数器累加和两次 {@link System#nanoTime()}，只适合用来定位慢的阶段，
+ * 不要在生产环境常开。并行流同样适用，各线程的计数累加到同一个阶段上，耗时为各线程耗时之和。
+ * <p>
+ * 分配量通过 {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()} 统计，
+ * 成本明显高于计时，需要用 {@link #enabled(boolean)} 单独开启；JVM 不支持时记为 -1。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 00:10
+ */
+public final class StreamProfiler {
+
+    /**
+     * 为 true 时 {@link #fromSystemProperty()} 返回开启的分析器
+     */
+    public static final String ENABLED_PROPERTY = "com.andy.profile.streams";
+
+    private static final StreamProfiler DISABLED = new StreamProfiler(false, false);
+
+    private final boolean enabled;
+
+    private final boolean trackAllocation;
+
+    /**
+     * 每次 {@link #profile} 追加一个，追加时不复制已有元素；需要定期 {@link #reset()} 释放
+     */
+    private final Queue<StreamProfile> profiles = new ConcurrentLinkedQueue<>();
+
+    private StreamProfiler(boolean enabled, boolean trackAllocation) {
+        this.enabled = enabled;
+        this.trackAllocation = trackAllocation;
+    }
+
+    /**
+     * 系统属性 {@value #ENABLED_PROPERTY} 为 true 时开启，否则返回关闭的分析器
+     */
+    public static StreamProfiler fromSystemProperty() {
+        return Boolean.getBoolean(ENABLED_PROPERTY) ? enabled() : disabled();
+    }
+
+    /**
+     * 统计元素数与耗时，不统计分配量
+     */
+    public static StreamProfiler enabled() {
+        return enabled(false);
+    }
+
+    public static StreamProfiler enabled(boolean trackAllocation) {
+        return new StreamProfiler(true, trackAllocation);
+    }
+
+    public static StreamProfiler disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 当前 JVM 是否支持按线程统计分配量
+     */
+    public static boolean isAllocationSupported() {
+        return StageStats.isAllocationSupported();
+    }
+
+    /**
+     * 分析以 source 开头的流水线，之后在返回的流上追加的操作都会被统计
+     *
+     * @param name 报告中流水线的名称
+     * @return 关闭时返回 source 本身
+     */
+    public <T> Stream<T> profile(String name, Stream<T> source) {
+        if (!enabled) {
+            return source;
+        }
+        Objects.requireNonNull(name);
+        StreamProfile profile = new StreamProfile(name, trackAllocation);
+        profiles.add(profile);
+        return new ProfiledStream<>(Objects.requireNonNull(source), profile);
+    }
+
+    /**
+     * 当前所有流水线的快照，按调用 {@link #profile} 的顺序排列；流水线仍在执行时数值可能不一致
+     */
+    public ProfileReport report() {
+        List<ProfileReport.PipelineReport> pipelines = new ArrayList<>();
+        for (StreamProfile profile : profiles) {
+            pipelines.add(profile.snapshot());
+        }
+        return new ProfileReport(pipelines);
+    }
+
+    /**
+     * 丢弃已记录的流水线
+     */
+    public void reset() {
+        profiles.clear();
+    }
+}
@@ -0,0 +1,263 @@
+package com.andy.reactive;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 异步边界：上游在自己的线程上把元素放入有界环形缓冲区，下游的 onNext 在 executor 上执行
+ * <p>
+ * 向上游的请求数不超过缓冲区容量，缓冲区不会溢出；下游每消费 3/4 容量就向上游补请求一次
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:20
+ */
+final class AsyncOperator<T> implements Flow.Publisher<T> {
+
+    private final Flow.Publisher<? extends T> source;
+
+    private final Executor executor;
+
+    private final int bufferSize;
+
+    AsyncOperator(Flow.Publisher<? extends T> source, Executor executor, int bufferSize) {
+        this.source = source;
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        source.subscribe(new AsyncSubscriber<>(subscriber, executor, bufferSize));
+    }
+
+    private static final class AsyncSubscriber<T> implements Flow.Subscriber<T>, Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super T> downstream;
+
+        private final Executor executor;
+
+        private final int bufferSize;
+
+        private final int replenish;
+
+        private final SpscBuffer<T> buffer;
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private Flow.Subscription upstream;
+
+        private volatile boolean done;
+
+        private volatile Throwable error;
+
+        private volatile boolean cancelled;
+
+        /**
+         * 自上次补请求以来消费的元素数，只在 run 中访问
+         */
+        private int consumed;
+
+        AsyncSubscriber(Flow.Subscriber<? super T> downstream, Executor executor, int bufferSize) {
+            this.downstream = downstream;
+            this.executor = executor;
+            this.bufferSize = bufferSize;
+            this.replenish = bufferSize - (bufferSize >> 2);
+            this.buffer = new SpscBuffer<>(bufferSize);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(bufferSize);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (!buffer.offer(item)) {
+                upstream.cancel();
+                onError(new IllegalStateException("上游发出的元素超过了请求数，缓冲区已满"));
+                return;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            error = throwable;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(Demand.nonPositive(n));
+                return;
+            }
+            Demand.add(requested, n);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            if (wip.getAndIncrement() == 0) {
+                buffer.clear();
+            }
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancelled = true;
+                    upstream.cancel();
+                    buffer.clear();
+                    downstream.onError(e);
+                }
+            }
+        }
+
+        /**
+         * 在 executor 上把缓冲区中的元素按下游需求发出，同一时刻只有一个线程执行
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand) {
+                    boolean terminated = done;
+                    T item = buffer.poll();
+                    if (isTerminated(terminated, item == null)) {
+                        return;
+                    }
+                    if (item == null) {
+                        break;
+                    }
+                    downstream.onNext(item);
+                    emitted++;
+                    if (++consumed == replenish) {
+                        consumed = 0;
+                        upstream.request(replenish);
+                    }
+                }
+                if (emitted == demand && isTerminated(done, buffer.isEmpty())) {
+                    return;
+                }
+                if (emitted != 0) {
+                    Demand.produced(requested, emitted);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private boolean isTerminated(boolean terminated, boolean empty) {
+            if (cancelled) {
+                buffer.clear();
+                return true;
+            }
+            if (terminated) {
+                Throwable e = error;
+                if (e != null) {
+                    cancelled = true;
+                    buffer.clear();
+                    downstream.onError(e);
+                    return true;
+                }
+                if (empty) {
+                    cancelled = true;
+                    downstream.onComplete();
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 单生产者单消费者的有界环形缓冲区，容量向上取整为 2 的幂
+     */
+    static final class SpscBuffer<E> {
+
+        private final Object[] slots;
+
+        private final int mask;
+
+        /**
+         * 下标 0 为生产者位置，下标 8 为消费者位置，中间隔开避免伪共享
+         */
+        private final AtomicLongArray indexes = new AtomicLongArray(16);
+
+        SpscBuffer(int capacity) {
+            int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+            slots = new Object[size];
+            mask = size - 1;
+        }
+
+        boolean offer(E item) {
+            long producer = indexes.get(0);
+            if (producer - indexes.get(8) == slots.length) {
+                return false;
+            }
+            slots[(int) producer & mask] = item;
+            indexes.lazySet(0, producer + 1);
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        E poll() {
+            long consumer = indexes.get(8);
+            if (consumer == indexes.get(0)) {
+                return null;
+            }
+            int slot = (int) consumer & mask;
+            E item = (E) slots[slot];
+            slots[slot] = null;
+            indexes.lazySet(8, consumer + 1);
+            return item;
+        }
+
+        boolean isEmpty() {
+            return indexes.get(8) == indexes.get(0);
+        }
+
+        void clear() {
+            while (poll() != null) {
+                // 逐个清空，释放引用
+            }
+        }
+    }
+}
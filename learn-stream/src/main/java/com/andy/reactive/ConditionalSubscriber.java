@@ -0,0 +1,16 @@
+package com.andy.reactive;
+
+import java.util.concurrent.Flow;
+
+/**
+ * 可以拒收元素的订阅者：{@link #tryOnNext} 返回 false 表示元素被丢弃，不计入已发出的数量
+ * <p>
+ * 包内的同步数据源遇到这类订阅者时改用 tryOnNext，filter 丢弃元素后就不必再逐个向上游补请求
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:20
+ */
+interface ConditionalSubscriber<T> extends Flow.Subscriber<T> {
+
+    boolean tryOnNext(T item);
+}
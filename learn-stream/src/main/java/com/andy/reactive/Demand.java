@@ -0,0 +1,58 @@
+package com.andy.reactive;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 请求计数的累加与扣减，累计到 Long.MAX_VALUE 时视为无限需求，不再扣减
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:20
+ */
+final class Demand {
+
+    private Demand() {
+    }
+
+    /**
+     * 累加需求
+     *
+     * @return 累加前的需求
+     */
+    static long add(AtomicLong requested, long n) {
+        for (;;) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long next = current + n;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+            if (requested.compareAndSet(current, next)) {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * 扣减已发出的元素数
+     *
+     * @return 扣减后的需求
+     */
+    static long produced(AtomicLong requested, long n) {
+        for (;;) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long next = current - n;
+            if (requested.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    static IllegalArgumentException nonPositive(long n) {
+        return new IllegalArgumentException("§3.9 请求数必须大于0：" + n);
+    }
+}
@@ -0,0 +1,22 @@
+package com.andy.reactive;
+
+import java.util.concurrent.Flow;
+
+/**
+ * 订阅失败时交给订阅者的空订阅，随后立即发出 onError
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:20
+ */
+enum EmptySubscription implements Flow.Subscription {
+
+    INSTANCE;
+
+    @Override
+    public void request(long n) {
+    }
+
+    @Override
+    public void cancel() {
+    }
+}
@@ -0,0 +1,118 @@
+package com.andy.reactive;
+
+import java.util.concurrent.Flow;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 一段融合后的 map / filter / distinct 阶段，每次订阅通过 stages 创建新的 {@link Stage} 链，有状态的阶段不会在订阅之间共享
+ * <p>
+ * 元素被丢弃时向上游补请求 1 个，下游请求数不变；下游请求无限时不必补请求。
+ * 上游是包内的同步数据源时通过 {@link ConditionalSubscriber#tryOnNext} 直接告知丢弃，也不必补请求
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:20
+ */
+final class FusedOperator<T, R> implements Flow.Publisher<R> {
+
+    private final Flow.Publisher<? extends T> source;
+
+    private final List<Supplier<? extends Stage>> stages;
+
+    FusedOperator(Flow.Publisher<? extends T> source, List<Supplier<? extends Stage>> stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Stage[] chain = new Stage[stages.size()];
+        for (int i = 0; i < chain.length; i++) {
+            chain[i] = stages.get(i).get();
+        }
+        source.subscribe(new FusedSubscriber<>(subscriber, Stage.link(chain)));
+    }
+
+    private static final class FusedSubscriber<T, R> implements ConditionalSubscriber<T>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super R> downstream;
+
+        private final Stage stage;
+
+        private Flow.Subscription upstream;
+
+        private volatile boolean unbounded;
+
+        private boolean done;
+
+        FusedSubscriber(Flow.Subscriber<? super R> downstream, Stage stage) {
+            this.downstream = downstream;
+            this.stage = stage;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!tryOnNext(item) && !done && !unbounded) {
+                upstream.request(1);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryOnNext(T item) {
+            if (done) {
+                return false;
+            }
+            Object result;
+            try {
+                result = stage.apply(item);
+            } catch (Throwable e) {
+                upstream.cancel();
+                onError(e);
+                return false;
+            }
+            if (result == Stage.SKIP) {
+                return false;
+            }
+            downstream.onNext((R) result);
+            return true;
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n == Long.MAX_VALUE) {
+                unbounded = true;
+            }
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+}
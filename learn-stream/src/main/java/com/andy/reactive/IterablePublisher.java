@@ -0,0 +1,131 @@
+package com.andy.reactive;
+
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按需从 Iterable 中拉取元素的同步发布者，每个订阅者各自获得一个新的迭代器
+ * <p>
+ * 元素在调用 request 的线程上发出，只发出已请求的数量；Iterable 可以是无界的
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:20
+ */
+final class IterablePublisher<T> implements Flow.Publisher<T> {
+
+    private final Iterable<? extends T> items;
+
+    IterablePublisher(Iterable<? extends T> items) {
+        this.items = items;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Iterator<? extends T> iterator;
+        try {
+            iterator = items.iterator();
+        } catch (Throwable e) {
+            subscriber.onSubscribe(EmptySubscription.INSTANCE);
+            subscriber.onError(e);
+            return;
+        }
+        subscriber.onSubscribe(new IteratorSubscription<>(subscriber, iterator));
+    }
+
+    private static final class IteratorSubscription<T> implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> downstream;
+
+        private final Iterator<? extends T> iterator;
+
+        /**
+         * 下游可以拒收元素时不为 null，被拒收的元素不计入已发出的数量
+         */
+        private final ConditionalSubscriber<? super T> conditional;
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private volatile boolean cancelled;
+
+        @SuppressWarnings("unchecked")
+        IteratorSubscription(Flow.Subscriber<? super T> downstream, Iterator<? extends T> iterator) {
+            this.downstream = downstream;
+            this.iterator = iterator;
+            this.conditional = downstream instanceof ConditionalSubscriber
+                    ? (ConditionalSubscriber<? super T>) downstream : null;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(Demand.nonPositive(n));
+                return;
+            }
+            // 只有需求从 0 变为正数的线程负责发出元素，onNext 中再次 request 只累加需求，不会递归
+            if (Demand.add(requested, n) == 0) {
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void drain() {
+            Iterator<? extends T> source = iterator;
+            Flow.Subscriber<? super T> subscriber = downstream;
+            ConditionalSubscriber<? super T> filter = conditional;
+            long emitted = 0;
+            long demand = requested.get();
+            for (;;) {
+                try {
+                    while (emitted != demand) {
+                        if (cancelled) {
+                            return;
+                        }
+                        if (!source.hasNext()) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                            return;
+                        }
+                        T item = source.next();
+                        if (item == null) {
+                            cancelled = true;
+                            subscriber.onError(new NullPointerException("数据源中包含 null 元素"));
+                            return;
+                        }
+                        if (filter == null) {
+                            subscriber.onNext(item);
+                            emitted++;
+                        } else if (filter.tryOnNext(item)) {
+                            emitted++;
+                        }
+                    }
+                    if (cancelled) {
+                        return;
+                    }
+                    if (!source.hasNext()) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                } catch (Throwable e) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                    return;
+                }
+                demand = requested.get();
+                if (demand == emitted) {
+                    demand = Demand.produced(requested, emitted);
+                    if (demand == 0) {
+                        return;
+                    }
+                    emitted = 0;
+                }
+            }
+        }
+    }
+}
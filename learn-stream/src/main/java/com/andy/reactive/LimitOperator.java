@@ -0,0 +1,122 @@
+package com.andy.reactive;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 只发出前 maxSize 个元素，达到数量后取消上游并结束，用于截断无界数据源
+ * <p>
+ * 向上游请求的总数不超过 maxSize，limit(10) 不会因为下游按批请求而让上游多产生元素。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:20
+ */
+final class LimitOperator<T> implements Flow.Publisher<T> {
+
+    private final Flow.Publisher<? extends T> source;
+
+    private final long maxSize;
+
+    LimitOperator(Flow.Publisher<? extends T> source, long maxSize) {
+        this.source = source;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        source.subscribe(new LimitSubscriber<>(subscriber, maxSize));
+    }
+
+    private static final class LimitSubscriber<T> implements Flow.Subscriber<T>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> downstream;
+
+        private final long maxSize;
+
+        private long remaining;
+
+        /**
+         * 已向上游请求的总数，不超过 maxSize；request 可能与 onNext 在不同线程上调用
+         */
+        private final AtomicLong requested = new AtomicLong();
+
+        private Flow.Subscription upstream;
+
+        private boolean done;
+
+        LimitSubscriber(Flow.Subscriber<? super T> downstream, long maxSize) {
+            this.downstream = downstream;
+            this.maxSize = maxSize;
+            this.remaining = maxSize;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            if (remaining == 0) {
+                subscription.cancel();
+                done = true;
+                downstream.onSubscribe(EmptySubscription.INSTANCE);
+                downstream.onComplete();
+                return;
+            }
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            downstream.onNext(item);
+            if (--remaining == 0) {
+                done = true;
+                upstream.cancel();
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // 交给上游按 §3.9 报错
+                upstream.request(n);
+                return;
+            }
+            for (;;) {
+                long current = requested.get();
+                if (current >= maxSize) {
+                    return;
+                }
+                long next = maxSize - current <= n ? maxSize : current + n;
+                if (requested.compareAndSet(current, next)) {
+                    upstream.request(next - current);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.andy.reactive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 基于 {@link Flow} 的推送式流水线，提供与 Stream 相同的 filter、map、distinct、sorted 操作，数据源可以是无界的
+ * <pre>{@code
+ * SubmissionPublisher<User> events = new SubmissionPublisher<>();
+ * Pipeline.from(events)
+ *         .filter(user -> user.getAge() > 18)
+ *         .map(User::getName)
+ *         .distinct()
+ *         .async(executor, 256)
+ *         .forEach(System.out::println);
+ * }</pre>
+ * <ul>
+ *     <li>背压：每一段只向上游请求下游需要的数量，丢弃元素时补请求，所有缓冲区都有上限</li>
+ *     <li>融合：相邻的 map、filter、distinct 合并为一个阶段，整段只有一个订阅者</li>
+ *     <li>异步边界：默认所有阶段都在数据源发出元素的线程上同步执行，只在 {@link #async} 处切换线程</li>
+ * </ul>
+ * Pipeline 是不可变的描述，每次订阅都会重新创建各阶段的状态（如 distinct 已见过的元素）。
+ * distinct 需要记住所有见过的元素，sorted 需要缓存全部元素，在无界数据源上应先用 {@link #limit} 截断。
+ * <p>
+ * 已知限制：融合后的同步流水线每个元素仍要经过一次订阅者调用和一次取消检查，这是 Flow 协议本身的开销。
+ * 在 JDK 21 上粗略计时，filter、map、map 流水线的耗时约为等价顺序 Stream 的 1.5~2 倍，没有达到与 Stream 持平的目标。
+ * 数据有界、只追求吞吐量时直接用 Stream；Pipeline 用于无界数据源、需要背压或异步边界的场景。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:20
+ */
+public final class Pipeline<T> {
+
+    /**
+     * sorted、forEach 每批向上游请求的元素数，async 的默认缓冲区大小
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final Flow.Publisher<?> source;
+
+    /**
+     * 尚未落地的融合阶段，为 null 时 source 即为当前流水线的输出
+     */
+    private final List<Supplier<? extends Stage>> stages;
+
+    private Pipeline(Flow.Publisher<?> source, List<Supplier<? extends Stage>> stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    /**
+     * 以 Iterable 为数据源，每个订阅者各自从头迭代，只拉取已请求的数量
+     */
+    public static <T> Pipeline<T> of(Iterable<? extends T> items) {
+        Objects.requireNonNull(items);
+        return new Pipeline<>(new IterablePublisher<>(items), null);
+    }
+
+    @SafeVarargs
+    public static <T> Pipeline<T> of(T... items) {
+        return of(Arrays.asList(items));
+    }
+
+    /**
+     * 以任意 Flow.Publisher 为数据源，例如接收用户事件的 {@link java.util.concurrent.SubmissionPublisher}
+     */
+    public static <T> Pipeline<T> from(Flow.Publisher<? extends T> publisher) {
+        Objects.requireNonNull(publisher);
+        return new Pipeline<>(publisher, null);
+    }
+
+    public Pipeline<T> filter(Predicate<? super T> predicate) {
+        Objects.requireNonNull(predicate);
+        return fuse(() -> new Stage.Filter<>(predicate));
+    }
+
+    public <R> Pipeline<R> map(Function<? super T, ? extends R> mapper) {
+        Objects.requireNonNull(mapper);
+        return fuse(() -> new Stage.Map<>(mapper));
+    }
+
+    /**
+     * 按 equals 去重，保留第一次出现的元素
+     */
+    public Pipeline<T> distinct() {
+        return distinct(Function.identity());
+    }
+
+    /**
+     * 按 key 去重，保留第一次出现的元素
+     */
+    public <K> Pipeline<T> distinct(Function<? super T, ? extends K> keyExtractor) {
+        Objects.requireNonNull(keyExtractor);
+        return fuse(() -> new Stage.Distinct<>(keyExtractor));
+    }
+
+    /**
+     * 按自然顺序排序，元素需实现 Comparable
+     */
+    @SuppressWarnings("unchecked")
+    public Pipeline<T> sorted() {
+        return sorted((Comparator<? super T>) Comparator.naturalOrder());
+    }
+
+    /**
+     * 排序，上游完成后才开始发出元素
+     */
+    public Pipeline<T> sorted(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+        return new Pipeline<>(new SortedOperator<>(toPublisher(), comparator, DEFAULT_BATCH_SIZE), null);
+    }
+
+    /**
+     * 只保留前 maxSize 个元素，随后取消上游
+     */
+    public Pipeline<T> limit(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize不能为负数：" + maxSize);
+        }
+        return new Pipeline<>(new LimitOperator<>(toPublisher(), maxSize), null);
+    }
+
+    /**
+     * 在公共 ForkJoinPool 上执行下游阶段
+     */
+    public Pipeline<T> async() {
+        return async(ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 异步边界：上游与下游之间隔一个容量为 bufferSize 的缓冲区，下游阶段在 executor 上执行
+     */
+    public Pipeline<T> async(Executor executor, int bufferSize) {
+        Objects.requireNonNull(executor);
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("缓冲区大小必须大于0");
+        }
+        return new Pipeline<>(new AsyncOperator<>(toPublisher(), executor, bufferSize), null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Flow.Publisher<T> toPublisher() {
+        if (stages == null) {
+            return (Flow.Publisher<T>) source;
+        }
+        return new FusedOperator<>(source, stages);
+    }
+
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        toPublisher().subscribe(subscriber);
+    }
+
+    /**
+     * 对每个元素执行 action，数据源完成或出错时返回的 future 随之完成；取消 future 即取消订阅
+     * <p>
+     * 同步数据源且没有异步边界时，整个流水线在当前线程上执行完毕后才返回
+     */
+    public CompletableFuture<Void> forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        SinkSubscriber<T> sink = new SinkSubscriber<>(action, DEFAULT_BATCH_SIZE);
+        subscribe(sink);
+        return sink.future();
+    }
+
+    public CompletableFuture<List<T>> toList() {
+        List<T> result = new ArrayList<>();
+        return forEach(result::add).thenApply(ignored -> result);
+    }
+
+    /**
+     * 追加一个可融合阶段；阶段之间的链接是可变的，同一前缀可能分出多条流水线，所以每次订阅都创建新的阶段
+     */
+    private <R> Pipeline<R> fuse(Supplier<? extends Stage> next) {
+        List<Supplier<? extends Stage>> fused = stages == null ? new ArrayList<>() : new ArrayList<>(stages);
+        fused.add(next);
+        return new Pipeline<>(source, fused);
+    }
+}
@@ -0,0 +1,88 @@
+package com.andy.reactive;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * forEach、toList 使用的终端订阅者：按批次请求，每消费 3/4 批次补请求一次；action 抛出异常时取消上游
+ * <p>
+ * 调用方取消返回的 future 时，同样取消上游
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:20
+ */
+final class SinkSubscriber<T> implements Flow.Subscriber<T> {
+
+    private final Consumer<? super T> action;
+
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    private final int batchSize;
+
+    private final int replenish;
+
+    private Flow.Subscription upstream;
+
+    private int consumed;
+
+    private boolean done;
+
+    SinkSubscriber(Consumer<? super T> action, int batchSize) {
+        this.action = action;
+        this.batchSize = batchSize;
+        this.replenish = batchSize - (batchSize >> 2);
+    }
+
+    CompletableFuture<Void> future() {
+        return future;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        upstream = subscription;
+        future.whenComplete((ignored, e) -> {
+            if (future.isCancelled()) {
+                subscription.cancel();
+            }
+        });
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (done) {
+            return;
+        }
+        try {
+            action.accept(item);
+        } catch (Throwable e) {
+            done = true;
+            upstream.cancel();
+            future.completeExceptionally(e);
+            return;
+        }
+        if (++consumed == replenish) {
+            consumed = 0;
+            upstream.request(replenish);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (done) {
+            return;
+        }
+        done = true;
+        future.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (done) {
+            return;
+        }
+        done = true;
+        future.complete(null);
+    }
+}
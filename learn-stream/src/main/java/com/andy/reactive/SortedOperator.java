@@ -0,0 +1,174 @@
+package com.andy.reactive;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 排序：上游完成后才能确定顺序，因此先按批次向上游请求并缓存全部元素，完成后排序，再按下游需求发出
+ * <p>
+ * 与 Stream.sorted 一样需要缓存全部元素，无界数据源上应先用 limit 截断
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:20
+ */
+final class SortedOperator<T> implements Flow.Publisher<T> {
+
+    private final Flow.Publisher<? extends T> source;
+
+    private final Comparator<? super T> comparator;
+
+    private final int batchSize;
+
+    SortedOperator(Flow.Publisher<? extends T> source, Comparator<? super T> comparator, int batchSize) {
+        this.source = source;
+        this.comparator = comparator;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        source.subscribe(new SortedSubscriber<>(subscriber, comparator, batchSize));
+    }
+
+    private static final class SortedSubscriber<T> implements Flow.Subscriber<T>, Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> downstream;
+
+        private final Comparator<? super T> comparator;
+
+        private final int batchSize;
+
+        private final List<T> buffer = new ArrayList<>();
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private Flow.Subscription upstream;
+
+        private int receivedInBatch;
+
+        /**
+         * 排序完成，可以开始发出；之后 buffer 只在 drain 中访问
+         */
+        private volatile boolean sorted;
+
+        private volatile boolean cancelled;
+
+        private boolean done;
+
+        private int index;
+
+        SortedSubscriber(Flow.Subscriber<? super T> downstream, Comparator<? super T> comparator, int batchSize) {
+            this.downstream = downstream;
+            this.comparator = comparator;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            downstream.onSubscribe(this);
+            subscription.request(batchSize);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            buffer.add(item);
+            if (++receivedInBatch == batchSize) {
+                receivedInBatch = 0;
+                upstream.request(batchSize);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            done = true;
+            buffer.clear();
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            try {
+                buffer.sort(comparator);
+            } catch (Throwable e) {
+                buffer.clear();
+                downstream.onError(e);
+                return;
+            }
+            sorted = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                downstream.onError(Demand.nonPositive(n));
+                return;
+            }
+            Demand.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            upstream.cancel();
+        }
+
+        private void drain() {
+            if (!sorted || wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && index < buffer.size()) {
+                    if (cancelled) {
+                        buffer.clear();
+                        return;
+                    }
+                    T item = buffer.get(index);
+                    buffer.set(index++, null);
+                    downstream.onNext(item);
+                    emitted++;
+                }
+                if (cancelled) {
+                    buffer.clear();
+                    return;
+                }
+                if (index == buffer.size()) {
+                    buffer.clear();
+                    index = 0;
+                    downstream.onComplete();
+                    // 已结束，wip 不再归零，之后的 drain 直接返回
+                    return;
+                }
+                if (emitted != 0) {
+                    Demand.produced(requested, emitted);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.andy.reactive;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 可融合的同步阶段：map、filter、distinct 链接成一条链，元素沿 next 逐段处理，返回 {@link #SKIP} 表示被丢弃
+ * <p>
+ * 相邻的可融合阶段整段只需一个订阅者，元素在阶段之间传递时不再经过 onNext 与请求计数。
+ * 每个阶段是单独的类，调用点的类型信息不会被其他种类的阶段污染，JIT 可以沿链内联。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:20
+ */
+abstract class Stage {
+
+    static final Object SKIP = new Object();
+
+    /**
+     * 下一个阶段，为 null 时当前阶段是链尾。各子类自行转发，不经过公共方法，避免 JIT 将其视为递归调用而停止内联
+     */
+    Stage next;
+
+    abstract Object apply(Object value);
+
+    /**
+     * 把 stages 依次链接起来，返回链头
+     */
+    static Stage link(Stage[] stages) {
+        for (int i = 0; i < stages.length - 1; i++) {
+            stages[i].next = stages[i + 1];
+        }
+        return stages[0];
+    }
+
+    static final class Filter<T> extends Stage {
+
+        private final Predicate<? super T> predicate;
+
+        Filter(Predicate<? super T> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object apply(Object value) {
+            if (!predicate.test((T) value)) {
+                return SKIP;
+            }
+            return next == null ? value : next.apply(value);
+        }
+    }
+
+    static final class Map<T, R> extends Stage {
+
+        private final Function<? super T, ? extends R> mapper;
+
+        Map(Function<? super T, ? extends R> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object apply(Object value) {
+            Object result = mapper.apply((T) value);
+            if (result == null) {
+                throw nullResult();
+            }
+            return next == null ? result : next.apply(result);
+        }
+
+        /**
+         * 异常只在出错时创建，正常路径上只有一次判空
+         */
+        private static NullPointerException nullResult() {
+            return new NullPointerException("map 的结果不能为 null");
+        }
+    }
+
+    /**
+     * 有状态，每次订阅创建新的实例
+     */
+    static final class Distinct<T, K> extends Stage {
+
+        private final Function<? super T, ? extends K> keyExtractor;
+
+        private final Set<K> seen = new HashSet<>();
+
+        Distinct(Function<? super T, ? extends K> keyExtractor) {
+            this.keyExtractor = keyExtractor;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object apply(Object value) {
+            if (!seen.add(keyExtractor.apply((T) value))) {
+                return SKIP;
+            }
+            return next == null ? value : next.apply(value);
+        }
+    }
+}
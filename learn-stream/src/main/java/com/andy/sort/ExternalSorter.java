@@ -0,0 +1,284 @@
+package com.andy.sort;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 外部归并排序：元素多到堆内放不下时，按 runSize 分段在内存中排好序后写入临时文件，最后多路归并
+ * <p>
+ * 排序键通过 {@link ToIntFunction} 提取，与 {@code Comparator.comparingInt} 语义相同；排序是稳定的。
+ * 内存中同时最多保留 runSize 个元素，归并时每个临时文件只保留一个元素。
+ * <pre>{@code
+ * ExternalSorter<User> sorter = new ExternalSorter<>(User::getAge, UserCodec.INSTANCE, 1_000_000, tempDir);
+ * try (Stream<User> sorted = sorter.sort(userStream.iterator())) {
+ *     sorted.forEach(System.out::println);
+ * }
+ * }</pre>
+ * 返回的流需要关闭，关闭时删除临时文件。临时文件数约为 n / runSize，会同时打开，runSize 不宜过小。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 09:50
+ */
+public class ExternalSorter<T> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ToIntFunction<? super T> keyExtractor;
+
+    private final RecordCodec<T> codec;
+
+    private final int runSize;
+
+    private final Path tempDir;
+
+    /**
+     * @param runSize 每段在内存中排序的元素数量
+     * @param tempDir 临时文件目录
+     */
+    public ExternalSorter(ToIntFunction<? super T> keyExtractor, RecordCodec<T> codec, int runSize, Path tempDir) {
+        if (runSize < 1) {
+            throw new IllegalArgumentException("每段元素数量必须大于0");
+        }
+        this.keyExtractor = keyExtractor;
+        this.codec = codec;
+        this.runSize = runSize;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * 排序，返回按键升序的流
+     */
+    public Stream<T> sort(Iterator<? extends T> input) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        Object[] buffer = new Object[Math.min(runSize, 1024)];
+        int[] keys = new int[buffer.length];
+        int count = 0;
+        try {
+            while (input.hasNext()) {
+                T element = input.next();
+                if (count == buffer.length) {
+                    if (count == runSize) {
+                        runs.add(spill(buffer, keys, count));
+                        count = 0;
+                    } else {
+                        int newLength = (int) Math.min((long) runSize, buffer.length * 2L);
+                        buffer = Arrays.copyOf(buffer, newLength);
+                        keys = Arrays.copyOf(keys, newLength);
+                    }
+                }
+                buffer[count] = element;
+                keys[count] = keyExtractor.applyAsInt(element);
+                count++;
+            }
+            if (runs.isEmpty()) {
+                // 一段就放得下，不需要落盘
+                return inMemory(buffer, keys, count);
+            }
+            if (count > 0) {
+                runs.add(spill(buffer, keys, count));
+            }
+            Merger merger = new Merger(runs);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merger, Spliterator.ORDERED), false)
+                    .onClose(merger::close);
+        } catch (IOException | RuntimeException e) {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 按键对前 count 个元素稳定排序，返回排好序的下标
+     * <p>
+     * 带符号的键放在高 32 位、下标放在低 32 位，对 long 数组排序即可，不装箱
+     */
+    private static int[] sortedIndexes(int[] keys, int count) {
+        long[] packed = new long[count];
+        for (int i = 0; i < count; i++) {
+            packed[i] = ((long) keys[i] << 32) | (i & 0xFFFFFFFFL);
+        }
+        Arrays.sort(packed);
+        int[] indexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            indexes[i] = (int) packed[i];
+        }
+        return indexes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Stream<T> inMemory(Object[] buffer, int[] keys, int count) {
+        int[] indexes = sortedIndexes(keys, count);
+        return Arrays.stream(indexes).mapToObj(i -> (T) buffer[i]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Path spill(Object[] buffer, int[] keys, int count) throws IOException {
+        int[] indexes = sortedIndexes(keys, count);
+        Path run = Files.createTempFile(tempDir, "sort-run", ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE))) {
+            for (int index : indexes) {
+                out.writeInt(keys[index]);
+                codec.write(out, (T) buffer[index]);
+            }
+        }
+        Arrays.fill(buffer, 0, count, null);
+        return run;
+    }
+
+    /**
+     * 多路归并：用小顶堆维护每个临时文件当前的元素，键相同时先写出的文件优先，保证稳定
+     */
+    private final class Merger implements Iterator<T> {
+
+        private final List<Path> runs;
+
+        private final DataInputStream[] inputs;
+
+        private final int[] headKeys;
+
+        private final Object[] heads;
+
+        /**
+         * 堆中存放临时文件的下标
+         */
+        private final int[] heap;
+
+        private int heapSize;
+
+        Merger(List<Path> runs) throws IOException {
+            this.runs = runs;
+            this.inputs = new DataInputStream[runs.size()];
+            this.headKeys = new int[runs.size()];
+            this.heads = new Object[runs.size()];
+            this.heap = new int[runs.size()];
+            try {
+                for (int i = 0; i < runs.size(); i++) {
+                    inputs[i] = new DataInputStream(new BufferedInputStream(Files.newInputStream(runs.get(i)), BUFFER_SIZE));
+                    if (advance(i)) {
+                        heap[heapSize] = i;
+                        siftUp(heapSize++);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return heapSize > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (heapSize == 0) {
+                throw new NoSuchElementException();
+            }
+            int run = heap[0];
+            T result = (T) heads[run];
+            try {
+                if (!advance(run)) {
+                    heap[0] = heap[--heapSize];
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            siftDown(0);
+            return result;
+        }
+
+        /**
+         * 读取临时文件的下一个元素
+         *
+         * @return 文件已读完时返回 false
+         */
+        private boolean advance(int run) throws IOException {
+            int key;
+            try {
+                key = inputs[run].readInt();
+            } catch (EOFException e) {
+                heads[run] = null;
+                return false;
+            }
+            headKeys[run] = key;
+            heads[run] = codec.read(inputs[run]);
+            return true;
+        }
+
+        private boolean less(int run1, int run2) {
+            if (headKeys[run1] != headKeys[run2]) {
+                return headKeys[run1] < headKeys[run2];
+            }
+            return run1 < run2;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!less(heap[index], heap[parent])) {
+                    break;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= heapSize) {
+                    return;
+                }
+                int smallest = left;
+                if (left + 1 < heapSize && less(heap[left + 1], heap[left])) {
+                    smallest = left + 1;
+                }
+                if (!less(heap[smallest], heap[index])) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int run = heap[i];
+            heap[i] = heap[j];
+            heap[j] = run;
+        }
+
+        void close() {
+            for (int i = 0; i < runs.size(); i++) {
+                try {
+                    if (inputs[i] != null) {
+                        inputs[i].close();
+                    }
+                    Files.deleteIfExists(runs.get(i));
+                } catch (IOException e) {
+                    // 删除临时文件失败不影响结果
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.andy.sort;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * 外部排序时把元素写入临时文件、再读出来的编解码器
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 09:40
+ */
+public interface RecordCodec<T> {
+
+    void write(DataOutput out, T element) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
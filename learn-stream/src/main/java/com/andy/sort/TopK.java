@@ -0,0 +1,200 @@
+package com.andy.sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collector;
+
+/**
+ * 取前 K 个元素的收集器：只维护一个大小为 K 的堆，复杂度 O(n log k)，不需要先把整个流排好序
+ * <p>
+ * 排序键通过 {@link ToIntFunction} 提取，与 {@code Comparator.comparingInt} 语义相同，比较时不装箱、不做减法，不会溢出。
+ * 键相同的元素保持遇到的先后顺序。例如年龄最小的 3 个用户：
+ * <pre>{@code
+ * List<User> youngest = userList.stream().collect(TopK.smallestBy(3, User::getAge));
+ * }</pre>
+ * 返回的列表按键排好序；并行流中也可以使用。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 09:20
+ */
+public final class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * 键最小的 k 个元素，按键升序
+     */
+    public static <T> Collector<T, ?, List<T>> smallestBy(int k, ToIntFunction<? super T> keyExtractor) {
+        return collector(k, keyExtractor, false);
+    }
+
+    /**
+     * 键最大的 k 个元素，按键降序
+     */
+    public static <T> Collector<T, ?, List<T>> largestBy(int k, ToIntFunction<? super T> keyExtractor) {
+        return collector(k, keyExtractor, true);
+    }
+
+    private static <T> Collector<T, ?, List<T>> collector(int k, ToIntFunction<? super T> keyExtractor,
+                                                          boolean largest) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k不能为负数：" + k);
+        }
+        return Collector.of(
+                () -> new Heap<T>(k, largest),
+                (heap, element) -> heap.offer(keyExtractor.applyAsInt(element), element),
+                Heap::merge,
+                Heap::toSortedList);
+    }
+
+    /**
+     * 有界堆，堆顶是当前保留的元素中"最差"的一个，新元素比它好时替换堆顶
+     * <p>
+     * 键、序号、元素分别存放在三个数组中，键的比较不装箱
+     */
+    static final class Heap<T> {
+
+        private final int capacity;
+
+        private final boolean largest;
+
+        private int[] keys;
+
+        /**
+         * 遇到的先后顺序，键相同时先出现的更"好"
+         */
+        private long[] sequences;
+
+        private Object[] elements;
+
+        private int size;
+
+        private long nextSequence;
+
+        Heap(int capacity, boolean largest) {
+            this.capacity = capacity;
+            this.largest = largest;
+            // k 可能远大于实际元素数，按需扩容
+            int initial = Math.min(capacity, 16);
+            this.keys = new int[initial];
+            this.sequences = new long[initial];
+            this.elements = new Object[initial];
+        }
+
+        void offer(int key, T element) {
+            offer(key, nextSequence++, element);
+        }
+
+        private void offer(int key, long sequence, Object element) {
+            if (capacity == 0) {
+                return;
+            }
+            if (size < capacity) {
+                if (size == keys.length) {
+                    int newLength = (int) Math.min((long) capacity, keys.length * 2L);
+                    keys = Arrays.copyOf(keys, newLength);
+                    sequences = Arrays.copyOf(sequences, newLength);
+                    elements = Arrays.copyOf(elements, newLength);
+                }
+                keys[size] = key;
+                sequences[size] = sequence;
+                elements[size] = element;
+                siftUp(size++);
+            } else if (better(key, sequence, keys[0], sequences[0])) {
+                keys[0] = key;
+                sequences[0] = sequence;
+                elements[0] = element;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * 合并另一个堆，用于并行流；右侧堆的序号整体排在左侧之后，保持遇到顺序
+         */
+        Heap<T> merge(Heap<T> other) {
+            long base = nextSequence;
+            for (int i = 0; i < other.size; i++) {
+                offer(other.keys[i], base + other.sequences[i], other.elements[i]);
+            }
+            nextSequence = base + other.nextSequence;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> toSortedList() {
+            // 依次弹出堆顶（最差的元素）倒序放入结果
+            int count = size;
+            Object[] result = new Object[count];
+            while (size > 0) {
+                result[size - 1] = elements[0];
+                size--;
+                keys[0] = keys[size];
+                sequences[0] = sequences[size];
+                elements[0] = elements[size];
+                elements[size] = null;
+                siftDown(0);
+            }
+            List<T> list = new ArrayList<>(count);
+            for (Object element : result) {
+                list.add((T) element);
+            }
+            return Collections.unmodifiableList(list);
+        }
+
+        /**
+         * (key1, sequence1) 是否比 (key2, sequence2) 更应该被保留
+         */
+        private boolean better(int key1, long sequence1, int key2, long sequence2) {
+            if (key1 != key2) {
+                return largest ? key1 > key2 : key1 < key2;
+            }
+            return sequence1 < sequence2;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(keys[parent], sequences[parent], keys[index], sequences[index])) {
+                    break;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int worst = left;
+                int right = left + 1;
+                if (right < size && better(keys[left], sequences[left], keys[right], sequences[right])) {
+                    worst = right;
+                }
+                if (!better(keys[index], sequences[index], keys[worst], sequences[worst])) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+            long sequence = sequences[i];
+            sequences[i] = sequences[j];
+            sequences[j] = sequence;
+            Object element = elements[i];
+            elements[i] = elements[j];
+            elements[j] = element;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.andy.sort;
+
+import com.andy.entity.Role;
+import com.andy.entity.User;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * User 的编解码器，支持各字段为 null
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 09:42
+ */
+public class UserCodec implements RecordCodec<User> {
+
+    public static final UserCodec INSTANCE = new UserCodec();
+
+    @Override
+    public void write(DataOutput out, User user) throws IOException {
+        writeLong(out, user.getId());
+        writeString(out, user.getName());
+        out.writeBoolean(user.getAge() != null);
+        if (user.getAge() != null) {
+            out.writeInt(user.getAge());
+        }
+        List<Role> roleList = user.getRoleList();
+        out.writeInt(roleList == null ? -1 : roleList.size());
+        if (roleList != null) {
+            for (Role role : roleList) {
+                writeLong(out, role.getId());
+                writeString(out, role.getRoleName());
+            }
+        }
+    }
+
+    @Override
+    public User read(DataInput in) throws IOException {
+        Long id = readLong(in);
+        String name = readString(in);
+        Integer age = in.readBoolean() ? in.readInt() : null;
+        int roleCount = in.readInt();
+        List<Role> roleList = null;
+        if (roleCount >= 0) {
+            roleList = new ArrayList<>(roleCount);
+            for (int i = 0; i < roleCount; i++) {
+                roleList.add(new Role(readLong(in), readString(in)));
+            }
+        }
+        return new User(id, name, age, roleList);
+    }
+
+    private static void writeLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,233 @@
+package com.andy.store;
+
+import com.andy.entity.Role;
+import com.andy.entity.User;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * 通过内存映射读取 {@link UserStoreWriter} 写出的用户文件，数据放在堆外，由操作系统按需换入
+ * <p>
+ * 打开文件只是映射，不做任何解析，所以几乎是瞬间完成的。按行号读取字段时直接从映射的内存中取值，不创建 User 对象；
+ * 只有读取字符串或调用 {@link #toUser(int)} 时才会分配对象。可以直接接入 TestStream 中的各种流水线：
+ * <pre>{@code
+ * // filter：过滤出所有年龄大于10岁的用户
+ * store.rows().filter(row -> store.age(row) > 10)
+ * // map：给所有用户的年龄加2
+ * store.ages().map(age -> age + 2)
+ * // sorted：根据年龄进行升序排序
+ * IntStream.of(store.rowsSortedByAge())
+ * }</pre>
+ * 实例创建后只读，可以被多个线程共享。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 22:00
+ */
+public final class MappedUserStore implements Closeable {
+
+    private final FileChannel channel;
+
+    private final int userCount;
+
+    private final int roleCount;
+
+    private final MappedByteBuffer users;
+
+    private final MappedByteBuffer roleRefs;
+
+    private final MappedByteBuffer roles;
+
+    private final MappedByteBuffer strings;
+
+    private MappedUserStore(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, UserStoreLayout.HEADER_SIZE);
+        if (header.getInt(0) != UserStoreLayout.MAGIC) {
+            throw new IOException("不是用户存储文件");
+        }
+        if (header.getInt(4) != UserStoreLayout.VERSION) {
+            throw new IOException("不支持的用户存储文件版本：" + header.getInt(4));
+        }
+        this.userCount = header.getInt(8);
+        this.roleCount = header.getInt(12);
+        this.users = section(header, UserStoreLayout.SECTION_USERS);
+        this.roleRefs = section(header, UserStoreLayout.SECTION_ROLE_REFS);
+        this.roles = section(header, UserStoreLayout.SECTION_ROLES);
+        this.strings = section(header, UserStoreLayout.SECTION_STRINGS);
+    }
+
+    public static MappedUserStore open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new MappedUserStore(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private MappedByteBuffer section(ByteBuffer header, int section) throws IOException {
+        int position = UserStoreLayout.SECTION_TABLE + section * 16;
+        return channel.map(FileChannel.MapMode.READ_ONLY, header.getLong(position), header.getLong(position + 8));
+    }
+
+    public int size() {
+        return userCount;
+    }
+
+    public long id(int row) {
+        return users.getLong(userOffset(row) + UserStoreLayout.USER_ID);
+    }
+
+    public int age(int row) {
+        return users.getInt(userOffset(row) + UserStoreLayout.USER_AGE);
+    }
+
+    /**
+     * 读取用户名，会创建新的字符串
+     */
+    public String name(int row) {
+        return readString(users.getInt(userOffset(row) + UserStoreLayout.USER_NAME));
+    }
+
+    /**
+     * 比较用户名，直接比较 UTF-8 字节，不创建字符串
+     */
+    public boolean nameEquals(int row, byte[] utf8Name) {
+        int ref = users.getInt(userOffset(row) + UserStoreLayout.USER_NAME);
+        if (ref == UserStoreLayout.NULL_REF) {
+            return utf8Name == null;
+        }
+        if (utf8Name == null || strings.getInt(ref) != utf8Name.length) {
+            return false;
+        }
+        int start = ref + 4;
+        for (int i = 0; i < utf8Name.length; i++) {
+            if (strings.get(start + i) != utf8Name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int roleCount(int row) {
+        return users.getInt(userOffset(row) + UserStoreLayout.USER_ROLE_COUNT);
+    }
+
+    /**
+     * 第 row 个用户的第 index 个角色在角色区中的下标，两个用户拥有同一个角色时下标相同
+     */
+    public int roleIndex(int row, int index) {
+        int start = users.getInt(userOffset(row) + UserStoreLayout.USER_ROLE_START);
+        return roleRefs.getInt((start + index) * UserStoreLayout.ROLE_REF_SIZE);
+    }
+
+    public long roleId(int row, int index) {
+        return roles.getLong(roleIndex(row, index) * UserStoreLayout.ROLE_RECORD_SIZE + UserStoreLayout.ROLE_ID);
+    }
+
+    /**
+     * 读取角色名称，会创建新的字符串
+     */
+    public String roleName(int row, int index) {
+        int roleOffset = roleIndex(row, index) * UserStoreLayout.ROLE_RECORD_SIZE;
+        return readString(roles.getInt(roleOffset + UserStoreLayout.ROLE_NAME));
+    }
+
+    /**
+     * 不同角色的数量
+     */
+    public int distinctRoleCount() {
+        return roleCount;
+    }
+
+    public IntStream rows() {
+        return IntStream.range(0, userCount);
+    }
+
+    public LongStream ids() {
+        return rows().mapToLong(this::id);
+    }
+
+    public IntStream ages() {
+        return rows().map(this::age);
+    }
+
+    /**
+     * 按需还原出 User 对象的流，只有下游真正需要 User 时才使用
+     */
+    public Stream<User> users() {
+        return rows().mapToObj(this::toUser);
+    }
+
+    /**
+     * 按年龄升序（年龄相同时按行号）排序后的行号
+     * <p>
+     * 把年龄和行号打包成一个 long 后对基本类型数组排序，不装箱，也不创建 Comparator
+     */
+    public int[] rowsSortedByAge() {
+        long[] keys = new long[userCount];
+        for (int row = 0; row < userCount; row++) {
+            // 年龄带符号作为高 32 位，非负的行号作为低 32 位，long 按有符号排序即先按年龄、再按行号
+            keys[row] = ((long) age(row) << 32) | row;
+        }
+        Arrays.sort(keys);
+        int[] rows = new int[userCount];
+        for (int i = 0; i < userCount; i++) {
+            rows[i] = (int) keys[i];
+        }
+        return rows;
+    }
+
+    /**
+     * 还原出第 row 个用户，会创建新的 User 和 roleList
+     */
+    public User toUser(int row) {
+        int count = roleCount(row);
+        List<Role> roleList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            roleList.add(new Role(roleId(row, i), roleName(row, i)));
+        }
+        return new User(id(row), name(row), age(row), roleList);
+    }
+
+    /**
+     * 关闭文件通道；映射的内存由 GC 回收对应的缓冲区时释放
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int userOffset(int row) {
+        if (row < 0 || row >= userCount) {
+            throw new IndexOutOfBoundsException("行号越界：" + row);
+        }
+        return row * UserStoreLayout.USER_RECORD_SIZE;
+    }
+
+    private String readString(int ref) {
+        if (ref == UserStoreLayout.NULL_REF) {
+            return null;
+        }
+        int length = strings.getInt(ref);
+        byte[] bytes = new byte[length];
+        ByteBuffer view = strings.duplicate();
+        view.position(ref + 4);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
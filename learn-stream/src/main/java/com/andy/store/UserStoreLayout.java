@@ -0,0 +1,68 @@
+package com.andy.store;
+
+/**
+ * 用户存储文件的二进制布局，所有数值均为大端序
+ * <pre>
+ * 文件头（96字节）：
+ *   int 魔数 | int 版本号 | int 用户数 | int 角色数
+ *   用户区、角色引用区、角色区、字符串区各占 16 字节：long 偏移 | long 长度
+ *   其余为保留字节
+ * 用户区：每个用户 24 字节
+ *   long id | int 年龄 | int 用户名引用 | int 第一个角色引用的下标 | int 角色数
+ * 角色引用区：每个引用 4 字节，为角色在角色区中的下标
+ * 角色区：每个角色 16 字节
+ *   long 角色id | int 角色名称引用 | int 保留
+ * 字符串区：每个字符串为 int 字节数 + UTF-8 字节，引用即字符串在该区内的偏移，null 的引用为 -1
+ * </pre>
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 21:20
+ */
+final class UserStoreLayout {
+
+    static final int MAGIC = 0x55534552;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 96;
+
+    /**
+     * 文件头中第一个区的描述位置，之后每个区依次占 16 字节
+     */
+    static final int SECTION_TABLE = 16;
+
+    static final int SECTION_USERS = 0;
+
+    static final int SECTION_ROLE_REFS = 1;
+
+    static final int SECTION_ROLES = 2;
+
+    static final int SECTION_STRINGS = 3;
+
+    static final int SECTION_COUNT = 4;
+
+    static final int USER_RECORD_SIZE = 24;
+
+    static final int ROLE_RECORD_SIZE = 16;
+
+    static final int ROLE_REF_SIZE = 4;
+
+    static final int NULL_REF = -1;
+
+    static final int USER_ID = 0;
+
+    static final int USER_AGE = 8;
+
+    static final int USER_NAME = 12;
+
+    static final int USER_ROLE_START = 16;
+
+    static final int USER_ROLE_COUNT = 20;
+
+    static final int ROLE_ID = 0;
+
+    static final int ROLE_NAME = 8;
+
+    private UserStoreLayout() {
+    }
+}
@@ -0,0 +1,201 @@
+package com.andy.store;
+
+import com.andy.entity.Role;
+import com.andy.entity.User;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 把用户写成 {@link UserStoreLayout} 格式的文件，供 {@link MappedUserStore} 映射读取
+ * <p>
+ * 用户区直接顺序写入目标文件，其余各区先写到临时文件，最后依次拼接到目标文件末尾，
+ * 因此写入时内存中只保留角色和有限个去重用的字符串，不保留用户本身。
+ * 字符串去重表最多保存 {@link #DEDUP_LIMIT} 个字符串，用户名大多各不相同时，之后新出现的字符串直接写入字符串区、不再去重。
+ * 注意：每个区都需要单独映射，单个区不能超过 2GB（约 8900 万个用户），写入时一旦超过就抛出异常。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 21:35
+ */
+public class UserStoreWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 字符串去重表的容量上限
+     */
+    private static final int DEDUP_LIMIT = 64 * 1024;
+
+    private final DataOutputStream stringOut;
+
+    private final Map<String, Integer> stringRefs = new HashMap<>();
+
+    private long stringHeapSize;
+
+    /**
+     * Role 不可变且按 id 和名称比较，直接作为键
+     */
+    private final Map<Role, Integer> roleIndexes = new HashMap<>();
+
+    private final List<Role> roles = new ArrayList<>();
+
+    private UserStoreWriter(DataOutputStream stringOut) {
+        this.stringOut = stringOut;
+    }
+
+    public static void write(Path path, Iterable<User> users) throws IOException {
+        Path roleRefFile = Files.createTempFile("user-store-role-refs", ".tmp");
+        Path roleFile = Files.createTempFile("user-store-roles", ".tmp");
+        Path stringFile = Files.createTempFile("user-store-strings", ".tmp");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream roleRefOut = open(roleRefFile);
+             DataOutputStream roleOut = open(roleFile);
+             DataOutputStream stringOut = open(stringFile)) {
+            UserStoreWriter writer = new UserStoreWriter(stringOut);
+
+            // 用户区：跳过文件头直接写；不能关闭 userOut，否则会关闭底层通道
+            channel.position(UserStoreLayout.HEADER_SIZE);
+            DataOutputStream userOut = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+            int userCount = 0;
+            int roleRefCount = 0;
+            for (User user : users) {
+                if (user.getId() == null || user.getAge() == null) {
+                    throw new IllegalArgumentException("用户id和年龄不能为空：" + user);
+                }
+                checkSection("用户区", (long) (userCount + 1) * UserStoreLayout.USER_RECORD_SIZE);
+                int roleStart = roleRefCount;
+                if (user.getRoleList() != null) {
+                    for (Role role : user.getRoleList()) {
+                        checkSection("角色引用区", (long) (roleRefCount + 1) * UserStoreLayout.ROLE_REF_SIZE);
+                        roleRefOut.writeInt(writer.roleIndex(role));
+                        roleRefCount++;
+                    }
+                }
+                userOut.writeLong(user.getId());
+                userOut.writeInt(user.getAge());
+                userOut.writeInt(writer.stringRef(user.getName()));
+                userOut.writeInt(roleStart);
+                userOut.writeInt(roleRefCount - roleStart);
+                userCount++;
+            }
+            userOut.flush();
+
+            // 角色区：角色名称也写入字符串区
+            for (Role role : writer.roles) {
+                roleOut.writeLong(role.getId());
+                roleOut.writeInt(writer.stringRef(role.getRoleName()));
+                roleOut.writeInt(0);
+            }
+            roleRefOut.flush();
+            roleOut.flush();
+            stringOut.flush();
+
+            long[] lengths = new long[UserStoreLayout.SECTION_COUNT];
+            lengths[UserStoreLayout.SECTION_USERS] = (long) userCount * UserStoreLayout.USER_RECORD_SIZE;
+            lengths[UserStoreLayout.SECTION_ROLE_REFS] = (long) roleRefCount * UserStoreLayout.ROLE_REF_SIZE;
+            lengths[UserStoreLayout.SECTION_ROLES] = (long) writer.roles.size() * UserStoreLayout.ROLE_RECORD_SIZE;
+            lengths[UserStoreLayout.SECTION_STRINGS] = writer.stringHeapSize;
+
+            long position = UserStoreLayout.HEADER_SIZE + lengths[UserStoreLayout.SECTION_USERS];
+            position += append(channel, roleRefFile, position);
+            position += append(channel, roleFile, position);
+            append(channel, stringFile, position);
+
+            ByteBuffer header = ByteBuffer.allocate(UserStoreLayout.HEADER_SIZE);
+            header.putInt(UserStoreLayout.MAGIC).putInt(UserStoreLayout.VERSION)
+                    .putInt(userCount).putInt(writer.roles.size());
+            long offset = UserStoreLayout.HEADER_SIZE;
+            for (long length : lengths) {
+                header.putLong(offset).putLong(length);
+                offset += length;
+            }
+            header.clear();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        } finally {
+            Files.deleteIfExists(roleRefFile);
+            Files.deleteIfExists(roleFile);
+            Files.deleteIfExists(stringFile);
+        }
+    }
+
+    /**
+     * 角色在角色区中的下标，相同的角色只保存一份
+     */
+    private int roleIndex(Role role) throws IOException {
+        if (role.getId() == null) {
+            throw new IllegalArgumentException("角色id不能为空：" + role);
+        }
+        Integer index = roleIndexes.get(role);
+        if (index == null) {
+            checkSection("角色区", (long) (roles.size() + 1) * UserStoreLayout.ROLE_RECORD_SIZE);
+            index = roles.size();
+            roleIndexes.put(role, index);
+            roles.add(role);
+        }
+        return index;
+    }
+
+    /**
+     * 把字符串写入字符串区，返回引用；去重表未满时相同的字符串只写一次
+     */
+    private int stringRef(String value) throws IOException {
+        if (value == null) {
+            return UserStoreLayout.NULL_REF;
+        }
+        Integer ref = stringRefs.get(value);
+        if (ref != null) {
+            return ref;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        checkSection("字符串区", stringHeapSize + 4 + bytes.length);
+        int offset = (int) stringHeapSize;
+        stringOut.writeInt(bytes.length);
+        stringOut.write(bytes);
+        stringHeapSize += 4 + bytes.length;
+        if (stringRefs.size() < DEDUP_LIMIT) {
+            stringRefs.put(value, offset);
+        }
+        return offset;
+    }
+
+    /**
+     * 区的长度即将超过 2GB 时立即失败，不必等到全部写完
+     */
+    private static void checkSection(String section, long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException(section + "超过2GB，无法映射：" + length);
+        }
+    }
+
+    private static DataOutputStream open(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+    }
+
+    private static long append(FileChannel target, Path source, long position) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = in.size();
+            long transferred = 0;
+            while (transferred < size) {
+                transferred += target.transferFrom(in, position + transferred, size - transferred);
+            }
+            return size;
+        }
+    }
+}
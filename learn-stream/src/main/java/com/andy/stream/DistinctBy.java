@@ -0,0 +1,48 @@
+package com.andy.stream;
+
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * 按键去重，代替依赖 equals/hashCode 的 {@code Stream.distinct()}
+ * <p>
+ * User 的 equals/hashCode 会比较、哈希全部字段，包括整个 roleList；按 id 去重时只需哈希一个 long：
+ * <pre>{@code
+ * // 精确去重，内存中保存所有出现过的 id
+ * userList.stream().filter(DistinctBy.longKey(User::getId))
+ * // 近似去重，内存固定，误判率 1%，会误丢约 1% 从未出现过的用户
+ * userList.stream().filter(DistinctBy.approximateLongKey(User::getId, 100_000_000L, 0.01))
+ * // 只需要数量时，用 HyperLogLog 估算
+ * HyperLogLog hll = new HyperLogLog();
+ * userList.forEach(user -> hll.add(user.getId()));
+ * }</pre>
+ * 返回的过滤条件是有状态的，只能用于顺序流，并且每条流水线都要重新获取一个。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 08:50
+ */
+public final class DistinctBy {
+
+    private DistinctBy() {
+    }
+
+    /**
+     * 按 long 键精确去重，保留每个键第一次出现的元素
+     */
+    public static <T> Predicate<T> longKey(ToLongFunction<? super T> keyExtractor) {
+        LongHashSet seen = new LongHashSet();
+        return element -> seen.add(keyExtractor.applyAsLong(element));
+    }
+
+    /**
+     * 按 long 键近似去重，内存只与预计数量和误判率有关
+     *
+     * @param expectedInsertions 预计不同键的数量
+     * @param fpp                误判率，误判的元素会被当作重复元素丢弃
+     */
+    public static <T> Predicate<T> approximateLongKey(ToLongFunction<? super T> keyExtractor,
+                                                      long expectedInsertions, double fpp) {
+        LongBloomFilter seen = new LongBloomFilter(expectedInsertions, fpp);
+        return element -> seen.put(keyExtractor.applyAsLong(element));
+    }
+}
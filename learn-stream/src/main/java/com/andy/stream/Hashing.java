@@ -0,0 +1,25 @@
+package com.andy.stream;
+
+/**
+ * long 键的哈希混淆
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 08:10
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /**
+     * MurmurHash3 的 fmix64，让相邻的 id 也能均匀分布到各个位上
+     */
+    static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,73 @@
+package com.andy.stream;
+
+/**
+ * long 键的布隆过滤器，用于内存放不下全部键时的近似去重
+ * <p>
+ * 判断为"不存在"一定准确；判断为"存在"有 fpp 的概率是误判，所以用于去重时会误丢少量从未出现过的元素。
+ * 注意：该类不是线程安全的。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 08:35
+ */
+public class LongBloomFilter {
+
+    private final long[] bits;
+
+    private final long bitCount;
+
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 预计插入的键数量
+     * @param fpp                期望的误判率，例如 0.01
+     */
+    public LongBloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions <= 0 || fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("预计插入数量必须大于0，误判率必须在0到1之间");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min((optimalBits + 63) >>> 6, Integer.MAX_VALUE - 8);
+        this.bits = new long[Math.max(words, 1)];
+        this.bitCount = (long) bits.length << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    /**
+     * 添加键
+     *
+     * @return 键可能是第一次出现时返回 true；返回 false 表示键一定出现过或发生了误判
+     */
+    public boolean put(long key) {
+        long hash = Hashing.mix(key);
+        // 双重哈希：用两个 64 位哈希组合出 hashCount 个位置
+        long hash1 = hash;
+        long hash2 = Hashing.mix(hash ^ 0x9e3779b97f4a7c15L);
+        boolean changed = false;
+        for (int i = 1; i <= hashCount; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+            long mask = 1L << index;
+            int word = (int) (index >>> 6);
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 键是否可能出现过
+     */
+    public boolean mightContain(long key) {
+        long hash = Hashing.mix(key);
+        long hash1 = hash;
+        long hash2 = Hashing.mix(hash ^ 0x9e3779b97f4a7c15L);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,202 @@
+package com.andy.stream;
+
+import java.util.Arrays;
+
+/**
+ * 基本类型 long 到 long 的哈希表，开放寻址 + 线性探测，不装箱，适合做计数、求和
+ * <p>
+ * 0 作为空槽标记，键为 0 的值单独记录。注意：该类不是线程安全的。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 10:40
+ */
+public class LongLongMap {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+
+    private long[] values;
+
+    private int mask;
+
+    private int size;
+
+    private boolean containsZero;
+
+    private long zeroValue;
+
+    public LongLongMap() {
+        this(16);
+    }
+
+    public LongLongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max((int) (expectedSize / LOAD_FACTOR), 2) - 1) << 1;
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * 给键对应的值加上 delta，键不存在时视为 0
+     */
+    public void addTo(long key, long delta) {
+        if (key == 0) {
+            if (!containsZero) {
+                containsZero = true;
+                size++;
+            }
+            zeroValue += delta;
+            return;
+        }
+        int index = (int) Hashing.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                values[index] += delta;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = delta;
+        if (++size > keys.length * LOAD_FACTOR) {
+            resize();
+        }
+    }
+
+    /**
+     * 获取键对应的值，键不存在时放入 value 并返回 value
+     */
+    public long getOrPut(long key, long value) {
+        if (key == 0) {
+            if (!containsZero) {
+                containsZero = true;
+                zeroValue = value;
+                size++;
+            }
+            return zeroValue;
+        }
+        int index = (int) Hashing.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size > keys.length * LOAD_FACTOR) {
+            resize();
+        }
+        return value;
+    }
+
+    /**
+     * 获取键对应的值，键不存在时返回 defaultValue
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        if (key == 0) {
+            return containsZero ? zeroValue : defaultValue;
+        }
+        int index = (int) Hashing.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return containsZero;
+        }
+        int index = (int) Hashing.mix(key) & mask;
+        while (keys[index] != 0) {
+            if (keys[index] == key) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 把另一个表的值逐键累加到当前表
+     */
+    public void addAll(LongLongMap other) {
+        if (other.containsZero) {
+            addTo(0L, other.zeroValue);
+        }
+        long[] otherKeys = other.keys;
+        long[] otherValues = other.values;
+        for (int i = 0; i < otherKeys.length; i++) {
+            if (otherKeys[i] != 0) {
+                addTo(otherKeys[i], otherValues[i]);
+            }
+        }
+    }
+
+    /**
+     * 遍历所有键值对，顺序不确定
+     */
+    public void forEach(Entry consumer) {
+        if (containsZero) {
+            consumer.accept(0L, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * 所有键，升序
+     */
+    public long[] sortedKeys() {
+        long[] result = new long[size];
+        int n = 0;
+        if (containsZero) {
+            result[n++] = 0L;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldKeys.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int index = (int) Hashing.mix(oldKeys[i]) & mask;
+                while (keys[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * 键值对的消费者，参数都是基本类型
+     */
+    @FunctionalInterface
+    public interface Entry {
+        void accept(long key, long value);
+    }
+}
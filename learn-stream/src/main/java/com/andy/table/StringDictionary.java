@@ -0,0 +1,121 @@
+package com.andy.table;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 字符串字典：相同的字符串只保存一份，列中只存放 int 编码
+ * <p>
+ * 编码时需要的 HashMap 只存在于 {@link Builder} 中；构建完成的字典只保存按编码排列的字符串数组，
+ * 以及一个按字符串排序的编码数组供 {@link #codeOf(String)} 二分查找，每个字符串只多占 4 个字节。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 20:30
+ */
+public final class StringDictionary {
+
+    /**
+     * null 的编码
+     */
+    public static final int NULL = -1;
+
+    /**
+     * 下标为编码
+     */
+    private final String[] values;
+
+    /**
+     * 按字符串排序后的编码
+     */
+    private final int[] sortedCodes;
+
+    private StringDictionary(String[] values, int[] sortedCodes) {
+        this.values = values;
+        this.sortedCodes = sortedCodes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * 获取已有字符串的编码，不存在时返回 {@link #NULL}
+     */
+    public int codeOf(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        int low = 0;
+        int high = sortedCodes.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compare = values[sortedCodes[mid]].compareTo(value);
+            if (compare < 0) {
+                low = mid + 1;
+            } else if (compare > 0) {
+                high = mid - 1;
+            } else {
+                return sortedCodes[mid];
+            }
+        }
+        return NULL;
+    }
+
+    public String decode(int code) {
+        return code == NULL ? null : values[code];
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * 字典构建器，按第一次出现的顺序分配编码
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private final List<String> values = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * 获取字符串的编码，第一次出现时分配新编码
+         */
+        public int encode(String value) {
+            if (value == null) {
+                return NULL;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        public int size() {
+            return values.size();
+        }
+
+        /**
+         * 对不重复的字符串排序后，按排序后的顺序从 HashMap 取出编码，不装箱也不用比较器排序下标
+         */
+        public StringDictionary build() {
+            String[] array = values.toArray(new String[0]);
+            String[] sorted = array.clone();
+            Arrays.sort(sorted);
+            int[] sortedCodes = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                sortedCodes[i] = codes.get(sorted[i]);
+            }
+            return new StringDictionary(array, sortedCodes);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.andy.table;
+
+import com.andy.entity.Role;
+import com.andy.entity.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * 按列存储的用户表，用来代替 {@code List<User>}
+ * <p>
+ * id、年龄分别存放在 long[]、int[] 中，不再装箱；用户名和角色做字典编码，重复的字符串和角色只保存一份；
+ * 每个用户的角色按 CSR 方式（偏移量数组 + 角色编码数组）连续存放，没有 ArrayList 的开销。
+ * 以 TestStream 中的写法为例：
+ * <pre>{@code
+ * // userList.stream().filter(user -> user.getAge() > 10)
+ * table.rows().filter(row -> table.age(row) > 10)
+ * // userList.stream().map(user -> user.getAge()).map(age -> age + 2)
+ * table.ages().map(age -> age + 2)
+ * }</pre>
+ * 注意：id 和年龄是基本类型列，不能为 null；roleList 为 null 时按空列表存储。表构建完成后不可修改。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 20:40
+ */
+public final class UserTable {
+
+    private final int size;
+
+    private final long[] ids;
+
+    private final int[] ages;
+
+    /**
+     * 用户名的字典编码
+     */
+    private final int[] nameCodes;
+
+    private final StringDictionary names;
+
+    /**
+     * 第 row 个用户的角色编码为 roleCodes[roleOffsets[row]] ~ roleCodes[roleOffsets[row + 1] - 1]
+     */
+    private final int[] roleOffsets;
+
+    private final int[] roleCodes;
+
+    /**
+     * 角色字典，下标为角色编码
+     */
+    private final Role[] roles;
+
+    private UserTable(Builder builder) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.ages = Arrays.copyOf(builder.ages, size);
+        this.nameCodes = Arrays.copyOf(builder.nameCodes, size);
+        this.names = builder.names.build();
+        this.roleOffsets = Arrays.copyOf(builder.roleOffsets, size + 1);
+        this.roleCodes = Arrays.copyOf(builder.roleCodes, builder.roleOffsets[size]);
+        this.roles = builder.roles.toArray(new Role[0]);
+    }
+
+    public static UserTable of(Collection<User> users) {
+        Builder builder = new Builder(users.size());
+        for (User user : users) {
+            builder.add(user);
+        }
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder(16);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    public int age(int row) {
+        return ages[row];
+    }
+
+    public String name(int row) {
+        return names.decode(nameCodes[row]);
+    }
+
+    /**
+     * 用户名的字典编码，比较用户名是否相同时直接比较编码即可
+     */
+    public int nameCode(int row) {
+        return nameCodes[row];
+    }
+
+    public StringDictionary names() {
+        return names;
+    }
+
+    public int roleCount(int row) {
+        return roleOffsets[row + 1] - roleOffsets[row];
+    }
+
+    /**
+     * 第 row 个用户的第 index 个角色的编码
+     */
+    public int roleCode(int row, int index) {
+        return roleCodes[roleOffsets[row] + index];
+    }
+
+    /**
+     * 第 row 个用户的第 index 个角色，返回字典中共享的不可变实例
+     */
+    public Role role(int row, int index) {
+        return roles[roleCode(row, index)];
+    }
+
+    /**
+     * 根据角色编码获取角色，返回字典中共享的不可变实例
+     */
+    public Role roleOf(int roleCode) {
+        return roles[roleCode];
+    }
+
+    public int roleDictionarySize() {
+        return roles.length;
+    }
+
+    /**
+     * 所有行号
+     */
+    public IntStream rows() {
+        return IntStream.range(0, size);
+    }
+
+    public LongStream ids() {
+        return Arrays.stream(ids, 0, size);
+    }
+
+    public IntStream ages() {
+        return Arrays.stream(ages, 0, size);
+    }
+
+    /**
+     * 还原出第 row 个用户，会创建新的 User 和 roleList，角色为字典中共享的实例
+     */
+    public User toUser(int row) {
+        int count = roleCount(row);
+        List<Role> roleList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            roleList.add(role(row, i));
+        }
+        return new User(ids[row], name(row), ages[row], roleList);
+    }
+
+    /**
+     * 行游标：同一个游标对象依次指向每一行，遍历整张表只创建这一个对象
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public final class Cursor {
+
+        private int row = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * 移动到下一行
+         *
+         * @return 是否还有数据
+         */
+        public boolean next() {
+            if (row + 1 >= size) {
+                row = size;
+                return false;
+            }
+            row++;
+            return true;
+        }
+
+        /**
+         * 重新从第一行之前开始
+         */
+        public void reset() {
+            row = -1;
+        }
+
+        public int row() {
+            return row;
+        }
+
+        public long id() {
+            return ids[row];
+        }
+
+        public int age() {
+            return ages[row];
+        }
+
+        public String name() {
+            return UserTable.this.name(row);
+        }
+
+        public int roleCount() {
+            return UserTable.this.roleCount(row);
+        }
+
+        public Role role(int index) {
+            return UserTable.this.role(row, index);
+        }
+    }
+
+    public static final class Builder {
+
+        private long[] ids;
+
+        private int[] ages;
+
+        private int[] nameCodes;
+
+        private int[] roleOffsets;
+
+        private int[] roleCodes;
+
+        private int size;
+
+        private final StringDictionary.Builder names = StringDictionary.builder();
+
+        private final List<Role> roles = new ArrayList<>();
+
+        /**
+         * 角色 -> 角色编码，Role 按 id 和角色名称比较，查找时不需要拼接字符串
+         */
+        private final Map<Role, Integer> roleIndex = new HashMap<>();
+
+        private Builder(int capacity) {
+            int initial = Math.max(capacity, 1);
+            ids = new long[initial];
+            ages = new int[initial];
+            nameCodes = new int[initial];
+            roleOffsets = new int[initial + 1];
+            roleCodes = new int[initial];
+        }
+
+        public Builder add(User user) {
+            if (user.getId() == null || user.getAge() == null) {
+                throw new IllegalArgumentException("用户id和年龄不能为空：" + user);
+            }
+            ensureRowCapacity();
+            ids[size] = user.getId();
+            ages[size] = user.getAge();
+            nameCodes[size] = names.encode(user.getName());
+            int offset = roleOffsets[size];
+            List<Role> roleList = user.getRoleList();
+            if (roleList != null) {
+                for (Role role : roleList) {
+                    if (offset == roleCodes.length) {
+                        roleCodes = Arrays.copyOf(roleCodes, offset * 2 + 1);
+                    }
+                    roleCodes[offset++] = encodeRole(role);
+                }
+            }
+            size++;
+            roleOffsets[size] = offset;
+            return this;
+        }
+
+        public UserTable build() {
+            return new UserTable(this);
+        }
+
+        private int encodeRole(Role role) {
+            Integer code = roleIndex.get(role);
+            if (code == null) {
+                code = roles.size();
+                roles.add(role);
+                roleIndex.put(role, code);
+            }
+            return code;
+        }
+
+        private void ensureRowCapacity() {
+            if (size < ids.length) {
+                return;
+            }
+            int newCapacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, newCapacity);
+            ages = Arrays.copyOf(ages, newCapacity);
+            nameCodes = Arrays.copyOf(nameCodes, newCapacity);
+            roleOffsets = Arrays.copyOf(roleOffsets, newCapacity + 1);
+        }
+    }
+}
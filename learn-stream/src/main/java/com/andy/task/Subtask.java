@@ -0,0 +1,91 @@
+package com.andy.task;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link TaskScope#fork} 返回的子任务
+ * <p>
+ * 结果通过 {@link #state()}、{@link #resultNow()}、{@link #exceptionNow()} 读取；
+ * 超过自身时限的子任务会被取消，{@link #isTimedOut()} 返回 true，并按失败处理。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 22:30
+ */
+public final class Subtask<T> extends FutureTask<T> {
+
+    private final TaskScope<T> scope;
+
+    private volatile boolean timedOut;
+
+    private volatile ScheduledFuture<?> timer;
+
+    Subtask(TaskScope<T> scope, Callable<T> task) {
+        super(task);
+        this.scope = scope;
+    }
+
+    /**
+     * 是否因超过时限被取消
+     */
+    public boolean isTimedOut() {
+        return timedOut && isCancelled();
+    }
+
+    /**
+     * 失败原因：执行时抛出的异常，超时时为 {@link TimeoutException}，成功或被作用域取消时为 null
+     */
+    public Throwable failure() {
+        switch (state()) {
+            case FAILED:
+                return exceptionNow();
+            case CANCELLED:
+                return isTimedOut() ? new TimeoutException("子任务超过时限被取消") : null;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            super.run();
+        } finally {
+            // 在池化线程上被取消时，清除取消留下的中断标记，不影响该线程执行的下一个任务
+            if (isCancelled()) {
+                Thread.interrupted();
+            }
+            scope.onExit();
+        }
+    }
+
+    @Override
+    protected void done() {
+        ScheduledFuture<?> current = timer;
+        if (current != null) {
+            current.cancel(false);
+        }
+        scope.onDone(this);
+    }
+
+    void startTimer(long nanos) {
+        timer = Timeouts.schedule(this::timeout, nanos);
+        // 任务可能在定时器设置前就已完成
+        if (isDone()) {
+            timer.cancel(false);
+        }
+    }
+
+    void reject(Throwable cause) {
+        setException(cause);
+    }
+
+    private void timeout() {
+        if (!isDone()) {
+            timedOut = true;
+            cancel(true);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.andy.task;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 任务执行器，取代 TestLambda 中每个任务 {@code new Thread(...).start()} 的写法
+ * <p>
+ * 每个平台线程都要占用一份独立的线程栈，成千上万个并发的打折计算、用户查询任务会耗尽内存；
+ * 默认的 {@link #create()} 为每个任务启动一个虚拟线程，阻塞时只占用很少的堆内存。
+ * 任务以计算为主、或通过系统属性 {@value #VIRTUAL_PROPERTY}=false 关闭虚拟线程时，
+ * 退回到线程数有上限的工作窃取线程池。
+ * <pre>{@code
+ * try (TaskRunner runner = TaskRunner.create()) {
+ *     List<User> users = runner.invokeAll(lookups, Duration.ofSeconds(1));
+ * }
+ * }</pre>
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 22:30
+ */
+public final class TaskRunner implements AutoCloseable {
+
+    /**
+     * 为 false 时 {@link #create()} 使用工作窃取线程池
+     */
+    public static final String VIRTUAL_PROPERTY = "com.andy.task.virtual";
+
+    private final ExecutorService executor;
+
+    private final boolean virtual;
+
+    private TaskRunner(ExecutorService executor, boolean virtual) {
+        this.executor = executor;
+        this.virtual = virtual;
+    }
+
+    /**
+     * 默认使用虚拟线程，{@value #VIRTUAL_PROPERTY} 为 false 时使用与 CPU 核数相同的工作窃取线程池
+     */
+    public static TaskRunner create() {
+        if (Boolean.parseBoolean(System.getProperty(VIRTUAL_PROPERTY, "true"))) {
+            return ofVirtual();
+        }
+        return ofWorkStealing(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 每个任务一个虚拟线程，线程名为 task-0、task-1 ...
+     */
+    public static TaskRunner ofVirtual() {
+        return new TaskRunner(Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-", 0).factory()), true);
+    }
+
+    /**
+     * 最多 parallelism 个线程的工作窃取线程池
+     * <p>
+     * 与 {@link Executors#newWorkStealingPool(int)} 不同，任务阻塞时也不会额外创建补偿线程，线程数始终有上限；
+     * 代价是阻塞型任务会占住线程，在池内再嵌套等待作用域时，嵌套层数不能超过 parallelism。
+     */
+    public static TaskRunner ofWorkStealing(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("线程数必须大于0");
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null,
+                true, 0, parallelism, 1, saturated -> true, 60, TimeUnit.SECONDS);
+        return new TaskRunner(pool, false);
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * 打开一个任务作用域，需在 try-with-resources 中使用
+     */
+    public <T> TaskScope<T> openScope() {
+        return new TaskScope<>(executor);
+    }
+
+    /**
+     * 提交一个不属于任何作用域的任务
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * 执行单个任务并等待结果，超过 timeout 时取消任务
+     *
+     * @throws TimeoutException   任务超过时限
+     * @throws ExecutionException 任务执行失败
+     */
+    public <T> T call(Callable<? extends T> task, Duration timeout)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        try (TaskScope<T> scope = openScope()) {
+            Subtask<T> subtask = scope.fork(task, timeout);
+            try {
+                scope.join();
+            } catch (ExecutionException e) {
+                if (subtask.isTimedOut()) {
+                    throw (TimeoutException) e.getCause();
+                }
+                throw e;
+            }
+            return subtask.resultNow();
+        }
+    }
+
+    /**
+     * 并发执行一批任务，按任务顺序返回结果
+     * <p>
+     * 任一任务失败时取消其余任务；到达 timeout 仍未全部完成时取消剩余任务并抛出 {@link TimeoutException}
+     */
+    public <T> List<T> invokeAll(Collection<? extends Callable<? extends T>> tasks, Duration timeout)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        Instant deadline = Instant.now().plus(timeout);
+        try (TaskScope<T> scope = openScope()) {
+            for (Callable<? extends T> task : tasks) {
+                scope.fork(task);
+            }
+            return scope.joinUntil(deadline).results();
+        }
+    }
+
+    /**
+     * 不再接受新任务，并等待已提交的任务执行完毕
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
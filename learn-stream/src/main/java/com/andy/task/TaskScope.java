@@ -0,0 +1,257 @@
+package com.andy.task;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 结构化的任务作用域：在作用域内派生的子任务，不会比作用域活得更久
+ * <pre>{@code
+ * try (TaskScope<User> scope = runner.openScope()) {
+ *     Subtask<User> user = scope.fork(() -> findUser(id), Duration.ofMillis(200));
+ *     Subtask<User> fallback = scope.fork(() -> findCachedUser(id));
+ *     scope.joinUntil(Instant.now().plusSeconds(1));
+ *     ...
+ * }
+ * }</pre>
+ * 任一子任务失败（包括超过自身时限）时，作用域立即取消其余子任务，{@link #join()} 抛出该失败；
+ * {@link #close()} 会取消尚未完成的子任务，并等待它们全部退出后才返回。
+ * <p>
+ * 与 JDK 21 中仍为预览特性的 StructuredTaskScope 语义相近，但不需要 --enable-preview。
+ * fork、join、close 只应由打开作用域的线程调用。等待使用 {@link ReentrantLock} 而不是 synchronized，
+ * 作用域的所有者是虚拟线程时等待期间不会占住载体线程。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 22:30
+ */
+public final class TaskScope<T> implements AutoCloseable {
+
+    private final Executor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition changed = lock.newCondition();
+
+    /**
+     * 以下字段均由 lock 保护
+     */
+    private final List<Subtask<T>> subtasks = new ArrayList<>();
+
+    /**
+     * 尚未完成的子任务数
+     */
+    private int pending;
+
+    /**
+     * 尚未退出 run 方法的子任务数
+     */
+    private int running;
+
+    private Throwable failure;
+
+    private boolean shutdown;
+
+    private boolean closed;
+
+    TaskScope(Executor executor) {
+        this.executor = executor;
+    }
+
+    public Subtask<T> fork(Callable<? extends T> task) {
+        return fork(task, null);
+    }
+
+    /**
+     * 派生一个子任务，超过 timeout 仍未完成时取消该子任务并按失败处理
+     *
+     * @param timeout 为 null 时不限时
+     */
+    public Subtask<T> fork(Callable<? extends T> task, Duration timeout) {
+        Subtask<T> subtask = new Subtask<>(this, task::call);
+        boolean skip;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("作用域已关闭");
+            }
+            subtasks.add(subtask);
+            pending++;
+            running++;
+            skip = shutdown;
+        } finally {
+            lock.unlock();
+        }
+        if (skip) {
+            subtask.cancel(false);
+            onExit();
+            return subtask;
+        }
+        if (timeout != null) {
+            subtask.startTimer(timeout.toNanos());
+        }
+        try {
+            executor.execute(subtask);
+        } catch (RejectedExecutionException e) {
+            subtask.reject(e);
+            onExit();
+        }
+        return subtask;
+    }
+
+    /**
+     * 等待所有子任务完成
+     *
+     * @throws ExecutionException 有子任务失败，cause 为第一个失败原因
+     */
+    public TaskScope<T> join() throws InterruptedException, ExecutionException {
+        lock.lock();
+        try {
+            while (pending > 0) {
+                changed.await();
+            }
+        } finally {
+            lock.unlock();
+        }
+        throwIfFailed();
+        return this;
+    }
+
+    /**
+     * 等待所有子任务完成，到达 deadline 时取消其余子任务并抛出 {@link TimeoutException}
+     */
+    public TaskScope<T> joinUntil(Instant deadline) throws InterruptedException, ExecutionException, TimeoutException {
+        lock.lock();
+        try {
+            long nanos = Duration.between(Instant.now(), deadline).toNanos();
+            while (pending > 0) {
+                if (nanos <= 0) {
+                    shutdown();
+                    throw new TimeoutException("作用域在 " + deadline + " 前未完成");
+                }
+                nanos = changed.awaitNanos(nanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+        throwIfFailed();
+        return this;
+    }
+
+    /**
+     * 按派生顺序返回所有子任务的结果，需在 join 成功后调用
+     */
+    public List<T> results() {
+        lock.lock();
+        try {
+            List<T> results = new ArrayList<>(subtasks.size());
+            for (Subtask<T> subtask : subtasks) {
+                if (subtask.state() != Future.State.SUCCESS) {
+                    throw new IllegalStateException("子任务未成功完成：" + subtask.state());
+                }
+                results.add(subtask.resultNow());
+            }
+            return results;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 取消所有未完成的子任务，之后派生的子任务不再执行
+     */
+    public void shutdown() {
+        lock.lock();
+        try {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            // 取消会回调 onDone，ReentrantLock 可重入；回调中不会修改 subtasks
+            for (Subtask<T> subtask : subtasks) {
+                subtask.cancel(true);
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return shutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 取消未完成的子任务，并等待所有子任务退出
+     */
+    @Override
+    public void close() {
+        shutdown();
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            closed = true;
+            while (running > 0) {
+                try {
+                    changed.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void onDone(Subtask<T> subtask) {
+        lock.lock();
+        try {
+            pending--;
+            Throwable cause = subtask.failure();
+            if (cause != null && failure == null) {
+                failure = cause;
+                shutdown();
+            }
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onExit() {
+        lock.lock();
+        try {
+            running--;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void throwIfFailed() throws ExecutionException {
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new ExecutionException(failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
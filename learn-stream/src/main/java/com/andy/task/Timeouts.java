@@ -0,0 +1,33 @@
+package com.andy.task;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 子任务超时的定时器，所有作用域共用一个守护线程
+ * <p>
+ * 任务按时完成后会取消对应的定时，取消时立即从队列中移除，不会在队列中堆积
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 22:30
+ */
+final class Timeouts {
+
+    private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "task-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        TIMER.setRemoveOnCancelPolicy(true);
+    }
+
+    private Timeouts() {
+    }
+
+    static ScheduledFuture<?> schedule(Runnable action, long nanos) {
+        return TIMER.schedule(action, nanos, TimeUnit.NANOSECONDS);
+    }
+}
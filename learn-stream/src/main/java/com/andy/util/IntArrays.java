@@ -0,0 +1,257 @@
+package com.andy.util;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.ToIntFunction;
+
+/**
+ * int 数组上的常用算子，对应 TestLambda 中 foreachArr、printNum、calculateNum、typeConverter 的写法，全程不装箱
+ * <p>
+ * 顺序版本就是一个只调用一次函数式接口的计数循环，JIT 容易内联和展开；parallel 开头的版本把数组按
+ * {@link #CHUNK_SIZE} 切成固定的块，在公共 ForkJoinPool 中并行处理，元素不多于一块时退化为顺序版本。
+ * 块的边界只与数组长度有关，因此并行版本的结果顺序与顺序版本相同，reduce 的合并顺序也是确定的。
+ * 并行版本中的函数会被多个线程同时调用，需要是无状态的；reduce 的运算需要满足结合律。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 20:40
+ */
+public final class IntArrays {
+
+    /**
+     * 并行时每块的元素数：足够大以摊薄任务调度的开销，又能让数百万元素的数组分出足够多的块
+     */
+    public static final int CHUNK_SIZE = 1 << 14;
+
+    private IntArrays() {
+    }
+
+    public static void forEach(int[] array, IntConsumer consumer) {
+        for (int value : array) {
+            consumer.accept(value);
+        }
+    }
+
+    /**
+     * 满足条件的元素，保持原有顺序
+     */
+    public static int[] filter(int[] array, IntPredicate predicate) {
+        int[] result = new int[array.length];
+        int n = filterRange(array, 0, array.length, predicate, result, 0);
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    /**
+     * 满足条件的元素个数
+     */
+    public static int count(int[] array, IntPredicate predicate) {
+        int count = 0;
+        for (int value : array) {
+            if (predicate.test(value)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 从 identity 开始依次用 operator 合并所有元素
+     */
+    public static int reduce(int[] array, int identity, IntBinaryOperator operator) {
+        return reduceRange(array, 0, array.length, identity, operator);
+    }
+
+    public static int[] map(int[] array, IntUnaryOperator mapper) {
+        int[] result = new int[array.length];
+        mapRange(array, 0, array.length, mapper, result);
+        return result;
+    }
+
+    /**
+     * 把字符串逐个转换为 int，结果直接写入 int 数组，例如 {@code parse(texts, NumberParsers.INT)}
+     */
+    public static int[] parse(String[] texts, ToIntFunction<? super String> parser) {
+        int[] result = new int[texts.length];
+        parseRange(texts, 0, texts.length, parser, result);
+        return result;
+    }
+
+    // =====================并行版本======================
+
+    public static void parallelForEach(int[] array, IntConsumer consumer) {
+        if (array.length <= CHUNK_SIZE) {
+            forEach(array, consumer);
+            return;
+        }
+        forEachChunk(array.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                consumer.accept(array[i]);
+            }
+        });
+    }
+
+    /**
+     * 并行过滤：每块先把结果写到临时数组中与该块相同的位置，再按各块的数量拼接，条件对每个元素只判断一次
+     */
+    public static int[] parallelFilter(int[] array, IntPredicate predicate) {
+        if (array.length <= CHUNK_SIZE) {
+            return filter(array, predicate);
+        }
+        int[] buffer = new int[array.length];
+        int[] counts = new int[chunkCount(array.length)];
+        forEachChunk(array.length, (from, to) ->
+                counts[from / CHUNK_SIZE] = filterRange(array, from, to, predicate, buffer, from));
+        int[] offsets = new int[counts.length];
+        int total = 0;
+        for (int k = 0; k < counts.length; k++) {
+            offsets[k] = total;
+            total += counts[k];
+        }
+        int[] result = new int[total];
+        forEachChunk(array.length, (from, to) -> {
+            int k = from / CHUNK_SIZE;
+            System.arraycopy(buffer, from, result, offsets[k], counts[k]);
+        });
+        return result;
+    }
+
+    public static int parallelCount(int[] array, IntPredicate predicate) {
+        if (array.length <= CHUNK_SIZE) {
+            return count(array, predicate);
+        }
+        int[] counts = new int[chunkCount(array.length)];
+        forEachChunk(array.length, (from, to) -> {
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (predicate.test(array[i])) {
+                    count++;
+                }
+            }
+            counts[from / CHUNK_SIZE] = count;
+        });
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * 并行归约：每块从 identity 开始归约，各块的结果再按块的顺序归约，operator 需满足结合律、identity 需为单位元
+     */
+    public static int parallelReduce(int[] array, int identity, IntBinaryOperator operator) {
+        if (array.length <= CHUNK_SIZE) {
+            return reduce(array, identity, operator);
+        }
+        int[] partials = new int[chunkCount(array.length)];
+        forEachChunk(array.length, (from, to) ->
+                partials[from / CHUNK_SIZE] = reduceRange(array, from, to, identity, operator));
+        return reduce(partials, identity, operator);
+    }
+
+    public static int[] parallelMap(int[] array, IntUnaryOperator mapper) {
+        if (array.length <= CHUNK_SIZE) {
+            return map(array, mapper);
+        }
+        int[] result = new int[array.length];
+        forEachChunk(array.length, (from, to) -> mapRange(array, from, to, mapper, result));
+        return result;
+    }
+
+    public static int[] parallelParse(String[] texts, ToIntFunction<? super String> parser) {
+        if (texts.length <= CHUNK_SIZE) {
+            return parse(texts, parser);
+        }
+        int[] result = new int[texts.length];
+        forEachChunk(texts.length, (from, to) -> parseRange(texts, from, to, parser, result));
+        return result;
+    }
+
+    // =====================单块的循环======================
+
+    private static int filterRange(int[] array, int from, int to, IntPredicate predicate, int[] out, int offset) {
+        int n = offset;
+        for (int i = from; i < to; i++) {
+            int value = array[i];
+            if (predicate.test(value)) {
+                out[n++] = value;
+            }
+        }
+        return n - offset;
+    }
+
+    private static int reduceRange(int[] array, int from, int to, int identity, IntBinaryOperator operator) {
+        int result = identity;
+        for (int i = from; i < to; i++) {
+            result = operator.applyAsInt(result, array[i]);
+        }
+        return result;
+    }
+
+    private static void mapRange(int[] array, int from, int to, IntUnaryOperator mapper, int[] out) {
+        for (int i = from; i < to; i++) {
+            out[i] = mapper.applyAsInt(array[i]);
+        }
+    }
+
+    private static void parseRange(String[] texts, int from, int to, ToIntFunction<? super String> parser,
+                                   int[] out) {
+        for (int i = from; i < to; i++) {
+            out[i] = parser.applyAsInt(texts[i]);
+        }
+    }
+
+    // =====================分块======================
+
+    private static int chunkCount(int length) {
+        return (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    /**
+     * 在公共 ForkJoinPool 中并行处理所有块，每块为 [k * CHUNK_SIZE, min(length, (k + 1) * CHUNK_SIZE))
+     */
+    private static void forEachChunk(int length, RangeBody body) {
+        ForkJoinPool.commonPool().invoke(new ChunkTask(length, 0, chunkCount(length), body));
+    }
+
+    @FunctionalInterface
+    private interface RangeBody {
+        void run(int from, int to);
+    }
+
+    /**
+     * 按块的下标二分，直到只剩一块
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private final int length;
+
+        private final int fromChunk;
+
+        private final int toChunk;
+
+        private final RangeBody body;
+
+        ChunkTask(int length, int fromChunk, int toChunk, RangeBody body) {
+            this.length = length;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                int from = fromChunk * CHUNK_SIZE;
+                body.run(from, (int) Math.min(length, (long) from + CHUNK_SIZE));
+                return;
+            }
+            int middle = (fromChunk + toChunk) >>> 1;
+            invokeAll(new ChunkTask(length, fromChunk, middle, body), new ChunkTask(length, middle, toChunk, body));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.andy.util;
+
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 用一个 long 表示的"可能没有值的 int"，作用与 {@link OptionalInt} 相同，但它只是一个基本类型的值，不需要分配对象
+ * <p>
+ * 有值时低 32 位为该值、高 32 位为 0，没有值时为 {@link #EMPTY}（-1）。例如：
+ * <pre>{@code
+ * long age = IntOption.ofNullable(user.getAge());
+ * int result = IntOption.orElse(IntOption.filter(age, a -> a >= 18), -1);
+ * }</pre>
+ * long 的 64 位都可能是有效值，没有空余的位来表示"没有值"，因此没有对应的 LongOption；
+ * 可能缺失的 long 用 {@link Nulls#toLong(Long, long)} 或 {@link java.util.OptionalLong}。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 19:45
+ */
+public final class IntOption {
+
+    /**
+     * 没有值
+     */
+    public static final long EMPTY = -1L;
+
+    private static final long VALUE_MASK = 0xFFFFFFFFL;
+
+    private IntOption() {
+    }
+
+    public static long of(int value) {
+        return value & VALUE_MASK;
+    }
+
+    public static long ofNullable(Integer value) {
+        return value == null ? EMPTY : value & VALUE_MASK;
+    }
+
+    public static long from(OptionalInt optional) {
+        return optional.isPresent() ? optional.getAsInt() & VALUE_MASK : EMPTY;
+    }
+
+    public static boolean isPresent(long option) {
+        return option >= 0;
+    }
+
+    /**
+     * 取出值，没有值时抛出 {@link NoSuchElementException}
+     */
+    public static int get(long option) {
+        if (option < 0) {
+            throw new NoSuchElementException("No value present");
+        }
+        return (int) option;
+    }
+
+    public static long map(long option, IntUnaryOperator mapper) {
+        return option < 0 ? EMPTY : mapper.applyAsInt((int) option) & VALUE_MASK;
+    }
+
+    public static long filter(long option, IntPredicate predicate) {
+        return option >= 0 && predicate.test((int) option) ? option : EMPTY;
+    }
+
+    public static int orElse(long option, int other) {
+        return option >= 0 ? (int) option : other;
+    }
+
+    public static int orElseGet(long option, IntSupplier supplier) {
+        return option >= 0 ? (int) option : supplier.getAsInt();
+    }
+
+    public static <X extends Throwable> int orElseThrow(long option, Supplier<? extends X> exceptionSupplier) throws X {
+        if (option < 0) {
+            throw exceptionSupplier.get();
+        }
+        return (int) option;
+    }
+
+    public static OptionalInt toOptional(long option) {
+        return option >= 0 ? OptionalInt.of((int) option) : OptionalInt.empty();
+    }
+}
@@ -0,0 +1,155 @@
+package com.andy.util;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 不创建 Optional 的空值处理工具，用于热点代码中替代 {@code Optional.ofNullable(...).map(...).orElse(...)} 链
+ * <p>
+ * 用 null 表示"没有值"，每个方法都对应 Optional 的一个操作，例如：
+ * <pre>{@code
+ * // Optional.ofNullable(user).map(User::getName).filter(name -> !name.isEmpty()).orElse("匿名")
+ * String name = Nulls.orElse(Nulls.filter(Nulls.map(user, User::getName), n -> !n.isEmpty()), "匿名");
+ * // Optional.ofNullable(user).map(User::getAge).orElse(0)
+ * int age = Nulls.mapToIntOrElse(user, User::getAge, 0);
+ * }</pre>
+ * 方法都很小、没有分支以外的逻辑，JIT 内联后不会产生任何对象；传入方法引用或不捕获变量的 lambda 时，
+ * 函数对象本身也是单例。与 Optional 不同，这里的 map 不区分"结果为 null"和"没有值"，两者都返回 null。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 19:30
+ */
+public final class Nulls {
+
+    private Nulls() {
+    }
+
+    /**
+     * 对应 {@link Optional#map}：value 为 null 时返回 null，否则返回 mapper 的结果
+     */
+    public static <T, R> R map(T value, Function<? super T, ? extends R> mapper) {
+        return value == null ? null : mapper.apply(value);
+    }
+
+    /**
+     * 对应 {@link Optional#flatMap}：mapper 用 null 表示没有值，不需要为每次调用创建 Optional
+     */
+    public static <T, R> R flatMap(T value, Function<? super T, ? extends R> mapper) {
+        return value == null ? null : mapper.apply(value);
+    }
+
+    /**
+     * 衔接已有的、返回 Optional 的方法，mapper 每次调用仍会创建 Optional，热点代码中优先用 {@link #flatMap}
+     */
+    public static <T, R> R flatMapOptional(T value, Function<? super T, Optional<? extends R>> mapper) {
+        return value == null ? null : mapper.apply(value).orElse(null);
+    }
+
+    /**
+     * 对应 {@link Optional#filter}：value 不为 null 且满足条件时返回 value，否则返回 null
+     */
+    public static <T> T filter(T value, Predicate<? super T> predicate) {
+        return value != null && predicate.test(value) ? value : null;
+    }
+
+    /**
+     * 对应 {@link Optional#ifPresent}
+     */
+    public static <T> void ifPresent(T value, Consumer<? super T> consumer) {
+        if (value != null) {
+            consumer.accept(value);
+        }
+    }
+
+    /**
+     * 对应 {@link Optional#orElse}
+     */
+    public static <T> T orElse(T value, T other) {
+        return value != null ? value : other;
+    }
+
+    /**
+     * 对应 {@link Optional#orElseGet}，只在 value 为 null 时调用 supplier
+     */
+    public static <T> T orElseGet(T value, Supplier<? extends T> supplier) {
+        return value != null ? value : supplier.get();
+    }
+
+    /**
+     * 对应 {@link Optional#orElseThrow}，只在 value 为 null 时创建异常
+     */
+    public static <T, X extends Throwable> T orElseThrow(T value, Supplier<? extends X> exceptionSupplier) throws X {
+        if (value == null) {
+            throw exceptionSupplier.get();
+        }
+        return value;
+    }
+
+    /**
+     * map 与 orElse 的组合：value 或 mapper 的结果为 null 时返回 other
+     */
+    public static <T, R> R mapOrElse(T value, Function<? super T, ? extends R> mapper, R other) {
+        if (value == null) {
+            return other;
+        }
+        R result = mapper.apply(value);
+        return result != null ? result : other;
+    }
+
+    // =====================基本类型======================
+
+    /**
+     * 对应 {@code OptionalInt.orElse}：拆箱，value 为 null 时返回 other
+     */
+    public static int toInt(Integer value, int other) {
+        return value != null ? value : other;
+    }
+
+    /**
+     * 对应 {@code OptionalLong.orElse}：拆箱，value 为 null 时返回 other
+     */
+    public static long toLong(Long value, long other) {
+        return value != null ? value : other;
+    }
+
+    /**
+     * 对应 {@code Optional.ofNullable(value).map(mapper::applyAsInt).orElse(other)}，但结果不装箱
+     */
+    public static <T> int mapToInt(T value, ToIntFunction<? super T> mapper, int other) {
+        return value != null ? mapper.applyAsInt(value) : other;
+    }
+
+    /**
+     * 对应 {@code Optional.ofNullable(value).map(mapper::applyAsLong).orElse(other)}，但结果不装箱
+     */
+    public static <T> long mapToLong(T value, ToLongFunction<? super T> mapper, long other) {
+        return value != null ? mapper.applyAsLong(value) : other;
+    }
+
+    /**
+     * 取出可能为 null 的 Integer 属性，value 或属性为 null 时返回 other；例如 {@code mapToIntOrElse(user, User::getAge, 0)}
+     */
+    public static <T> int mapToIntOrElse(T value, Function<? super T, Integer> getter, int other) {
+        if (value == null) {
+            return other;
+        }
+        Integer result = getter.apply(value);
+        return result != null ? result : other;
+    }
+
+    /**
+     * 取出可能为 null 的 Long 属性，value 或属性为 null 时返回 other
+     */
+    public static <T> long mapToLongOrElse(T value, Function<? super T, Long> getter, long other) {
+        if (value == null) {
+            return other;
+        }
+        Long result = getter.apply(value);
+        return result != null ? result : other;
+    }
+}
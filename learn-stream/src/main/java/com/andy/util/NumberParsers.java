@@ -0,0 +1,425 @@
+package com.andy.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 直接从 {@link CharSequence}、byte[]、{@link ByteBuffer} 的区间中解析十进制 int、long 和定点小数，不创建子串，也不装箱
+ * <p>
+ * 与 TestLambda.typeConverter 中的 {@code Integer.valueOf(s)} 相比，结果是基本类型；可以作为
+ * {@link ToIntFunction} / {@link ToLongFunction} 传给 {@link IntArrays#parse} 等方法：
+ * <pre>{@code
+ * int[] values = IntArrays.parse(texts, NumberParsers.INT);
+ * long cents = NumberParsers.parseFixed("12.5", 2);   // 1250
+ * }</pre>
+ * 数字部分每次处理 4 位；ByteBuffer 中剩余 8 位以上时一次读取 8 个字节按 SWAR 方式并行转换。
+ * 只接受可选的 '+' 或 '-' 后跟十进制数字，不允许空白；格式错误或超出范围时抛出 {@link NumberFormatException}。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 21:40
+ */
+public final class NumberParsers {
+
+    /**
+     * 解析整个字符序列为 int
+     */
+    public static final ToIntFunction<CharSequence> INT = NumberParsers::parseInt;
+
+    /**
+     * 解析整个字符序列为 long
+     */
+    public static final ToLongFunction<CharSequence> LONG = NumberParsers::parseLong;
+
+    /**
+     * 不溢出时最多可以直接累加的位数
+     */
+    private static final int SAFE_DIGITS = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[SAFE_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1L;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private NumberParsers() {
+    }
+
+    /**
+     * 解析小数位数为 scale 的定点小数，例如 scale 为 2 时 "12.5" 解析为 1250
+     */
+    public static ToLongFunction<CharSequence> fixed(int scale) {
+        checkScale(scale);
+        return text -> parseFixed(text, 0, text.length(), scale);
+    }
+
+    // =====================CharSequence======================
+
+    public static int parseInt(CharSequence text) {
+        return parseInt(text, 0, text.length());
+    }
+
+    public static int parseInt(CharSequence text, int from, int to) {
+        return toInt(parseLong(text, from, to), text, from, to);
+    }
+
+    public static long parseLong(CharSequence text) {
+        return parseLong(text, 0, text.length());
+    }
+
+    public static long parseLong(CharSequence text, int from, int to) {
+        checkRange(from, to, text.length());
+        boolean negative = false;
+        int start = from;
+        if (start < to) {
+            char c = text.charAt(start);
+            if (c == '-' || c == '+') {
+                negative = c == '-';
+                start++;
+            }
+        }
+        while (start < to - 1 && text.charAt(start) == '0') {
+            start++;
+        }
+        int length = to - start;
+        if (length <= 0) {
+            throw invalid(text, from, to);
+        }
+        if (length <= SAFE_DIGITS) {
+            long value = digits(text, start, to, 0L);
+            return negative ? -value : value;
+        }
+        if (length > SAFE_DIGITS + 1) {
+            throw invalid(text, from, to);
+        }
+        long head = digits(text, start, to - 1, 0L);
+        return lastDigit(head, text.charAt(to - 1) - '0', negative, text, from, to);
+    }
+
+    public static long parseFixed(CharSequence text, int scale) {
+        return parseFixed(text, 0, text.length(), scale);
+    }
+
+    /**
+     * 解析定点小数，小数位数少于 scale 时补 0，多于 scale 时抛出异常
+     */
+    public static long parseFixed(CharSequence text, int from, int to, int scale) {
+        checkScale(scale);
+        checkRange(from, to, text.length());
+        int dot = -1;
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == '.') {
+                dot = i;
+                break;
+            }
+        }
+        if (dot < 0) {
+            return scale(parseLong(text, from, to), scale, text, from, to);
+        }
+        int fractionDigits = to - dot - 1;
+        boolean noInteger = dot == from || (dot == from + 1 && isSign(text.charAt(from)));
+        if (fractionDigits > scale || (fractionDigits == 0 && noInteger)) {
+            throw invalid(text, from, to);
+        }
+        boolean negative = dot > from && text.charAt(from) == '-';
+        long integer = noInteger ? 0L : parseLong(text, from, dot);
+        long fraction = fractionDigits == 0 ? 0L : digits(text, dot + 1, to, 0L) * POWERS_OF_TEN[scale - fractionDigits];
+        return combine(integer, fraction, negative, scale, text, from, to);
+    }
+
+    // =====================byte[]======================
+
+    public static int parseInt(byte[] bytes, int from, int to) {
+        return toInt(parseLong(bytes, from, to), bytes, from, to);
+    }
+
+    public static long parseLong(byte[] bytes, int from, int to) {
+        checkRange(from, to, bytes.length);
+        boolean negative = false;
+        int start = from;
+        if (start < to && (bytes[start] == '-' || bytes[start] == '+')) {
+            negative = bytes[start] == '-';
+            start++;
+        }
+        while (start < to - 1 && bytes[start] == '0') {
+            start++;
+        }
+        int length = to - start;
+        if (length <= 0) {
+            throw invalid(bytes, from, to);
+        }
+        if (length <= SAFE_DIGITS) {
+            long value = digits(bytes, start, to, 0L);
+            return negative ? -value : value;
+        }
+        if (length > SAFE_DIGITS + 1) {
+            throw invalid(bytes, from, to);
+        }
+        long head = digits(bytes, start, to - 1, 0L);
+        return lastDigit(head, bytes[to - 1] - '0', negative, bytes, from, to);
+    }
+
+    public static long parseFixed(byte[] bytes, int from, int to, int scale) {
+        checkScale(scale);
+        checkRange(from, to, bytes.length);
+        int dot = -1;
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == '.') {
+                dot = i;
+                break;
+            }
+        }
+        if (dot < 0) {
+            return scale(parseLong(bytes, from, to), scale, bytes, from, to);
+        }
+        int fractionDigits = to - dot - 1;
+        boolean noInteger = dot == from || (dot == from + 1 && isSign(bytes[from]));
+        if (fractionDigits > scale || (fractionDigits == 0 && noInteger)) {
+            throw invalid(bytes, from, to);
+        }
+        boolean negative = dot > from && bytes[from] == '-';
+        long integer = noInteger ? 0L : parseLong(bytes, from, dot);
+        long fraction = fractionDigits == 0 ? 0L : digits(bytes, dot + 1, to, 0L) * POWERS_OF_TEN[scale - fractionDigits];
+        return combine(integer, fraction, negative, scale, bytes, from, to);
+    }
+
+    // =====================ByteBuffer======================
+
+    /**
+     * 按绝对位置解析 [from, to)，不改变缓冲区的 position
+     */
+    public static int parseInt(ByteBuffer buffer, int from, int to) {
+        return toInt(parseLong(buffer, from, to), buffer, from, to);
+    }
+
+    /**
+     * 按绝对位置解析 [from, to)，不改变缓冲区的 position
+     */
+    public static long parseLong(ByteBuffer buffer, int from, int to) {
+        checkRange(from, to, buffer.limit());
+        boolean negative = false;
+        int start = from;
+        if (start < to && (buffer.get(start) == '-' || buffer.get(start) == '+')) {
+            negative = buffer.get(start) == '-';
+            start++;
+        }
+        while (start < to - 1 && buffer.get(start) == '0') {
+            start++;
+        }
+        int length = to - start;
+        if (length <= 0) {
+            throw invalid(buffer, from, to);
+        }
+        if (length <= SAFE_DIGITS) {
+            long value = digits(buffer, start, to, 0L);
+            return negative ? -value : value;
+        }
+        if (length > SAFE_DIGITS + 1) {
+            throw invalid(buffer, from, to);
+        }
+        long head = digits(buffer, start, to - 1, 0L);
+        return lastDigit(head, buffer.get(to - 1) - '0', negative, buffer, from, to);
+    }
+
+    /**
+     * 按绝对位置解析 [from, to) 中的定点小数，不改变缓冲区的 position
+     */
+    public static long parseFixed(ByteBuffer buffer, int from, int to, int scale) {
+        checkScale(scale);
+        checkRange(from, to, buffer.limit());
+        int dot = -1;
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == '.') {
+                dot = i;
+                break;
+            }
+        }
+        if (dot < 0) {
+            return scale(parseLong(buffer, from, to), scale, buffer, from, to);
+        }
+        int fractionDigits = to - dot - 1;
+        boolean noInteger = dot == from || (dot == from + 1 && isSign(buffer.get(from)));
+        if (fractionDigits > scale || (fractionDigits == 0 && noInteger)) {
+            throw invalid(buffer, from, to);
+        }
+        boolean negative = dot > from && buffer.get(from) == '-';
+        long integer = noInteger ? 0L : parseLong(buffer, from, dot);
+        long fraction = fractionDigits == 0 ? 0L : digits(buffer, dot + 1, to, 0L) * POWERS_OF_TEN[scale - fractionDigits];
+        return combine(integer, fraction, negative, scale, buffer, from, to);
+    }
+
+    // =====================数字部分======================
+
+    /**
+     * 把 [from, to) 中的数字追加到 value 后面，调用方保证不会溢出
+     */
+    private static long digits(CharSequence text, int from, int to, long value) {
+        int i = from;
+        for (; i + 4 <= to; i += 4) {
+            int d0 = text.charAt(i) - '0';
+            int d1 = text.charAt(i + 1) - '0';
+            int d2 = text.charAt(i + 2) - '0';
+            int d3 = text.charAt(i + 3) - '0';
+            checkDigits(d0, d1, d2, d3, text, from, to);
+            value = value * 10_000 + d0 * 1000 + d1 * 100 + d2 * 10 + d3;
+        }
+        for (; i < to; i++) {
+            int d = text.charAt(i) - '0';
+            checkDigit(d, text, from, to);
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static long digits(byte[] bytes, int from, int to, long value) {
+        int i = from;
+        for (; i + 4 <= to; i += 4) {
+            int d0 = bytes[i] - '0';
+            int d1 = bytes[i + 1] - '0';
+            int d2 = bytes[i + 2] - '0';
+            int d3 = bytes[i + 3] - '0';
+            checkDigits(d0, d1, d2, d3, bytes, from, to);
+            value = value * 10_000 + d0 * 1000 + d1 * 100 + d2 * 10 + d3;
+        }
+        for (; i < to; i++) {
+            int d = bytes[i] - '0';
+            checkDigit(d, bytes, from, to);
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    private static long digits(ByteBuffer buffer, int from, int to, long value) {
+        int i = from;
+        boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+        for (; i + 8 <= to; i += 8) {
+            long chunk = buffer.getLong(i);
+            if (bigEndian) {
+                chunk = Long.reverseBytes(chunk);
+            }
+            if (!isEightDigits(chunk)) {
+                throw invalid(buffer, from, to);
+            }
+            value = value * 100_000_000 + eightDigits(chunk);
+        }
+        for (; i < to; i++) {
+            int d = buffer.get(i) - '0';
+            checkDigit(d, buffer, from, to);
+            value = value * 10 + d;
+        }
+        return value;
+    }
+
+    /**
+     * 8 个字节是否都是 '0' ~ '9'，chunk 的最低字节为第一个字符
+     */
+    private static boolean isEightDigits(long chunk) {
+        return ((chunk & 0xF0F0F0F0F0F0F0F0L) | (((chunk + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4))
+                == 0x3333333333333333L;
+    }
+
+    /**
+     * SWAR：先把相邻两位合并为 0~99，再合并为两个 0~9999，最后合并为一个 8 位数
+     */
+    private static long eightDigits(long chunk) {
+        long value = chunk - 0x3030303030303030L;
+        value = value * 10 + (value >>> 8);
+        value = (((value & 0x000000FF000000FFL) * (100 + (1_000_000L << 32)))
+                + (((value >>> 16) & 0x000000FF000000FFL) * (1 + (10_000L << 32)))) >>> 32;
+        return value;
+    }
+
+    // =====================校验与组合======================
+
+    private static void checkDigits(int d0, int d1, int d2, int d3, Object source, int from, int to) {
+        if ((d0 | d1 | d2 | d3 | (9 - d0) | (9 - d1) | (9 - d2) | (9 - d3)) < 0) {
+            throw invalid(source, from, to);
+        }
+    }
+
+    private static void checkDigit(int d, Object source, int from, int to) {
+        if ((d | (9 - d)) < 0) {
+            throw invalid(source, from, to);
+        }
+    }
+
+    /**
+     * 第 19 位数字：head 已是 18 位数，逐步检查是否超出 long 范围
+     */
+    private static long lastDigit(long head, int d, boolean negative, Object source, int from, int to) {
+        checkDigit(d, source, from, to);
+        long limit = Long.MAX_VALUE / 10;
+        int lastLimit = negative ? 8 : 7;
+        if (head > limit || (head == limit && d > lastLimit)) {
+            throw invalid(source, from, to);
+        }
+        // 负数在负数区间内运算，Long.MIN_VALUE 也能表示
+        return negative ? -head * 10 - d : head * 10 + d;
+    }
+
+    private static int toInt(long value, Object source, int from, int to) {
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw invalid(source, from, to);
+        }
+        return (int) value;
+    }
+
+    private static long scale(long value, int scale, Object source, int from, int to) {
+        try {
+            return Math.multiplyExact(value, POWERS_OF_TEN[scale]);
+        } catch (ArithmeticException e) {
+            throw invalid(source, from, to);
+        }
+    }
+
+    private static long combine(long integer, long fraction, boolean negative, int scale,
+                                Object source, int from, int to) {
+        try {
+            long scaled = Math.multiplyExact(integer, POWERS_OF_TEN[scale]);
+            return negative ? Math.subtractExact(scaled, fraction) : Math.addExact(scaled, fraction);
+        } catch (ArithmeticException e) {
+            throw invalid(source, from, to);
+        }
+    }
+
+    private static boolean isSign(int c) {
+        return c == '-' || c == '+';
+    }
+
+    private static void checkScale(int scale) {
+        if (scale < 0 || scale > SAFE_DIGITS) {
+            throw new IllegalArgumentException("小数位数需在 [0, 18] 范围内：" + scale);
+        }
+    }
+
+    private static void checkRange(int from, int to, int length) {
+        if (from < 0 || from > to || to > length) {
+            throw new IndexOutOfBoundsException("from=" + from + ", to=" + to + ", length=" + length);
+        }
+    }
+
+    /**
+     * 只在出错时才把区间转换为字符串，用于异常信息
+     */
+    private static NumberFormatException invalid(Object source, int from, int to) {
+        String text;
+        if (source instanceof CharSequence) {
+            text = ((CharSequence) source).subSequence(from, to).toString();
+        } else if (source instanceof byte[]) {
+            text = new String((byte[]) source, from, to - from, StandardCharsets.ISO_8859_1);
+        } else {
+            ByteBuffer buffer = (ByteBuffer) source;
+            StringBuilder builder = new StringBuilder(to - from);
+            for (int i = from; i < to; i++) {
+                builder.append((char) (buffer.get(i) & 0xFF));
+            }
+            text = builder.toString();
+        }
+        return new NumberFormatException("For input string: \"" + text + "\"");
+    }
+}
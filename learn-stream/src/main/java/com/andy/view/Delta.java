@@ -0,0 +1,58 @@
+package com.andy.view;
+
+/**
+ * 一条记录的变更：新增、修改或删除
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 15:50
+ */
+public final class Delta<T> {
+
+    public enum Kind {
+        INSERT, UPDATE, DELETE
+    }
+
+    private final Kind kind;
+
+    private final long id;
+
+    /**
+     * 新增、修改后的记录，删除时为 null
+     */
+    private final T element;
+
+    private Delta(Kind kind, long id, T element) {
+        this.kind = kind;
+        this.id = id;
+        this.element = element;
+    }
+
+    public static <T> Delta<T> insert(long id, T element) {
+        return new Delta<>(Kind.INSERT, id, element);
+    }
+
+    public static <T> Delta<T> update(long id, T element) {
+        return new Delta<>(Kind.UPDATE, id, element);
+    }
+
+    public static <T> Delta<T> delete(long id) {
+        return new Delta<>(Kind.DELETE, id, null);
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public T element() {
+        return element;
+    }
+
+    @Override
+    public String toString() {
+        return kind + "(" + id + (element == null ? "" : ", " + element) + ")";
+    }
+}
@@ -0,0 +1,209 @@
+package com.andy.view;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * 增量维护的"过滤 + 排序"视图：声明一次，之后只根据变更更新结果，不再对全量数据重新 filter、sorted
+ * <p>
+ * 视图内的记录按排序键升序、键相同时按 id 升序排列，存放在红黑树中，另有一个 id 到树节点的索引。
+ * 每条变更的开销为 O(log n)，一批 d 条变更为 O(d·log n)。例如"年龄大于 10 的用户，按年龄排序"：
+ * <pre>{@code
+ * IncrementalView<User> view = IncrementalView.of(User::getId, user -> user.getAge() > 10, User::getAge);
+ * view.upsert(user);
+ * view.delete(userId);
+ * List<User> result = view.toList();
+ * }</pre>
+ * 记录加入视图时会记下它的排序键，因此调用方原地修改了记录之后，只要再调用一次 {@link #upsert}，
+ * 视图就能按旧的键找到并移走旧节点。修改记录后不调用 upsert，视图不会感知。注意：该类不是线程安全的。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 16:00
+ */
+public class IncrementalView<T> {
+
+    private static final Comparator<Entry<?>> ORDER = (e1, e2) -> {
+        int result = Integer.compare(e1.key, e2.key);
+        return result != 0 ? result : Long.compare(e1.id, e2.id);
+    };
+
+    private final ToLongFunction<? super T> identity;
+
+    private final Predicate<? super T> filter;
+
+    private final ToIntFunction<? super T> sortKey;
+
+    private final NavigableSet<Entry<T>> sorted = new TreeSet<>(ORDER);
+
+    /**
+     * id -> 视图内的节点，不满足过滤条件的记录不在索引中
+     */
+    private final Map<Long, Entry<T>> index = new HashMap<>();
+
+    private IncrementalView(ToLongFunction<? super T> identity, Predicate<? super T> filter,
+                            ToIntFunction<? super T> sortKey) {
+        this.identity = identity;
+        this.filter = filter;
+        this.sortKey = sortKey;
+    }
+
+    /**
+     * @param identity 记录的唯一 id
+     * @param filter   过滤条件，满足条件的记录才出现在视图中
+     * @param sortKey  排序键，升序
+     */
+    public static <T> IncrementalView<T> of(ToLongFunction<? super T> identity, Predicate<? super T> filter,
+                                            ToIntFunction<? super T> sortKey) {
+        return new IncrementalView<>(identity, filter, sortKey);
+    }
+
+    /**
+     * 用全量数据初始化视图，之后再通过变更维护
+     */
+    public IncrementalView<T> load(Iterable<? extends T> elements) {
+        for (T element : elements) {
+            upsert(element);
+        }
+        return this;
+    }
+
+    /**
+     * 新增或修改记录：先移走同 id 的旧节点，满足过滤条件时再按新的排序键放入
+     *
+     * @return 视图内容是否发生变化
+     */
+    public boolean upsert(T element) {
+        long id = identity.applyAsLong(element);
+        boolean removed = remove(id);
+        if (!filter.test(element)) {
+            return removed;
+        }
+        Entry<T> entry = new Entry<>(sortKey.applyAsInt(element), id, element);
+        sorted.add(entry);
+        index.put(id, entry);
+        return true;
+    }
+
+    /**
+     * 删除记录
+     *
+     * @return 记录原先是否在视图中
+     */
+    public boolean delete(long id) {
+        return remove(id);
+    }
+
+    /**
+     * 按顺序应用一批变更，新增和修改都按 {@link #upsert} 处理
+     *
+     * @throws IllegalArgumentException 新增或修改的 id 与记录自身的 id 不一致，此时整批都不应用
+     */
+    public void apply(Iterable<Delta<T>> deltas) {
+        for (Delta<T> delta : deltas) {
+            if (delta.kind() != Delta.Kind.DELETE && delta.id() != identity.applyAsLong(delta.element())) {
+                throw new IllegalArgumentException("变更的id与记录的id不一致：" + delta);
+            }
+        }
+        for (Delta<T> delta : deltas) {
+            if (delta.kind() == Delta.Kind.DELETE) {
+                delete(delta.id());
+            } else {
+                upsert(delta.element());
+            }
+        }
+    }
+
+    public int size() {
+        return sorted.size();
+    }
+
+    public boolean contains(long id) {
+        return index.containsKey(id);
+    }
+
+    /**
+     * 视图中 id 对应的记录，不存在时返回 null
+     */
+    public T get(long id) {
+        Entry<T> entry = index.get(id);
+        return entry == null ? null : entry.element;
+    }
+
+    /**
+     * 按顺序遍历视图，遍历期间不能修改视图
+     */
+    public Stream<T> stream() {
+        return sorted.stream().map(entry -> entry.element);
+    }
+
+    /**
+     * 视图当前内容的快照
+     */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>(sorted.size());
+        for (Entry<T> entry : sorted) {
+            result.add(entry.element);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * 排在最前面的 limit 条记录，只遍历这 limit 个节点
+     */
+    public List<T> first(int limit) {
+        List<T> result = new ArrayList<>(Math.min(limit, sorted.size()));
+        Iterator<Entry<T>> iterator = sorted.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            result.add(iterator.next().element);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * 排序键在 [fromKey, toKey] 范围内的记录
+     */
+    public Stream<T> range(int fromKey, int toKey) {
+        return sorted.subSet(new Entry<>(fromKey, Long.MIN_VALUE, null), true,
+                        new Entry<>(toKey, Long.MAX_VALUE, null), true)
+                .stream()
+                .map(entry -> entry.element);
+    }
+
+    private boolean remove(long id) {
+        Entry<T> old = index.remove(id);
+        if (old == null) {
+            return false;
+        }
+        sorted.remove(old);
+        return true;
+    }
+
+    /**
+     * 树节点，保存加入视图时的排序键，记录之后被原地修改也不影响定位
+     */
+    private static final class Entry<T> {
+
+        final int key;
+
+        final long id;
+
+        final T element;
+
+        Entry(int key, long id, T element) {
+            this.key = key;
+            this.id = id;
+            this.element = element;
+        }
+    }
+}
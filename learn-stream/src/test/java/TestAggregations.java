@@ -0,0 +1,116 @@
+import com.andy.aggregate.Aggregations;
+import com.andy.aggregate.GroupKeys;
+import com.andy.aggregate.LongHistogramMap;
+import com.andy.aggregate.UserGroupKeys;
+import com.andy.entity.Role;
+import com.andy.entity.User;
+import com.andy.stream.LongLongMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * 分组聚合，结果与 Collectors.groupingBy 一致
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 11:40
+ */
+public class TestAggregations {
+
+    /**
+     * 按角色统计用户数，串行、并行结果都和 groupingBy 相同
+     */
+    @Test
+    public void testCountingByRole() {
+        List<User> userList = randomUsers(50_000);
+        Map<Long, Long> expected = userList.stream()
+                .filter(user -> user.getRoleList() != null)
+                .flatMap(user -> user.getRoleList().stream())
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Role::getId, Collectors.counting()));
+
+        LongLongMap sequential = userList.stream().collect(Aggregations.countingBy(UserGroupKeys.ROLE_ID));
+        LongLongMap parallel = userList.parallelStream().collect(Aggregations.countingBy(UserGroupKeys.ROLE_ID));
+        Assertions.assertEquals(expected, toMap(sequential));
+        Assertions.assertEquals(expected, toMap(parallel));
+    }
+
+    /**
+     * 按年龄的个位数分组求年龄之和
+     */
+    @Test
+    public void testSummingBy() {
+        List<User> userList = randomUsers(10_000);
+        Map<Long, Long> expected = userList.stream()
+                .collect(Collectors.groupingBy(user -> (long) (user.getAge() % 10), Collectors.summingLong(User::getAge)));
+        LongLongMap actual = userList.parallelStream()
+                .collect(Aggregations.summingBy(GroupKeys.of(user -> user.getAge() % 10), User::getAge));
+        Assertions.assertEquals(expected, toMap(actual));
+    }
+
+    /**
+     * 按角色统计年龄分布，超出范围的年龄计入最后一个桶
+     */
+    @Test
+    public void testHistogramBy() {
+        List<User> userList = randomUsers(20_000);
+        LongHistogramMap histogram = userList.parallelStream()
+                .collect(Aggregations.histogramBy(UserGroupKeys.ROLE_ID, User::getAge, 60));
+        for (long roleId : histogram.sortedKeys()) {
+            long[] expected = new long[60];
+            for (User user : userList) {
+                if (user.getRoleList() == null) {
+                    continue;
+                }
+                for (Role role : user.getRoleList()) {
+                    if (role != null && role.getId() == roleId) {
+                        expected[Math.min(user.getAge(), 59)]++;
+                    }
+                }
+            }
+            Assertions.assertArrayEquals(expected, histogram.histogram(roleId));
+        }
+        Assertions.assertArrayEquals(new long[60], histogram.histogram(-1L));
+    }
+
+    private static Map<Long, Long> toMap(LongLongMap map) {
+        Map<Long, Long> result = new java.util.HashMap<>();
+        map.forEach(result::put);
+        return result;
+    }
+
+    /**
+     * 随机用户，角色id从 0 开始，部分用户没有角色
+     */
+    static List<User> randomUsers(int count) {
+        Random random = new Random(42);
+        List<Role> roles = new ArrayList<>();
+        for (long id = 0; id < 20; id++) {
+            roles.add(new Role(id, "role" + id));
+        }
+        List<User> userList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<Role> roleList;
+            int roleCount = random.nextInt(4);
+            if (roleCount == 0) {
+                roleList = random.nextBoolean() ? null : Collections.emptyList();
+            } else {
+                Role[] picked = new Role[roleCount];
+                for (int j = 0; j < roleCount; j++) {
+                    picked[j] = roles.get(random.nextInt(roles.size()));
+                }
+                roleList = Arrays.asList(picked);
+            }
+            userList.add(new User((long) i, "user" + i, random.nextInt(80), roleList));
+        }
+        return userList;
+    }
+}
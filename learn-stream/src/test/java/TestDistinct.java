@@ -0,0 +1,87 @@
+import com.andy.entity.User;
+import com.andy.stream.DistinctBy;
+import com.andy.stream.HyperLogLog;
+import com.andy.stream.LongBloomFilter;
+import com.andy.stream.LongHashSet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 按 id 去重，不再依赖 User 的 equals/hashCode
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 09:00
+ */
+public class TestDistinct {
+
+    /**
+     * 打印去重后所有用户的名字，结果与 distinct() 一致
+     */
+    @Test
+    public void testDistinctById() {
+        List<User> userList = UserFixtures.users();
+        List<String> expected = userList.stream()
+                .distinct()
+                .map(User::getName)
+                .collect(Collectors.toList());
+        List<String> actual = userList.stream()
+                .filter(DistinctBy.longKey(User::getId))
+                .map(User::getName)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testLongHashSet() {
+        LongHashSet set = new LongHashSet(4);
+        for (long i = -1000; i < 1000; i++) {
+            Assertions.assertTrue(set.add(i * 31));
+        }
+        Assertions.assertFalse(set.add(0));
+        Assertions.assertFalse(set.add(31));
+        Assertions.assertTrue(set.contains(-31000));
+        Assertions.assertFalse(set.contains(1));
+        Assertions.assertEquals(2000, set.size());
+    }
+
+    /**
+     * 布隆过滤器：出现过的键一定判断为存在，误判率大致在设定值附近
+     */
+    @Test
+    public void testBloomFilter() {
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+        for (long i = 0; i < 10_000; i++) {
+            filter.put(i);
+        }
+        int falsePositives = 0;
+        for (long i = 0; i < 10_000; i++) {
+            Assertions.assertTrue(filter.mightContain(i));
+            if (filter.mightContain(i + 1_000_000)) {
+                falsePositives++;
+            }
+        }
+        Assertions.assertTrue(falsePositives < 300, "误判次数：" + falsePositives);
+    }
+
+    /**
+     * HyperLogLog：估算的不同键数量误差在 5% 以内
+     */
+    @Test
+    public void testHyperLogLog() {
+        HyperLogLog small = new HyperLogLog();
+        UserFixtures.users().forEach(user -> small.add(user.getId()));
+        Assertions.assertEquals(7, small.estimate());
+
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        for (long i = 0; i < 500_000; i++) {
+            left.add(i);
+            right.add(i + 250_000);
+        }
+        left.merge(right);
+        Assertions.assertEquals(750_000, left.estimate(), 750_000 * 0.05);
+    }
+}
@@ -0,0 +1,93 @@
+import com.andy.entity.User;
+import com.andy.view.Delta;
+import com.andy.view.IncrementalView;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * 增量视图的结果与每次全量 filter + sorted 一致
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 16:20
+ */
+public class TestIncrementalView {
+
+    private static final Comparator<User> BY_AGE = Comparator.comparingInt(User::getAge)
+            .thenComparingLong(User::getId);
+
+    @Test
+    public void testOlderThanTen() {
+        IncrementalView<User> view = IncrementalView.<User>of(User::getId, user -> user.getAge() > 10, User::getAge)
+                .load(UserFixtures.users());
+        Assertions.assertEquals(
+                UserFixtures.users().stream().filter(user -> user.getAge() > 10).sorted(BY_AGE).collect(Collectors.toList()),
+                view.toList());
+
+        // 原地修改年龄后重新 upsert，旧节点按旧的年龄被移走
+        User lisa = view.get(2L);
+        lisa.setAge(9);
+        Assertions.assertTrue(view.upsert(lisa));
+        Assertions.assertFalse(view.contains(2L));
+        Assertions.assertTrue(view.delete(1L));
+        Assertions.assertFalse(view.delete(1L));
+        view.upsert(new User(8L, "tom", 19, null));
+
+        Assertions.assertEquals(Lists.newArrayList(4L, 6L, 5L, 8L, 3L),
+                view.stream().map(User::getId).collect(Collectors.toList()));
+        Assertions.assertEquals(Lists.newArrayList(5L, 8L),
+                view.range(19, 19).map(User::getId).collect(Collectors.toList()));
+        Assertions.assertEquals(Lists.newArrayList(4L, 6L), view.first(2).stream().map(User::getId).collect(Collectors.toList()));
+    }
+
+    /**
+     * 随机的新增、修改、删除，每批变更后与全量重算比较
+     */
+    @Test
+    public void testRandomDeltas() {
+        Random random = new Random(17);
+        Map<Long, User> table = new LinkedHashMap<>();
+        IncrementalView<User> view = IncrementalView.of(User::getId, user -> user.getAge() > 10, User::getAge);
+        for (int round = 0; round < 200; round++) {
+            List<Delta<User>> deltas = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                long id = random.nextInt(500);
+                if (random.nextInt(4) == 0) {
+                    table.remove(id);
+                    deltas.add(Delta.delete(id));
+                } else {
+                    User user = new User(id, "user" + id, random.nextInt(40), null);
+                    Delta<User> delta = table.put(id, user) == null ? Delta.insert(id, user) : Delta.update(id, user);
+                    deltas.add(delta);
+                }
+            }
+            view.apply(deltas);
+            List<User> expected = table.values().stream()
+                    .filter(user -> user.getAge() > 10)
+                    .sorted(BY_AGE)
+                    .collect(Collectors.toList());
+            Assertions.assertEquals(expected, view.toList());
+        }
+    }
+
+    /**
+     * 变更的 id 与记录的 id 不一致时整批拒绝，视图不变
+     */
+    @Test
+    public void testMismatchedDelta() {
+        IncrementalView<User> view = IncrementalView.<User>of(User::getId, user -> user.getAge() > 10, User::getAge)
+                .load(UserFixtures.users());
+        List<User> before = view.toList();
+        List<Delta<User>> deltas = Lists.newArrayList(Delta.delete(1L), Delta.update(2L, new User(3L, "smith", 40, null)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> view.apply(deltas));
+        Assertions.assertEquals(before, view.toList());
+    }
+}
@@ -0,0 +1,62 @@
+import com.andy.util.IntArrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * IntArrays 的顺序、并行版本与 IntStream 结果一致
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 21:00
+ */
+public class TestIntArrays {
+
+    /**
+     * 长度覆盖：空数组、不满一块、恰好一块、多块且最后一块不满
+     */
+    private static final int[] LENGTHS = {0, 6, IntArrays.CHUNK_SIZE, IntArrays.CHUNK_SIZE * 5 + 123};
+
+    @Test
+    public void testKernels() {
+        Random random = new Random(11);
+        for (int length : LENGTHS) {
+            int[] array = random.ints(length, -1000, 1000).toArray();
+
+            int[] filtered = IntStream.of(array).filter(value -> value > 3).toArray();
+            Assertions.assertArrayEquals(filtered, IntArrays.filter(array, value -> value > 3));
+            Assertions.assertArrayEquals(filtered, IntArrays.parallelFilter(array, value -> value > 3));
+            Assertions.assertEquals(filtered.length, IntArrays.count(array, value -> value > 3));
+            Assertions.assertEquals(filtered.length, IntArrays.parallelCount(array, value -> value > 3));
+
+            int sum = IntStream.of(array).sum();
+            Assertions.assertEquals(sum, IntArrays.reduce(array, 0, (a, b) -> a + b));
+            Assertions.assertEquals(sum, IntArrays.parallelReduce(array, 0, Integer::sum));
+
+            int[] mapped = IntStream.of(array).map(value -> value * 2 + 1).toArray();
+            Assertions.assertArrayEquals(mapped, IntArrays.map(array, value -> value * 2 + 1));
+            Assertions.assertArrayEquals(mapped, IntArrays.parallelMap(array, value -> value * 2 + 1));
+
+            AtomicLong total = new AtomicLong();
+            IntArrays.forEach(array, total::addAndGet);
+            IntArrays.parallelForEach(array, total::addAndGet);
+            Assertions.assertEquals(2L * sum, total.get());
+
+            String[] texts = IntStream.of(array).mapToObj(String::valueOf).toArray(String[]::new);
+            Assertions.assertArrayEquals(array, IntArrays.parse(texts, Integer::parseInt));
+            Assertions.assertArrayEquals(array, IntArrays.parallelParse(texts, Integer::parseInt));
+        }
+    }
+
+    /**
+     * 对应 TestLambda.printNum：过滤后一次性格式化，而不是每个元素调用一次 printf
+     */
+    @Test
+    public void testPrintNum() {
+        int[] arr = {1, 2, 3, 4, 5, 6};
+        Assertions.assertEquals("[4, 5, 6]", Arrays.toString(IntArrays.filter(arr, value -> value > 3)));
+    }
+}
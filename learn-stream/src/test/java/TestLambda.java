@@ -1,5 +1,7 @@
+import com.andy.task.TaskRunner;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.function.Function;
 import java.util.function.IntBinaryOperator;
 import java.util.function.IntConsumer;
@@ -37,6 +39,15 @@ public class TestLambda {
         }).start();
     }
 
+    @Test
+    public void testTaskRunner() throws Exception {
+        // 任务很多时不再每个任务 new Thread，交给 TaskRunner，默认每个任务一个虚拟线程
+        try (TaskRunner runner = TaskRunner.create()) {
+            String result = runner.call(() -> "使用TaskRunner的写法！", Duration.ofSeconds(1));
+            System.out.println(result);
+        }
+    }
+
     @Test
     public void testExample1() {
         // 使用匿名内部类的方式调用自定义的一个方法
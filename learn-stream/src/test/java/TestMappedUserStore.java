@@ -0,0 +1,165 @@
+import com.andy.entity.Role;
+import com.andy.entity.User;
+import com.andy.store.MappedUserStore;
+import com.andy.store.UserStoreWriter;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 写入内存映射文件后再读出来，和 TestStream 中基于 List<User> 的流水线结果一致
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 22:20
+ */
+public class TestMappedUserStore {
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        List<User> userList = getUserList();
+        Path file = Files.createTempFile("users", ".store");
+        try {
+            UserStoreWriter.write(file, userList);
+            try (MappedUserStore store = MappedUserStore.open(file)) {
+                Assertions.assertEquals(userList.size(), store.size());
+                Assertions.assertEquals(userList, store.users().collect(Collectors.toList()));
+                // 相同的角色只保存一份
+                Assertions.assertEquals(2, store.distinctRoleCount());
+                Assertions.assertEquals(store.roleIndex(0, 0), store.roleIndex(1, 0));
+                Assertions.assertTrue(store.nameEquals(7, "andy".getBytes(StandardCharsets.UTF_8)));
+                Assertions.assertFalse(store.nameEquals(7, "andrew".getBytes(StandardCharsets.UTF_8)));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * filter、map、sorted 直接在映射的数据上执行
+     */
+    @Test
+    public void testPipelines() throws IOException {
+        List<User> userList = getUserList();
+        Path file = Files.createTempFile("users", ".store");
+        try {
+            UserStoreWriter.write(file, userList);
+            try (MappedUserStore store = MappedUserStore.open(file)) {
+                long expectedFiltered = userList.stream().filter(user -> user.getAge() > 10).count();
+                Assertions.assertEquals(expectedFiltered, store.rows().filter(row -> store.age(row) > 10).count());
+
+                int[] expectedAges = userList.stream().mapToInt(user -> user.getAge() + 2).toArray();
+                Assertions.assertArrayEquals(expectedAges, store.ages().map(age -> age + 2).toArray());
+
+                List<Long> expectedSorted = userList.stream()
+                        .sorted(Comparator.comparingInt(User::getAge))
+                        .map(User::getId)
+                        .collect(Collectors.toList());
+                List<Long> actualSorted = IntStream.of(store.rowsSortedByAge())
+                        .mapToObj(store::id)
+                        .collect(Collectors.toList());
+                Assertions.assertEquals(expectedSorted, actualSorted);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * 年龄为负数时，排序结果仍按年龄从小到大，年龄相同的按行号
+     */
+    @Test
+    public void testSortedByNegativeAge() throws IOException {
+        List<User> userList = getUserList();
+        int[] ages = {5, -3, 0, -100, 7, -3, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        for (int i = 0; i < userList.size(); i++) {
+            userList.get(i).setId((long) i);
+            userList.get(i).setAge(ages[i]);
+        }
+        Path file = Files.createTempFile("users", ".store");
+        try {
+            UserStoreWriter.write(file, userList);
+            try (MappedUserStore store = MappedUserStore.open(file)) {
+                List<Long> expectedSorted = userList.stream()
+                        .sorted(Comparator.comparingInt(User::getAge))
+                        .map(User::getId)
+                        .collect(Collectors.toList());
+                List<Long> actualSorted = IntStream.of(store.rowsSortedByAge())
+                        .mapToObj(store::id)
+                        .collect(Collectors.toList());
+                Assertions.assertEquals(expectedSorted, actualSorted);
+                Assertions.assertEquals(Lists.newArrayList(6L, 3L, 1L, 5L, 2L, 0L, 4L, 7L), actualSorted);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * 用户名各不相同、数量超过去重表容量时，后面的用户名不再去重，但仍能正确读出；相同的角色按值去重
+     */
+    @Test
+    public void testManyDistinctNames() throws IOException {
+        int count = 100_000;
+        Role admin = new Role(1L, "管理员");
+        List<User> userList = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = i % 10 == 0 ? "shared" : "user" + i;
+            userList.add(new User((long) i, name, i % 100, Lists.newArrayList(new Role(1L, "管理员"), admin)));
+        }
+        Path file = Files.createTempFile("users", ".store");
+        try {
+            UserStoreWriter.write(file, userList);
+            try (MappedUserStore store = MappedUserStore.open(file)) {
+                Assertions.assertEquals(count, store.size());
+                Assertions.assertEquals(1, store.distinctRoleCount());
+                for (int row = 0; row < count; row++) {
+                    Assertions.assertEquals(userList.get(row).getName(), store.name(row));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * 去重表未满时，重复的用户名只写一次：多一个同名用户，文件只多一条用户记录
+     */
+    @Test
+    public void testRepeatedNameWrittenOnce() throws IOException {
+        Path one = Files.createTempFile("users", ".store");
+        Path two = Files.createTempFile("users", ".store");
+        try {
+            UserStoreWriter.write(one, Lists.newArrayList(new User(1L, "shelly", 23, null)));
+            UserStoreWriter.write(two, Lists.newArrayList(new User(1L, "shelly", 23, null), new User(2L, "shelly", 32, null)));
+            Assertions.assertEquals(24L, Files.size(two) - Files.size(one));
+        } finally {
+            Files.delete(one);
+            Files.delete(two);
+        }
+    }
+
+    /**
+     * 共用的用户数据，前三个用户带角色，其中 shelly 和 lisa 共用同一个管理员角色，其余用户没有角色
+     */
+    public List<User> getUserList() {
+        Role admin = new Role(1L, "管理员");
+        Role guest = new Role(2L, "访客");
+        List<User> userList = UserFixtures.users();
+        userList.get(0).setRoleList(Lists.newArrayList(admin, guest));
+        userList.get(1).setRoleList(Lists.newArrayList(admin));
+        userList.get(2).setRoleList(Lists.newArrayList(guest));
+        // 文件中不区分 null 和空的角色列表，读出来都是空列表
+        userList.subList(3, userList.size()).forEach(user -> user.setRoleList(Lists.newArrayList()));
+        return userList;
+    }
+}
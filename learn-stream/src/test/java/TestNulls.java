@@ -0,0 +1,85 @@
+import com.andy.entity.User;
+import com.andy.util.IntOption;
+import com.andy.util.Nulls;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Nulls、IntOption 与 Optional 的对应操作结果一致
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 20:15
+ */
+public class TestNulls {
+
+    private final User adult = new User(22L, "韩天琪", 21, new ArrayList<>());
+
+    private final User child = new User(19L, "胡亚强", 14, null);
+
+    private final User unknown = new User(16L, null, null, null);
+
+    @Test
+    public void testSameAsOptional() {
+        for (User user : Arrays.asList(adult, child, unknown, null)) {
+            Assertions.assertEquals(
+                    Optional.ofNullable(user).map(User::getName).filter(name -> name.length() > 2).orElse("匿名"),
+                    Nulls.orElse(Nulls.filter(Nulls.map(user, User::getName), name -> name.length() > 2), "匿名"));
+            Assertions.assertEquals(
+                    Optional.ofNullable(user).map(User::getAge).orElse(0).intValue(),
+                    Nulls.mapToIntOrElse(user, User::getAge, 0));
+            Assertions.assertEquals(
+                    Optional.ofNullable(user).flatMap(u -> Optional.ofNullable(u.getRoleList())).orElseGet(ArrayList::new),
+                    Nulls.orElseGet(Nulls.flatMap(user, User::getRoleList), ArrayList::new));
+            Assertions.assertEquals(
+                    Optional.ofNullable(user).flatMap(u -> Optional.ofNullable(u.getRoleList())).orElse(null),
+                    Nulls.flatMapOptional(user, u -> Optional.ofNullable(u.getRoleList())));
+            Assertions.assertEquals(
+                    Optional.ofNullable(user).map(User::getName).orElse(null),
+                    Nulls.mapOrElse(user, User::getName, null));
+        }
+        Assertions.assertEquals(14L, Nulls.mapToLong(child, u -> u.getAge(), -1L));
+        Assertions.assertEquals(-1, Nulls.mapToInt(null, (User u) -> u.getAge(), -1));
+        Assertions.assertEquals(7L, Nulls.toLong(null, 7L));
+    }
+
+    @Test
+    public void testOrElseThrow() {
+        List<String> dataList = null;
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> Nulls.orElseThrow(dataList, () -> new IllegalStateException("dataList 对象为空")));
+        Assertions.assertSame(adult, Nulls.orElseThrow(adult, IllegalStateException::new));
+
+        List<String> printed = new ArrayList<>();
+        Nulls.ifPresent(adult, u -> printed.add(u.getName()));
+        Nulls.ifPresent(null, u -> printed.add("不会执行"));
+        Assertions.assertEquals(Arrays.asList("韩天琪"), printed);
+    }
+
+    @Test
+    public void testIntOption() {
+        long age = IntOption.ofNullable(adult.getAge());
+        Assertions.assertTrue(IntOption.isPresent(age));
+        Assertions.assertEquals(21, IntOption.get(age));
+        Assertions.assertEquals(22, IntOption.orElse(IntOption.map(age, a -> a + 1), -1));
+        Assertions.assertFalse(IntOption.isPresent(IntOption.filter(IntOption.of(14), a -> a >= 18)));
+        Assertions.assertFalse(IntOption.isPresent(IntOption.ofNullable(unknown.getAge())));
+        Assertions.assertThrows(NoSuchElementException.class, () -> IntOption.get(IntOption.EMPTY));
+
+        // 负数、边界值都能表示
+        for (int value : new int[]{0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            long option = IntOption.of(value);
+            Assertions.assertTrue(IntOption.isPresent(option));
+            Assertions.assertEquals(value, IntOption.orElseThrow(option, IllegalStateException::new));
+            Assertions.assertEquals(OptionalInt.of(value), IntOption.toOptional(option));
+            Assertions.assertEquals(option, IntOption.from(OptionalInt.of(value)));
+        }
+        Assertions.assertEquals(5, IntOption.orElseGet(IntOption.from(OptionalInt.empty()), () -> 5));
+    }
+}
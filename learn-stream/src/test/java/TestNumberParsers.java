@@ -0,0 +1,145 @@
+import com.andy.util.IntArrays;
+import com.andy.util.NumberParsers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * NumberParsers 与 Integer.parseInt、Long.parseLong 结果一致，三种输入来源结果一致
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 21:55
+ */
+public class TestNumberParsers {
+
+    private static final List<String> VALID = Arrays.asList(
+            "0", "-0", "+7", "42", "-42", "0000123", "12345678", "123456789", "-2147483648", "2147483647",
+            "9223372036854775807", "-9223372036854775808", "00000000009223372036854775807",
+            "999999999999999999", "1000000000000000000");
+
+    private static final List<String> INVALID = Arrays.asList(
+            "", "-", "+", "1a", "a1", "12345678a", "1234567/", "12:45678", " 1", "1 ", "--1",
+            "9223372036854775808", "-9223372036854775809", "12345678901234567890");
+
+    @Test
+    public void testParseLong() {
+        for (String text : VALID) {
+            long expected = Long.parseLong(text);
+            Assertions.assertEquals(expected, NumberParsers.parseLong(text));
+            Assertions.assertEquals(expected, NumberParsers.parseLong(bytes(text), 0, text.length()), text);
+            Assertions.assertEquals(expected, NumberParsers.parseLong(buffer(text, ByteOrder.BIG_ENDIAN), 0, text.length()), text);
+            Assertions.assertEquals(expected, NumberParsers.parseLong(buffer(text, ByteOrder.LITTLE_ENDIAN), 0, text.length()), text);
+        }
+        for (String text : INVALID) {
+            Assertions.assertThrows(NumberFormatException.class, () -> NumberParsers.parseLong(text));
+            Assertions.assertThrows(NumberFormatException.class,
+                    () -> NumberParsers.parseLong(bytes(text), 0, text.length()));
+            Assertions.assertThrows(NumberFormatException.class,
+                    () -> NumberParsers.parseLong(buffer(text, ByteOrder.BIG_ENDIAN), 0, text.length()));
+        }
+    }
+
+    @Test
+    public void testParseInt() {
+        for (String text : Arrays.asList("0", "-2147483648", "2147483647", "0002147483647", "123456789")) {
+            int expected = Integer.parseInt(text);
+            Assertions.assertEquals(expected, NumberParsers.parseInt(text));
+            Assertions.assertEquals(expected, NumberParsers.parseInt(bytes(text), 0, text.length()));
+            Assertions.assertEquals(expected, NumberParsers.parseInt(buffer(text, ByteOrder.BIG_ENDIAN), 0, text.length()));
+        }
+        for (String text : Arrays.asList("2147483648", "-2147483649", "99999999999")) {
+            Assertions.assertThrows(NumberFormatException.class, () -> NumberParsers.parseInt(text));
+        }
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong() >> random.nextInt(64);
+            String text = Long.toString(value);
+            Assertions.assertEquals(value, NumberParsers.parseLong(text));
+            Assertions.assertEquals(value, NumberParsers.parseLong(buffer(text, ByteOrder.BIG_ENDIAN), 0, text.length()));
+        }
+    }
+
+    @Test
+    public void testRange() {
+        String line = "16,胡亚强,-12345678901,ok";
+        byte[] bytes = bytes(line);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int from = line.indexOf("-1");
+        int to = line.lastIndexOf(',');
+        int byteFrom = indexOf(bytes, (byte) '-');
+        int byteTo = byteFrom + (to - from);
+        Assertions.assertEquals(16, NumberParsers.parseInt(line, 0, 2));
+        Assertions.assertEquals(-12345678901L, NumberParsers.parseLong(line, from, to));
+        Assertions.assertEquals(-12345678901L, NumberParsers.parseLong(bytes, byteFrom, byteTo));
+        Assertions.assertEquals(-12345678901L, NumberParsers.parseLong(buffer, byteFrom, byteTo));
+        Assertions.assertEquals(0, buffer.position());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> NumberParsers.parseLong(line, 3, 2));
+    }
+
+    @Test
+    public void testParseFixed() {
+        Assertions.assertEquals(1250L, NumberParsers.parseFixed("12.5", 2));
+        Assertions.assertEquals(1205L, NumberParsers.parseFixed("12.05", 2));
+        Assertions.assertEquals(1200L, NumberParsers.parseFixed("12", 2));
+        Assertions.assertEquals(1200L, NumberParsers.parseFixed("12.", 2));
+        Assertions.assertEquals(50L, NumberParsers.parseFixed(".5", 2));
+        Assertions.assertEquals(-50L, NumberParsers.parseFixed("-0.5", 2));
+        Assertions.assertEquals(-50L, NumberParsers.parseFixed("-.5", 2));
+        Assertions.assertEquals(-1234L, NumberParsers.parseFixed("-12.34", 2));
+        Assertions.assertEquals(7L, NumberParsers.parseFixed("7", 0));
+        Assertions.assertEquals(Long.MAX_VALUE, NumberParsers.parseFixed("922337203685477.5807", 4));
+        Assertions.assertEquals(Long.MIN_VALUE, NumberParsers.parseFixed("-922337203685477.5808", 4));
+        for (String text : Arrays.asList("1.234", ".", "-.", "1.2.3", "1.-2", "a.5", "1.a", "")) {
+            Assertions.assertThrows(NumberFormatException.class, () -> NumberParsers.parseFixed(text, 2));
+        }
+        Assertions.assertThrows(NumberFormatException.class, () -> NumberParsers.parseFixed("922337203685477.5808", 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> NumberParsers.fixed(19));
+
+        String text = "price=-19.9;";
+        byte[] bytes = bytes(text);
+        Assertions.assertEquals(-1990L, NumberParsers.parseFixed(text, 6, 11, 2));
+        Assertions.assertEquals(-1990L, NumberParsers.parseFixed(bytes, 6, 11, 2));
+        Assertions.assertEquals(-1990L, NumberParsers.parseFixed(ByteBuffer.wrap(bytes), 6, 11, 2));
+        Assertions.assertEquals(-1990L, NumberParsers.fixed(2).applyAsLong("-19.9"));
+    }
+
+    @Test
+    public void testAsFunction() {
+        String[] texts = {"3", "-5", "123456789"};
+        Assertions.assertArrayEquals(IntArrays.parse(texts, Integer::parseInt), IntArrays.parse(texts, NumberParsers.INT));
+        Assertions.assertEquals(-5L, NumberParsers.LONG.applyAsLong(new StringBuilder("-5")));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 前后各留一些字节，确保 SWAR 读取不依赖区间恰好对齐
+     */
+    private static ByteBuffer buffer(String text, ByteOrder order) {
+        byte[] bytes = bytes(text);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 3).order(order);
+        buffer.put(bytes).put(new byte[]{'9', '9', '9'}).flip();
+        return buffer;
+    }
+
+    private static int indexOf(byte[] bytes, byte b) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
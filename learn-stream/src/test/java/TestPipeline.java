@@ -0,0 +1,240 @@
+import com.andy.entity.User;
+import com.andy.reactive.Pipeline;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Pipeline 与 Stream 的结果一致，并遵守下游的请求数
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:40
+ */
+public class TestPipeline {
+
+    @Test
+    public void testSameAsStream() throws Exception {
+        List<User> userList = UserFixtures.users();
+        Assertions.assertEquals(
+                userList.stream().filter(user -> user.getAge() > 10).map(User::getName).collect(Collectors.toList()),
+                Pipeline.of(userList).filter(user -> user.getAge() > 10).map(User::getName).toList().get());
+        Assertions.assertEquals(
+                userList.stream().distinct().map(User::getAge).map(age -> age + 2).collect(Collectors.toList()),
+                Pipeline.of(userList).distinct().map(User::getAge).map(age -> age + 2).toList().get());
+        Comparator<User> byAge = Comparator.comparingInt(User::getAge);
+        Assertions.assertEquals(
+                userList.stream().distinct().sorted(byAge).collect(Collectors.toList()),
+                Pipeline.of(userList).distinct().sorted(byAge).toList().get());
+        Assertions.assertEquals(Lists.newArrayList(1L, 2L, 3L, 4L, 5L, 6L, 7L),
+                Pipeline.of(userList).distinct(User::getId).map(User::getId).toList().get());
+        Assertions.assertEquals(Lists.newArrayList(1, 2, 3), Pipeline.of(3, 1, 2).sorted().toList().get());
+        Assertions.assertTrue(Pipeline.of(new ArrayList<User>()).sorted(byAge).toList().get().isEmpty());
+    }
+
+    @Test
+    public void testFusedStagesAreReusable() throws Exception {
+        Pipeline<Integer> pipeline = Pipeline.of(1, 2, 2, 3, 3, 3).distinct().filter(value -> value > 1);
+        // 每次订阅重新创建 distinct 的状态
+        Assertions.assertEquals(Lists.newArrayList(2, 3), pipeline.toList().get());
+        Assertions.assertEquals(Lists.newArrayList(2, 3), pipeline.toList().get());
+        // 同一前缀分出的两条流水线互不影响
+        Pipeline<Integer> doubled = pipeline.map(value -> value * 2);
+        Pipeline<Integer> negated = pipeline.map(value -> -value);
+        Assertions.assertEquals(Lists.newArrayList(4, 6), doubled.toList().get());
+        Assertions.assertEquals(Lists.newArrayList(-2, -3), negated.toList().get());
+        Assertions.assertEquals(Lists.newArrayList(2, 3), pipeline.toList().get());
+    }
+
+    @Test
+    public void testBackpressure() {
+        AtomicLong pulled = new AtomicLong();
+        Pipeline<Integer> pipeline = Pipeline.of(naturals(pulled)).filter(value -> value % 10 == 0).map(value -> value / 10);
+        List<Integer> received = new ArrayList<>();
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        pipeline.subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                Assertions.fail("意外的错误：" + throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                Assertions.fail("无界数据源不应结束");
+            }
+        });
+        Assertions.assertEquals(0, pulled.get());
+        subscription[0].request(3);
+        Assertions.assertEquals(Lists.newArrayList(0, 1, 2), received);
+        // 被过滤掉的元素由 filter 自己补请求，数据源只多拉取被丢弃的元素
+        Assertions.assertEquals(21, pulled.get());
+        subscription[0].cancel();
+        subscription[0].request(3);
+        Assertions.assertEquals(3, received.size());
+    }
+
+    @Test
+    public void testLimitOnUnboundedSource() throws Exception {
+        AtomicLong pulled = new AtomicLong();
+        List<Integer> top = Pipeline.of(naturals(pulled)).limit(1000).sorted(Comparator.reverseOrder()).limit(3).toList().get();
+        Assertions.assertEquals(Lists.newArrayList(999, 998, 997), top);
+        Assertions.assertTrue(pulled.get() <= 1000 + Pipeline.DEFAULT_BATCH_SIZE);
+        Assertions.assertTrue(Pipeline.of(naturals(pulled)).limit(0).toList().get().isEmpty());
+    }
+
+    /**
+     * limit 向上游请求的总数不超过 maxSize，下游按批请求时上游也只产生需要的元素
+     */
+    @Test
+    public void testLimitCapsUpstreamRequests() throws Exception {
+        AtomicLong pulled = new AtomicLong();
+        Assertions.assertEquals(Lists.newArrayList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9),
+                Pipeline.of(naturals(pulled)).limit(10).toList().get());
+        Assertions.assertEquals(10L, pulled.get());
+
+        pulled.set(0);
+        List<Integer> evens = Pipeline.of(naturals(pulled)).filter(value -> value % 2 == 0).limit(5).toList().get();
+        Assertions.assertEquals(Lists.newArrayList(0, 2, 4, 6, 8), evens);
+        Assertions.assertEquals(9L, pulled.get());
+    }
+
+    @Test
+    public void testAsyncBoundary() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Integer> expected = new ArrayList<>();
+            List<Integer> source = new ArrayList<>();
+            for (int i = 0; i < 100_000; i++) {
+                source.add(i);
+                if (i % 3 == 0) {
+                    expected.add(i * 2);
+                }
+            }
+            Thread caller = Thread.currentThread();
+            AtomicInteger onCaller = new AtomicInteger();
+            List<Integer> result = Pipeline.of(source)
+                    .filter(value -> value % 3 == 0)
+                    .async(executor, 16)
+                    .map(value -> {
+                        if (Thread.currentThread() == caller) {
+                            onCaller.incrementAndGet();
+                        }
+                        return value * 2;
+                    })
+                    .toList()
+                    .get(30, TimeUnit.SECONDS);
+            Assertions.assertEquals(expected, result);
+            Assertions.assertEquals(0, onCaller.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSubmissionPublisher() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (SubmissionPublisher<User> events = new SubmissionPublisher<>(executor, 8)) {
+            CompletableFuture<List<String>> names = Pipeline.from(events)
+                    .filter(user -> user.getAge() > 18)
+                    .map(User::getName)
+                    .distinct()
+                    .async(executor, 4)
+                    .toList();
+            for (User user : UserFixtures.users()) {
+                // 订阅者处理不过来时 submit 阻塞，即背压传到了事件的生产者
+                events.submit(user);
+            }
+            events.close();
+            Assertions.assertEquals(Lists.newArrayList("shelly", "lisa", "smith", "duke"), names.get(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testErrors() {
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                () -> Pipeline.of(1, 2, 3).map(value -> 10 / (value - 2)).toList().get());
+        Assertions.assertTrue(e.getCause() instanceof ArithmeticException);
+        e = Assertions.assertThrows(ExecutionException.class,
+                () -> Pipeline.of(1, 2, 3).map(value -> value == 2 ? null : value).toList().get());
+        Assertions.assertTrue(e.getCause() instanceof NullPointerException);
+
+        AtomicLong pulled = new AtomicLong();
+        CompletableFuture<Void> future = Pipeline.of(naturals(pulled)).forEach(value -> {
+            if (value == 5) {
+                throw new IllegalStateException("消费失败");
+            }
+        });
+        e = Assertions.assertThrows(ExecutionException.class, future::get);
+        Assertions.assertTrue(e.getCause() instanceof IllegalStateException);
+        Assertions.assertEquals(6, pulled.get());
+
+        List<Throwable> errors = new ArrayList<>();
+        Pipeline.of(1, 2, 3).subscribe(new Flow.Subscriber<Integer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(0);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                errors.add(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertTrue(errors.get(0) instanceof IllegalArgumentException);
+    }
+
+    /**
+     * 无界的自然数序列，记录被拉取的次数
+     */
+    private static Iterable<Integer> naturals(AtomicLong pulled) {
+        return () -> new Iterator<Integer>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                pulled.incrementAndGet();
+                return next++;
+            }
+        };
+    }
+}
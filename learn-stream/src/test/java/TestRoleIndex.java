@@ -0,0 +1,209 @@
+import com.andy.entity.Role;
+import com.andy.entity.User;
+import com.andy.index.RoaringBitmap;
+import com.andy.index.RoleIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * 角色倒排索引，查询结果与遍历 + flatMap 一致
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 17:50
+ */
+public class TestRoleIndex {
+
+    /**
+     * 稀疏、稠密的容器混合，与 TreeSet 比较交、并、差
+     */
+    @Test
+    public void testBitmapOperations() {
+        Random random = new Random(3);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Long> left = randomIds(random);
+            TreeSet<Long> right = randomIds(random);
+            RoaringBitmap a = RoaringBitmap.of(toArray(left));
+            RoaringBitmap b = RoaringBitmap.of(toArray(right));
+
+            TreeSet<Long> and = new TreeSet<>(left);
+            and.retainAll(right);
+            TreeSet<Long> or = new TreeSet<>(left);
+            or.addAll(right);
+            TreeSet<Long> andNot = new TreeSet<>(left);
+            andNot.removeAll(right);
+
+            Assertions.assertArrayEquals(toArray(and), a.and(b).toArray());
+            Assertions.assertArrayEquals(toArray(or), a.or(b).toArray());
+            Assertions.assertArrayEquals(toArray(andNot), a.andNot(b).toArray());
+            Assertions.assertEquals(!and.isEmpty(), a.intersects(b));
+            Assertions.assertEquals(left.size(), a.cardinality());
+
+            // 逐个删除再加回，位图内容不变
+            RoaringBitmap c = a;
+            for (long id : right) {
+                c = c.without(id);
+            }
+            Assertions.assertEquals(a.andNot(b), c);
+            for (long id : right) {
+                c = c.with(id);
+            }
+            Assertions.assertEquals(a.or(b), c);
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RoaringBitmap.of(-1L));
+        Assertions.assertTrue(RoaringBitmap.of(0xFFFFFFFFL).contains(0xFFFFFFFFL));
+        Assertions.assertFalse(RoaringBitmap.of(0xFFFFFFFFL).contains(1L << 32));
+    }
+
+    /**
+     * 随机更新用户的角色后，AND / OR / NOT 查询与全量扫描一致
+     */
+    /**
+     * 高 16 位相同、低 16 位奇偶错开的两组数，分别用数组和位图容器时都没有交集；加入一个公共元素后有交集
+     */
+    @Test
+    public void testIntersectsByContainerKind() {
+        for (int leftSize : new int[]{100, 10_000}) {
+            for (int rightSize : new int[]{100, 10_000}) {
+                long[] evens = new long[leftSize];
+                for (int i = 0; i < leftSize; i++) {
+                    evens[i] = 65536L + 2 * i;
+                }
+                long[] odds = new long[rightSize];
+                for (int i = 0; i < rightSize; i++) {
+                    odds[i] = 65536L + 2 * i + 1;
+                }
+                RoaringBitmap a = RoaringBitmap.of(evens);
+                RoaringBitmap b = RoaringBitmap.of(odds);
+                Assertions.assertFalse(a.intersects(b));
+                Assertions.assertFalse(b.intersects(a));
+
+                long common = evens[evens.length - 1];
+                Assertions.assertTrue(a.intersects(b.with(common)));
+                Assertions.assertTrue(b.with(common).intersects(a));
+            }
+        }
+    }
+
+    /**
+     * 用户id为 null 或超出范围时整批拒绝，索引不变；角色id为 null 的角色跳过
+     */
+    @Test
+    public void testInvalidUsers() {
+        RoleIndex index = RoleIndex.of(Arrays.asList(
+                new User(1L, "shelly", 23, Arrays.asList(new Role(1L, "管理员"), new Role(null, "访客")))));
+        Assertions.assertArrayEquals(new long[]{1L}, index.usersWith(1L).toArray());
+        Assertions.assertTrue(index.hasRole(1L, 1L));
+        Assertions.assertFalse(index.hasRole(1L, 2L));
+        Assertions.assertFalse(index.hasRole(2L, 1L));
+
+        List<User> batch = Arrays.asList(new User(2L, "lisa", 32, Arrays.asList(new Role(1L, "管理员"))),
+                new User(null, "smith", 24, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.putAll(batch));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.put(new User(-1L, "duke", 19, null)));
+        Assertions.assertArrayEquals(new long[]{1L}, index.allUsers().toArray());
+        Assertions.assertFalse(index.hasRole(2L, 1L));
+    }
+
+    @Test
+    public void testIncrementalUpdates() {
+        Random random = new Random(5);
+        Map<Long, User> users = new HashMap<>();
+        for (long id = 0; id < 20_000; id++) {
+            users.put(id * 7, randomUser(random, id * 7));
+        }
+        RoleIndex index = RoleIndex.of(users.values());
+        assertQueries(index, users);
+
+        for (int round = 0; round < 5; round++) {
+            List<User> changes = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                long id = random.nextInt(20_000) * 7L;
+                User user = randomUser(random, id);
+                users.put(id, user);
+                changes.add(user);
+            }
+            index.putAll(changes);
+            for (int i = 0; i < 500; i++) {
+                long id = random.nextInt(20_000) * 7L;
+                Assertions.assertEquals(users.remove(id) != null, index.remove(id));
+            }
+            assertQueries(index, users);
+        }
+    }
+
+    private static void assertQueries(RoleIndex index, Map<Long, User> users) {
+        Assertions.assertArrayEquals(scan(users, user -> true), index.allUsers().toArray());
+        Assertions.assertArrayEquals(scan(users, user -> hasRole(user, 1)), index.usersWith(1).toArray());
+        Assertions.assertArrayEquals(scan(users, user -> hasRole(user, 1) && hasRole(user, 2)),
+                index.allOf(1, 2).toArray());
+        Assertions.assertArrayEquals(scan(users, user -> hasRole(user, 3) || hasRole(user, 4)),
+                index.anyOf(3, 4).toArray());
+        Assertions.assertArrayEquals(scan(users, user -> !hasRole(user, 0) && !hasRole(user, 5)),
+                index.noneOf(0, 5).toArray());
+        Assertions.assertArrayEquals(scan(users, user -> hasRole(user, 1) && !hasRole(user, 2)),
+                index.usersWith(1).andNot(index.usersWith(2)).toArray());
+        for (User user : users.values()) {
+            Assertions.assertEquals(hasRole(user, 2), index.hasRole(user.getId(), 2));
+            Assertions.assertEquals(hasRole(user, 2) && hasRole(user, 3), index.hasAllRoles(user.getId(), 2, 3));
+            Assertions.assertEquals(hasRole(user, 0) || hasRole(user, 9), index.hasAnyRole(user.getId(), 0, 9));
+        }
+        Assertions.assertFalse(index.hasRole(1, 1));
+    }
+
+    /**
+     * 原先的写法：遍历所有用户，flatMap 角色列表
+     */
+    private static long[] scan(Map<Long, User> users, Predicate<User> predicate) {
+        return users.values().stream()
+                .filter(predicate)
+                .mapToLong(User::getId)
+                .sorted()
+                .toArray();
+    }
+
+    private static boolean hasRole(User user, long roleId) {
+        return user.getRoleList() != null && user.getRoleList().stream()
+                .anyMatch(role -> role != null && role.getId() != null && role.getId() == roleId);
+    }
+
+    private static User randomUser(Random random, long id) {
+        int roleCount = random.nextInt(4);
+        Role[] roles = new Role[roleCount];
+        for (int i = 0; i < roleCount; i++) {
+            // 角色 1 很常见，其容器会变成位图
+            long roleId = random.nextInt(3) == 0 ? 1 : random.nextInt(10);
+            roles[i] = random.nextInt(50) == 0 ? null : new Role(roleId, "role" + roleId);
+        }
+        return new User(id, "user" + id, 20, roleCount == 0 && random.nextBoolean() ? null : Arrays.asList(roles));
+    }
+
+    /**
+     * 一部分 id 集中在同一个容器中形成位图容器，其余分散在多个容器中
+     */
+    private static TreeSet<Long> randomIds(Random random) {
+        TreeSet<Long> ids = new TreeSet<>();
+        int dense = random.nextInt(10_000);
+        long denseBase = (long) random.nextInt(4) << 16;
+        for (int i = 0; i < dense; i++) {
+            ids.add(denseBase + random.nextInt(1 << 16));
+        }
+        int sparse = random.nextInt(3000);
+        for (int i = 0; i < sparse; i++) {
+            ids.add((long) random.nextInt(1 << 20));
+        }
+        return ids;
+    }
+
+    private static long[] toArray(TreeSet<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,82 @@
+import com.andy.entity.Role;
+import com.andy.entity.RoleRegistry;
+import com.andy.entity.RoleSet;
+import com.andy.entity.User;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 驻留的角色与紧凑的角色集合
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 19:00
+ */
+public class TestRoleSet {
+
+    @Test
+    public void testIntern() {
+        Role admin = Role.of(9001L, "管理员");
+        Assertions.assertSame(admin, Role.of(9001L, "管理员"));
+        Assertions.assertSame(admin, RoleRegistry.intern(new Role(9001L, "管理员")));
+        Assertions.assertNotSame(admin, Role.of(9001L, "开发"));
+        Assertions.assertEquals(admin, new Role(9001L, "管理员"));
+        Assertions.assertNull(RoleRegistry.find(new Role(9001L, "从未登记")));
+
+        // 用户的角色列表中保存的是驻留实例，可以直接用 == 比较
+        User user = new User(1L, "shelly", 23, Arrays.asList(new Role(9001L, "管理员"), null, new Role(9001L, "管理员")));
+        Assertions.assertEquals(1, user.getRoleList().size());
+        Assertions.assertSame(admin, user.getRoleList().get(0));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> user.getRoleList().add(admin));
+    }
+
+    /**
+     * 编号超过 64 的角色存放在有序数组中，访问方式不变
+     */
+    @Test
+    public void testOverflow() {
+        List<Role> roles = new ArrayList<>();
+        for (long id = 0; id < 100; id++) {
+            roles.add(Role.of(10_000 + id, "role" + id));
+        }
+        Assertions.assertTrue(RoleRegistry.size() > 64);
+        List<Role> shuffled = new ArrayList<>(roles);
+        Collections.shuffle(shuffled);
+        RoleSet all = RoleSet.of(shuffled);
+        // 按登记顺序排列
+        Assertions.assertEquals(roles, all);
+        Assertions.assertEquals(roles, new ArrayList<>(all));
+        Assertions.assertEquals(roles.hashCode(), all.hashCode());
+        for (int i = 0; i < roles.size(); i++) {
+            Assertions.assertSame(roles.get(i), all.get(i));
+        }
+
+        RoleSet some = RoleSet.of(Arrays.asList(roles.get(3), roles.get(99)));
+        RoleSet other = RoleSet.of(Arrays.asList(roles.get(98), roles.get(99)));
+        Assertions.assertTrue(all.containsAll(some));
+        Assertions.assertFalse(some.containsAll(other));
+        Assertions.assertTrue(some.intersects(other));
+        Assertions.assertFalse(RoleSet.of(Collections.singletonList(roles.get(3))).intersects(other));
+        Assertions.assertTrue(some.contains(new Role(10_099L, "role99")));
+        Assertions.assertFalse(some.contains(new Role(10_098L, "role98")));
+        Assertions.assertEquals(some, RoleSet.of(Arrays.asList(roles.get(99), roles.get(3), roles.get(3))));
+    }
+
+    /**
+     * 只用位掩码表示的角色组合被复用
+     */
+    @Test
+    public void testShared() {
+        Role.of(9002L, "访客");
+        Role first = RoleRegistry.byCode(0);
+        User user1 = new User(1L, "a", 1, Collections.singletonList(first));
+        User user2 = new User(2L, "b", 2, Collections.singletonList(new Role(first.getId(), first.getRoleName())));
+        Assertions.assertSame(user1.getRoleList(), user2.getRoleList());
+        Assertions.assertSame(RoleSet.EMPTY, new User(3L, "c", 3, Collections.emptyList()).getRoleList());
+        Assertions.assertNull(new User(4L, "d", 4, null).getRoleList());
+    }
+}
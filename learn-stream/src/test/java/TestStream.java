@@ -1,5 +1,4 @@
 import com.andy.entity.User;
-import com.google.common.collect.Lists;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -16,7 +15,7 @@ public class TestStream {
      */
     @Test
     public void testFilter() {
-        List<User> userList = getUserList();
+        List<User> userList = UserFixtures.users();
         // 设置过滤条件，转换成一个流
         Stream<User> userStream = userList.stream()
                 .filter(user -> user.getAge() > 10);
@@ -29,7 +28,7 @@ public class TestStream {
      */
     @Test
     public void testMap1() {
-        List<User> userList = getUserList();
+        List<User> userList = UserFixtures.users();
         userList.stream()
                 // map映射出所有的用户名称
                 .map(user -> user.getName())
@@ -42,7 +41,7 @@ public class TestStream {
      */
     @Test
     public void testMap2() {
-        List<User> userList = getUserList();
+        List<User> userList = UserFixtures.users();
         userList.stream()
                 // 获取流元素
                 .map(user -> user.getAge())
@@ -56,7 +55,7 @@ public class TestStream {
      */
     @Test
     public void testDistinct() {
-        List<User> userList = getUserList();
+        List<User> userList = UserFixtures.users();
         userList.stream()
                 // 去重
                 .distinct()
@@ -68,25 +67,10 @@ public class TestStream {
      */
     @Test
     public void testSorted() {
-        List<User> userList = getUserList();
+        List<User> userList = UserFixtures.users();
         userList.stream()
                 // 排序，使用Comparable
                 .sorted((o1, o2) -> o1.getAge() - o2.getAge())
                 .forEach(s -> System.out.println(s));
     }
-
-
-    public List<User> getUserList() {
-        // 初始化用户
-        User user1 = new User(1L, "shelly", 23, null);
-        User user2 = new User(2L, "lisa", 32, null);
-        User user3 = new User(3L, "smith", 24, null);
-        User user4 = new User(4L, "andrew", 18, null);
-        User user5 = new User(5L, "duke", 19, null);
-        User user6 = new User(6L, "will", 18, null);
-        User user7 = new User(7L, "andy", 7, null);
-        // 用于测试distinct方法
-        User user8 = new User(7L, "andy", 7, null);
-        return Lists.newArrayList(user1, user2, user3, user4, user5, user6, user7, user8);
-    }
 }
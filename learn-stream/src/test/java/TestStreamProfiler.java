@@ -0,0 +1,180 @@
+import com.andy.entity.User;
+import com.andy.profile.ProfileReport;
+import com.andy.profile.StreamProfiler;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * StreamProfiler 统计的元素数与实际流水线一致，且不改变流水线的结果
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 00:40
+ */
+public class TestStreamProfiler {
+
+    @Test
+    public void testStageCounts() {
+        List<User> userList = UserFixtures.users();
+        StreamProfiler profiler = StreamProfiler.enabled();
+        List<String> names = new ArrayList<>();
+        profiler.profile("adultNames", userList.stream())
+                .filter(user -> user.getAge() > 10)
+                .map(User::getName)
+                .sorted()
+                .forEach(names::add);
+        Assertions.assertEquals(Lists.newArrayList("andrew", "duke", "lisa", "shelly", "smith", "will"), names);
+
+        ProfileReport.PipelineReport pipeline = profiler.report().getPipeline("adultNames");
+        Assertions.assertEquals("forEach", pipeline.getTerminal());
+        Assertions.assertFalse(pipeline.isParallel());
+        Assertions.assertTrue(pipeline.getWallNanos() > 0);
+        Assertions.assertEquals(4, pipeline.getStages().size());
+
+        ProfileReport.StageReport filter = pipeline.getStage("filter");
+        Assertions.assertEquals(8, filter.getIn());
+        Assertions.assertEquals(6, filter.getOut());
+        Assertions.assertEquals(0.75, filter.getSelectivity(), 1e-9);
+        Assertions.assertTrue(filter.getNanos() >= 0);
+        // 未开启分配统计
+        Assertions.assertEquals(-1, filter.getAllocatedBytes());
+
+        Assertions.assertEquals(6, pipeline.getStage("map").getIn());
+        Assertions.assertEquals(6, pipeline.getStage("map").getOut());
+        Assertions.assertEquals(6, pipeline.getStage("sorted").getIn());
+        Assertions.assertEquals(6, pipeline.getStage("sorted").getOut());
+        Assertions.assertEquals(6, pipeline.getStage("forEach").getIn());
+        Assertions.assertEquals(1.0, pipeline.getStage("forEach").getSelectivity(), 1e-9);
+    }
+
+    @Test
+    public void testStatelessStages() {
+        List<User> userList = UserFixtures.users();
+        StreamProfiler profiler = StreamProfiler.enabled();
+        Optional<User> first = profiler.profile("firstAdult", userList.stream())
+                .distinct()
+                .skip(1)
+                .filter(user -> user.getAge() > 20)
+                .findFirst();
+        Assertions.assertEquals("lisa", first.get().getName());
+
+        ProfileReport.PipelineReport pipeline = profiler.report().getPipeline("firstAdult");
+        Assertions.assertEquals("findFirst", pipeline.getTerminal());
+        // findFirst 短路，distinct 只处理了前两个元素
+        Assertions.assertEquals(2, pipeline.getStage("distinct").getIn());
+        Assertions.assertEquals(-1, pipeline.getStage("distinct").getNanos());
+        Assertions.assertEquals(2, pipeline.getStage("skip").getIn());
+        Assertions.assertEquals(1, pipeline.getStage("skip").getOut());
+        Assertions.assertEquals(1, pipeline.getStage("filter").getOut());
+        Assertions.assertEquals(1, pipeline.getStage("findFirst").getIn());
+
+        List<Integer> ages = profiler.profile("ages", userList.stream())
+                .flatMap(user -> Stream.of(user.getAge(), user.getAge()))
+                .distinct()
+                .limit(3)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(Lists.newArrayList(23, 32, 24), ages);
+        pipeline = profiler.report().getPipeline("ages");
+        Assertions.assertEquals("collect", pipeline.getTerminal());
+        Assertions.assertEquals(3, pipeline.getStage("collect").getIn());
+        Assertions.assertEquals(3, pipeline.getStage("limit").getOut());
+        Assertions.assertEquals(pipeline.getStage("flatMap").getOut(), pipeline.getStage("distinct").getIn());
+    }
+
+    /**
+     * takeWhile 在第一个不满足的元素处停止，dropWhile 之后的元素不再判断，计数仍与实际流过的元素一致
+     */
+    @Test
+    public void testWhileStages() {
+        List<User> userList = UserFixtures.users();
+        StreamProfiler profiler = StreamProfiler.enabled();
+        long taken = profiler.profile("taken", userList.stream())
+                .takeWhile(user -> user.getAge() > 10)
+                .count();
+        Assertions.assertEquals(6, taken);
+        ProfileReport.StageReport takeWhile = profiler.report().getPipeline("taken").getStage("takeWhile");
+        Assertions.assertEquals(7, takeWhile.getIn());
+        Assertions.assertEquals(6, takeWhile.getOut());
+
+        List<String> rest = profiler.profile("rest", userList.stream())
+                .dropWhile(user -> user.getAge() > 10)
+                .map(User::getName)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(Lists.newArrayList("andy", "andy"), rest);
+        ProfileReport.StageReport dropWhile = profiler.report().getPipeline("rest").getStage("dropWhile");
+        Assertions.assertEquals(8, dropWhile.getIn());
+        Assertions.assertEquals(2, dropWhile.getOut());
+    }
+
+    @Test
+    public void testParallel() {
+        List<Integer> numbers = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        StreamProfiler profiler = StreamProfiler.enabled(true);
+        long sum = profiler.profile("parallelSum", numbers.parallelStream())
+                .filter(value -> value % 3 == 0)
+                .map(value -> (long) value)
+                .reduce(0L, Long::sum);
+        Assertions.assertEquals(numbers.stream().filter(value -> value % 3 == 0).mapToLong(value -> value).sum(), sum);
+
+        ProfileReport.PipelineReport pipeline = profiler.report().getPipeline("parallelSum");
+        Assertions.assertTrue(pipeline.isParallel());
+        Assertions.assertEquals("reduce", pipeline.getTerminal());
+        Assertions.assertEquals(100_000, pipeline.getStage("filter").getIn());
+        Assertions.assertEquals(33_334, pipeline.getStage("filter").getOut());
+        Assertions.assertEquals(33_334, pipeline.getStage("map").getIn());
+        Assertions.assertEquals(33_334, pipeline.getStage("reduce").getIn());
+        if (StreamProfiler.isAllocationSupported()) {
+            // map 为每个元素装箱一个 Long
+            Assertions.assertTrue(pipeline.getStage("map").getAllocatedBytes() > 0);
+        }
+    }
+
+    @Test
+    public void testDisabled() {
+        List<User> userList = UserFixtures.users();
+        Stream<User> source = userList.stream();
+        StreamProfiler profiler = StreamProfiler.disabled();
+        Assertions.assertFalse(profiler.isEnabled());
+        Assertions.assertSame(source, profiler.profile("users", source));
+        Assertions.assertTrue(profiler.report().getPipelines().isEmpty());
+
+        System.clearProperty(StreamProfiler.ENABLED_PROPERTY);
+        Assertions.assertFalse(StreamProfiler.fromSystemProperty().isEnabled());
+    }
+
+    @Test
+    public void testReport() {
+        List<User> userList = UserFixtures.users();
+        StreamProfiler profiler = StreamProfiler.enabled();
+        long count = profiler.profile("young, adult", userList.stream())
+                .filter(user -> user.getAge() < 20)
+                .count();
+        Assertions.assertEquals(5, count);
+        profiler.profile("pending", userList.stream()).map(User::getName);
+
+        ProfileReport report = profiler.report();
+        Assertions.assertEquals(2, report.getPipelines().size());
+        Assertions.assertNull(report.getPipeline("pending").getTerminal());
+
+        String text = report.toText();
+        Assertions.assertTrue(text.contains("young, adult"));
+        Assertions.assertTrue(text.contains("filter"));
+        Assertions.assertTrue(text.contains("62.5%"));
+
+        String[] lines = report.toCsv().split("\n");
+        Assertions.assertEquals("pipeline,parallel,terminal,wall_ns,index,stage,in,out,selectivity,time_ns,allocated_bytes", lines[0]);
+        Assertions.assertTrue(lines[1].startsWith("\"young, adult\",false,count,"));
+        Assertions.assertTrue(lines[1].contains(",1,filter,8,5,0.6250,"));
+        Assertions.assertTrue(lines[3].startsWith("pending,false,,0,1,map,0,0,,"));
+
+        profiler.reset();
+        Assertions.assertTrue(profiler.report().getPipelines().isEmpty());
+    }
+}
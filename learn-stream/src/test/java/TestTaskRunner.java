@@ -0,0 +1,175 @@
+import com.andy.task.Subtask;
+import com.andy.task.TaskRunner;
+import com.andy.task.TaskScope;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TaskRunner 与 TaskScope：虚拟线程、有上限的工作窃取线程池、失败取消、超时与关闭
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 22:50
+ */
+public class TestTaskRunner {
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int value = i;
+            tasks.add(() -> {
+                Thread.sleep(10);
+                return Thread.currentThread().isVirtual() ? value : -1;
+            });
+        }
+        try (TaskRunner runner = TaskRunner.ofVirtual()) {
+            Assertions.assertTrue(runner.isVirtual());
+            List<Integer> results = runner.invokeAll(tasks, Duration.ofSeconds(30));
+            Assertions.assertEquals(tasks.size(), results.size());
+            for (int i = 0; i < results.size(); i++) {
+                Assertions.assertEquals(i, results.get(i).intValue());
+            }
+        }
+    }
+
+    @Test
+    public void testWorkStealingIsBounded() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tasks.add(() -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                threads.add(Thread.currentThread().getName());
+                Thread.sleep(2);
+                active.decrementAndGet();
+                return "ok";
+            });
+        }
+        try (TaskRunner runner = TaskRunner.ofWorkStealing(2)) {
+            Assertions.assertFalse(runner.isVirtual());
+            Assertions.assertEquals(50, runner.invokeAll(tasks, Duration.ofSeconds(30)).size());
+        }
+        Assertions.assertTrue(maxActive.get() <= 2);
+        Assertions.assertTrue(threads.size() <= 2);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TaskRunner.ofWorkStealing(0));
+    }
+
+    @Test
+    public void testCreateFallsBack() {
+        System.setProperty(TaskRunner.VIRTUAL_PROPERTY, "false");
+        try (TaskRunner runner = TaskRunner.create()) {
+            Assertions.assertFalse(runner.isVirtual());
+        } finally {
+            System.clearProperty(TaskRunner.VIRTUAL_PROPERTY);
+        }
+        try (TaskRunner runner = TaskRunner.create()) {
+            Assertions.assertTrue(runner.isVirtual());
+        }
+    }
+
+    @Test
+    public void testFailureCancelsSiblings() throws Exception {
+        try (TaskRunner runner = TaskRunner.ofVirtual(); TaskScope<String> scope = runner.openScope()) {
+            Subtask<String> slow = scope.fork(() -> {
+                Thread.sleep(30_000);
+                return "slow";
+            });
+            Subtask<String> failing = scope.fork(() -> {
+                throw new IllegalStateException("查询失败");
+            });
+            long start = System.nanoTime();
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, scope::join);
+            Assertions.assertTrue(System.nanoTime() - start < Duration.ofSeconds(10).toNanos());
+            Assertions.assertTrue(e.getCause() instanceof IllegalStateException);
+            Assertions.assertEquals(Future.State.FAILED, failing.state());
+            Assertions.assertEquals(Future.State.CANCELLED, slow.state());
+            Assertions.assertFalse(slow.isTimedOut());
+            Assertions.assertTrue(scope.isShutdown());
+            Assertions.assertThrows(IllegalStateException.class, scope::results);
+        }
+    }
+
+    @Test
+    public void testPerTaskTimeout() throws Exception {
+        try (TaskRunner runner = TaskRunner.ofVirtual()) {
+            try (TaskScope<String> scope = runner.openScope()) {
+                Subtask<String> fast = scope.fork(() -> "fast", Duration.ofSeconds(10));
+                scope.join();
+                Assertions.assertEquals("fast", fast.resultNow());
+                Assertions.assertEquals(1, scope.results().size());
+            }
+            try (TaskScope<String> scope = runner.openScope()) {
+                Subtask<String> slow = scope.fork(() -> {
+                    Thread.sleep(30_000);
+                    return "slow";
+                }, Duration.ofMillis(50));
+                ExecutionException e = Assertions.assertThrows(ExecutionException.class, scope::join);
+                Assertions.assertTrue(e.getCause() instanceof TimeoutException);
+                Assertions.assertTrue(slow.isTimedOut());
+            }
+            Assertions.assertEquals("ok", runner.call(() -> "ok", Duration.ofSeconds(10)));
+            Assertions.assertThrows(TimeoutException.class, () -> runner.call(() -> {
+                Thread.sleep(30_000);
+                return "slow";
+            }, Duration.ofMillis(50)));
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                    () -> runner.call(() -> {
+                        throw new TimeoutException("任务自身抛出的超时异常");
+                    }, Duration.ofSeconds(10)));
+            Assertions.assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    public void testJoinUntil() throws Exception {
+        try (TaskRunner runner = TaskRunner.ofWorkStealing(2); TaskScope<String> scope = runner.openScope()) {
+            Subtask<String> slow = scope.fork(() -> {
+                Thread.sleep(30_000);
+                return "slow";
+            });
+            Assertions.assertThrows(TimeoutException.class, () -> scope.joinUntil(Instant.now().plusMillis(50)));
+            Assertions.assertEquals(Future.State.CANCELLED, slow.state());
+            Subtask<String> late = scope.fork(() -> "late");
+            Assertions.assertEquals(Future.State.CANCELLED, late.state());
+        }
+    }
+
+    @Test
+    public void testCloseWaitsForSubtasks() throws InterruptedException {
+        AtomicBoolean exited = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(1);
+        try (TaskRunner runner = TaskRunner.ofVirtual()) {
+            TaskScope<Void> scope = runner.openScope();
+            scope.fork(() -> {
+                started.countDown();
+                // 忽略中断，close 仍需等到任务退出
+                long end = System.nanoTime() + Duration.ofMillis(200).toNanos();
+                while (System.nanoTime() < end) {
+                    Thread.onSpinWait();
+                }
+                exited.set(true);
+                return null;
+            });
+            started.await();
+            scope.close();
+            Assertions.assertTrue(exited.get());
+            Assertions.assertThrows(IllegalStateException.class, () -> scope.fork(() -> null));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+import com.andy.entity.User;
+import com.andy.sort.ExternalSorter;
+import com.andy.sort.TopK;
+import com.andy.sort.UserCodec;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 取前 K 个用户和外部排序，结果与 sorted() 一致
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 10:10
+ */
+public class TestTopK {
+
+    /**
+     * 年龄最小、最大的 3 个用户
+     */
+    @Test
+    public void testTopK() {
+        List<User> userList = UserFixtures.users();
+        List<User> expectedSmallest = userList.stream()
+                .sorted(Comparator.comparingInt(User::getAge))
+                .limit(3)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(expectedSmallest, userList.stream().collect(TopK.smallestBy(3, User::getAge)));
+
+        List<User> expectedLargest = userList.stream()
+                .sorted(Comparator.comparingInt(User::getAge).reversed())
+                .limit(3)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(expectedLargest, userList.stream().collect(TopK.largestBy(3, User::getAge)));
+        Assertions.assertEquals(userList.size(), userList.stream().collect(TopK.smallestBy(100, User::getAge)).size());
+    }
+
+    /**
+     * 并行流中合并各线程的堆，键相同时仍保持遇到顺序
+     */
+    @Test
+    public void testTopKParallel() {
+        List<Integer> numbers = new ArrayList<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            numbers.add(random.nextInt(1000) - 500);
+        }
+        List<Integer> expected = numbers.stream().sorted().limit(50).collect(Collectors.toList());
+        List<Integer> actual = numbers.parallelStream().collect(TopK.smallestBy(50, Integer::intValue));
+        Assertions.assertEquals(expected, actual);
+    }
+
+    /**
+     * 每段只放 3 个用户，强制写出多个临时文件后归并
+     */
+    @Test
+    public void testExternalSort() throws IOException {
+        List<User> userList = UserFixtures.users();
+        List<User> expected = userList.stream()
+                .sorted(Comparator.comparingInt(User::getAge))
+                .collect(Collectors.toList());
+
+        Path tempDir = Files.createTempDirectory("external-sort");
+        ExternalSorter<User> sorter = new ExternalSorter<>(User::getAge, UserCodec.INSTANCE, 3, tempDir);
+        try (Stream<User> sorted = sorter.sort(userList.iterator())) {
+            Assertions.assertEquals(expected, sorted.collect(Collectors.toList()));
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            Assertions.assertEquals(0, files.count());
+        }
+        Files.delete(tempDir);
+    }
+
+    /**
+     * 年龄有正有负，分多个临时文件归并和一次在内存中排序，结果都与稳定的 sorted() 一致
+     */
+    @Test
+    public void testExternalSortNegativeKeys() throws IOException {
+        List<User> userList = new ArrayList<>();
+        int[] ages = {5, -3, 0, -100, 7};
+        for (int i = 0; i < ages.length; i++) {
+            userList.add(new User((long) i, "user" + i, ages[i], null));
+        }
+        Random random = new Random(11);
+        for (int i = ages.length; i < 100; i++) {
+            int age = i % 10 == 0 ? (i % 20 == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE) : random.nextInt(200) - 100;
+            userList.add(new User((long) i, "user" + i, age, null));
+        }
+        List<Long> expected = userList.stream()
+                .sorted(Comparator.comparingInt(User::getAge))
+                .map(User::getId)
+                .collect(Collectors.toList());
+
+        Path tempDir = Files.createTempDirectory("external-sort");
+        for (int runSize : new int[]{3, 7, 1000}) {
+            ExternalSorter<User> sorter = new ExternalSorter<>(User::getAge, UserCodec.INSTANCE, runSize, tempDir);
+            try (Stream<User> sorted = sorter.sort(userList.iterator())) {
+                Assertions.assertEquals(expected, sorted.map(User::getId).collect(Collectors.toList()));
+            }
+        }
+        ExternalSorter<User> sorter = new ExternalSorter<>(User::getAge, UserCodec.INSTANCE, 2, tempDir);
+        try (Stream<User> sorted = sorter.sort(userList.subList(0, ages.length).iterator())) {
+            Assertions.assertEquals(Lists.newArrayList(-100, -3, 0, 5, 7),
+                    sorted.map(User::getAge).collect(Collectors.toList()));
+        }
+        Files.delete(tempDir);
+    }
+}
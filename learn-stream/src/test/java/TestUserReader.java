@@ -0,0 +1,178 @@
+import com.andy.entity.Role;
+import com.andy.entity.User;
+import com.andy.io.ByteCursor;
+import com.andy.io.ByteLineReader;
+import com.andy.io.Prefetch;
+import com.andy.io.UserReader;
+import com.andy.table.UserTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 从通道流式读取用户
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 15:20
+ */
+public class TestUserReader {
+
+    @Test
+    public void testCsv() {
+        String csv = "id,name,age,roles\r\n"
+                + "1,shelly,23,1:管理员|2:开发\r\n"
+                + "2,lisa,,\n"
+                + "3,\"smith, \"\"jr\"\"\",-1,3:\n"
+                + "\n"
+                + "4,,18";
+        List<User> users;
+        try (Stream<User> stream = UserReader.csv(trickle(csv))) {
+            users = stream.collect(Collectors.toList());
+        }
+        Assertions.assertEquals(Arrays.asList(
+                new User(1L, "shelly", 23, Arrays.asList(new Role(1L, "管理员"), new Role(2L, "开发"))),
+                new User(2L, "lisa", null, null),
+                new User(3L, "smith, \"jr\"", -1, Arrays.asList(new Role(3L, null))),
+                new User(4L, null, 18, null)), users);
+    }
+
+    @Test
+    public void testJson() {
+        String json = "{\"id\":1,\"name\":\"shel\\\"ly\\u4e2d\",\"age\":23,\"roleList\":[{\"id\":1,\"roleName\":\"管理员\"}]}\n"
+                + "  {\"extra\":{\"a\":[1,2,{\"b\":null}]},\"id\":2, \"name\" : null, \"roleList\":[]}\n"
+                + "\n"
+                + "{\"id\":3,\"roleList\":null,\"age\":-5,\"flag\":true}\n";
+        List<User> users;
+        try (Stream<User> stream = UserReader.json(trickle(json))) {
+            users = stream.collect(Collectors.toList());
+        }
+        Assertions.assertEquals(Arrays.asList(
+                new User(1L, "shel\"ly中", 23, Arrays.asList(new Role(1L, "管理员"))),
+                new User(2L, null, null, Arrays.asList()),
+                new User(3L, null, -5, null)), users);
+    }
+
+    @Test
+    public void testMalformed() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> UserReader.csv(trickle("1,a,99999999999,\n")).count());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> UserReader.json(trickle("{\"id\":1\n")).count());
+    }
+
+    /**
+     * 游标上的数字与 NumberParsers 规则一致：可带正负号，边界值可以解析，超出范围报错，数字之后的字节不被消费
+     */
+    @Test
+    public void testCursorNumbers() throws IOException {
+        ByteLineReader reader = new ByteLineReader(trickle("-9223372036854775808,+42,2147483648,x\n9223372036854775808"), 16, 4096);
+        ByteCursor cursor = reader.nextLine();
+        Assertions.assertEquals(Long.MIN_VALUE, cursor.parseLong());
+        cursor.expect((byte) ',');
+        Assertions.assertEquals(42, cursor.parseInt());
+        cursor.expect((byte) ',');
+        int position = cursor.position();
+        Assertions.assertThrows(IllegalArgumentException.class, cursor::parseInt);
+        cursor.position(position);
+        Assertions.assertEquals(2147483648L, cursor.parseLong());
+        cursor.expect((byte) ',');
+        Assertions.assertThrows(IllegalArgumentException.class, cursor::parseLong);
+        Assertions.assertEquals('x', cursor.peek());
+
+        Assertions.assertThrows(IllegalArgumentException.class, reader.nextLine()::parseLong);
+    }
+
+    /**
+     * 单行超过缓冲区时扩容，超过最大行长度时报错
+     */
+    @Test
+    public void testLongLine() throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            line.append("0123456789");
+        }
+        ByteLineReader reader = new ByteLineReader(trickle(line + "\nabc"), 16, 4096);
+        Assertions.assertEquals(line.toString(), reader.nextLine().toString());
+        ByteCursor last = reader.nextLine();
+        Assertions.assertEquals("abc", last.readUntil((byte) ','));
+        Assertions.assertNull(reader.nextLine());
+
+        ByteLineReader limited = new ByteLineReader(trickle(line.toString()), 16, 256);
+        Assertions.assertThrows(IOException.class, limited::nextLine);
+    }
+
+    @Test
+    public void testTables() {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 2500; i++) {
+            csv.append(i).append(",user").append(i).append(',').append(i % 90).append(",1:admin\n");
+        }
+        List<UserTable> tables;
+        try (Stream<UserTable> stream = UserReader.tables(UserReader.csv(trickle(csv.toString())), 1000)) {
+            tables = stream.collect(Collectors.toList());
+        }
+        Assertions.assertEquals(Arrays.asList(1000, 1000, 500),
+                tables.stream().map(UserTable::size).collect(Collectors.toList()));
+        Assertions.assertEquals(2499L, tables.get(2).id(499));
+    }
+
+    /**
+     * 下游慢时上游最多领先 (capacity + 2) * batchSize 个元素
+     */
+    @Test
+    public void testPrefetchBackpressure() throws InterruptedException {
+        AtomicInteger produced = new AtomicInteger();
+        Stream<Integer> source = IntStream.range(0, 10_000).boxed().peek(i -> produced.incrementAndGet());
+        int consumed = 0;
+        int maxAhead = 0;
+        try (Stream<Integer> stream = Prefetch.async(source, 10, 4)) {
+            for (java.util.Iterator<Integer> it = stream.iterator(); it.hasNext(); ) {
+                Assertions.assertEquals(consumed, it.next().intValue());
+                consumed++;
+                if (consumed % 1000 == 0) {
+                    Thread.sleep(5);
+                }
+                maxAhead = Math.max(maxAhead, produced.get() - consumed);
+            }
+        }
+        Assertions.assertEquals(10_000, consumed);
+        Assertions.assertTrue(maxAhead <= 60, "maxAhead=" + maxAhead);
+    }
+
+    @Test
+    public void testPrefetchFailure() {
+        Stream<Integer> source = IntStream.range(0, 100).boxed().peek(i -> {
+            if (i == 50) {
+                throw new IllegalStateException("boom");
+            }
+        });
+        try (Stream<Integer> stream = Prefetch.async(source, 8, 2)) {
+            Assertions.assertThrows(IllegalStateException.class, stream::count);
+        }
+    }
+
+    /**
+     * 每次最多读 7 个字节，让各行跨越多次读取
+     */
+    private static ReadableByteChannel trickle(String content) {
+        InputStream in = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+        return Channels.newChannel(in);
+    }
+}
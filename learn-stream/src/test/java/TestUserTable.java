@@ -0,0 +1,104 @@
+import com.andy.entity.Role;
+import com.andy.entity.User;
+import com.andy.table.StringDictionary;
+import com.andy.table.UserTable;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 按列存储的 UserTable，和 TestStream 中基于 List<User> 的写法结果一致
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/18 21:00
+ */
+public class TestUserTable {
+
+    /**
+     * 过滤出所有年龄大于10岁的用户
+     */
+    @Test
+    public void testFilter() {
+        List<User> userList = getUserList();
+        UserTable table = UserTable.of(userList);
+
+        List<Long> expected = userList.stream()
+                .filter(user -> user.getAge() > 10)
+                .map(User::getId)
+                .collect(Collectors.toList());
+        // 行号流上过滤，不装箱
+        List<Long> actual = table.rows()
+                .filter(row -> table.age(row) > 10)
+                .mapToObj(table::id)
+                .collect(Collectors.toList());
+        Assertions.assertEquals(expected, actual);
+    }
+
+    /**
+     * 给所有用户的年龄加2
+     */
+    @Test
+    public void testMap() {
+        List<User> userList = getUserList();
+        UserTable table = UserTable.of(userList);
+
+        int[] expected = userList.stream().mapToInt(user -> user.getAge() + 2).toArray();
+        Assertions.assertArrayEquals(expected, table.ages().map(age -> age + 2).toArray());
+        Assertions.assertEquals(userList.stream().mapToLong(User::getId).sum(), table.ids().sum());
+    }
+
+    /**
+     * 用户名和角色都做了字典编码，相同的值只保存一份
+     */
+    @Test
+    public void testDictionary() {
+        UserTable table = UserTable.of(getUserList());
+
+        Assertions.assertEquals(table.nameCode(6), table.nameCode(7));
+        Assertions.assertEquals("andy", table.name(7));
+        Assertions.assertEquals(7, table.names().size());
+        Assertions.assertEquals(table.nameCode(6), table.names().codeOf("andy"));
+        Assertions.assertEquals(table.nameCode(0), table.names().codeOf("shelly"));
+        Assertions.assertEquals(StringDictionary.NULL, table.names().codeOf("tom"));
+        Assertions.assertEquals(StringDictionary.NULL, table.names().codeOf(null));
+        // 三个用户共用两个不同的角色
+        Assertions.assertEquals(2, table.roleDictionarySize());
+        Assertions.assertSame(table.role(0, 0), table.role(1, 0));
+        Assertions.assertEquals(0, table.roleCount(7));
+        Assertions.assertEquals(getUserList().get(0), table.toUser(0));
+    }
+
+    /**
+     * 游标遍历，整张表只使用一个游标对象
+     */
+    @Test
+    public void testCursor() {
+        UserTable table = UserTable.of(getUserList());
+        UserTable.Cursor cursor = table.cursor();
+        int count = 0;
+        long ageSum = 0;
+        while (cursor.next()) {
+            count++;
+            ageSum += cursor.age();
+        }
+        Assertions.assertEquals(table.size(), count);
+        Assertions.assertEquals(table.ages().sum(), ageSum);
+        Assertions.assertFalse(cursor.next());
+    }
+
+    /**
+     * 共用的用户数据，前三个用户带角色；lisa 的管理员角色是另一个相等的对象，编码时应与 shelly 的合并
+     */
+    public List<User> getUserList() {
+        Role admin = new Role(1L, "admin");
+        Role guest = new Role(2L, "guest");
+        List<User> userList = UserFixtures.users();
+        userList.get(0).setRoleList(Lists.newArrayList(admin, guest));
+        userList.get(1).setRoleList(Lists.newArrayList(new Role(1L, "admin")));
+        userList.get(2).setRoleList(Lists.newArrayList(guest));
+        return userList;
+    }
+}
@@ -0,0 +1,32 @@
+import com.andy.entity.User;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * 各个测试共用的用户数据，与 TestStream 中最初的用户一致
+ * <p>
+ * 每次调用都返回新的列表和新的用户对象，测试可以随意修改；需要角色的测试自行通过 setRoleList 设置。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 14:10
+ */
+public final class UserFixtures {
+
+    private UserFixtures() {
+    }
+
+    public static List<User> users() {
+        // 初始化用户
+        User user1 = new User(1L, "shelly", 23, null);
+        User user2 = new User(2L, "lisa", 32, null);
+        User user3 = new User(3L, "smith", 24, null);
+        User user4 = new User(4L, "andrew", 18, null);
+        User user5 = new User(5L, "duke", 19, null);
+        User user6 = new User(6L, "will", 18, null);
+        User user7 = new User(7L, "andy", 7, null);
+        // 用于测试distinct方法
+        User user8 = new User(7L, "andy", 7, null);
+        return Lists.newArrayList(user1, user2, user3, user4, user5, user6, user7, user8);
+    }
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import com.andy.aggregate.Aggregations;
+import com.andy.aggregate.LongHistogramMap;
+import com.andy.aggregate.UserGroupKeys;
+import com.andy.entity.Role;
+import com.andy.entity.User;
+import com.andy.stream.LongLongMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 按角色分组统计：Collectors.groupingBy 与基于基本类型哈希表的 Aggregations 对比
+ * <p>
+ * 并行版本使用公共 ForkJoinPool，观察随核数的伸缩情况时可以用
+ * -Djava.util.concurrent.ForkJoinPool.common.parallelism=N 分别运行。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 11:55
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GroupByBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"16", "1024"})
+    private int roleCount;
+
+    private List<User> userList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<Role> roles = new ArrayList<>(roleCount);
+        for (long id = 1; id <= roleCount; id++) {
+            roles.add(new Role(id, "role" + id));
+        }
+        userList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Role[] picked = new Role[1 + random.nextInt(3)];
+            for (int j = 0; j < picked.length; j++) {
+                picked[j] = roles.get(random.nextInt(roleCount));
+            }
+            userList.add(new User((long) i, "user" + i, random.nextInt(100), Arrays.asList(picked)));
+        }
+    }
+
+    @Benchmark
+    public Map<Long, Long> groupingByCount() {
+        return userList.stream()
+                .flatMap(user -> user.getRoleList().stream())
+                .collect(Collectors.groupingBy(Role::getId, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Long, Long> groupingByCountParallel() {
+        return userList.parallelStream()
+                .flatMap(user -> user.getRoleList().stream())
+                .collect(Collectors.groupingBy(Role::getId, Collectors.counting()));
+    }
+
+    @Benchmark
+    public LongLongMap countingBy() {
+        return userList.stream().collect(Aggregations.countingBy(UserGroupKeys.ROLE_ID));
+    }
+
+    @Benchmark
+    public LongLongMap countingByParallel() {
+        return userList.parallelStream().collect(Aggregations.countingBy(UserGroupKeys.ROLE_ID));
+    }
+
+    @Benchmark
+    public Map<Long, Map<Integer, Long>> groupingByAgeHistogramParallel() {
+        return userList.parallelStream()
+                .flatMap(user -> user.getRoleList().stream().map(role -> new Object[]{role.getId(), user.getAge()}))
+                .collect(Collectors.groupingBy(pair -> (Long) pair[0],
+                        Collectors.groupingBy(pair -> (Integer) pair[1], Collectors.counting())));
+    }
+
+    @Benchmark
+    public LongHistogramMap histogramByParallel() {
+        return userList.parallelStream()
+                .collect(Aggregations.histogramBy(UserGroupKeys.ROLE_ID, User::getAge, 100));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(GroupByBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
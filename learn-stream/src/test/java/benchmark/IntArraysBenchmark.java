@@ -0,0 +1,147 @@
+package benchmark;
+
+import com.andy.util.IntArrays;
+import com.andy.util.NumberParsers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+
+/**
+ * TestLambda 中的写法（每个元素经过函数式接口、typeConverter 用 Integer.valueOf 装箱）与 IntArrays 的对比
+ * <p>
+ * 几个基准方法共用 IntArrays 中的循环，调用点会看到多种 lambda，这正是实际业务代码中的情形。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 21:10
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntArraysBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private int[] array;
+
+    private String[] texts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        array = random.ints(size, 0, 1_000_000).toArray();
+        texts = new String[size];
+        for (int i = 0; i < size; i++) {
+            texts[i] = String.valueOf(array[i]);
+        }
+    }
+
+    /**
+     * printNum 的写法：循环中逐个调用 predicate，符合条件的交给下游
+     */
+    @Benchmark
+    public void loopFilter(Blackhole blackhole) {
+        IntPredicate predicate = value -> value > 3;
+        for (int r : array) {
+            if (predicate.test(r)) {
+                blackhole.consume(r);
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] filter() {
+        return IntArrays.filter(array, value -> value > 3);
+    }
+
+    @Benchmark
+    public int[] parallelFilter() {
+        return IntArrays.parallelFilter(array, value -> value > 3);
+    }
+
+    /**
+     * calculateNum 的写法，逐个元素调用 IntBinaryOperator
+     */
+    @Benchmark
+    public int loopReduce() {
+        IntBinaryOperator operator = (a, b) -> a + b;
+        int result = 0;
+        for (int value : array) {
+            result = operator.applyAsInt(result, value);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int reduce() {
+        return IntArrays.reduce(array, 0, (a, b) -> a + b);
+    }
+
+    @Benchmark
+    public int parallelReduce() {
+        return IntArrays.parallelReduce(array, 0, (a, b) -> a + b);
+    }
+
+    @Benchmark
+    public int[] parallelMap() {
+        return IntArrays.parallelMap(array, value -> value * 31 + 7);
+    }
+
+    /**
+     * typeConverter 的写法：Function<String, Integer>，每个结果装箱后放入 List
+     */
+    @Benchmark
+    public List<Integer> loopTypeConverter() {
+        Function<String, Integer> function = Integer::valueOf;
+        List<Integer> result = new ArrayList<>(texts.length);
+        for (String text : texts) {
+            result.add(function.apply(text));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int[] parse() {
+        return IntArrays.parse(texts, Integer::parseInt);
+    }
+
+    @Benchmark
+    public int[] fastParse() {
+        return IntArrays.parse(texts, NumberParsers.INT);
+    }
+
+    @Benchmark
+    public int[] parallelParse() {
+        return IntArrays.parallelParse(texts, Integer::parseInt);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IntArraysBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
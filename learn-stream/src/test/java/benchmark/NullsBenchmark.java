@@ -0,0 +1,134 @@
+package benchmark;
+
+import com.andy.entity.Role;
+import com.andy.entity.User;
+import com.andy.util.IntOption;
+import com.andy.util.Nulls;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestOptional 中的 Optional 链与 Nulls / IntOption 的对比
+ * <p>
+ * 重点看 GC 分析器输出的 gc.alloc.rate.norm（每次调用分配的字节数）：Nulls 与 IntOption 应为 0，
+ * Optional 链是否为 0 取决于 JIT 能否对其做逃逸分析，链越长、lambda 捕获的变量越多越难消除。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 20:00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NullsBenchmark {
+
+    private static final String ANONYMOUS = "匿名";
+
+    private final User[] users = new User[1024];
+
+    private int minAge = 18;
+
+    private int i;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int n = 0; n < users.length; n++) {
+            switch (n % 4) {
+                case 0:
+                    users[n] = null;
+                    break;
+                case 1:
+                    users[n] = new User((long) n, null, null, null);
+                    break;
+                default:
+                    users[n] = new User((long) n, "user" + n, n % 60,
+                            Collections.singletonList(new Role((long) (n % 8), "role" + n % 8)));
+            }
+        }
+    }
+
+    private User next() {
+        return users[i++ & (users.length - 1)];
+    }
+
+    @Benchmark
+    public String optionalName() {
+        return Optional.ofNullable(next())
+                .map(User::getName)
+                .filter(name -> !name.isEmpty())
+                .orElse(ANONYMOUS);
+    }
+
+    @Benchmark
+    public String nullsName() {
+        return Nulls.orElse(Nulls.filter(Nulls.map(next(), User::getName), name -> !name.isEmpty()), ANONYMOUS);
+    }
+
+    @Benchmark
+    public int optionalAge() {
+        return Optional.ofNullable(next()).map(User::getAge).orElse(0);
+    }
+
+    @Benchmark
+    public int nullsAge() {
+        return Nulls.mapToIntOrElse(next(), User::getAge, 0);
+    }
+
+    /**
+     * 捕获了字段 minAge 的 lambda
+     */
+    @Benchmark
+    public boolean optionalIsAdult() {
+        return Optional.ofNullable(next())
+                .map(User::getAge)
+                .filter(age -> age >= minAge)
+                .isPresent();
+    }
+
+    @Benchmark
+    public boolean intOptionIsAdult() {
+        long age = IntOption.ofNullable(Nulls.map(next(), User::getAge));
+        return IntOption.isPresent(IntOption.filter(age, a -> a >= minAge));
+    }
+
+    @Benchmark
+    public int optionalRoleCount() {
+        return Optional.ofNullable(next())
+                .map(User::getRoleList)
+                .orElseGet(Collections::emptyList)
+                .size();
+    }
+
+    @Benchmark
+    public int nullsRoleCount() {
+        List<Role> roleList = Nulls.orElseGet(Nulls.map(next(), User::getRoleList), Collections::emptyList);
+        return roleList.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NullsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,147 @@
+package benchmark;
+
+import com.andy.util.NumberParsers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * typeConverter 的写法（Integer.valueOf 装箱）、Integer.parseInt 与 NumberParsers 的对比
+ * <p>
+ * 字节缓冲区中的数字以逗号分隔，和读取 CSV 时的情形一样：JDK 只能先截取子串再解析，NumberParsers 直接按区间解析。
+ * 配合 GCProfiler 查看每次操作的分配量。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 22:10
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumberParsersBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    /**
+     * 数字的最大位数，分别对应年龄、编号一类的短数字和时间戳一类的长数字
+     */
+    @Param({"3", "13"})
+    private int digits;
+
+    private String[] texts;
+
+    private ByteBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        long bound = 1;
+        for (int i = 0; i < digits; i++) {
+            bound *= 10;
+        }
+        texts = new String[size];
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            long value = (random.nextLong() >>> 1) % bound;
+            texts[i] = String.valueOf(value);
+            csv.append(texts[i]).append(',');
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.US_ASCII);
+        buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+    }
+
+    @Benchmark
+    public List<Long> typeConverter() {
+        Function<String, Long> function = Long::valueOf;
+        List<Long> result = new ArrayList<>(texts.length);
+        for (String text : texts) {
+            result.add(function.apply(text));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public long jdkParse() {
+        long sum = 0;
+        for (String text : texts) {
+            sum += Long.parseLong(text);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long parse() {
+        long sum = 0;
+        for (String text : texts) {
+            sum += NumberParsers.parseLong(text);
+        }
+        return sum;
+    }
+
+    /**
+     * 按分隔符截取子串后用 JDK 解析
+     */
+    @Benchmark
+    public long jdkParseBuffer() {
+        long sum = 0;
+        int limit = buffer.limit();
+        int start = 0;
+        byte[] scratch = new byte[32];
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == ',') {
+                for (int j = start; j < i; j++) {
+                    scratch[j - start] = buffer.get(j);
+                }
+                sum += Long.parseLong(new String(scratch, 0, i - start, StandardCharsets.US_ASCII));
+                start = i + 1;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long parseBuffer() {
+        long sum = 0;
+        int limit = buffer.limit();
+        int start = 0;
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == ',') {
+                sum += NumberParsers.parseLong(buffer, start, i);
+                start = i + 1;
+            }
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NumberParsersBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package benchmark;
+
+import com.andy.entity.User;
+import com.andy.reactive.Pipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 同一条 filter -> map -> map 流水线：顺序 Stream、同步 Pipeline（相邻阶段融合）、带一个异步边界的 Pipeline
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:55
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PipelineBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private List<User> users;
+
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(new User((long) i, "user" + i, random.nextInt(80), null));
+        }
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long stream() {
+        return users.stream()
+                .filter(user -> user.getAge() > 18)
+                .map(User::getAge)
+                .map(age -> age + 2)
+                .mapToLong(Integer::longValue)
+                .sum();
+    }
+
+    @Benchmark
+    public long pipeline() {
+        long[] sum = new long[1];
+        Pipeline.of(users)
+                .filter(user -> user.getAge() > 18)
+                .map(User::getAge)
+                .map(age -> age + 2)
+                .forEach(age -> sum[0] += age)
+                .join();
+        return sum[0];
+    }
+
+    @Benchmark
+    public long pipelineAsync() {
+        long[] sum = new long[1];
+        Pipeline.of(users)
+                .filter(user -> user.getAge() > 18)
+                .map(User::getAge)
+                .async(executor, Pipeline.DEFAULT_BATCH_SIZE)
+                .map(age -> age + 2)
+                .forEach(age -> sum[0] += age)
+                .join();
+        return sum[0];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PipelineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
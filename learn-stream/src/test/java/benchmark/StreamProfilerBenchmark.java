@@ -0,0 +1,97 @@
+package benchmark;
+
+import com.andy.profile.StreamProfiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 同一条 filter、map、reduce 流水线：不分析、分析器关闭、开启计时、开启计时与分配统计
+ * <p>
+ * disabled 应与 plain 相同；enabled 的开销主要来自每个元素每个阶段两次 System.nanoTime()
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/20 00:50
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StreamProfilerBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private List<Integer> numbers;
+
+    private final StreamProfiler disabled = StreamProfiler.disabled();
+
+    private final StreamProfiler enabled = StreamProfiler.enabled();
+
+    private final StreamProfiler allocation = StreamProfiler.enabled(true);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        numbers = new Random(42).ints(size, 0, 1_000_000).boxed().collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public long plain() {
+        return sum(numbers.stream());
+    }
+
+    @Benchmark
+    public long disabled() {
+        return sum(disabled.profile("sum", numbers.stream()));
+    }
+
+    @Benchmark
+    public long enabled() {
+        enabled.reset();
+        return sum(enabled.profile("sum", numbers.stream()));
+    }
+
+    @Benchmark
+    public long enabledWithAllocation() {
+        allocation.reset();
+        return sum(allocation.profile("sum", numbers.stream()));
+    }
+
+    @Benchmark
+    public long parallelEnabled() {
+        enabled.reset();
+        return sum(enabled.profile("sum", numbers.parallelStream()));
+    }
+
+    private static long sum(Stream<Integer> stream) {
+        return stream.filter(value -> value % 3 == 0)
+                .map(value -> value * 31L)
+                .reduce(0L, Long::sum);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StreamProfilerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+package benchmark;
+
+import com.andy.task.TaskRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 一批阻塞型任务（模拟一次耗时 1 毫秒的用户查询）在不同执行方式下的完成时间
+ * <p>
+ * 对比 TestLambda 中每个任务一个平台线程、固定大小线程池、有上限的工作窃取线程池和虚拟线程。
+ * 任务数较大时，平台线程的创建开销和内存占用迅速上升，固定线程池则受限于线程数排队。
+ *
+ * @author MaoPing Zou
+ * @date 2026/10/19 23:00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskThroughputBenchmark {
+
+    @Param({"1000", "10000"})
+    private int tasks;
+
+    private List<Callable<Long>> lookups;
+
+    private ExecutorService fixedPool;
+
+    private TaskRunner workStealing;
+
+    private TaskRunner virtual;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        lookups = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            long id = i;
+            lookups.add(() -> {
+                Thread.sleep(1);
+                return id;
+            });
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        fixedPool = Executors.newFixedThreadPool(processors * 2);
+        workStealing = TaskRunner.ofWorkStealing(processors);
+        virtual = TaskRunner.ofVirtual();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixedPool.shutdownNow();
+        workStealing.close();
+        virtual.close();
+    }
+
+    /**
+     * TestLambda 的写法：每个任务 new Thread(...).start()
+     */
+    @Benchmark
+    public long rawThreads() throws InterruptedException {
+        AtomicLong sum = new AtomicLong();
+        Thread[] threads = new Thread[tasks];
+        for (int i = 0; i < tasks; i++) {
+            Callable<Long> lookup = lookups.get(i);
+            threads[i] = new Thread(() -> {
+                try {
+                    sum.addAndGet(lookup.call());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return sum.get();
+    }
+
+    @Benchmark
+    public long fixedPool() throws Exception {
+        long sum = 0;
+        for (Future<Long> future : fixedPool.invokeAll(lookups)) {
+            sum += future.get();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long workStealing() throws Exception {
+        return sum(workStealing.invokeAll(lookups, Duration.ofMinutes(1)));
+    }
+
+    @Benchmark
+    public long virtualThreads() throws Exception {
+        return sum(virtual.invokeAll(lookups, Duration.ofMinutes(1)));
+    }
+
+    private static long sum(List<Long> values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TaskThroughputBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}